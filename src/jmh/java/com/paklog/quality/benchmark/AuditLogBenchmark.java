@@ -0,0 +1,139 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.infrastructure.audit.AuditEntryKind;
+import com.paklog.quality.infrastructure.audit.AuditSegmentVerifier;
+import com.paklog.quality.infrastructure.audit.AuditSegmentWriter;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Audit trail cost. appendBatch appends a group of 400-byte entries and forces them to disk
+ * once, as the group-commit thread does; divide by batchSize for the cost per entry. Sealed
+ * segments are deleted as they roll so long runs do not fill the disk. verifySegment checks
+ * a full 64 MB segment (chain, Merkle root, seal) on one thread and on all cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int DOCUMENT_IDS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        @Param({"1", "16", "256"})
+        int batchSize;
+
+        Path directory;
+        AuditSegmentWriter writer;
+        byte[] payload;
+        String[] documentIds;
+        int next;
+
+        @Setup
+        public void setUp() throws IOException {
+            payload = payload();
+            documentIds = documentIds();
+            directory = Files.createTempDirectory("audit-append");
+            writer = new AuditSegmentWriter(directory, SEGMENT_SIZE, "bench", seal -> {
+                try {
+                    Files.deleteIfExists(directory.resolve(seal.fileName()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            writer.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class VerifyState {
+
+        @Param({"1", "0"})
+        int parallelism;
+
+        Path directory;
+        Path sealedSegment;
+
+        @Setup
+        public void setUp() throws IOException {
+            if (parallelism <= 0) {
+                parallelism = Runtime.getRuntime().availableProcessors();
+            }
+            byte[] payload = payload();
+            String[] documentIds = documentIds();
+            directory = Files.createTempDirectory("audit-verify");
+            try (AuditSegmentWriter filler = new AuditSegmentWriter(directory, SEGMENT_SIZE, "bench", seal -> { })) {
+                long now = System.currentTimeMillis();
+                while (filler.segmentFiles().size() < 2) {
+                    for (String documentId : documentIds) {
+                        filler.append(AuditEntryKind.SAVED, "inspection_records", documentId, payload, now);
+                    }
+                    filler.commit();
+                }
+                sealedSegment = filler.pathOf(0);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    public long appendBatch(AppendState state) throws IOException {
+        long now = System.currentTimeMillis();
+        long sequence = 0;
+        for (int i = 0; i < state.batchSize; i++) {
+            sequence = state.writer.append(AuditEntryKind.SAVED, "inspection_records",
+                state.documentIds[state.next++ & (DOCUMENT_IDS - 1)], state.payload, now);
+        }
+        state.writer.commit();
+        return sequence;
+    }
+
+    @Benchmark
+    public AuditSegmentVerifier.Result verifySegment(VerifyState state) throws IOException {
+        AuditSegmentVerifier.Result result = AuditSegmentVerifier.verify(state.sealedSegment, Integer.MAX_VALUE, null, state.parallelism);
+        if (!result.valid()) {
+            throw new IllegalStateException(result.problem());
+        }
+        return result;
+    }
+
+    private static byte[] payload() {
+        byte[] payload = new byte[400];
+        new Random(42).nextBytes(payload);
+        return payload;
+    }
+
+    private static String[] documentIds() {
+        String[] ids = new String[DOCUMENT_IDS];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+        return ids;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+}
@@ -0,0 +1,88 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.barcode.BarcodeVerifier;
+import com.paklog.quality.domain.barcode.GtinBloomFilter;
+import com.paklog.quality.domain.barcode.Gs1Parser;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import com.paklog.quality.domain.barcode.Gs1Status;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GS1 barcode verification per scan: parsing, check digits, known-GTIN membership in a
+ * Bloom filter of one million GTINs and the expiry check, against the plain String.equals
+ * it replaces. The batch mixes GS1-128 element strings with lot, expiry and serial, the
+ * parenthesised form, bare GTIN-13s and SSCCs. Run with -prof gc to confirm zero allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BarcodeVerificationBenchmark {
+
+    private static final int BATCH = 1024;
+    private static final int KNOWN_GTINS = 1_000_000;
+
+    private GtinBloomFilter knownGtins;
+    private String[] scans;
+    private String[] expected;
+    private Gs1Scan scan;
+    private int year;
+    private long today;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        knownGtins = GtinBloomFilter.create(KNOWN_GTINS, 0.01);
+        for (int i = 0; i < KNOWN_GTINS; i++) {
+            String gtin = withCheckDigit(String.format("0400638%06d", i));
+            knownGtins.add(Gs1Parser.gtinValue(gtin));
+        }
+
+        scans = new String[BATCH];
+        expected = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            String gtin14 = withCheckDigit(String.format("0400638%06d", random.nextInt(KNOWN_GTINS)));
+            String expiry = String.format("%02d%02d%02d", 26 + random.nextInt(4), 1 + random.nextInt(12), random.nextInt(29));
+            scans[i] = switch (i % 4) {
+                case 0 -> "]C101" + gtin14 + "17" + expiry + "10LOT" + random.nextInt(100_000) + "\u001D21" + random.nextInt(1_000_000);
+                case 1 -> "(01)" + gtin14 + "(17)" + expiry + "(10)B" + random.nextInt(1000);
+                case 2 -> gtin14.substring(1);
+                default -> withCheckDigit(String.format("10614141%09d", random.nextInt(1_000_000_000)));
+            };
+            expected[i] = new String(scans[i].toCharArray());
+        }
+        scan = new Gs1Scan();
+        LocalDate date = LocalDate.of(2027, 6, 1);
+        year = date.getYear();
+        today = date.toEpochDay();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void verify(Blackhole blackhole) {
+        for (String barcode : scans) {
+            Gs1Status status = BarcodeVerifier.verify(barcode, knownGtins, year, today, scan);
+            blackhole.consume(status);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void stringEquals(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(expected[i].equals(scans[i]));
+        }
+    }
+
+    private static String withCheckDigit(String digits) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(digits.length() - 1 - i) - '0';
+            sum += i % 2 == 0 ? digit * 3 : digit;
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
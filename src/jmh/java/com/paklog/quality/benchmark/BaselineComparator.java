@@ -0,0 +1,160 @@
+package com.paklog.quality.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares a JMH JSON result file against the checked-in baseline.
+ *
+ * Usage: BaselineComparator &lt;result.json&gt; &lt;baseline.json&gt; [threshold] [failOnRegression]
+ *
+ * A benchmark regresses when its primary score is worse than the baseline by more than
+ * the threshold (0.10 = 10%), or when its normalized allocation rate grows by more than
+ * the threshold. Benchmarks missing from the baseline are reported as new and never fail on
+ * their own. A missing or empty baseline only warns, so a fresh checkout can run the profile;
+ * a non-empty baseline that shares none of the benchmarks run fails like a regression, so a
+ * stale baseline cannot let the gate pass vacuously.
+ * To refresh the baseline, copy a trusted result file over src/jmh/baseline/jmh-baseline.json.
+ */
+public final class BaselineComparator {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOC_NOISE_BYTES = 16.0;
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <result.json> <baseline.json> [threshold] [failOnRegression]");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        boolean failOnRegression = args.length <= 3 || Boolean.parseBoolean(args[3]);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> results = index(mapper.readTree(new File(args[0])));
+        File baselineFile = new File(args[1]);
+        Map<String, JsonNode> baseline = baselineFile.exists()
+            ? index(mapper.readTree(baselineFile))
+            : Map.of();
+
+        List<String> regressions = new ArrayList<>();
+        int compared = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            String key = entry.getKey();
+            JsonNode current = entry.getValue();
+            JsonNode previous = baseline.get(key);
+
+            if (previous == null) {
+                System.out.printf("NEW        %s score=%.3f %s%n", key, score(current), unit(current));
+                continue;
+            }
+
+            compared++;
+            double change = relativeChange(current, previous);
+            String status = change > threshold ? "REGRESSION" : (change < -threshold ? "IMPROVED" : "OK");
+            System.out.printf("%-10s %s score=%.3f baseline=%.3f %s (%+.1f%%)%n",
+                status, key, score(current), score(previous), unit(current), change * 100);
+            if (change > threshold) {
+                regressions.add(key + " score " + String.format("%+.1f%%", change * 100));
+            }
+
+            double currentAlloc = allocation(current);
+            double previousAlloc = allocation(previous);
+            if (!Double.isNaN(currentAlloc) && !Double.isNaN(previousAlloc)
+                    && currentAlloc - previousAlloc > ALLOC_NOISE_BYTES
+                    && currentAlloc > previousAlloc * (1 + threshold)) {
+                System.out.printf("REGRESSION %s allocation=%.1f B/op baseline=%.1f B/op%n",
+                    key, currentAlloc, previousAlloc);
+                regressions.add(key + " allocation " + String.format("%.1f -> %.1f B/op", previousAlloc, currentAlloc));
+            }
+        }
+
+        if (baseline.isEmpty()) {
+            System.out.println("WARNING: baseline " + baselineFile + " is missing or empty, nothing was compared");
+            System.out.println("Record one on a quiet reference machine by copying the result file over it");
+            return;
+        }
+
+        if (compared == 0) {
+            System.out.println("No benchmark compared: baseline " + baselineFile
+                + " has none of the " + results.size() + " benchmarks run");
+            if (failOnRegression) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (regressions.isEmpty()) {
+            System.out.println("No benchmark regressions against baseline (threshold " + (threshold * 100) + "%)");
+            return;
+        }
+
+        System.out.println(regressions.size() + " benchmark regression(s):");
+        regressions.forEach(r -> System.out.println("  " + r));
+        if (failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Index results by benchmark name, mode and parameter values
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                .append(" [").append(result.path("mode").asText()).append(']');
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                new TreeMap<>(toMap(params)).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> values = new HashMap<>();
+        params.fields().forEachRemaining(field -> values.put(field.getKey(), field.getValue().asText()));
+        return values;
+    }
+
+    /**
+     * Positive values are always "worse", whatever the benchmark mode
+     */
+    private static double relativeChange(JsonNode current, JsonNode previous) {
+        double now = score(current);
+        double before = score(previous);
+        if (before == 0) {
+            return 0;
+        }
+        boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+        return higherIsBetter ? (before - now) / before : (now - before) / before;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static String unit(JsonNode result) {
+        return result.path("primaryMetric").path("scoreUnit").asText();
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode secondary = result.path("secondaryMetrics");
+        Iterator<Map.Entry<String, JsonNode>> fields = secondary.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().endsWith(ALLOC_METRIC)) {
+                return field.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+}
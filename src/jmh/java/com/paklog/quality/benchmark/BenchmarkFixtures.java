@@ -0,0 +1,46 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.valueobject.*;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Shared test data for benchmark suites
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static InspectionRecord inspection(InspectionType type) {
+        return InspectionRecord.builder()
+            .id(UUID.randomUUID().toString())
+            .inspectionNumber("INS-BENCH-1")
+            .type(type)
+            .result(InspectionResult.PASSED)
+            .itemId("ITEM-1001")
+            .inspectorId("inspector-7")
+            .inspectedAt(Instant.now())
+            .samplingStrategy(SamplingStrategy.AQL_2_5)
+            .sampleSize(50)
+            .itemsInspected(50)
+            .defectsFound(2)
+            .temperatureCelsius(4.5)
+            .weightKg(10.12)
+            .expectedWeightKg(10.0)
+            .weightTolerancePercent(2.0)
+            .barcode("09506000134352")
+            .barcodeVerified(true)
+            .build();
+    }
+
+    static List<Double> normalSeries(int length, long seed) {
+        Random random = new Random(seed);
+        List<Double> series = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            series.add(10.0 + random.nextGaussian() * 0.25);
+        }
+        return series;
+    }
+}
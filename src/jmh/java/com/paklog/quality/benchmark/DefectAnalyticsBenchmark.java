@@ -0,0 +1,118 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.valueobject.DefectType;
+import com.paklog.quality.infrastructure.analytics.DefectColumnStore;
+import com.paklog.quality.infrastructure.analytics.DefectCoOccurrence;
+import com.paklog.quality.infrastructure.analytics.DefectDimension;
+import com.paklog.quality.infrastructure.analytics.DefectFilter;
+import com.paklog.quality.infrastructure.analytics.ParetoChart;
+import org.openjdk.jmh.annotations.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Defect analytics queries on the {@link DefectColumnStore}: Pareto charts answered from the
+ * running totals, Pareto charts and co-occurrence that must scan (a type filter, a quarter of
+ * the year, one item), and, as the baseline, the same type-filtered item Pareto as a
+ * parallel-stream groupingBy over a list of defect objects. Defects are spread over a year
+ * in time order, one to three per inspection, on 100K items with a skewed distribution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class DefectAnalyticsBenchmark {
+
+    private static final DefectType[] TYPES = DefectType.values();
+    private static final long YEAR_MILLIS = TimeUnit.DAYS.toMillis(365);
+
+    @Param({"1000000", "20000000"})
+    private int defects;
+
+    private DefectColumnStore store;
+    private List<DefectRecord> records;
+    private DefectFilter typed;
+    private DefectFilter quarter;
+    private DefectFilter item;
+
+    record DefectRecord(DefectType type, String itemId, String location, String inspectorId, long reportedAtMillis) {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long start = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+        String[] items = new String[100_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = "SKU-" + i;
+        }
+        store = new DefectColumnStore(defects, 0);
+        records = new ArrayList<>(defects);
+        int added = 0;
+        for (int inspection = 0; added < defects; inspection++) {
+            long inspectedAt = start + YEAR_MILLIS * added / defects;
+            String itemId = items[(int) Math.min(items.length - 1, Math.abs(random.nextGaussian()) * 8000)];
+            String inspectorId = "USR-" + random.nextInt(500);
+            int code = store.inspection("INS-" + inspection, itemId, inspectorId, inspectedAt);
+            // One in five inspections finds packaging defects with damage
+            boolean packaging = random.nextInt(5) == 0;
+            for (int i = 1 + random.nextInt(3); i > 0 && added < defects; i--, added++) {
+                DefectType type = packaging && i <= 2
+                    ? (i == 2 ? DefectType.PACKAGING_DEFECT : DefectType.DAMAGED)
+                    : TYPES[Math.min(TYPES.length - 1, (int) Math.abs(random.nextGaussian() * 3))];
+                String location = "ZONE-" + random.nextInt(40);
+                store.add(code, type, location, inspectedAt);
+                records.add(new DefectRecord(type, itemId, location, inspectorId, inspectedAt));
+            }
+        }
+        typed = new DefectFilter(Set.of(DefectType.DAMAGED, DefectType.PACKAGING_DEFECT), null, null, null, null, null);
+        quarter = new DefectFilter(Set.of(), null, null, null,
+            Instant.ofEpochMilli(start + YEAR_MILLIS / 2), Instant.ofEpochMilli(start + YEAR_MILLIS * 3 / 4));
+        item = new DefectFilter(Set.of(), "SKU-17", null, null, null, null);
+        System.out.printf("%n%d defects of %d inspections: %d MB%n", store.defects(), store.inspections(), store.memoryBytes() >> 20);
+    }
+
+    @Benchmark
+    public ParetoChart paretoByItemFromTotals() {
+        return store.pareto(DefectDimension.ITEM, DefectFilter.all(), 10);
+    }
+
+    @Benchmark
+    public ParetoChart paretoByItemOfTypes() {
+        return store.pareto(DefectDimension.ITEM, typed, 10);
+    }
+
+    @Benchmark
+    public ParetoChart paretoByInspectorOfQuarter() {
+        return store.pareto(DefectDimension.INSPECTOR, quarter, 10);
+    }
+
+    @Benchmark
+    public ParetoChart paretoByTypeOfItem() {
+        return store.pareto(DefectDimension.TYPE, item, 10);
+    }
+
+    @Benchmark
+    public DefectCoOccurrence coOccurrence() {
+        return store.coOccurrence(DefectFilter.all(), 20);
+    }
+
+    @Benchmark
+    public DefectCoOccurrence coOccurrenceOfQuarter() {
+        return store.coOccurrence(quarter, 20);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> objectStreamParetoByItemOfTypes() {
+        Set<DefectType> types = typed.types();
+        return records.parallelStream()
+            .filter(record -> types.contains(record.type()))
+            .collect(Collectors.groupingByConcurrent(DefectRecord::itemId, Collectors.counting()))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(10)
+            .toList();
+    }
+}
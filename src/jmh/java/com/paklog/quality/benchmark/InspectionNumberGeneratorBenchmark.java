@@ -0,0 +1,41 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.application.port.out.SequenceBlockPort;
+import com.paklog.quality.application.service.InspectionNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inspection number throughput (ops/us = millions of ids per second) with an in-memory
+ * block store, uncontended and with every core generating
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InspectionNumberGeneratorBenchmark {
+
+    @Param({"1000", "10000"})
+    private int blockSize;
+
+    private InspectionNumberGenerator generator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong counter = new AtomicLong();
+        SequenceBlockPort inMemoryBlocks = (sequenceName, size) -> counter.getAndAdd(size);
+        generator = new InspectionNumberGenerator(inMemoryBlocks, "DC01", blockSize);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return generator.nextInspectionNumber();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String allCores() {
+        return generator.nextInspectionNumber();
+    }
+}
@@ -0,0 +1,86 @@
+package com.paklog.quality.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paklog.quality.application.query.InspectionSummary;
+import com.paklog.quality.domain.aggregate.Defect;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.valueobject.*;
+import org.openjdk.jmh.annotations.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization latency (sampled, so p99 is reported) of GET /inspections/{id} payloads by
+ * view, format and compression. Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InspectionPayloadBenchmark {
+
+    @Param({"full", "summary"})
+    private String view;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectMapper mapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        InspectionRecord inspection = BenchmarkFixtures.inspection(InspectionType.RECEIVING);
+        List<String> photoUrls = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            inspection.addDefect(Defect.builder()
+                .defectId(UUID.randomUUID().toString())
+                .type(DefectType.values()[i % DefectType.values().length])
+                .severity(SeverityLevel.MEDIUM)
+                .description("Carton corner crushed during unloading, outer wrap torn on pallet side " + i)
+                .location("DOCK-" + (i % 4))
+                .quantity(1 + i % 3)
+                .photoUrl("https://media.paklog.com/inspections/" + inspection.getId() + "/defects/" + i + ".jpg")
+                .reportedBy("inspector-7")
+                .reportedAt(Instant.now())
+                .build());
+            photoUrls.add("https://media.paklog.com/inspections/" + inspection.getId() + "/photos/" + i + ".jpg");
+        }
+        inspection.setPhotoUrls(photoUrls);
+        inspection.clearDomainEvents();
+
+        payload = "summary".equals(view) ? InspectionSummary.from(inspection) : inspection;
+        System.out.printf("%n%s/%s/%s payload: %d bytes%n", view, format, compression, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        byte[] body = mapper.writeValueAsBytes(payload);
+        if (!"gzip".equals(compression)) {
+            return body;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.infrastructure.analytics.InspectorMetric;
+import com.paklog.quality.infrastructure.analytics.InspectorStatsTable;
+import com.paklog.quality.infrastructure.analytics.PeerDistribution;
+import org.openjdk.jmh.annotations.*;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inspector statistics: recording a completed inspection (decay plus update of one
+ * inspector's columns, and scoring it against the peers) and recomputing the peer
+ * distributions of all three metrics. A month of inspections is loaded for 1K or 10K
+ * inspectors, of which 1% under-report defects and 1% are slow; the setup prints how many of
+ * each the robust z-scores flag, and how many ordinary inspectors are flagged by mistake.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class InspectorStatsBenchmark {
+
+    private static final int RECORDS = 10_000;
+    private static final double THRESHOLD = 3.5;
+    private static final long START = 1_760_000_000_000L;
+    private static final long MONTH = TimeUnit.DAYS.toMillis(30);
+
+    @Param({"1000", "10000"})
+    private int inspectors;
+
+    private InspectorStatsTable table;
+    private PeerDistribution[] peers;
+    private String[] inspectorIds;
+    private int[][] severityCounts;
+    private int[] defectCounts;
+    private long[] durations;
+    private long clock;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        table = new InspectorStatsTable(inspectors, Duration.ofDays(14), 20, 10);
+        inspectorIds = new String[inspectors];
+        for (int i = 0; i < inspectors; i++) {
+            inspectorIds[i] = "USR-" + i;
+        }
+        // Inspectors whose id ends in 1 of 100 under-report; ending in 2 of 100, slow
+        int inspections = inspectors * 60;
+        for (int n = 0; n < inspections; n++) {
+            int inspector = random.nextInt(inspectors);
+            boolean underReports = inspector % 100 == 1;
+            boolean slow = inspector % 100 == 2;
+            int items = 20;
+            int defects = 0;
+            int[] severities = new int[5];
+            for (int i = 0; i < items; i++) {
+                if (random.nextDouble() < (underReports ? 0.005 : 0.04)) {
+                    defects++;
+                    severities[Math.min(4, (int) Math.abs(random.nextGaussian() * 1.5))]++;
+                }
+            }
+            long minutes = (long) Math.exp(Math.log(20) + random.nextGaussian() * 0.4) * (slow ? 3 : 1);
+            table.record(inspectorIds[inspector], START + MONTH * n / inspections, items, defects,
+                TimeUnit.MINUTES.toMillis(minutes), severities);
+        }
+        clock = START + MONTH;
+        peers = new PeerDistribution[InspectorMetric.values().length];
+        for (InspectorMetric metric : InspectorMetric.values()) {
+            peers[metric.ordinal()] = table.peers(metric, clock, 5);
+        }
+
+        int underReporting = 0;
+        int slowFlagged = 0;
+        int falsePositives = 0;
+        for (int i = 0; i < inspectors; i++) {
+            int code = table.find(inspectorIds[i]);
+            double rateZ = score(code, InspectorMetric.DEFECT_RATE);
+            double durationZ = score(code, InspectorMetric.DURATION);
+            double severeZ = score(code, InspectorMetric.SEVERE_SHARE);
+            boolean flagged = Math.abs(rateZ) >= THRESHOLD || Math.abs(durationZ) >= THRESHOLD || Math.abs(severeZ) >= THRESHOLD;
+            if (i % 100 == 1 && rateZ <= -THRESHOLD) {
+                underReporting++;
+            } else if (i % 100 == 2 && durationZ >= THRESHOLD) {
+                slowFlagged++;
+            } else if (i % 100 > 2 && flagged) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%n%d inspectors: %d of %d under-reporting and %d of %d slow flagged, %d others flagged (%d KB)%n",
+            inspectors, underReporting, (inspectors + 98) / 100, slowFlagged, (inspectors + 97) / 100, falsePositives,
+            table.memoryBytes() >> 10);
+
+        defectCounts = new int[RECORDS];
+        severityCounts = new int[RECORDS][];
+        durations = new long[RECORDS];
+        for (int n = 0; n < RECORDS; n++) {
+            severityCounts[n] = new int[] {random.nextInt(2), 0, 0, 0, 0};
+            defectCounts[n] = severityCounts[n][0];
+            durations[n] = TimeUnit.MINUTES.toMillis(15 + random.nextInt(10));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public double recordAndScore() {
+        double sum = 0;
+        for (int n = 0; n < RECORDS; n++) {
+            clock += 1000;
+            int code = table.record(inspectorIds[n % inspectors], clock, 20, defectCounts[n], durations[n], severityCounts[n]);
+            for (InspectorMetric metric : InspectorMetric.values()) {
+                double value = table.value(code, metric, clock);
+                PeerDistribution distribution = peers[metric.ordinal()];
+                if (distribution != null && !Double.isNaN(value)) {
+                    sum += distribution.zScore(value);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PeerDistribution[] refreshPeers() {
+        PeerDistribution[] distributions = new PeerDistribution[InspectorMetric.values().length];
+        for (InspectorMetric metric : InspectorMetric.values()) {
+            distributions[metric.ordinal()] = table.peers(metric, clock, 5);
+        }
+        return distributions;
+    }
+
+    private double score(int code, InspectorMetric metric) {
+        double value = table.value(code, metric, clock);
+        PeerDistribution distribution = peers[metric.ordinal()];
+        return distribution == null || Double.isNaN(value) ? 0 : distribution.zScore(value);
+    }
+}
@@ -0,0 +1,61 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.valueobject.ItemReference;
+import com.paklog.quality.infrastructure.itemmaster.ItemMasterTable;
+import org.openjdk.jmh.annotations.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item master lookup by itemId: the primitive {@link ItemMasterTable} against a
+ * HashMap of ItemReference objects. Queries are fresh String copies, as they would be after
+ * request deserialization, in random order. Table memory is printed per trial; the HashMap
+ * holds several objects per item on top of that and needs a large heap at 10M items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ItemMasterBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"1000000", "10000000"})
+    private int items;
+
+    private ItemMasterTable table;
+    private Map<String, ItemReference> hashMap;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        table = new ItemMasterTable(items);
+        hashMap = new HashMap<>(items * 4 / 3 + 1);
+        for (int i = 0; i < items; i++) {
+            ItemReference reference = new ItemReference(
+                "SKU-" + i,
+                0.1 + random.nextInt(50_000) / 1000.0,
+                random.nextInt(4) == 0 ? 1.5 : null,
+                String.format("%013d", 400_000_000_000L + i));
+            table.put(reference);
+            hashMap.put(reference.itemId(), reference);
+        }
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new String(("SKU-" + random.nextInt(items)).toCharArray());
+        }
+        System.out.printf("%n%d items: table %d MB%n", items, table.memoryBytes() >> 20);
+    }
+
+    @Benchmark
+    public ItemReference table() {
+        return table.get(queries[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public ItemReference hashMap() {
+        return hashMap.get(queries[next++ & (QUERIES - 1)]);
+    }
+}
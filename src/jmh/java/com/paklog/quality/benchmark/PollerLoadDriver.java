@@ -0,0 +1,127 @@
+package com.paklog.quality.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent poller load driver for comparing the servlet and WebFlux deployments.
+ *
+ * Usage: PollerLoadDriver &lt;baseUrl&gt; &lt;inspectionId&gt; [pollers] [seconds] [pollIntervalMs]
+ *
+ * Each poller is a virtual thread that repeatedly GETs one inspection with If-None-Match,
+ * the way dashboards watch an open inspection. Run it once against the default profile and
+ * once against SPRING_PROFILES_ACTIVE=reactive, then compare requests/s, latency percentiles
+ * and errors printed here with the server-side "tomcat.threads.busy" or "reactor.netty"
+ * connection gauges from /actuator/prometheus. This is a load driver rather than a JMH
+ * suite because the cost under test is held connections and threads on the server, not
+ * CPU time in the client.
+ */
+public final class PollerLoadDriver {
+
+    private PollerLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: PollerLoadDriver <baseUrl> <inspectionId> [pollers] [seconds] [pollIntervalMs]");
+            System.exit(2);
+        }
+
+        URI uri = URI.create(args[0] + "/api/v1/quality/inspections/" + args[1]);
+        int pollers = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60);
+        long pollIntervalMs = args.length > 4 ? Long.parseLong(args[4]) : 1_000;
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        LongAdder ok = new LongAdder();
+        LongAdder notModified = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLong inFlight = new AtomicLong();
+        AtomicLong peakInFlight = new AtomicLong();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> tasks = new ArrayList<>(pollers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < pollers; p++) {
+                tasks.add(executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    String etag = null;
+                    // Spread the first polls across one interval to avoid a thundering herd
+                    sleep(ThreadLocalRandom.current().nextLong(Math.max(1, pollIntervalMs)));
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET();
+                        if (etag != null) {
+                            request.header("If-None-Match", etag);
+                        }
+                        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 304) {
+                                notModified.increment();
+                            } else if (response.statusCode() == 200) {
+                                ok.increment();
+                                etag = response.headers().firstValue("ETag").orElse(null);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = java.util.Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                        sleep(pollIntervalMs);
+                    }
+                    latencies.add(java.util.Arrays.copyOf(samples, count));
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        long total = ok.sum() + notModified.sum() + errors.sum();
+        long[] all = latencies.stream().flatMapToLong(java.util.Arrays::stream).sorted().toArray();
+        System.out.printf("pollers=%d duration=%ds interval=%dms%n", pollers, duration.toSeconds(), pollIntervalMs);
+        System.out.printf("requests=%d (%.1f/s) 200=%d 304=%d errors=%d peakInFlight=%d%n",
+            total, total / (double) duration.toSeconds(), ok.sum(), notModified.sum(), errors.sum(), peakInFlight.get());
+        if (all.length > 0) {
+            System.out.printf("latency ms p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
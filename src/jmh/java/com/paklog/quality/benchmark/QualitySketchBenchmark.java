@@ -0,0 +1,123 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.sketch.HyperLogLog;
+import com.paklog.quality.domain.sketch.TDigest;
+import org.openjdk.jmh.annotations.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and accuracy of the dashboard rollup sketches. Weight deviations (a skewed mix with a
+ * 1% tail of gross mis-picks) and item ids are spread over 24 hourly buckets on each of 4
+ * instances, as the rollup documents would hold them. Per trial the setup prints the t-digest
+ * rank error at p50/p95/p99/p99.9 and the HyperLogLog relative error of the merged day against
+ * exact answers, and the serialized size of one bucket's sketches; the benchmarks measure adding
+ * values and merging the day's 96 serialized buckets as a query does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class QualitySketchBenchmark {
+
+    private static final int BUCKETS = 24 * 4;
+    private static final int ADDS = 10_000;
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p95", "p99", "p99.9"};
+
+    @Param({"100000", "10000000"})
+    private int inspections;
+
+    private double[] deviations;
+    private String[] itemIds;
+    private byte[][] digests;
+    private byte[][] sketches;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        deviations = new double[inspections];
+        itemIds = new String[inspections];
+        TDigest[] bucketDigests = new TDigest[BUCKETS];
+        HyperLogLog[] bucketSketches = new HyperLogLog[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            bucketDigests[b] = new TDigest();
+            bucketSketches[b] = new HyperLogLog();
+        }
+        for (int i = 0; i < inspections; i++) {
+            deviations[i] = Math.abs(random.nextGaussian()) * (i % 3 == 0 ? 2.5 : 0.8) + (random.nextInt(100) == 0 ? 20 + random.nextInt(30) : 0);
+            // About two thirds of the ids are distinct
+            itemIds[i] = "PHARMA-" + random.nextInt(inspections);
+            bucketDigests[i % BUCKETS].add(deviations[i]);
+            bucketSketches[i % BUCKETS].add(itemIds[i]);
+        }
+        digests = new byte[BUCKETS][];
+        sketches = new byte[BUCKETS][];
+        for (int b = 0; b < BUCKETS; b++) {
+            digests[b] = bucketDigests[b].toBytes();
+            sketches[b] = bucketSketches[b].toBytes();
+        }
+
+        TDigest day = mergeDigests();
+        double[] sorted = deviations.clone();
+        Arrays.sort(sorted);
+        StringBuilder report = new StringBuilder(String.format("%n%d inspections, t-digest of %d centroids:", inspections, day.centroids()));
+        for (int i = 0; i < QUANTILES.length; i++) {
+            int rank = Arrays.binarySearch(sorted, day.quantile(QUANTILES[i]));
+            rank = rank < 0 ? -rank - 1 : rank;
+            report.append(String.format(" %s rank error %.4f%%", QUANTILE_NAMES[i], Math.abs((double) rank / inspections - QUANTILES[i]) * 100));
+        }
+        long distinct = Arrays.stream(itemIds).distinct().count();
+        long estimate = mergeSketches().cardinality();
+        report.append(String.format("%nHyperLogLog: %d distinct items estimated as %d (%.3f%% error)",
+            distinct, estimate, Math.abs(estimate - distinct) * 100.0 / distinct));
+        report.append(String.format("%nOne bucket: t-digest %d bytes, HyperLogLog %d bytes%n", digests[0].length, sketches[0].length));
+        System.out.print(report);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADDS)
+    public TDigest tDigestAdd() {
+        TDigest digest = new TDigest();
+        for (int i = 0; i < ADDS; i++) {
+            digest.add(deviations[i]);
+        }
+        return digest;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADDS)
+    public HyperLogLog hyperLogLogAdd() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < ADDS; i++) {
+            sketch.add(itemIds[i]);
+        }
+        return sketch;
+    }
+
+    @Benchmark
+    public double mergeDayOfDigests() {
+        return mergeDigests().quantile(0.99);
+    }
+
+    @Benchmark
+    public long mergeDayOfHyperLogLogs() {
+        return mergeSketches().cardinality();
+    }
+
+    private TDigest mergeDigests() {
+        TDigest merged = new TDigest();
+        for (byte[] bytes : digests) {
+            merged.merge(TDigest.fromBytes(bytes));
+        }
+        return merged;
+    }
+
+    private HyperLogLog mergeSketches() {
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] bytes : sketches) {
+            merged.merge(HyperLogLog.fromBytes(bytes));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,92 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.infrastructure.report.*;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-inspection cost of the report export after the cursor: reading a raw BSON inspection
+ * with up to three defects and writing its rows as CSV, XLSX (deflate level 1) or Parquet
+ * (gzip level 1 and uncompressed) to a discarding stream. Each invocation writes 1000
+ * inspections, about 1750 rows, so 100k rows per second is 17,500 us per op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class ReportExportBenchmark {
+
+    private static final int INSPECTIONS = 1000;
+
+    @Param({"csv", "xlsx", "parquet", "parquet-uncompressed"})
+    private String format;
+
+    private RawBsonDocument[] inspections;
+    private ReportWriter writer;
+    private ReportRow row;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        long start = 1_735_689_600_000L;
+        inspections = new RawBsonDocument[INSPECTIONS];
+        for (int i = 0; i < INSPECTIONS; i++) {
+            List<Document> defects = new ArrayList<>();
+            for (int d = 0; d < i % 4; d++) {
+                defects.add(new Document("defectId", UUID.randomUUID().toString())
+                    .append("type", "DAMAGED")
+                    .append("severity", d == 0 ? "HIGH" : "MEDIUM")
+                    .append("description", "Crushed corner on carton " + random.nextInt(100))
+                    .append("quantity", 1 + random.nextInt(5))
+                    .append("reportedBy", "INSP-" + random.nextInt(50))
+                    .append("reportedAt", new Date(start + i * 60_000L)));
+            }
+            Document inspection = new Document("_id", UUID.randomUUID().toString())
+                .append("inspectionNumber", String.format("INS-DC01-%012d", i))
+                .append("type", "RECEIVING")
+                .append("result", defects.isEmpty() ? "PASS" : "FAIL")
+                .append("orderId", "ORD-" + random.nextInt(100_000))
+                .append("itemId", "SKU-" + random.nextInt(10_000))
+                .append("lotNumber", "LOT-" + random.nextInt(1_000))
+                .append("inspectorId", "INSP-" + random.nextInt(50))
+                .append("inspectedAt", new Date(start + i * 60_000L))
+                .append("completedAt", new Date(start + i * 60_000L + 90_000))
+                .append("expiryDate", new Date(start + 300L * 86_400_000))
+                .append("sampleSize", 32)
+                .append("itemsInspected", 32)
+                .append("defectsFound", defects.size())
+                .append("defects", defects);
+            inspections[i] = new RawBsonDocument(inspection, new DocumentCodec());
+        }
+
+        OutputStream discard = OutputStream.nullOutputStream();
+        List<ReportColumn> columns = InspectionReportExporter.COLUMNS;
+        writer = switch (format) {
+            case "csv" -> new CsvReportWriter(discard, columns);
+            case "xlsx" -> new XlsxReportWriter(discard, columns, "Inspections", 1);
+            case "parquet" -> new ParquetReportWriter(discard, columns, 65_536, 32L << 20, 1);
+            default -> new ParquetReportWriter(discard, columns, 65_536, 32L << 20, 0);
+        };
+        row = new ReportRow(columns.size());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.finish();
+    }
+
+    @Benchmark
+    public int export() throws IOException {
+        int rows = 0;
+        for (RawBsonDocument inspection : inspections) {
+            rows += InspectionReportExporter.writeInspection(inspection, row, writer);
+        }
+        return rows;
+    }
+}
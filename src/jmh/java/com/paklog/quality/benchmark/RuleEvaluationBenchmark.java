@@ -0,0 +1,84 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.service.EvaluationMode;
+import com.paklog.quality.domain.service.RuleEvaluationService;
+import com.paklog.quality.domain.valueobject.*;
+import org.openjdk.jmh.annotations.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule engine throughput by number of rules loaded for an inspection type, in detailed
+ * and fast-fail modes. Fast-fail ordering adapts during warmup, so measured iterations
+ * see the learned order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RuleEvaluationBenchmark {
+
+    private static final String[] FIELDS = {
+        "temperatureCelsius", "weightKg", "expectedWeightKg", "defectRate", "defectsFound", "itemsInspected"
+    };
+    private static final String[] OPERATORS = {">", "<", ">=", "<=", "=="};
+
+    @Param({"10", "100", "1000"})
+    private int ruleCount;
+
+    private RuleEvaluationService ruleEvaluationService;
+    private InspectionRecord inspection;
+    private List<ComplianceRule> rules;
+    private ComplianceRule singleRule;
+    private Map<String, Object> inspectionData;
+
+    @Setup
+    public void setUp() {
+        ruleEvaluationService = new RuleEvaluationService(List.of(), List.of(), 1, 0.02, 10000);
+        inspection = BenchmarkFixtures.inspection(InspectionType.PACKING);
+
+        Random random = new Random(42);
+        InspectionType[] types = InspectionType.values();
+        ComplianceLevel[] levels = ComplianceLevel.values();
+        rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            ComplianceRule rule = new ComplianceRule();
+            rule.setId("rule-" + i);
+            rule.setRuleCode("R" + i);
+            rule.setRuleName("Rule " + i);
+            rule.setActive(true);
+            rule.setMandatory(random.nextBoolean());
+            rule.setLevel(levels[random.nextInt(levels.length)]);
+            // Roughly half of the rules apply to the inspection under test
+            rule.setApplicableTo(random.nextBoolean() ? InspectionType.PACKING : types[random.nextInt(types.length)]);
+            rule.setCondition(FIELDS[random.nextInt(FIELDS.length)] + " " + OPERATORS[random.nextInt(OPERATORS.length)] + " threshold");
+            rule.setThreshold(random.nextDouble() * 20);
+            rules.add(rule);
+        }
+
+        singleRule = rules.get(0);
+        inspectionData = new HashMap<>();
+        inspectionData.put("temperatureCelsius", inspection.getTemperatureCelsius());
+        inspectionData.put("weightKg", inspection.getWeightKg());
+        inspectionData.put("expectedWeightKg", inspection.getExpectedWeightKg());
+        inspectionData.put("defectRate", inspection.getDefectRate());
+        inspectionData.put("defectsFound", inspection.getDefectsFound());
+        inspectionData.put("itemsInspected", inspection.getItemsInspected());
+    }
+
+    @Benchmark
+    public RuleEvaluationService.RuleEvaluationResult evaluateRules() {
+        return ruleEvaluationService.evaluateRules(inspection, rules);
+    }
+
+    @Benchmark
+    public RuleEvaluationService.RuleEvaluationResult evaluateRulesFastFail() {
+        return ruleEvaluationService.evaluateRules(inspection, rules, EvaluationMode.FAST_FAIL);
+    }
+
+    @Benchmark
+    public boolean evaluateSingleRule() {
+        return singleRule.evaluate(inspectionData);
+    }
+}
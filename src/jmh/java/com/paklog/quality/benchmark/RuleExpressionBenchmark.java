@@ -0,0 +1,95 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.expression.CompiledExpression;
+import com.paklog.quality.domain.expression.ExpressionCompiler;
+import com.paklog.quality.domain.service.InspectionFacts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule expression evaluation: compiled bytecode vs the tree interpreter vs the same
+ * condition written by hand in Java. Each invocation evaluates a batch of fact vectors
+ * so the per-call cost is not hidden behind benchmark overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RuleExpressionBenchmark {
+
+    private static final int BATCH = 1024;
+    private static final int TEMPERATURE = InspectionFacts.indexOf(InspectionFacts.TEMPERATURE_CELSIUS);
+    private static final int WEIGHT = InspectionFacts.indexOf(InspectionFacts.WEIGHT_KG);
+    private static final int EXPECTED_WEIGHT = InspectionFacts.indexOf(InspectionFacts.EXPECTED_WEIGHT_KG);
+    private static final int DEFECT_RATE = InspectionFacts.indexOf(InspectionFacts.DEFECT_RATE);
+    private static final int BARCODE_VERIFIED = InspectionFacts.indexOf(InspectionFacts.BARCODE_VERIFIED);
+    private static final int HAS_PHOTOS = InspectionFacts.indexOf(InspectionFacts.HAS_PHOTOS);
+
+    @Param({"weightDeviation", "coldChain"})
+    private String expression;
+
+    private CompiledExpression compiled;
+    private CompiledExpression interpreted;
+    private CompiledExpression handWritten;
+    private double[][] facts;
+
+    @Setup
+    public void setUp() {
+        String source;
+        switch (expression) {
+            case "weightDeviation" -> {
+                source = "abs(weightKg - expectedWeightKg)/expectedWeightKg*100 > 2 AND NOT barcodeVerified";
+                handWritten = f -> Math.abs(f[WEIGHT] - f[EXPECTED_WEIGHT]) / f[EXPECTED_WEIGHT] * 100 > 2
+                    && !(f[BARCODE_VERIFIED] != 0.0);
+            }
+            case "coldChain" -> {
+                source = "NOT (temperatureCelsius BETWEEN 2 AND 8) OR (defectRate > max(1.5, 0.5) AND NOT hasPhotos)";
+                handWritten = f -> {
+                    double t = f[TEMPERATURE];
+                    return !(t >= 2 && t <= 8) || (f[DEFECT_RATE] > Math.max(1.5, 0.5) && !(f[HAS_PHOTOS] != 0.0));
+                };
+            }
+            default -> throw new IllegalArgumentException(expression);
+        }
+        compiled = ExpressionCompiler.compile(source);
+        interpreted = ExpressionCompiler.interpret(source);
+
+        Random random = new Random(42);
+        facts = new double[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+            double[] vector = new double[InspectionFacts.NAMES.size()];
+            vector[TEMPERATURE] = random.nextDouble() * 12 - 1;
+            vector[EXPECTED_WEIGHT] = 5 + random.nextDouble() * 20;
+            vector[WEIGHT] = vector[EXPECTED_WEIGHT] * (0.96 + random.nextDouble() * 0.08);
+            vector[DEFECT_RATE] = random.nextDouble() * 3;
+            vector[BARCODE_VERIFIED] = random.nextInt(4) == 0 ? 0.0 : 1.0;
+            vector[HAS_PHOTOS] = random.nextBoolean() ? 1.0 : 0.0;
+            facts[i] = vector;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void compiled(Blackhole blackhole) {
+        evaluate(compiled, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void interpreted(Blackhole blackhole) {
+        evaluate(interpreted, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void handWritten(Blackhole blackhole) {
+        evaluate(handWritten, blackhole);
+    }
+
+    private void evaluate(CompiledExpression expression, Blackhole blackhole) {
+        for (double[] vector : facts) {
+            blackhole.consume(expression.test(vector));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.valueobject.SamplingStrategy;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sample selection cost over a whole lot, by lot size and strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SamplingStrategyBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int lotSize;
+
+    @Param({"FULL_INSPECTION", "AQL_2_5", "RANDOM_10"})
+    private SamplingStrategy strategy;
+
+    @Benchmark
+    public int selectSample() {
+        int selected = 0;
+        for (int item = 1; item <= lotSize; item++) {
+            if (strategy.shouldInspect(item, lotSize)) {
+                selected++;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,37 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.service.StatisticalProcessControlService;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SPC control-chart and capability calculations by data-series length
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class StatisticalProcessControlBenchmark {
+
+    @Param({"20", "1000", "100000"})
+    private int seriesLength;
+
+    private StatisticalProcessControlService spcService;
+    private List<Double> dataPoints;
+
+    @Setup
+    public void setUp() {
+        spcService = new StatisticalProcessControlService();
+        dataPoints = BenchmarkFixtures.normalSeries(seriesLength, 7L);
+    }
+
+    @Benchmark
+    public StatisticalProcessControlService.SPCMetrics calculateSPCMetrics() {
+        return spcService.calculateSPCMetrics(dataPoints);
+    }
+
+    @Benchmark
+    public StatisticalProcessControlService.ProcessCapability calculateCapability() {
+        return spcService.calculateCapability(dataPoints, 9.0, 11.0);
+    }
+}
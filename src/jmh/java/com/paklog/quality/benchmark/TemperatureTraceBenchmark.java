@@ -0,0 +1,79 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.domain.timeseries.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-reading cost of cold-chain ingestion (streaming analysis plus compression) and of
+ * decoding a stored trace. A trip is a reefer logger reading every 30 seconds with a little
+ * clock jitter and 0.1 °C resolution; the compressed size is printed per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TemperatureTraceBenchmark {
+
+    private static final int READINGS = 20_160;  // one week at 30 s
+
+    @Param({"steady", "jittered"})
+    private String clock;
+
+    private long[] timestamps;
+    private double[] celsius;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        timestamps = new long[READINGS];
+        celsius = new double[READINGS];
+        long t = 1_760_000_000_000L;
+        double temperature = 5.0;
+        for (int i = 0; i < READINGS; i++) {
+            t += "steady".equals(clock) ? 30_000 : 30_000 + random.nextInt(41) - 20;
+            // Slow random walk with the odd door-opening spike above 8 °C
+            temperature = Math.max(0.0, Math.min(12.0, temperature + random.nextGaussian() * 0.05 + (random.nextInt(2000) == 0 ? 4.0 : 0.0)));
+            timestamps[i] = t;
+            celsius[i] = Math.round(temperature * 10) / 10.0;
+        }
+        encoded = encode().toByteArray();
+        System.out.printf("%n%s: %d readings in %d bytes (%.2f bytes/reading)%n",
+            clock, READINGS, encoded.length, (double) encoded.length / READINGS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public TemperatureTraceSummary ingest(Blackhole blackhole) {
+        TemperatureTraceAnalyzer analyzer = new TemperatureTraceAnalyzer(2.0, 8.0, Duration.ofMinutes(5), MeanKineticTemperature.standard());
+        TemperatureSeriesEncoder encoder = new TemperatureSeriesEncoder(READINGS);
+        for (int i = 0; i < READINGS; i++) {
+            analyzer.accept(timestamps[i], celsius[i]);
+            encoder.add(timestamps[i], celsius[i]);
+        }
+        blackhole.consume(encoder.toByteArray());
+        return analyzer.summary();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public double decode() {
+        TemperatureSeriesDecoder decoder = new TemperatureSeriesDecoder(encoded);
+        double sum = 0;
+        while (decoder.next()) {
+            sum += decoder.value();
+        }
+        return sum;
+    }
+
+    private TemperatureSeriesEncoder encode() {
+        TemperatureSeriesEncoder encoder = new TemperatureSeriesEncoder(READINGS);
+        for (int i = 0; i < READINGS; i++) {
+            encoder.add(timestamps[i], celsius[i]);
+        }
+        return encoder;
+    }
+}
@@ -0,0 +1,81 @@
+package com.paklog.quality.benchmark;
+
+import com.paklog.quality.infrastructure.capa.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Moving one of many pending CAPA deadlines (cancel and schedule again, as a reopened
+ * deadline does): the {@link HierarchicalTimingWheel} against a ScheduledThreadPoolExecutor
+ * with remove-on-cancel, whose delay queue is a binary heap. Deadlines are spread over 48
+ * hours at one-second ticks; nothing fires during the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TimingWheelBenchmark {
+
+    private static final long HORIZON_MILLIS = TimeUnit.HOURS.toMillis(48);
+    private static final int MOVES = 1 << 16;
+
+    @Param({"10000", "1000000"})
+    private int pending;
+
+    private HierarchicalTimingWheel<String> wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private ScheduledFuture<?>[] futures;
+    private String[] keys;
+    private final Runnable noop = () -> { };
+    private int[] targets;
+    private long[] delays;
+    private long now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        now = System.currentTimeMillis();
+        wheel = new HierarchicalTimingWheel<>(1000, 4, now);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        keys = new String[pending];
+        futures = new ScheduledFuture<?>[pending];
+        for (int i = 0; i < pending; i++) {
+            long delay = 60_000 + (long) (random.nextDouble() * HORIZON_MILLIS);
+            keys[i] = "INS-" + i;
+            wheel.schedule(keys[i], now + delay);
+            futures[i] = executor.schedule(noop, delay, TimeUnit.MILLISECONDS);
+        }
+        targets = new int[MOVES];
+        delays = new long[MOVES];
+        for (int i = 0; i < MOVES; i++) {
+            targets[i] = random.nextInt(pending);
+            delays[i] = 60_000 + (long) (random.nextDouble() * HORIZON_MILLIS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean wheel() {
+        int i = next++ & (MOVES - 1);
+        String key = keys[targets[i]];
+        wheel.cancel(key);
+        return wheel.schedule(key, now + delays[i]);
+    }
+
+    @Benchmark
+    public ScheduledFuture<?> scheduledExecutor() {
+        int i = next++ & (MOVES - 1);
+        int target = targets[i];
+        futures[target].cancel(false);
+        ScheduledFuture<?> future = executor.schedule(noop, delays[i], TimeUnit.MILLISECONDS);
+        futures[target] = future;
+        return future;
+    }
+}
@@ -0,0 +1,8 @@
+package com.paklog.quality.application.command;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ApplyCorrectionCommand(
+    @NotBlank
+    String action
+) {}
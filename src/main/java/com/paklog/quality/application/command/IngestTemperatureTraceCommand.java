@@ -0,0 +1,16 @@
+package com.paklog.quality.application.command;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Metadata for a reefer logger upload. The allowed range defaults to the configured one;
+ * without an inspectionId, excursions are raised on every inspection of the shipment.
+ */
+public record IngestTemperatureTraceCommand(
+    @NotBlank
+    String shipmentId,
+    String loggerId,
+    String inspectionId,
+    Double minCelsius,
+    Double maxCelsius
+) {}
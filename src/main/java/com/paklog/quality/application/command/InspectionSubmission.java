@@ -0,0 +1,9 @@
+package com.paklog.quality.application.command;
+
+/**
+ * Outcome of performInspection: the pre-generated id and whether it is already persisted
+ */
+public record InspectionSubmission(
+    String inspectionId,
+    boolean persisted
+) {}
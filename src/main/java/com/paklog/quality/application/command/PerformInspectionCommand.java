@@ -16,5 +16,8 @@ public record PerformInspectionCommand(
     SamplingStrategy samplingStrategy,
     int sampleSize,
     String orderId,
-    String shipmentId
+    String shipmentId,
+    // Measurements validated server-side against the item master when present
+    Double weightKg,
+    String barcode
 ) {}
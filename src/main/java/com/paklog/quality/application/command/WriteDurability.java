@@ -0,0 +1,11 @@
+package com.paklog.quality.application.command;
+
+/**
+ * Acknowledgement level requested when creating an inspection.
+ * SYNC returns once the record is in MongoDB; ASYNC returns as soon as the record is
+ * accepted by the in-process write buffer.
+ */
+public enum WriteDurability {
+    SYNC,
+    ASYNC
+}
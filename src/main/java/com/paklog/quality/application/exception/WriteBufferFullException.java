@@ -0,0 +1,13 @@
+package com.paklog.quality.application.exception;
+
+/**
+ * Raised when the asynchronous inspection write buffer cannot accept more records
+ */
+public class WriteBufferFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteBufferFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.paklog.quality.application.port.in;
+
+import com.paklog.quality.application.query.BarcodeVerification;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import java.util.*;
+
+public interface BarcodeVerificationUseCase {
+    /** Parse and verify one scan against the known GTINs and today's date */
+    Gs1Scan verify(String barcode);
+    List<BarcodeVerification> verifyAll(List<String> barcodes);
+}
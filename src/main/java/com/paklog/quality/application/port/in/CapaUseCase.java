@@ -0,0 +1,19 @@
+package com.paklog.quality.application.port.in;
+
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import com.paklog.quality.domain.event.DomainEvent;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+public interface CapaUseCase {
+    /** Open the CAPA deadline for a non-conformance or violation raised at occurredAt; returns the deadline in force */
+    CapaDeadline openDeadline(String inspectionId, String trigger, String reason, Instant occurredAt);
+    boolean closeDeadline(String inspectionId, String correctiveAction, Instant completedAt);
+    /** Open or close the deadlines an inspection's events call for; done with the inspection's write, before the events are published */
+    void applyDeadlineEvents(Collection<? extends DomainEvent> events);
+    /** Escalate a deadline that expired at dueAt; false if it was closed, moved or already escalated elsewhere */
+    boolean escalate(String inspectionId, Instant dueAt);
+    Optional<CapaDeadline> getDeadline(String inspectionId);
+    void forEachOpenDeadline(BiConsumer<String, Instant> consumer);
+}
@@ -0,0 +1,13 @@
+package com.paklog.quality.application.port.in;
+
+import com.paklog.quality.application.command.IngestTemperatureTraceCommand;
+import com.paklog.quality.domain.aggregate.TemperatureTrace;
+import com.paklog.quality.domain.timeseries.TemperatureReadings;
+import java.util.*;
+
+public interface ColdChainUseCase {
+    /** Analyze and store a logger dump in one pass, raising defects for excursions */
+    TemperatureTrace ingestTrace(IngestTemperatureTraceCommand command, TemperatureReadings readings);
+    List<TemperatureTrace> getTraces(String shipmentId);
+    Optional<TemperatureTrace> getTrace(String traceId);
+}
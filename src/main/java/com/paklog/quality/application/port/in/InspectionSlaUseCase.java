@@ -0,0 +1,17 @@
+package com.paklog.quality.application.port.in;
+
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+public interface InspectionSlaUseCase {
+    /** When an inspection of the type performed at inspectedAt breaches its SLA */
+    Instant dueAt(InspectionType type, Instant inspectedAt);
+    /** Id and SLA due time of every open inspection not yet acted on */
+    void forEachOpen(BiConsumer<String, Instant> consumer);
+    /** Id and SLA due time of the open inspections already past it and not yet acted on */
+    void forEachOverdue(Instant now, BiConsumer<String, Instant> consumer);
+    /** Escalate or quarantine those of the inspections that are overdue; returns how many were acted on */
+    int sweep(Collection<String> inspectionIds);
+}
@@ -1,11 +1,22 @@
 package com.paklog.quality.application.port.in;
 
+import com.paklog.quality.application.command.InspectionSubmission;
 import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.command.WriteDurability;
+import com.paklog.quality.application.query.ComplianceVerdict;
+import com.paklog.quality.application.query.InspectionSummary;
 import com.paklog.quality.domain.aggregate.*;
 
 public interface QualityControlUseCase {
     String performInspection(PerformInspectionCommand command);
+    InspectionSubmission submitInspection(PerformInspectionCommand command, WriteDurability durability);
     void addDefect(String inspectionId, Defect defect);
     void completeInspection(String inspectionId);
+    /** Record the corrective action, which closes the inspection's CAPA deadline */
+    void applyCorrection(String inspectionId, String action);
+    /** Read-only view; the returned record may be shared and must not be modified */
     InspectionRecord getInspection(String inspectionId);
+    InspectionSummary getInspectionSummary(String inspectionId);
+    /** Current rules against the inspection as recorded, without completing or modifying it */
+    ComplianceVerdict checkCompliance(String inspectionId);
 }
@@ -0,0 +1,15 @@
+package com.paklog.quality.application.port.in;
+
+import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.domain.aggregate.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveQualityControlUseCase {
+    Mono<String> performInspection(PerformInspectionCommand command);
+    Mono<Void> addDefect(String inspectionId, Defect defect);
+    Mono<Void> completeInspection(String inspectionId);
+    Mono<Void> applyCorrection(String inspectionId, String action);
+    Mono<InspectionRecord> getInspection(String inspectionId);
+    Flux<InspectionRecord> getFailedInspections();
+}
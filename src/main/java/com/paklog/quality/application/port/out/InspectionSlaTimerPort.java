@@ -0,0 +1,12 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.time.Instant;
+
+/**
+ * In-memory SLA timers for inspections opened and completed on this instance
+ */
+public interface InspectionSlaTimerPort {
+    void track(String inspectionId, InspectionType type, Instant inspectedAt);
+    void untrack(String inspectionId);
+}
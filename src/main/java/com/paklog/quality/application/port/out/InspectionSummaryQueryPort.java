@@ -0,0 +1,8 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.application.query.InspectionSummary;
+import java.util.Optional;
+
+public interface InspectionSummaryQueryPort {
+    Optional<InspectionSummary> findSummaryById(String id);
+}
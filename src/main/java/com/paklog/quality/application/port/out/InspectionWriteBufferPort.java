@@ -0,0 +1,24 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded buffer for new inspection records, drained by a group-commit writer
+ */
+public interface InspectionWriteBufferPort {
+
+    /**
+     * Queue a new record for insertion.
+     *
+     * @return a future completed when the batch containing the record is committed,
+     *         or {@code null} when the buffer is full
+     */
+    CompletableFuture<Void> offer(InspectionRecord record);
+
+    /**
+     * Block until a buffered record has been committed. Returns immediately when the
+     * record is not (or no longer) buffered.
+     */
+    void awaitPersisted(String inspectionId);
+}
@@ -0,0 +1,18 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.domain.barcode.GtinBloomFilter;
+import com.paklog.quality.domain.valueobject.ItemReference;
+import java.util.Optional;
+
+/**
+ * In-memory item master reference data; lookups never leave the process
+ */
+public interface ItemMasterPort {
+
+    Optional<ItemReference> findByItemId(String itemId);
+
+    /**
+     * GTINs of all items whose barcode is a valid GTIN, for scan membership checks
+     */
+    GtinBloomFilter knownGtins();
+}
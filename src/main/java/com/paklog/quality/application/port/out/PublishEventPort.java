@@ -1,7 +1,22 @@
 package com.paklog.quality.application.port.out;
 
 import com.paklog.quality.domain.event.DomainEvent;
+import java.util.List;
 
 public interface PublishEventPort {
     void publish(DomainEvent event);
+
+    /**
+     * Publish the events of one aggregate, in order
+     */
+    default void publishAll(List<DomainEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Publish the events of many aggregates as one batch; each aggregate's events are in order
+     */
+    default void publishBatch(List<DomainEvent> events) {
+        events.forEach(this::publish);
+    }
 }
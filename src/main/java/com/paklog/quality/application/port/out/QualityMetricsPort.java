@@ -0,0 +1,38 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.domain.valueobject.*;
+
+/**
+ * Hot-path instrumentation for the inspection lifecycle.
+ *
+ * Callers take a start mark with {@link #startTimer()} and hand it back when a stage or
+ * operation ends. When metrics are disabled the no-op adapter returns 0 without reading
+ * the clock, so instrumented code paths cost a virtual call and nothing else.
+ */
+public interface QualityMetricsPort {
+
+    enum Operation {
+        PERFORM_INSPECTION,
+        ADD_DEFECT,
+        COMPLETE_INSPECTION
+    }
+
+    enum Stage {
+        REPOSITORY_READ,
+        RULE_EVALUATION,
+        SAVE,
+        PUBLISH
+    }
+
+    long startTimer();
+
+    void recordStage(Operation operation, Stage stage, long startNanos);
+
+    void recordOperation(Operation operation, long startNanos);
+
+    void recordInspectionResult(InspectionResult result);
+
+    void recordDefect(DefectType type);
+
+    void recordRuleFailure(ComplianceLevel level);
+}
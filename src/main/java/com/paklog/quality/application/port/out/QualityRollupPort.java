@@ -0,0 +1,12 @@
+package com.paklog.quality.application.port.out;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.sketch.TDigest;
+
+/**
+ * Time-bucketed quantile and distinct-count sketches behind the quality dashboards
+ */
+public interface QualityRollupPort {
+    void recordCompletion(InspectionRecord inspection);
+    void recordTemperatures(String itemId, TDigest readings);
+}
@@ -0,0 +1,15 @@
+package com.paklog.quality.application.port.out;
+
+/**
+ * Hands out disjoint blocks of a named, cluster-wide sequence
+ */
+public interface SequenceBlockPort {
+
+    /**
+     * Reserve the next {@code blockSize} values of the sequence.
+     *
+     * @return the first value of the reserved block; the block covers
+     *         [returned value, returned value + blockSize)
+     */
+    long leaseBlock(String sequenceName, int blockSize);
+}
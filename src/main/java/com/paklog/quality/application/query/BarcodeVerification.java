@@ -0,0 +1,18 @@
+package com.paklog.quality.application.query;
+
+import com.paklog.quality.domain.barcode.Gs1Status;
+import java.time.LocalDate;
+
+/**
+ * Verification outcome of one scanned barcode with the GS1 fields it carried.
+ * gtin and sscc are the 14- and 18-digit forms; absent fields are null.
+ */
+public record BarcodeVerification(
+    String barcode,
+    Gs1Status status,
+    String gtin,
+    String sscc,
+    String lot,
+    String serial,
+    LocalDate expiryDate
+) {}
@@ -0,0 +1,13 @@
+package com.paklog.quality.application.query;
+
+/**
+ * Overall compliance verdict for an inspection from a fast-fail rule evaluation.
+ * failedRuleCode is the first CRITICAL rule found to fail, or null when compliant.
+ */
+public record ComplianceVerdict(
+    String inspectionId,
+    boolean compliant,
+    String failedRuleCode,
+    int rulesEvaluated,
+    int rulesLoaded
+) {}
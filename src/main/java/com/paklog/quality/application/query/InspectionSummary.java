@@ -0,0 +1,37 @@
+package com.paklog.quality.application.query;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.valueobject.*;
+import java.time.Instant;
+
+/**
+ * Compact view of an inspection: identity, status and counts, without defects or photos
+ */
+public record InspectionSummary(
+    String id,
+    String inspectionNumber,
+    InspectionType type,
+    InspectionResult result,
+    String itemId,
+    String inspectorId,
+    Instant inspectedAt,
+    int itemsInspected,
+    int defectsFound,
+    Long version
+) {
+
+    public static InspectionSummary from(InspectionRecord record) {
+        return new InspectionSummary(
+            record.getId(),
+            record.getInspectionNumber(),
+            record.getType(),
+            record.getResult(),
+            record.getItemId(),
+            record.getInspectorId(),
+            record.getInspectedAt(),
+            record.getItemsInspected(),
+            record.getDefectsFound(),
+            record.getVersion()
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.port.out.ItemMasterPort;
+import com.paklog.quality.application.query.BarcodeVerification;
+import com.paklog.quality.domain.barcode.BarcodeVerifier;
+import com.paklog.quality.domain.barcode.GtinBloomFilter;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import com.paklog.quality.domain.barcode.Gs1Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * GS1 barcode verification. Unknown GTINs are only reported when the item master is enabled;
+ * expiry dates are compared with today in the configured time zone.
+ */
+@Service
+public class BarcodeVerificationService implements BarcodeVerificationUseCase {
+
+    private final Optional<ItemMasterPort> itemMaster;
+    private final ZoneId zone;
+    private final int maxBatchSize;
+    public BarcodeVerificationService(Optional<ItemMasterPort> itemMaster,
+                                      @Value("${quality.barcode.time-zone:UTC}") ZoneId zone,
+                                      @Value("${quality.barcode.max-batch-size:10000}") int maxBatchSize) {
+        this.itemMaster = itemMaster;
+        this.zone = zone;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+
+    @Override
+    public Gs1Scan verify(String barcode) {
+        Gs1Scan scan = new Gs1Scan();
+        BarcodeVerifier.verify(barcode, knownGtins(), LocalDate.now(zone), scan);
+        return scan;
+    }
+
+    /**
+     * One scan result is reused for the whole batch; only the response records are allocated
+     */
+    @Override
+    public List<BarcodeVerification> verifyAll(List<String> barcodes) {
+        if (barcodes.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " barcodes per request");
+        }
+        GtinBloomFilter knownGtins = knownGtins();
+        LocalDate today = LocalDate.now(zone);
+        int year = today.getYear();
+        long epochDay = today.toEpochDay();
+        Gs1Scan scan = new Gs1Scan();
+
+        List<BarcodeVerification> results = new ArrayList<>(barcodes.size());
+        for (String barcode : barcodes) {
+            if (barcode == null) {
+                results.add(new BarcodeVerification(null, Gs1Status.MALFORMED, null, null, null, null, null));
+                continue;
+            }
+            Gs1Status status = BarcodeVerifier.verify(barcode, knownGtins, year, epochDay, scan);
+            results.add(status.isReadable()
+                ? new BarcodeVerification(barcode, status, scan.gtinText(), scan.ssccText(), scan.lot(), scan.serial(), scan.expiryDate())
+                : new BarcodeVerification(barcode, status, null, null, null, null, null));
+        }
+        return results;
+    }
+
+    private GtinBloomFilter knownGtins() {
+        return itemMaster.map(ItemMasterPort::knownGtins).orElse(null);
+    }
+}
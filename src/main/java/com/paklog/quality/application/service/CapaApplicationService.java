@@ -0,0 +1,108 @@
+package com.paklog.quality.application.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.port.out.InspectionWriteBufferPort;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.domain.aggregate.*;
+import com.paklog.quality.domain.event.*;
+import com.paklog.quality.domain.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * CAPA deadlines: quality.compliance.capa-deadline-hours after the non-conformance or
+ * violation that opened them. They are opened and closed by the service that raises those
+ * events, as it saves the inspection, so a deadline never depends on a consumer being up.
+ * Escalation claims the deadline first, so when every instance tracks it only one raises the
+ * CorrectiveActionOverdue event on the inspection.
+ */
+@Service
+public class CapaApplicationService implements CapaUseCase {
+    private static final Logger log = LoggerFactory.getLogger(CapaApplicationService.class);
+
+
+    private final CapaDeadlineRepository deadlineRepository;
+    private final InspectionRecordRepository inspectionRepository;
+    private final PublishEventPort publishEventPort;
+    private final Optional<InspectionWriteBufferPort> writeBuffer;
+    private final Duration capaDeadline;
+    public CapaApplicationService(CapaDeadlineRepository deadlineRepository, InspectionRecordRepository inspectionRepository, PublishEventPort publishEventPort,
+                                  Optional<InspectionWriteBufferPort> writeBuffer,
+                                  @Value("${quality.compliance.capa-deadline-hours:48}") long capaDeadlineHours) {
+        this.deadlineRepository = deadlineRepository;
+        this.inspectionRepository = inspectionRepository;
+        this.publishEventPort = publishEventPort;
+        this.writeBuffer = writeBuffer;
+        this.capaDeadline = Duration.ofHours(capaDeadlineHours);
+    }
+
+
+    @Override
+    public CapaDeadline openDeadline(String inspectionId, String trigger, String reason, Instant occurredAt) {
+        CapaDeadline deadline = deadlineRepository.openIfAbsent(
+            CapaDeadline.open(inspectionId, trigger, reason, occurredAt, occurredAt.plus(capaDeadline)));
+        log.debug("CAPA deadline for inspection {}: {} due {}", inspectionId, deadline.getStatus(), deadline.getDueAt());
+        return deadline;
+    }
+
+    @Override
+    public boolean closeDeadline(String inspectionId, String correctiveAction, Instant completedAt) {
+        return deadlineRepository.close(inspectionId, correctiveAction, completedAt);
+    }
+
+    @Override
+    public void applyDeadlineEvents(Collection<? extends DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof NonConformanceCreatedEvent nonConformance) {
+                openDeadline(nonConformance.getInspectionId(), event.getEventType(), nonConformance.getDescription(), event.getOccurredAt());
+            } else if (event instanceof ComplianceViolationEvent violation) {
+                openDeadline(violation.getInspectionId(), event.getEventType(), violation.getDescription(), event.getOccurredAt());
+            } else if (event instanceof CorrectiveActionTakenEvent correction) {
+                closeDeadline(correction.getInspectionId(), correction.getAction(),
+                    correction.getCompletedAt() != null ? correction.getCompletedAt() : event.getOccurredAt());
+            }
+        }
+    }
+
+    /**
+     * If the inspection cannot be updated the claim is released again and the exception
+     * rethrown, so the caller can retry later
+     */
+    @Override
+    public boolean escalate(String inspectionId, Instant dueAt) {
+        if (!deadlineRepository.markEscalated(inspectionId, dueAt, Instant.now())) {
+            return false;
+        }
+        try {
+            writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(inspectionId));
+            InspectionRecord inspection = inspectionRepository.findById(inspectionId)
+                .orElseThrow(() -> new IllegalStateException("Inspection " + inspectionId + " not found"));
+            String trigger = deadlineRepository.findById(inspectionId).map(CapaDeadline::getTrigger).orElse(null);
+            inspection.escalateCorrectiveAction(trigger, dueAt);
+            inspectionRepository.save(inspection);
+            publishEventPort.publishAll(inspection.domainEvents());
+            inspection.clearDomainEvents();
+        } catch (RuntimeException e) {
+            deadlineRepository.reopen(inspectionId, dueAt);
+            throw e;
+        }
+        log.warn("CAPA for inspection {} overdue since {}; escalated", inspectionId, dueAt);
+        return true;
+    }
+
+    @Override
+    public Optional<CapaDeadline> getDeadline(String inspectionId) {
+        return deadlineRepository.findById(inspectionId);
+    }
+
+    @Override
+    public void forEachOpenDeadline(BiConsumer<String, Instant> consumer) {
+        deadlineRepository.forEachOpen(consumer);
+    }
+}
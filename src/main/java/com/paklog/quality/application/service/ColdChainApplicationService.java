@@ -0,0 +1,153 @@
+package com.paklog.quality.application.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.command.IngestTemperatureTraceCommand;
+import com.paklog.quality.application.port.in.ColdChainUseCase;
+import com.paklog.quality.application.port.out.InspectionWriteBufferPort;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.application.port.out.QualityRollupPort;
+import com.paklog.quality.domain.aggregate.*;
+import com.paklog.quality.domain.repository.*;
+import com.paklog.quality.domain.sketch.TDigest;
+import com.paklog.quality.domain.timeseries.*;
+import com.paklog.quality.domain.valueobject.DefectType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+
+@Service
+public class ColdChainApplicationService implements ColdChainUseCase {
+    private static final Logger log = LoggerFactory.getLogger(ColdChainApplicationService.class);
+
+
+    private final TemperatureTraceRepository traceRepository;
+    private final InspectionRecordRepository inspectionRepository;
+    private final PublishEventPort publishEventPort;
+    private final QualityMetricsPort metrics;
+    private final Optional<InspectionWriteBufferPort> writeBuffer;
+    private final Optional<QualityRollupPort> rollups;
+    private final MeanKineticTemperature meanKineticTemperature;
+    private final double defaultMinCelsius;
+    private final double defaultMaxCelsius;
+    private final Duration maxGap;
+    private final Duration allowedTimeOutOfRange;
+    private final int maxReadings;
+    public ColdChainApplicationService(TemperatureTraceRepository traceRepository, InspectionRecordRepository inspectionRepository, PublishEventPort publishEventPort, QualityMetricsPort metrics,
+                                       Optional<InspectionWriteBufferPort> writeBuffer,
+                                       Optional<QualityRollupPort> rollups,
+                                       @Value("${quality.coldchain.activation-energy:83144}") double activationEnergy,
+                                       @Value("${quality.coldchain.default-min-celsius:2.0}") double defaultMinCelsius,
+                                       @Value("${quality.coldchain.default-max-celsius:8.0}") double defaultMaxCelsius,
+                                       @Value("${quality.coldchain.max-gap:5m}") Duration maxGap,
+                                       @Value("${quality.coldchain.allowed-time-out-of-range:30m}") Duration allowedTimeOutOfRange,
+                                       @Value("${quality.coldchain.max-readings:1000000}") int maxReadings) {
+        this.traceRepository = traceRepository;
+        this.inspectionRepository = inspectionRepository;
+        this.publishEventPort = publishEventPort;
+        this.metrics = metrics;
+        this.writeBuffer = writeBuffer;
+        this.rollups = rollups;
+        this.meanKineticTemperature = activationEnergy == MeanKineticTemperature.DEFAULT_ACTIVATION_ENERGY
+            ? MeanKineticTemperature.standard()
+            : new MeanKineticTemperature(activationEnergy);
+        this.defaultMinCelsius = defaultMinCelsius;
+        this.defaultMaxCelsius = defaultMaxCelsius;
+        this.maxGap = maxGap;
+        this.allowedTimeOutOfRange = allowedTimeOutOfRange;
+        this.maxReadings = maxReadings;
+    }
+
+
+    /**
+     * Readings are analyzed and compressed as they are parsed; the dump is never held in memory
+     * as a list of points. A dump already stored for the shipment (same logger and reading span)
+     * is not stored again and raises no second defect; the earlier trace is returned.
+     */
+    @Override
+    @Transactional
+    public TemperatureTrace ingestTrace(IngestTemperatureTraceCommand command, TemperatureReadings readings) {
+        double minCelsius = command.minCelsius() != null ? command.minCelsius() : defaultMinCelsius;
+        double maxCelsius = command.maxCelsius() != null ? command.maxCelsius() : defaultMaxCelsius;
+        Optional<InspectionRecord> target = Optional.empty();
+        if (command.inspectionId() != null) {
+            writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(command.inspectionId()));
+            target = Optional.of(inspectionRepository.findById(command.inspectionId())
+                .orElseThrow(() -> new IllegalArgumentException("Inspection not found")));
+        }
+
+        TemperatureTraceAnalyzer analyzer = new TemperatureTraceAnalyzer(minCelsius, maxCelsius, maxGap, meanKineticTemperature);
+        TemperatureSeriesEncoder encoder = new TemperatureSeriesEncoder();
+        TDigest temperatures = rollups.isPresent() ? new TDigest() : null;
+        try {
+            readings.forEach((epochMillis, celsius) -> {
+                if (encoder.count() == maxReadings) {
+                    throw new IllegalArgumentException("Temperature trace exceeds " + maxReadings + " readings");
+                }
+                analyzer.accept(epochMillis, celsius);
+                encoder.add(epochMillis, celsius);
+                if (temperatures != null) {
+                    temperatures.add(celsius);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read temperature trace for shipment " + command.shipmentId(), e);
+        }
+        if (encoder.count() == 0) {
+            throw new IllegalArgumentException("Temperature trace has no readings");
+        }
+
+        TemperatureTraceSummary summary = analyzer.summary();
+        Optional<TemperatureTrace> uploaded = traceRepository.findByShipmentId(command.shipmentId()).stream()
+            .filter(existing -> existing.isSameDump(command.loggerId(), summary))
+            .findFirst();
+        if (uploaded.isPresent()) {
+            log.info("Temperature trace for shipment {} from logger {} was already stored as {}; ignoring the re-upload",
+                command.shipmentId(), command.loggerId(), uploaded.get().getId());
+            return traceRepository.findById(uploaded.get().getId()).orElse(uploaded.get());
+        }
+
+        TemperatureTrace trace = traceRepository.save(TemperatureTrace.of(
+            command.shipmentId(), command.loggerId(), minCelsius, maxCelsius, summary, encoder.toByteArray()));
+        log.info("Stored temperature trace {} for shipment {}: {} readings in {} bytes, {} excursion(s), MKT {}",
+            trace.getId(), command.shipmentId(), summary.readings(), trace.getCompressedBytes(),
+            summary.excursionCount(), String.format("%.2f", summary.meanKineticCelsius()));
+
+        List<InspectionRecord> inspections = summary.hasExcursions() || temperatures != null
+            ? target.map(List::of).orElseGet(() -> inspectionRepository.findByShipmentId(command.shipmentId()))
+            : List.of();
+        // Readings count toward the family of the inspected item; the shipment's first inspection stands in
+        if (temperatures != null) {
+            rollups.get().recordTemperatures(inspections.isEmpty() ? null : inspections.get(0).getItemId(), temperatures);
+        }
+
+        if (summary.hasExcursions()) {
+            if (inspections.isEmpty()) {
+                log.warn("Temperature excursions for shipment {} but no inspection to record them on", command.shipmentId());
+            }
+            for (InspectionRecord inspection : inspections) {
+                inspection.validateTemperatureTrace(summary, minCelsius, maxCelsius, allowedTimeOutOfRange);
+                metrics.recordDefect(DefectType.TEMPERATURE_VIOLATION);
+                inspectionRepository.save(inspection);
+                publishEventPort.publishAll(inspection.domainEvents());
+                inspection.clearDomainEvents();
+            }
+        }
+        return trace;
+    }
+
+    @Override
+    public List<TemperatureTrace> getTraces(String shipmentId) {
+        return traceRepository.findByShipmentId(shipmentId);
+    }
+
+    @Override
+    public Optional<TemperatureTrace> getTrace(String traceId) {
+        return traceRepository.findById(traceId);
+    }
+}
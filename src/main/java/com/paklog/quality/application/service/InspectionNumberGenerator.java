@@ -0,0 +1,142 @@
+package com.paklog.quality.application.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.out.SequenceBlockPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates unique inspection numbers: INS-{site}-{12-digit sequence}.
+ *
+ * The sequence is cluster-wide. Each node leases a block of values from the store and
+ * hands them out with a single atomic increment, so the hot path takes no lock and makes
+ * no round trip. Numbers increase on each node, but they are not ordered by creation time
+ * across nodes: a node works through its block while others lease later ones. Sort by
+ * inspectedAt, not by number. The next block is prefetched in the background once the
+ * current one is partly used, so callers rarely wait on a lease.
+ */
+@Component
+public class InspectionNumberGenerator {
+    private static final Logger log = LoggerFactory.getLogger(InspectionNumberGenerator.class);
+
+    static final String SEQUENCE_NAME = "inspectionNumber";
+    private static final int SEQUENCE_DIGITS = 12;
+
+    private final SequenceBlockPort sequenceBlockPort;
+    private final int blockSize;
+    private final int prefetchAt;
+    private final char[] prefix;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EXHAUSTED);
+    private final AtomicReference<CompletableFuture<Block>> prefetched = new AtomicReference<>();
+    private final ExecutorService leaseExecutor;
+    private final Object refillLock = new Object();
+
+    public InspectionNumberGenerator(SequenceBlockPort sequenceBlockPort,
+                                     @Value("${quality.inspection.number.site-id:DC01}") String siteId,
+                                     @Value("${quality.inspection.number.block-size:10000}") int blockSize) {
+        this.sequenceBlockPort = sequenceBlockPort;
+        this.blockSize = blockSize;
+        this.prefetchAt = Math.max(1, blockSize / 2);
+        this.prefix = ("INS-" + siteId + "-").toCharArray();
+        this.leaseExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inspection-number-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseExecutor.shutdownNow();
+    }
+
+    public String nextInspectionNumber() {
+        return format(nextSequence());
+    }
+
+    long nextSequence() {
+        while (true) {
+            Block block = current.get();
+            long offset = block.next.getAndIncrement();
+            if (offset < block.size) {
+                if (offset == prefetchAt) {
+                    prefetch();
+                }
+                return block.start + offset;
+            }
+            refill(block);
+        }
+    }
+
+    // Claim the slot before leasing, so a lost race never leases a block nobody will use
+    private void prefetch() {
+        CompletableFuture<Block> lease = new CompletableFuture<>();
+        if (!prefetched.compareAndSet(null, lease)) {
+            return;
+        }
+        try {
+            leaseExecutor.execute(() -> {
+                try {
+                    lease.complete(leaseBlock());
+                } catch (RuntimeException e) {
+                    lease.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lease.completeExceptionally(e);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        synchronized (refillLock) {
+            if (current.get() != exhausted) {
+                return;
+            }
+            CompletableFuture<Block> lease = prefetched.getAndSet(null);
+            Block next = null;
+            if (lease != null) {
+                try {
+                    next = lease.join();
+                } catch (CompletionException | CancellationException e) {
+                    log.warn("Prefetched inspection number block unavailable, leasing synchronously", e);
+                }
+            }
+            current.set(next != null ? next : leaseBlock());
+        }
+    }
+
+    private Block leaseBlock() {
+        long start = sequenceBlockPort.leaseBlock(SEQUENCE_NAME, blockSize);
+        log.debug("Leased inspection numbers {}..{}", start, start + blockSize - 1);
+        return new Block(start, blockSize);
+    }
+
+    private String format(long sequence) {
+        char[] number = new char[prefix.length + SEQUENCE_DIGITS];
+        System.arraycopy(prefix, 0, number, 0, prefix.length);
+        long remaining = sequence;
+        for (int i = number.length - 1; i >= prefix.length; i--) {
+            number[i] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        return new String(number);
+    }
+
+    private static final class Block {
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        private final long start;
+        private final long size;
+        private final AtomicLong next = new AtomicLong();
+
+        private Block(long start, long size) {
+            this.start = start;
+            this.size = size;
+        }
+    }
+}
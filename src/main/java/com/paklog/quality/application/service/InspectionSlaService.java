@@ -0,0 +1,120 @@
+package com.paklog.quality.application.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.port.in.InspectionSlaUseCase;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.event.DomainEvent;
+import com.paklog.quality.domain.repository.InspectionSlaRepository;
+import com.paklog.quality.domain.valueobject.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Inspection SLAs: an inspection performed but not completed within its type's maximum open
+ * duration is escalated or quarantined. quality.inspection.sla.max-open and .action apply to
+ * every type unless overridden, e.g. overrides: RECEIVING=4h:QUARANTINE,PICKING=30m.
+ *
+ * A sweep claims each action's overdue inspections with one bulk update and publishes the
+ * events of all of them as one batch.
+ */
+@Service
+public class InspectionSlaService implements InspectionSlaUseCase {
+    private static final Logger log = LoggerFactory.getLogger(InspectionSlaService.class);
+
+
+    private final InspectionSlaRepository slaRepository;
+    private final PublishEventPort publishEventPort;
+    private final CapaUseCase capaUseCase;
+    private final Map<InspectionType, Duration> maxOpen = new EnumMap<>(InspectionType.class);
+    private final Map<InspectionType, SlaAction> actions = new EnumMap<>(InspectionType.class);
+    private final Duration shortestMaxOpen;
+    public InspectionSlaService(InspectionSlaRepository slaRepository, PublishEventPort publishEventPort, CapaUseCase capaUseCase,
+                                @Value("${quality.inspection.sla.max-open:24h}") Duration defaultMaxOpen,
+                                @Value("${quality.inspection.sla.action:ESCALATE}") SlaAction defaultAction,
+                                @Value("${quality.inspection.sla.overrides:}") String[] overrides) {
+        this.slaRepository = slaRepository;
+        this.publishEventPort = publishEventPort;
+        this.capaUseCase = capaUseCase;
+        for (InspectionType type : InspectionType.values()) {
+            maxOpen.put(type, defaultMaxOpen);
+            actions.put(type, defaultAction);
+        }
+        for (String override : overrides) {
+            applyOverride(override.trim());
+        }
+        this.shortestMaxOpen = Collections.min(maxOpen.values());
+    }
+
+
+    private void applyOverride(String override) {
+        if (override.isEmpty()) {
+            return;
+        }
+        int equals = override.indexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("SLA override must be TYPE=duration[:ACTION]: " + override);
+        }
+        InspectionType type = InspectionType.valueOf(override.substring(0, equals).trim());
+        String[] value = override.substring(equals + 1).split(":");
+        maxOpen.put(type, DurationStyle.detectAndParse(value[0].trim()));
+        if (value.length > 1) {
+            actions.put(type, SlaAction.valueOf(value[1].trim()));
+        }
+    }
+
+    @Override
+    public Instant dueAt(InspectionType type, Instant inspectedAt) {
+        return inspectedAt.plus(maxOpen.get(type));
+    }
+
+    @Override
+    public void forEachOpen(BiConsumer<String, Instant> consumer) {
+        slaRepository.forEachOpen(Instant.now(), inspection ->
+            consumer.accept(inspection.id(), dueAt(inspection.type(), inspection.inspectedAt())));
+    }
+
+    @Override
+    public void forEachOverdue(Instant now, BiConsumer<String, Instant> consumer) {
+        slaRepository.forEachOpen(now.minus(shortestMaxOpen), inspection -> {
+            Instant dueAt = dueAt(inspection.type(), inspection.inspectedAt());
+            if (!dueAt.isAfter(now)) {
+                consumer.accept(inspection.id(), dueAt);
+            }
+        });
+    }
+
+    @Override
+    public int sweep(Collection<String> inspectionIds) {
+        Instant now = Instant.now();
+        List<DomainEvent> events = new ArrayList<>();
+        int breached = 0;
+        for (SlaAction action : SlaAction.values()) {
+            Map<InspectionType, Instant> performedBefore = new EnumMap<>(InspectionType.class);
+            actions.forEach((type, typeAction) -> {
+                if (typeAction == action) {
+                    performedBefore.put(type, now.minus(maxOpen.get(type)));
+                }
+            });
+            List<OpenInspection> claimed = slaRepository.claimBreached(inspectionIds, performedBefore, action, now);
+            for (OpenInspection inspection : claimed) {
+                events.addAll(InspectionRecord.slaBreachEvents(inspection, dueAt(inspection.type(), inspection.inspectedAt()), action));
+            }
+            if (!claimed.isEmpty()) {
+                log.warn("{} inspections open past their SLA: {}", claimed.size(), action);
+            }
+            breached += claimed.size();
+        }
+        // Quarantines raise ComplianceViolation, which opens a CAPA deadline
+        capaUseCase.applyDeadlineEvents(events);
+        publishEventPort.publishBatch(events);
+        return breached;
+    }
+}
@@ -2,16 +2,36 @@ package com.paklog.quality.application.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.paklog.quality.application.command.InspectionSubmission;
 import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.command.WriteDurability;
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.exception.WriteBufferFullException;
 import com.paklog.quality.application.port.in.QualityControlUseCase;
+import com.paklog.quality.application.port.out.InspectionSummaryQueryPort;
+import com.paklog.quality.application.port.out.InspectionSlaTimerPort;
+import com.paklog.quality.application.port.out.InspectionWriteBufferPort;
+import com.paklog.quality.application.port.out.ItemMasterPort;
 import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.application.port.out.QualityRollupPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort.Operation;
+import com.paklog.quality.application.port.out.QualityMetricsPort.Stage;
+import com.paklog.quality.application.query.ComplianceVerdict;
+import com.paklog.quality.application.query.InspectionSummary;
 import com.paklog.quality.domain.aggregate.*;
+import com.paklog.quality.domain.event.DomainEvent;
 import com.paklog.quality.domain.repository.*;
 import com.paklog.quality.domain.service.*;
+import com.paklog.quality.domain.valueobject.ItemReference;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.Instant;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
 public class QualityApplicationService implements QualityControlUseCase {
@@ -19,25 +39,91 @@ public class QualityApplicationService implements QualityControlUseCase {
 
 
     private final InspectionRecordRepository inspectionRepository;
+    private final InspectionSummaryQueryPort summaryQueryPort;
     private final ComplianceRuleRepository ruleRepository;
     private final RuleEvaluationService ruleEvaluationService;
     private final PublishEventPort publishEventPort;
-    public QualityApplicationService(InspectionRecordRepository inspectionRepository, ComplianceRuleRepository ruleRepository, RuleEvaluationService ruleEvaluationService, PublishEventPort publishEventPort) {
+    private final QualityMetricsPort metrics;
+    private final InspectionNumberGenerator inspectionNumberGenerator;
+    private final Optional<InspectionWriteBufferPort> writeBuffer;
+    private final Optional<ItemMasterPort> itemMaster;
+    private final Optional<InspectionSlaTimerPort> slaTimers;
+    private final Optional<QualityRollupPort> rollups;
+    private final BarcodeVerificationUseCase barcodeVerification;
+    private final CapaUseCase capaUseCase;
+    private final WriteDurability defaultDurability;
+    private final Duration syncTimeout;
+    private final double defaultWeightTolerancePercent;
+    // Runs the follow-up of buffered inspections once committed, off the group-commit writer thread
+    private final ExecutorService commitCallbacks;
+    public QualityApplicationService(InspectionRecordRepository inspectionRepository, InspectionSummaryQueryPort summaryQueryPort, ComplianceRuleRepository ruleRepository, RuleEvaluationService ruleEvaluationService, PublishEventPort publishEventPort, QualityMetricsPort metrics,
+                                     InspectionNumberGenerator inspectionNumberGenerator,
+                                     Optional<InspectionWriteBufferPort> writeBuffer,
+                                     Optional<ItemMasterPort> itemMaster,
+                                     Optional<InspectionSlaTimerPort> slaTimers,
+                                     Optional<QualityRollupPort> rollups,
+                                     BarcodeVerificationUseCase barcodeVerification,
+                                     CapaUseCase capaUseCase,
+                                     @Value("${quality.inspection.async-write.default-durability:ASYNC}") WriteDurability defaultDurability,
+                                     @Value("${quality.inspection.async-write.sync-timeout:5s}") Duration syncTimeout,
+                                     @Value("${quality.inspection.weight-tolerance-percent:2.0}") double defaultWeightTolerancePercent) {
         this.inspectionRepository = inspectionRepository;
+        this.summaryQueryPort = summaryQueryPort;
         this.ruleRepository = ruleRepository;
         this.ruleEvaluationService = ruleEvaluationService;
         this.publishEventPort = publishEventPort;
+        this.metrics = metrics;
+        this.inspectionNumberGenerator = inspectionNumberGenerator;
+        this.writeBuffer = writeBuffer;
+        this.itemMaster = itemMaster;
+        this.slaTimers = slaTimers;
+        this.rollups = rollups;
+        this.barcodeVerification = barcodeVerification;
+        this.capaUseCase = capaUseCase;
+        this.defaultDurability = defaultDurability;
+        this.syncTimeout = syncTimeout;
+        this.defaultWeightTolerancePercent = defaultWeightTolerancePercent;
+        this.commitCallbacks = writeBuffer.isEmpty() ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inspection-commit-callbacks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Give the follow-up of inspections already committed up to syncTimeout to finish
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (commitCallbacks != null) {
+            commitCallbacks.shutdown();
+            if (!commitCallbacks.awaitTermination(syncTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Events of committed inspections still unpublished at shutdown");
+            }
+        }
     }
 
 
     @Override
     @Transactional
     public String performInspection(PerformInspectionCommand command) {
+        return submitInspection(command, WriteDurability.SYNC).inspectionId();
+    }
+
+    /**
+     * Create an inspection. Without the async write buffer every submission is a direct,
+     * synchronous save. With it, ASYNC returns once the record is buffered and SYNC waits
+     * for the group commit that includes it.
+     */
+    @Override
+    @Transactional
+    public InspectionSubmission submitInspection(PerformInspectionCommand command, WriteDurability durability) {
+        long started = metrics.startTimer();
         log.info("Performing {} inspection", command.type());
 
         InspectionRecord inspection = InspectionRecord.builder()
             .id(UUID.randomUUID().toString())
-            .inspectionNumber("INS-" + Instant.now().getEpochSecond())
+            .inspectionNumber(inspectionNumberGenerator.nextInspectionNumber())
             .type(command.type())
             .itemId(command.itemId())
             .inspectorId(command.inspectorId())
@@ -45,52 +131,218 @@ public class QualityApplicationService implements QualityControlUseCase {
             .sampleSize(command.sampleSize())
             .orderId(command.orderId())
             .shipmentId(command.shipmentId())
+            .weightKg(command.weightKg() != null ? command.weightKg() : 0)
+            .barcode(command.barcode())
             .build();
 
         inspection.perform();
-        inspection = inspectionRepository.save(inspection);
+        Optional<ItemReference> reference = itemMaster.flatMap(master -> master.findByItemId(command.itemId()));
+        if (reference.isPresent()) {
+            inspection.validateAgainst(reference.get(), defaultWeightTolerancePercent);
+        }
+        if (command.barcode() != null) {
+            inspection.verifyBarcode(barcodeVerification.verify(command.barcode()),
+                reference.map(ItemReference::barcode).orElse(null));
+        }
+
+        // Defects found by item master validation or barcode verification raise DefectDetected
+        List<DomainEvent> events = inspection.domainEvents();
+        inspection.clearDomainEvents();
 
-        log.info("Inspection created: {}", inspection.getId());
-        return inspection.getId();
+        long stage = metrics.startTimer();
+        boolean persisted;
+        if (writeBuffer.isPresent()) {
+            persisted = buffer(writeBuffer.get(), inspection, events, durability != null ? durability : defaultDurability);
+        } else {
+            inspection = inspectionRepository.save(inspection);
+            persisted = true;
+        }
+        metrics.recordStage(Operation.PERFORM_INSPECTION, Stage.SAVE, stage);
+        if (writeBuffer.isEmpty()) {
+            stage = metrics.startTimer();
+            publishEventPort.publishAll(events);
+            metrics.recordStage(Operation.PERFORM_INSPECTION, Stage.PUBLISH, stage);
+            trackSla(inspection);
+        }
+
+        log.info("Inspection {}: {}", persisted ? "created" : "accepted", inspection.getId());
+        metrics.recordOperation(Operation.PERFORM_INSPECTION, started);
+        return new InspectionSubmission(inspection.getId(), persisted);
+    }
+
+    /**
+     * Once the group commit that includes the inspection succeeds, whatever the durability, its
+     * events are published and its SLA timer is started
+     */
+    private boolean buffer(InspectionWriteBufferPort buffer, InspectionRecord inspection, List<DomainEvent> events,
+                           WriteDurability durability) {
+        CompletableFuture<Void> committed = buffer.offer(inspection);
+        if (committed == null) {
+            throw new WriteBufferFullException("Inspection write buffer is full");
+        }
+        committed.whenCompleteAsync((ignored, failure) -> afterCommit(inspection, events, failure), commitCallbacks);
+        if (durability == WriteDurability.ASYNC) {
+            return false;
+        }
+
+        try {
+            committed.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            // Still queued and will be written; report it as accepted rather than created
+            log.warn("Inspection {} not committed within {}", inspection.getId(), syncTimeout);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for inspection to be persisted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to persist inspection " + inspection.getId(), e.getCause());
+        }
+    }
+
+    private void afterCommit(InspectionRecord inspection, List<DomainEvent> events, Throwable failure) {
+        if (failure != null) {
+            // The writer has logged and counted the failure; say what the caller's accepted inspection lost
+            log.error("Accepted inspection {} was not persisted; dropping its {} events and SLA timer",
+                inspection.getId(), events.size());
+            return;
+        }
+        if (!events.isEmpty()) {
+            try {
+                publishEventPort.publishAll(events);
+            } catch (RuntimeException e) {
+                log.error("Failed to publish events of inspection {}", inspection.getId(), e);
+            }
+        }
+        trackSla(inspection);
+    }
+
+    private void trackSla(InspectionRecord inspection) {
+        if (slaTimers.isPresent()) {
+            slaTimers.get().track(inspection.getId(), inspection.getType(), inspection.getInspectedAt());
+        }
     }
 
     @Override
     @Transactional
     public void addDefect(String inspectionId, Defect defect) {
-        InspectionRecord inspection = inspectionRepository.findById(inspectionId)
-            .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
+        long started = metrics.startTimer();
+
+        long stage = metrics.startTimer();
+        InspectionRecord inspection = loadInspection(inspectionId);
+        metrics.recordStage(Operation.ADD_DEFECT, Stage.REPOSITORY_READ, stage);
 
         inspection.addDefect(defect);
+        metrics.recordDefect(defect.getType());
+
+        stage = metrics.startTimer();
         inspectionRepository.save(inspection);
+        metrics.recordStage(Operation.ADD_DEFECT, Stage.SAVE, stage);
 
-        inspection.domainEvents().forEach(publishEventPort::publish);
+        stage = metrics.startTimer();
+        publishEventPort.publishAll(inspection.domainEvents());
         inspection.clearDomainEvents();
+        metrics.recordStage(Operation.ADD_DEFECT, Stage.PUBLISH, stage);
+
+        metrics.recordOperation(Operation.ADD_DEFECT, started);
     }
 
     @Override
     @Transactional
     public void completeInspection(String inspectionId) {
-        InspectionRecord inspection = inspectionRepository.findById(inspectionId)
-            .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
+        long started = metrics.startTimer();
 
-        // Evaluate compliance rules
+        long stage = metrics.startTimer();
+        InspectionRecord inspection = loadInspection(inspectionId);
         List<ComplianceRule> rules = ruleRepository.findByType(inspection.getType());
+        metrics.recordStage(Operation.COMPLETE_INSPECTION, Stage.REPOSITORY_READ, stage);
+
+        // Evaluate compliance rules
+        stage = metrics.startTimer();
         RuleEvaluationService.RuleEvaluationResult ruleResult =
             ruleEvaluationService.evaluateRules(inspection, rules);
+        metrics.recordStage(Operation.COMPLETE_INSPECTION, Stage.RULE_EVALUATION, stage);
+
+        for (ComplianceRule failedRule : ruleResult.getFailedRuleDetails()) {
+            metrics.recordRuleFailure(failedRule.getLevel());
+        }
 
         if (!ruleResult.isOverallPassed()) {
             inspection.createNonConformance("Compliance rule violations detected");
         }
 
         inspection.complete();
+
+        stage = metrics.startTimer();
         inspectionRepository.save(inspection);
+        capaUseCase.applyDeadlineEvents(inspection.domainEvents());
+        metrics.recordStage(Operation.COMPLETE_INSPECTION, Stage.SAVE, stage);
+        slaTimers.ifPresent(timers -> timers.untrack(inspectionId));
+        rollups.ifPresent(rollup -> rollup.recordCompletion(inspection));
 
-        inspection.domainEvents().forEach(publishEventPort::publish);
+        stage = metrics.startTimer();
+        publishEventPort.publishAll(inspection.domainEvents());
+        inspection.clearDomainEvents();
+        metrics.recordStage(Operation.COMPLETE_INSPECTION, Stage.PUBLISH, stage);
+
+        metrics.recordInspectionResult(inspection.getResult());
+        metrics.recordOperation(Operation.COMPLETE_INSPECTION, started);
+    }
+
+    @Override
+    @Transactional
+    public void applyCorrection(String inspectionId, String action) {
+        InspectionRecord inspection = loadInspection(inspectionId);
+        inspection.applyCorrection(action);
+        inspectionRepository.save(inspection);
+        capaUseCase.applyDeadlineEvents(inspection.domainEvents());
+        publishEventPort.publishAll(inspection.domainEvents());
         inspection.clearDomainEvents();
     }
 
     @Override
     public InspectionRecord getInspection(String inspectionId) {
+        writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(inspectionId));
+        return inspectionRepository.findByIdReadOnly(inspectionId)
+            .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
+    }
+
+    @Override
+    public InspectionSummary getInspectionSummary(String inspectionId) {
+        writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(inspectionId));
+        return summaryQueryPort.findSummaryById(inspectionId)
+            .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
+    }
+
+    /**
+     * Verdict only, so rules are evaluated in fast-fail mode; completion keeps the detailed
+     * evaluation because it records every failed rule
+     */
+    @Override
+    public ComplianceVerdict checkCompliance(String inspectionId) {
+        writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(inspectionId));
+        InspectionRecord inspection = inspectionRepository.findByIdReadOnly(inspectionId)
+            .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
+        List<ComplianceRule> rules = ruleRepository.findByType(inspection.getType());
+
+        RuleEvaluationService.RuleEvaluationResult result =
+            ruleEvaluationService.evaluateRules(inspection, rules, EvaluationMode.FAST_FAIL);
+        List<ComplianceRule> failed = result.getFailedRuleDetails();
+        return new ComplianceVerdict(
+            inspectionId,
+            result.isOverallPassed(),
+            failed.isEmpty() ? null : failed.get(0).getRuleCode(),
+            result.getEvaluatedRules(),
+            rules.size()
+        );
+    }
+
+    /**
+     * Load an inspection, first waiting for it to leave the write buffer if it was accepted
+     * asynchronously and has not been committed yet
+     */
+    private InspectionRecord loadInspection(String inspectionId) {
+        writeBuffer.ifPresent(buffer -> buffer.awaitPersisted(inspectionId));
         return inspectionRepository.findById(inspectionId)
             .orElseThrow(() -> new IllegalArgumentException("Inspection not found"));
     }
@@ -0,0 +1,212 @@
+package com.paklog.quality.application.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.port.in.ReactiveQualityControlUseCase;
+import com.paklog.quality.application.port.out.InspectionSlaTimerPort;
+import com.paklog.quality.application.port.out.ItemMasterPort;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.application.port.out.QualityRollupPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort.Operation;
+import com.paklog.quality.domain.aggregate.*;
+import com.paklog.quality.domain.repository.*;
+import com.paklog.quality.domain.service.*;
+import com.paklog.quality.domain.valueobject.ItemReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.util.*;
+
+/**
+ * Non-blocking implementation of the inspection lifecycle, active under the "reactive"
+ * profile. Shares the domain aggregates and {@link RuleEvaluationService} with the
+ * servlet stack; only persistence and transport differ.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveQualityApplicationService implements ReactiveQualityControlUseCase {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveQualityApplicationService.class);
+
+
+    private final ReactiveInspectionRecordRepository inspectionRepository;
+    private final ReactiveComplianceRuleRepository ruleRepository;
+    private final RuleEvaluationService ruleEvaluationService;
+    private final PublishEventPort publishEventPort;
+    private final QualityMetricsPort metrics;
+    private final InspectionNumberGenerator inspectionNumberGenerator;
+    private final Optional<ItemMasterPort> itemMaster;
+    private final Optional<InspectionSlaTimerPort> slaTimers;
+    private final Optional<QualityRollupPort> rollups;
+    private final BarcodeVerificationUseCase barcodeVerification;
+    private final CapaUseCase capaUseCase;
+    private final double defaultWeightTolerancePercent;
+    public ReactiveQualityApplicationService(ReactiveInspectionRecordRepository inspectionRepository, ReactiveComplianceRuleRepository ruleRepository, RuleEvaluationService ruleEvaluationService, PublishEventPort publishEventPort, QualityMetricsPort metrics, InspectionNumberGenerator inspectionNumberGenerator,
+                                             Optional<ItemMasterPort> itemMaster,
+                                             Optional<InspectionSlaTimerPort> slaTimers,
+                                             Optional<QualityRollupPort> rollups,
+                                             BarcodeVerificationUseCase barcodeVerification,
+                                             CapaUseCase capaUseCase,
+                                             @Value("${quality.inspection.weight-tolerance-percent:2.0}") double defaultWeightTolerancePercent) {
+        this.inspectionRepository = inspectionRepository;
+        this.ruleRepository = ruleRepository;
+        this.ruleEvaluationService = ruleEvaluationService;
+        this.publishEventPort = publishEventPort;
+        this.metrics = metrics;
+        this.inspectionNumberGenerator = inspectionNumberGenerator;
+        this.itemMaster = itemMaster;
+        this.slaTimers = slaTimers;
+        this.rollups = rollups;
+        this.barcodeVerification = barcodeVerification;
+        this.capaUseCase = capaUseCase;
+        this.defaultWeightTolerancePercent = defaultWeightTolerancePercent;
+    }
+
+
+    @Override
+    public Mono<String> performInspection(PerformInspectionCommand command) {
+        return Mono.defer(() -> {
+            long started = metrics.startTimer();
+            log.info("Performing {} inspection", command.type());
+
+            // Number generation only blocks when a sequence block has to be leased
+            return Mono.fromCallable(inspectionNumberGenerator::nextInspectionNumber)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(inspectionNumber -> {
+                    InspectionRecord inspection = InspectionRecord.builder()
+                        .id(UUID.randomUUID().toString())
+                        .inspectionNumber(inspectionNumber)
+                        .type(command.type())
+                        .itemId(command.itemId())
+                        .inspectorId(command.inspectorId())
+                        .samplingStrategy(command.samplingStrategy())
+                        .sampleSize(command.sampleSize())
+                        .orderId(command.orderId())
+                        .shipmentId(command.shipmentId())
+                        .weightKg(command.weightKg() != null ? command.weightKg() : 0)
+                        .barcode(command.barcode())
+                        .build();
+                    inspection.perform();
+                    // In-memory lookup and verification, safe on the event loop
+                    Optional<ItemReference> reference = itemMaster.flatMap(master -> master.findByItemId(command.itemId()));
+                    reference.ifPresent(ref -> inspection.validateAgainst(ref, defaultWeightTolerancePercent));
+                    if (command.barcode() != null) {
+                        inspection.verifyBarcode(barcodeVerification.verify(command.barcode()),
+                            reference.map(ItemReference::barcode).orElse(null));
+                    }
+                    return inspection;
+                })
+                .flatMap(inspection -> inspectionRepository.save(inspection).thenReturn(inspection))
+                // Defects found by item master validation or barcode verification raise DefectDetected
+                .flatMap(this::publishEvents)
+                .doOnNext(inspection -> slaTimers.ifPresent(timers ->
+                    timers.track(inspection.getId(), inspection.getType(), inspection.getInspectedAt())))
+                .map(InspectionRecord::getId)
+                .doOnSuccess(id -> {
+                    log.info("Inspection created: {}", id);
+                    metrics.recordOperation(Operation.PERFORM_INSPECTION, started);
+                });
+        });
+    }
+
+    @Override
+    public Mono<Void> addDefect(String inspectionId, Defect defect) {
+        return Mono.defer(() -> {
+            long started = metrics.startTimer();
+            return loadInspection(inspectionId)
+                .flatMap(inspection -> {
+                    inspection.addDefect(defect);
+                    metrics.recordDefect(defect.getType());
+                    return inspectionRepository.save(inspection).thenReturn(inspection);
+                })
+                .flatMap(this::publishEvents)
+                .doOnSuccess(inspection -> metrics.recordOperation(Operation.ADD_DEFECT, started))
+                .then();
+        });
+    }
+
+    @Override
+    public Mono<Void> completeInspection(String inspectionId) {
+        return Mono.defer(() -> {
+            long started = metrics.startTimer();
+            return loadInspection(inspectionId)
+                .flatMap(inspection -> ruleRepository.findByType(inspection.getType())
+                    .collectList()
+                    .map(rules -> {
+                        // Evaluate compliance rules
+                        RuleEvaluationService.RuleEvaluationResult ruleResult =
+                            ruleEvaluationService.evaluateRules(inspection, rules);
+
+                        for (ComplianceRule failedRule : ruleResult.getFailedRuleDetails()) {
+                            metrics.recordRuleFailure(failedRule.getLevel());
+                        }
+                        if (!ruleResult.isOverallPassed()) {
+                            inspection.createNonConformance("Compliance rule violations detected");
+                        }
+
+                        inspection.complete();
+                        return inspection;
+                    }))
+                .flatMap(inspection -> inspectionRepository.save(inspection).thenReturn(inspection))
+                .flatMap(this::applyCapaDeadlines)
+                .doOnNext(inspection -> {
+                    slaTimers.ifPresent(timers -> timers.untrack(inspectionId));
+                    rollups.ifPresent(rollup -> rollup.recordCompletion(inspection));
+                })
+                .flatMap(this::publishEvents)
+                .doOnNext(inspection -> metrics.recordInspectionResult(inspection.getResult()))
+                .doOnSuccess(inspection -> metrics.recordOperation(Operation.COMPLETE_INSPECTION, started))
+                .then();
+        });
+    }
+
+    @Override
+    public Mono<Void> applyCorrection(String inspectionId, String action) {
+        return loadInspection(inspectionId)
+            .flatMap(inspection -> {
+                inspection.applyCorrection(action);
+                return inspectionRepository.save(inspection).thenReturn(inspection);
+            })
+            .flatMap(this::applyCapaDeadlines)
+            .flatMap(this::publishEvents)
+            .then();
+    }
+
+    @Override
+    public Mono<InspectionRecord> getInspection(String inspectionId) {
+        return loadInspection(inspectionId);
+    }
+
+    @Override
+    public Flux<InspectionRecord> getFailedInspections() {
+        return inspectionRepository.findFailedInspections();
+    }
+
+    private Mono<InspectionRecord> loadInspection(String inspectionId) {
+        return inspectionRepository.findById(inspectionId)
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Inspection not found")));
+    }
+
+    // CAPA deadlines are kept with the blocking MongoTemplate
+    private Mono<InspectionRecord> applyCapaDeadlines(InspectionRecord inspection) {
+        return Mono.fromRunnable(() -> capaUseCase.applyDeadlineEvents(inspection.domainEvents()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(inspection);
+    }
+
+    // KafkaTemplate.send blocks on metadata fetches and a full producer buffer (max.block.ms), so not on the event loop
+    private Mono<InspectionRecord> publishEvents(InspectionRecord inspection) {
+        return Mono.fromRunnable(() -> {
+                publishEventPort.publishAll(inspection.domainEvents());
+                inspection.clearDomainEvents();
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(inspection);
+    }
+}
@@ -0,0 +1,54 @@
+package com.paklog.quality.domain.aggregate;
+
+import com.paklog.quality.domain.valueobject.CapaStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * Deadline for the corrective and preventive action on an inspection, opened by its first
+ * non-conformance or compliance violation. One per inspection: it stays OPEN until a
+ * corrective action closes it or the deadline passes and it is ESCALATED, and it reopens
+ * only for a violation raised after it was closed.
+ */
+@Document(collection = "capa_deadlines")
+@CompoundIndex(name = "status_dueAt", def = "{'status': 1, 'dueAt': 1}")
+public class CapaDeadline {
+
+    @Id
+    private String inspectionId;
+    private String trigger;
+    private String reason;
+    private Instant openedAt;
+    private Instant dueAt;
+    private CapaStatus status;
+    private Instant escalatedAt;
+    private Instant closedAt;
+    private String correctiveAction;
+
+    public static CapaDeadline open(String inspectionId, String trigger, String reason, Instant openedAt, Instant dueAt) {
+        CapaDeadline deadline = new CapaDeadline();
+        deadline.inspectionId = inspectionId;
+        deadline.trigger = trigger;
+        deadline.reason = reason;
+        deadline.openedAt = openedAt;
+        deadline.dueAt = dueAt;
+        deadline.status = CapaStatus.OPEN;
+        return deadline;
+    }
+
+    public boolean isOpen() {
+        return status == CapaStatus.OPEN;
+    }
+
+    public String getInspectionId() { return inspectionId; }
+    public String getTrigger() { return trigger; }
+    public String getReason() { return reason; }
+    public Instant getOpenedAt() { return openedAt; }
+    public Instant getDueAt() { return dueAt; }
+    public CapaStatus getStatus() { return status; }
+    public Instant getEscalatedAt() { return escalatedAt; }
+    public Instant getClosedAt() { return closedAt; }
+    public String getCorrectiveAction() { return correctiveAction; }
+}
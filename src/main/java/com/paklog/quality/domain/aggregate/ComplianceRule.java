@@ -1,5 +1,8 @@
 package com.paklog.quality.domain.aggregate;
 
+import com.paklog.quality.domain.expression.CompiledExpression;
+import com.paklog.quality.domain.expression.ExpressionCompiler;
+import com.paklog.quality.domain.service.InspectionFacts;
 import com.paklog.quality.domain.valueobject.*;
 import org.springframework.data.annotation.*;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -22,9 +25,18 @@ public class ComplianceRule {
     private String condition;  // Rule expression
     private double threshold;
 
+    // Multi-field expression; when set the rule fails where it is true and condition/threshold are ignored
+    private String violationExpression;
+
+    @Transient
+    private volatile CompiledExpression compiledViolation;
+
     private boolean active;
     private boolean mandatory;
 
+    // Null for the live rule set; candidate rule sets are stored inactive under a version label
+    private String ruleSetVersion;
+
     @CreatedDate
     private Instant createdAt;
 
@@ -38,7 +50,49 @@ public class ComplianceRule {
         if (!active) {
             return true;
         }
+        return check(inspectionData);
+    }
 
+    /**
+     * Evaluate rule against inspection data and its fact vector
+     */
+    public boolean evaluate(Map<String, Object> inspectionData, double[] factVector) {
+        if (!active) {
+            return true;
+        }
+        return check(inspectionData, factVector);
+    }
+
+    /**
+     * Evaluate the condition whether or not the rule is active, e.g. for a candidate rule set
+     */
+    public boolean check(Map<String, Object> inspectionData) {
+        if (violationExpression != null) {
+            return !compiledViolation().test(InspectionFacts.toVector(inspectionData));
+        }
+        return checkCondition(inspectionData);
+    }
+
+    /**
+     * As {@link #check(Map)}, with the fact vector already built by the caller
+     */
+    public boolean check(Map<String, Object> inspectionData, double[] factVector) {
+        if (violationExpression != null) {
+            return !compiledViolation().test(factVector);
+        }
+        return checkCondition(inspectionData);
+    }
+
+    private CompiledExpression compiledViolation() {
+        CompiledExpression compiled = compiledViolation;
+        if (compiled == null) {
+            compiled = ExpressionCompiler.compile(violationExpression);
+            compiledViolation = compiled;
+        }
+        return compiled;
+    }
+
+    private boolean checkCondition(Map<String, Object> inspectionData) {
         // Simple rule evaluation logic
         // In production, this would use a rules engine like Drools
 
@@ -78,8 +132,10 @@ public class ComplianceRule {
     public InspectionType getApplicableTo() { return applicableTo; }
     public String getCondition() { return condition; }
     public double getThreshold() { return threshold; }
+    public String getViolationExpression() { return violationExpression; }
     public boolean isActive() { return active; }
     public boolean isMandatory() { return mandatory; }
+    public String getRuleSetVersion() { return ruleSetVersion; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 
@@ -92,8 +148,20 @@ public class ComplianceRule {
     public void setApplicableTo(InspectionType applicableTo) { this.applicableTo = applicableTo; }
     public void setCondition(String condition) { this.condition = condition; }
     public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    /**
+     * @throws com.paklog.quality.domain.expression.ExpressionException if the expression is invalid
+     */
+    public void setViolationExpression(String violationExpression) {
+        if (violationExpression != null) {
+            ExpressionCompiler.validate(violationExpression);
+        }
+        this.violationExpression = violationExpression;
+        this.compiledViolation = null;
+    }
     public void setActive(boolean active) { this.active = active; }
     public void setMandatory(boolean mandatory) { this.mandatory = mandatory; }
+    public void setRuleSetVersion(String ruleSetVersion) { this.ruleSetVersion = ruleSetVersion; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 }
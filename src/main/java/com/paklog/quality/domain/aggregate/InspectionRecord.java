@@ -1,27 +1,40 @@
 package com.paklog.quality.domain.aggregate;
 
+import com.paklog.quality.domain.barcode.Gs1Parser;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import com.paklog.quality.domain.barcode.Gs1Status;
 import com.paklog.quality.domain.event.*;
+import com.paklog.quality.domain.timeseries.TemperatureTraceSummary;
 import com.paklog.quality.domain.valueobject.*;
 import org.springframework.data.annotation.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
 
 @Document(collection = "inspection_records")
+// Open inspections only, for the SLA sweep; completed ones never enter the index
+@CompoundIndex(name = "open_result_inspectedAt", def = "{'result': 1, 'inspectedAt': 1}", partialFilter = "{'open': true}")
 public class InspectionRecord {
 
  @Id
  private String id;
 
+ @Indexed(unique = true)
  private String inspectionNumber;
  private InspectionType type;
  private InspectionResult result;
 
  private String orderId;
+ @Indexed
  private String shipmentId;
  private String itemId;
 
  private String inspectorId;
+ @Indexed
  private Instant inspectedAt;
 
  private List<Defect> defects = new ArrayList<>();
@@ -40,14 +53,27 @@ public class InspectionRecord {
 
  private String barcode;
  private boolean barcodeVerified;
+ private String lotNumber;
+ private String serialNumber;
+ private LocalDate expiryDate;
 
  private String notes;
  private String correctionAction;
  private Instant correctionCompletedAt;
 
+ // Performed and not yet completed
+ private boolean open;
+ private Instant completedAt;
+ private Instant slaBreachedAt;
+ // Sweep that claimed the SLA breach, so concurrent sweeps can tell their claims apart
+ private String slaSweepId;
+
  @Version
  private Long version;
 
+ // Last sequence number handed to a domain event of this inspection
+ private long eventSequence;
+
  @CreatedDate
  private Instant createdAt;
 
@@ -61,6 +87,7 @@ public class InspectionRecord {
 
  public void perform() {
  this.inspectedAt = Instant.now();
+ this.open = true;
  this.result = InspectionResult.PASSED; // Default assumption
  }
 
@@ -120,6 +147,98 @@ public class InspectionRecord {
  }
  }
 
+ /**
+ * Raise a TEMPERATURE_VIOLATION defect for a logger trace with excursions. Short excursions
+ * within the allowance are HIGH; beyond it, or with the mean kinetic temperature itself out
+ * of range, they are CRITICAL.
+ */
+ public void validateTemperatureTrace(TemperatureTraceSummary trace, double minTemp, double maxTemp, Duration allowance) {
+ if (!trace.hasExcursions()) {
+ return;
+ }
+
+ double mkt = trace.meanKineticCelsius();
+ boolean critical = trace.timeOutOfRange().compareTo(allowance) > 0 || mkt < minTemp || mkt > maxTemp;
+ Defect defect = Defect.builder()
+ .defectId(UUID.randomUUID().toString())
+ .type(DefectType.TEMPERATURE_VIOLATION)
+ .severity(critical ? SeverityLevel.CRITICAL : SeverityLevel.HIGH)
+ .description(String.format("Cold chain excursion: %d excursion(s), %d min out of range, observed %.1f to %.1f°C, MKT %.1f°C (allowed: %.1f-%.1f)",
+ trace.excursionCount(), trace.timeOutOfRange().toMinutes(), trace.minCelsius(), trace.maxCelsius(),
+ mkt, minTemp, maxTemp))
+ .quantity(trace.excursionCount())
+ .reportedAt(Instant.now())
+ .build();
+
+ addDefect(defect);
+ }
+
+ /**
+ * Validate the measured weight against item master reference data. Skipped without a
+ * measurement or without an expected weight.
+ */
+ public void validateAgainst(ItemReference reference, double defaultTolerancePercent) {
+ if (reference.hasExpectedWeight()) {
+ this.expectedWeightKg = reference.expectedWeightKg();
+ this.weightTolerancePercent = reference.weightTolerancePercent() != null
+ ? reference.weightTolerancePercent()
+ : defaultTolerancePercent;
+ validateWeight();
+ }
+ }
+
+ /**
+ * Record a verified scan of this inspection's barcode. A mis-scan is BARCODE_UNREADABLE,
+ * a GTIN that is unknown or differs from the item's expected barcode is WRONG_ITEM, and a
+ * past AI(17) expiry date is a CRITICAL EXPIRED defect. Lot, serial and expiry are kept.
+ */
+ public void verifyBarcode(Gs1Scan scan, String expectedBarcode) {
+ Gs1Status status = scan.status();
+ if (!status.isReadable()) {
+ this.barcodeVerified = false;
+ addDefect(barcodeDefect(DefectType.BARCODE_UNREADABLE, SeverityLevel.MAJOR,
+ status == Gs1Status.INVALID_CHECK_DIGIT ? "Barcode check digit invalid" : "Barcode unreadable"));
+ return;
+ }
+
+ this.lotNumber = scan.lot();
+ this.serialNumber = scan.serial();
+ this.expiryDate = scan.expiryDate();
+
+ boolean matches = expectedBarcode == null || matchesExpected(scan, expectedBarcode);
+ if (!matches) {
+ addDefect(barcodeDefect(DefectType.WRONG_ITEM, SeverityLevel.MAJOR,
+ "Scanned GTIN " + scan.gtinText() + ", expected " + expectedBarcode));
+ } else if (status == Gs1Status.UNKNOWN_GTIN) {
+ addDefect(barcodeDefect(DefectType.WRONG_ITEM, SeverityLevel.MAJOR,
+ "Scanned GTIN " + scan.gtinText() + " is not in the item master"));
+ }
+ if (status == Gs1Status.EXPIRED) {
+ addDefect(barcodeDefect(DefectType.EXPIRED, SeverityLevel.CRITICAL,
+ "Expired " + expiryDate + (lotNumber != null ? " (lot " + lotNumber + ")" : "")));
+ }
+ this.barcodeVerified = matches && status == Gs1Status.VALID;
+ }
+
+ private boolean matchesExpected(Gs1Scan scan, String expectedBarcode) {
+ long expectedGtin = Gs1Parser.gtinValue(expectedBarcode);
+ if (expectedGtin != Gs1Scan.NONE && scan.hasGtin()) {
+ return expectedGtin == scan.gtin();
+ }
+ return expectedBarcode.equals(this.barcode);
+ }
+
+ private Defect barcodeDefect(DefectType type, SeverityLevel severity, String description) {
+ return Defect.builder()
+ .defectId(UUID.randomUUID().toString())
+ .type(type)
+ .severity(severity)
+ .description(description)
+ .quantity(1)
+ .reportedAt(Instant.now())
+ .build();
+ }
+
  public void validateBarcode(String expectedBarcode) {
  this.barcodeVerified = expectedBarcode.equals(this.barcode);
 
@@ -138,6 +257,9 @@ public class InspectionRecord {
  }
 
  public void complete() {
+ this.open = false;
+ this.completedAt = Instant.now();
+
  // Final result determination
  if (result == InspectionResult.QUARANTINE) {
  addDomainEvent(ComplianceViolationEvent.builder()
@@ -175,6 +297,44 @@ public class InspectionRecord {
  .build());
  }
 
+ /**
+ * Raise the escalation for a CAPA deadline that passed without a corrective action
+ */
+ public void escalateCorrectiveAction(String trigger, Instant dueAt) {
+ addDomainEvent(CorrectiveActionOverdueEvent.builder()
+ .inspectionId(this.id)
+ .trigger(trigger)
+ .dueAt(dueAt)
+ .build());
+ }
+
+ /**
+ * Events of an SLA breach applied in bulk by {@link com.paklog.quality.domain.repository.InspectionSlaRepository#claimBreached},
+ * sequenced to end at the inspection's already advanced event sequence
+ */
+ public static List<DomainEvent> slaBreachEvents(OpenInspection inspection, Instant dueAt, SlaAction action) {
+ List<DomainEvent> events = new ArrayList<>(action.eventCount());
+ events.add(InspectionSlaBreachedEvent.builder()
+ .inspectionId(inspection.id())
+ .inspectionType(inspection.type().name())
+ .inspectedAt(inspection.inspectedAt())
+ .dueAt(dueAt)
+ .action(action.name())
+ .build());
+ if (action == SlaAction.QUARANTINE) {
+ events.add(ComplianceViolationEvent.builder()
+ .inspectionId(inspection.id())
+ .violationType("INSPECTION_SLA_BREACH")
+ .description("Inspection not completed by " + dueAt + " - item quarantined")
+ .build());
+ }
+ long sequence = inspection.eventSequence() - events.size();
+ for (DomainEvent event : events) {
+ event.assignSequence(inspection.id(), ++sequence);
+ }
+ return events;
+ }
+
  public double getDefectRate() {
  return itemsInspected > 0 ? (double) defectsFound / itemsInspected * 100 : 0.0;
  }
@@ -188,6 +348,7 @@ public class InspectionRecord {
  }
 
  private void addDomainEvent(DomainEvent event) {
+ event.assignSequence(this.id, ++this.eventSequence);
  this.domainEvents.add(event);
  }
 
@@ -225,10 +386,17 @@ public class InspectionRecord {
  public double getWeightTolerancePercent() { return weightTolerancePercent; }
  public String getBarcode() { return barcode; }
  public boolean isBarcodeVerified() { return barcodeVerified; }
+ public String getLotNumber() { return lotNumber; }
+ public String getSerialNumber() { return serialNumber; }
+ public LocalDate getExpiryDate() { return expiryDate; }
  public String getNotes() { return notes; }
  public String getCorrectionAction() { return correctionAction; }
  public Instant getCorrectionCompletedAt() { return correctionCompletedAt; }
+ public boolean isOpen() { return open; }
+ public Instant getCompletedAt() { return completedAt; }
+ public Instant getSlaBreachedAt() { return slaBreachedAt; }
  public Long getVersion() { return version; }
+ public long getEventSequence() { return eventSequence; }
  public Instant getCreatedAt() { return createdAt; }
  public Instant getUpdatedAt() { return updatedAt; }
 
@@ -254,9 +422,15 @@ public class InspectionRecord {
  public void setWeightTolerancePercent(double weightTolerancePercent) { this.weightTolerancePercent = weightTolerancePercent; }
  public void setBarcode(String barcode) { this.barcode = barcode; }
  public void setBarcodeVerified(boolean barcodeVerified) { this.barcodeVerified = barcodeVerified; }
+ public void setLotNumber(String lotNumber) { this.lotNumber = lotNumber; }
+ public void setSerialNumber(String serialNumber) { this.serialNumber = serialNumber; }
+ public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
  public void setNotes(String notes) { this.notes = notes; }
  public void setCorrectionAction(String correctionAction) { this.correctionAction = correctionAction; }
  public void setCorrectionCompletedAt(Instant correctionCompletedAt) { this.correctionCompletedAt = correctionCompletedAt; }
+ public void setOpen(boolean open) { this.open = open; }
+ public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+ public void setSlaBreachedAt(Instant slaBreachedAt) { this.slaBreachedAt = slaBreachedAt; }
 
  public static Builder builder() {
  return new Builder();
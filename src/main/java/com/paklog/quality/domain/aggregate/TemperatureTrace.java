@@ -0,0 +1,105 @@
+package com.paklog.quality.domain.aggregate;
+
+import com.paklog.quality.domain.timeseries.*;
+import org.springframework.data.annotation.*;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * One reefer logger dump for a shipment: the readings in compressed form
+ * ({@link TemperatureSeriesEncoder}) plus the cold-chain summary computed while ingesting.
+ */
+@Document(collection = "temperature_traces")
+public class TemperatureTrace {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String shipmentId;
+    private String loggerId;
+
+    // Allowed range the summary was computed against
+    private double minCelsius;
+    private double maxCelsius;
+
+    private long readings;
+    private Instant startAt;
+    private Instant endAt;
+    private double minObservedCelsius;
+    private double maxObservedCelsius;
+    private double meanKineticCelsius;
+    private long timeOutOfRangeMillis;
+    private long unmonitoredMillis;
+    private int excursionCount;
+    private List<TemperatureExcursion> excursions = new ArrayList<>();
+
+    private byte[] series;
+
+    private Instant uploadedAt;
+
+    public static TemperatureTrace of(String shipmentId, String loggerId, double minCelsius, double maxCelsius,
+                                      TemperatureTraceSummary summary, byte[] series) {
+        TemperatureTrace trace = new TemperatureTrace();
+        trace.id = UUID.randomUUID().toString();
+        trace.shipmentId = shipmentId;
+        trace.loggerId = loggerId;
+        trace.minCelsius = minCelsius;
+        trace.maxCelsius = maxCelsius;
+        trace.readings = summary.readings();
+        trace.startAt = summary.start();
+        trace.endAt = summary.end();
+        trace.minObservedCelsius = summary.minCelsius();
+        trace.maxObservedCelsius = summary.maxCelsius();
+        trace.meanKineticCelsius = summary.meanKineticCelsius();
+        trace.timeOutOfRangeMillis = summary.timeOutOfRange().toMillis();
+        trace.unmonitoredMillis = summary.unmonitored().toMillis();
+        trace.excursionCount = summary.excursionCount();
+        trace.excursions = new ArrayList<>(summary.excursions());
+        trace.series = series;
+        trace.uploadedAt = Instant.now();
+        return trace;
+    }
+
+    /**
+     * Whether this trace holds the same dump: same logger, same reading span and count
+     */
+    public boolean isSameDump(String loggerId, TemperatureTraceSummary summary) {
+        return Objects.equals(this.loggerId, loggerId)
+            && readings == summary.readings()
+            && Objects.equals(startAt, summary.start())
+            && Objects.equals(endAt, summary.end());
+    }
+
+    /**
+     * Decode the stored readings, in time order
+     */
+    public void forEachReading(TemperatureReadingSink sink) {
+        TemperatureSeriesDecoder decoder = new TemperatureSeriesDecoder(series);
+        while (decoder.next()) {
+            sink.accept(decoder.timestamp(), decoder.value());
+        }
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getShipmentId() { return shipmentId; }
+    public String getLoggerId() { return loggerId; }
+    public double getMinCelsius() { return minCelsius; }
+    public double getMaxCelsius() { return maxCelsius; }
+    public long getReadings() { return readings; }
+    public Instant getStartAt() { return startAt; }
+    public Instant getEndAt() { return endAt; }
+    public double getMinObservedCelsius() { return minObservedCelsius; }
+    public double getMaxObservedCelsius() { return maxObservedCelsius; }
+    public double getMeanKineticCelsius() { return meanKineticCelsius; }
+    public Duration getTimeOutOfRange() { return Duration.ofMillis(timeOutOfRangeMillis); }
+    public Duration getUnmonitored() { return Duration.ofMillis(unmonitoredMillis); }
+    public int getExcursionCount() { return excursionCount; }
+    public List<TemperatureExcursion> getExcursions() { return excursions; }
+    public int getCompressedBytes() { return series == null ? 0 : series.length; }
+    public Instant getUploadedAt() { return uploadedAt; }
+}
@@ -0,0 +1,38 @@
+package com.paklog.quality.domain.barcode;
+
+import java.time.LocalDate;
+
+/**
+ * Verifies a scan: GS1 structure and check digits, membership of the GTIN in the known set,
+ * and the AI(17) expiry date against today. The first failing check decides the status.
+ */
+public final class BarcodeVerifier {
+
+    private BarcodeVerifier() {
+    }
+
+    /**
+     * @param knownGtins GTINs of the item master, or null to skip the membership check
+     */
+    public static Gs1Status verify(CharSequence text, GtinBloomFilter knownGtins, LocalDate today, Gs1Scan scan) {
+        return verify(text, knownGtins, today.getYear(), today.toEpochDay(), scan);
+    }
+
+    /**
+     * Same as above with today's date already broken down, for loops over many scans
+     */
+    public static Gs1Status verify(CharSequence text, GtinBloomFilter knownGtins, int currentYear, long todayEpochDay,
+                                   Gs1Scan scan) {
+        Gs1Status status = Gs1Parser.parse(text, currentYear, scan);
+        if (status != Gs1Status.VALID) {
+            return status;
+        }
+        if (knownGtins != null && scan.hasGtin() && !knownGtins.mightContain(scan.gtin())) {
+            return scan.mark(Gs1Status.UNKNOWN_GTIN);
+        }
+        if (scan.hasExpiry() && scan.expiryEpochDay() < todayEpochDay) {
+            return scan.mark(Gs1Status.EXPIRED);
+        }
+        return Gs1Status.VALID;
+    }
+}
@@ -0,0 +1,354 @@
+package com.paklog.quality.domain.barcode;
+
+/**
+ * Parser for GS1 barcodes as delivered by a scanner: plain GTIN-8/12/13/14, SSCC-18 and GS1
+ * element strings (GS1-128, GS1 DataMatrix/QR) either raw with GS (FNC1) separators or in
+ * human-readable form with parenthesised AIs. An AIM symbology identifier prefix such as
+ * "]C1" is accepted.
+ *
+ * Key numbers are checked with the GS1 mod-10 check digit. Lengths follow the GS1 table of
+ * predefined-length AIs; every other AI runs to the next separator. GTIN (01/02), SSCC (00),
+ * lot (10), serial (21), best-before (15) and expiry (17) are extracted into a {@link Gs1Scan}
+ * without allocating.
+ */
+public final class Gs1Parser {
+
+    static final char GS = '\u001D';
+
+    // GS1 AI encodable character set 82
+    private static final long CSET82_LOW;
+    private static final long CSET82_HIGH;
+
+    static {
+        long low = 0;
+        long high = 0;
+        String allowed = "!\"%&'()*+,-./0123456789:;<=>?ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+        for (int i = 0; i < allowed.length(); i++) {
+            char c = allowed.charAt(i);
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        CSET82_LOW = low;
+        CSET82_HIGH = high;
+    }
+
+    private Gs1Parser() {
+    }
+
+    /**
+     * Parse a scan into the given result. currentYear resolves the century of two-digit
+     * years with the GS1 sliding window (49 years back, 50 ahead).
+     */
+    public static Gs1Status parse(CharSequence text, int currentYear, Gs1Scan scan) {
+        scan.reset(text);
+        int end = text.length();
+        int pos = 0;
+        boolean elementString = false;
+
+        if (end >= 3 && text.charAt(0) == ']') {
+            char symbology = text.charAt(1);
+            char modifier = text.charAt(2);
+            elementString = symbology == 'C' && modifier == '1'
+                || symbology == 'd' && modifier == '2'
+                || symbology == 'Q' && modifier == '3'
+                || symbology == 'e' && modifier == '0'
+                || symbology == 'J' && modifier == '1';
+            pos = 3;
+        }
+        if (pos == end) {
+            return scan.fail(Gs1Status.MALFORMED, pos);
+        }
+
+        if (!elementString) {
+            int length = end - pos;
+            if ((length == 8 || length == 12 || length == 13 || length == 14 || length == 18) && allDigits(text, pos, end)) {
+                long value = keyNumber(text, pos, end);
+                if (value == Gs1Scan.NONE) {
+                    return scan.fail(Gs1Status.INVALID_CHECK_DIGIT, end - 1);
+                }
+                if (length == 18) {
+                    scan.sscc(value);
+                } else {
+                    scan.gtin(value);
+                }
+                return Gs1Status.VALID;
+            }
+        }
+        return parseElementString(text, pos, end, currentYear, scan);
+    }
+
+    /**
+     * Numeric value of a plain GTIN-8/12/13/14 with a valid check digit, or
+     * {@link Gs1Scan#NONE}. Used to normalise reference data.
+     */
+    public static long gtinValue(CharSequence text) {
+        int length = text.length();
+        if (length != 8 && length != 12 && length != 13 && length != 14 || !allDigits(text, 0, length)) {
+            return Gs1Scan.NONE;
+        }
+        return keyNumber(text, 0, length);
+    }
+
+    private static Gs1Status parseElementString(CharSequence text, int pos, int end, int currentYear, Gs1Scan scan) {
+        int first = skipSeparators(text, pos, end);
+        boolean parenthesised = first < end && text.charAt(first) == '(';
+        boolean any = false;
+
+        while (true) {
+            pos = skipSeparators(text, pos, end);
+            if (pos == end) {
+                return any ? Gs1Status.VALID : scan.fail(Gs1Status.MALFORMED, pos);
+            }
+
+            int ai;
+            int aiDigits;
+            if (parenthesised) {
+                if (text.charAt(pos) != '(') {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+                int close = pos + 1;
+                ai = 0;
+                while (close < end && close - pos <= 5 && isDigit(text.charAt(close))) {
+                    ai = ai * 10 + text.charAt(close) - '0';
+                    close++;
+                }
+                aiDigits = close - pos - 1;
+                if (close == end || text.charAt(close) != ')' || aiDigits < 2
+                        || aiDigits != aiDigits((text.charAt(pos + 1) - '0') * 10 + text.charAt(pos + 2) - '0')) {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+                pos = close + 1;
+            } else {
+                if (pos + 2 > end || !isDigit(text.charAt(pos)) || !isDigit(text.charAt(pos + 1))) {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+                aiDigits = aiDigits((text.charAt(pos) - '0') * 10 + text.charAt(pos + 1) - '0');
+                if (aiDigits == 0 || pos + aiDigits > end || !allDigits(text, pos, pos + aiDigits)) {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+                ai = (int) digitsValue(text, pos, pos + aiDigits);
+                pos += aiDigits;
+            }
+
+            int prefix = aiDigits == 2 ? ai : aiDigits == 3 ? ai / 10 : ai / 100;
+            int fixed = fixedDataLength(prefix, aiDigits);
+            int dataEnd;
+            if (fixed > 0) {
+                dataEnd = pos + fixed;
+                if (dataEnd > end || parenthesised && dataEnd < end && text.charAt(dataEnd) != '(' && text.charAt(dataEnd) != GS) {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+            } else {
+                dataEnd = pos;
+                while (dataEnd < end && text.charAt(dataEnd) != GS && !(parenthesised && text.charAt(dataEnd) == '(')) {
+                    dataEnd++;
+                }
+                if (dataEnd == pos || dataEnd - pos > variableMaxLength(ai)) {
+                    return scan.fail(Gs1Status.MALFORMED, pos);
+                }
+            }
+
+            Gs1Status status = field(ai, prefix, fixed > 0, text, pos, dataEnd, currentYear, scan);
+            if (status != Gs1Status.VALID) {
+                return status;
+            }
+            any = true;
+            pos = dataEnd;
+        }
+    }
+
+    private static Gs1Status field(int ai, int prefix, boolean fixed, CharSequence text, int start, int end,
+                                   int currentYear, Gs1Scan scan) {
+        if (fixed && !allDigits(text, start, end)) {
+            return scan.fail(Gs1Status.MALFORMED, start);
+        }
+        if (!fixed) {
+            for (int i = start; i < end; i++) {
+                if (!isCset82(text.charAt(i))) {
+                    return scan.fail(Gs1Status.MALFORMED, i);
+                }
+            }
+        }
+
+        switch (ai) {
+            case 0, 1, 2 -> {
+                long value = keyNumber(text, start, end);
+                if (value == Gs1Scan.NONE) {
+                    return scan.fail(Gs1Status.INVALID_CHECK_DIGIT, end - 1);
+                }
+                if (ai == 0) {
+                    scan.sscc(value);
+                } else if (ai == 1 || !scan.hasGtin()) {
+                    scan.gtin(value);
+                }
+            }
+            case 10 -> scan.lot(start, end);
+            case 21 -> scan.serial(start, end);
+            case 11, 12, 13, 15, 16, 17 -> {
+                long epochDay = date(text, start, currentYear);
+                if (epochDay == Gs1Scan.NO_DATE) {
+                    return scan.fail(Gs1Status.MALFORMED, start);
+                }
+                if (ai == 17) {
+                    scan.expiryEpochDay(epochDay);
+                } else if (ai == 15) {
+                    scan.bestBeforeEpochDay(epochDay);
+                }
+            }
+            default -> {
+                // GLNs (41x) carry a check digit too
+                if (prefix == 41 && keyNumber(text, start, end) == Gs1Scan.NONE) {
+                    return scan.fail(Gs1Status.INVALID_CHECK_DIGIT, end - 1);
+                }
+            }
+        }
+        return Gs1Status.VALID;
+    }
+
+    /**
+     * Number of digits in an AI starting with the given two digits, 0 if unassigned
+     */
+    private static int aiDigits(int prefix) {
+        if (prefix <= 4 || prefix >= 10 && prefix <= 22 || prefix == 30 || prefix == 37 || prefix >= 90) {
+            return 2;
+        }
+        if (prefix >= 23 && prefix <= 25 || prefix >= 40 && prefix <= 42) {
+            return 3;
+        }
+        if (prefix >= 31 && prefix <= 36 || prefix == 39 || prefix == 43 || prefix >= 70 && prefix <= 72 || prefix >= 80 && prefix <= 82) {
+            return 4;
+        }
+        return 0;
+    }
+
+    /**
+     * Data length of predefined-length AIs (GS1 General Specifications, figure 7.8.5-1), or -1
+     */
+    private static int fixedDataLength(int prefix, int aiDigits) {
+        int total = switch (prefix) {
+            case 0 -> 20;
+            case 1, 2, 3 -> 16;
+            case 4 -> 18;
+            case 11, 12, 13, 14, 15, 16, 17, 18, 19 -> 8;
+            case 20 -> 4;
+            case 31, 32, 33, 34, 35, 36 -> 10;
+            case 41 -> 16;
+            default -> -1;
+        };
+        return total < 0 ? -1 : total - aiDigits;
+    }
+
+    private static int variableMaxLength(int ai) {
+        return switch (ai) {
+            case 10, 21, 22 -> 20;
+            case 30, 37 -> 8;
+            default -> 90;
+        };
+    }
+
+    /**
+     * YYMMDD as an epoch day; DD 00 means the last day of the month
+     */
+    private static long date(CharSequence text, int start, int currentYear) {
+        int yy = (int) digitsValue(text, start, start + 2);
+        int month = (int) digitsValue(text, start + 2, start + 4);
+        int day = (int) digitsValue(text, start + 4, start + 6);
+        if (month < 1 || month > 12) {
+            return Gs1Scan.NO_DATE;
+        }
+
+        int currentYy = Math.floorMod(currentYear, 100);
+        int century = currentYear - currentYy;
+        int difference = yy - currentYy;
+        if (difference >= 51) {
+            century -= 100;
+        } else if (difference <= -50) {
+            century += 100;
+        }
+        int year = century + yy;
+
+        int lastDay = daysInMonth(year, month);
+        if (day == 0) {
+            day = lastDay;
+        } else if (day > lastDay) {
+            return Gs1Scan.NO_DATE;
+        }
+        return epochDay(year, month, day);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 in the proleptic Gregorian calendar, as LocalDate.toEpochDay
+     * would give without creating one
+     */
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Value of a digit run whose last digit is a valid GS1 mod-10 check digit, or NONE
+     */
+    private static long keyNumber(CharSequence text, int start, int end) {
+        long value = 0;
+        int sum = 0;
+        boolean triple = (end - start) % 2 == 0;
+        for (int i = start; i < end - 1; i++) {
+            int digit = text.charAt(i) - '0';
+            value = value * 10 + digit;
+            sum += triple ? digit * 3 : digit;
+            triple = !triple;
+        }
+        int check = text.charAt(end - 1) - '0';
+        if ((10 - sum % 10) % 10 != check) {
+            return Gs1Scan.NONE;
+        }
+        return value * 10 + check;
+    }
+
+    private static long digitsValue(CharSequence text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static int skipSeparators(CharSequence text, int pos, int end) {
+        while (pos < end && text.charAt(pos) == GS) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean allDigits(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isCset82(char c) {
+        return c < 64 ? (CSET82_LOW & (1L << c)) != 0 : c < 128 && (CSET82_HIGH & (1L << (c - 64))) != 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.paklog.quality.domain.barcode;
+
+import java.time.LocalDate;
+
+/**
+ * Fields extracted from one scan. Instances are meant to be reused across scans so
+ * verification allocates nothing; lot and serial are kept as offsets into the scanned text
+ * and only become Strings when asked for, so read them before that text is discarded.
+ */
+public final class Gs1Scan {
+
+    public static final long NONE = -1;
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private CharSequence text;
+    private Gs1Status status;
+    private int errorIndex;
+    private long gtin;
+    private long sscc;
+    private long expiryEpochDay;
+    private long bestBeforeEpochDay;
+    private int lotStart;
+    private int lotEnd;
+    private int serialStart;
+    private int serialEnd;
+
+    void reset(CharSequence text) {
+        this.text = text;
+        this.status = Gs1Status.VALID;
+        this.errorIndex = -1;
+        this.gtin = NONE;
+        this.sscc = NONE;
+        this.expiryEpochDay = NO_DATE;
+        this.bestBeforeEpochDay = NO_DATE;
+        this.lotStart = -1;
+        this.serialStart = -1;
+    }
+
+    Gs1Status fail(Gs1Status status, int index) {
+        this.status = status;
+        this.errorIndex = index;
+        return status;
+    }
+
+    Gs1Status mark(Gs1Status status) {
+        this.status = status;
+        return status;
+    }
+
+    void gtin(long gtin) { this.gtin = gtin; }
+    void sscc(long sscc) { this.sscc = sscc; }
+    void expiryEpochDay(long epochDay) { this.expiryEpochDay = epochDay; }
+    void bestBeforeEpochDay(long epochDay) { this.bestBeforeEpochDay = epochDay; }
+    void lot(int start, int end) { this.lotStart = start; this.lotEnd = end; }
+    void serial(int start, int end) { this.serialStart = start; this.serialEnd = end; }
+
+    public Gs1Status status() { return status; }
+    public boolean isValid() { return status == Gs1Status.VALID; }
+
+    /**
+     * Character offset where parsing failed, or -1
+     */
+    public int errorIndex() { return errorIndex; }
+
+    /**
+     * GTIN as a number, so GTIN-8/12/13 and their zero-padded GTIN-14 form compare equal
+     */
+    public long gtin() { return gtin; }
+    public boolean hasGtin() { return gtin != NONE; }
+    public long sscc() { return sscc; }
+    public boolean hasSscc() { return sscc != NONE; }
+    public long expiryEpochDay() { return expiryEpochDay; }
+    public boolean hasExpiry() { return expiryEpochDay != NO_DATE; }
+    public long bestBeforeEpochDay() { return bestBeforeEpochDay; }
+    public boolean hasLot() { return lotStart >= 0; }
+    public boolean hasSerial() { return serialStart >= 0; }
+
+    public String gtinText() {
+        return gtin == NONE ? null : digits(gtin, 14);
+    }
+
+    public String ssccText() {
+        return sscc == NONE ? null : digits(sscc, 18);
+    }
+
+    public LocalDate expiryDate() {
+        return expiryEpochDay == NO_DATE ? null : LocalDate.ofEpochDay(expiryEpochDay);
+    }
+
+    public LocalDate bestBeforeDate() {
+        return bestBeforeEpochDay == NO_DATE ? null : LocalDate.ofEpochDay(bestBeforeEpochDay);
+    }
+
+    public String lot() {
+        return lotStart < 0 ? null : text.subSequence(lotStart, lotEnd).toString();
+    }
+
+    public String serial() {
+        return serialStart < 0 ? null : text.subSequence(serialStart, serialEnd).toString();
+    }
+
+    private static String digits(long value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,17 @@
+package com.paklog.quality.domain.barcode;
+
+/**
+ * Outcome of verifying a scan, from most to least severe. MALFORMED and INVALID_CHECK_DIGIT
+ * are mis-scans; UNKNOWN_GTIN and EXPIRED are readable barcodes on the wrong or an expired item.
+ */
+public enum Gs1Status {
+    MALFORMED,
+    INVALID_CHECK_DIGIT,
+    UNKNOWN_GTIN,
+    EXPIRED,
+    VALID;
+
+    public boolean isReadable() {
+        return this != MALFORMED && this != INVALID_CHECK_DIGIT;
+    }
+}
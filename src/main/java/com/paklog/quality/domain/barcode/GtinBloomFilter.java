@@ -0,0 +1,109 @@
+package com.paklog.quality.domain.barcode;
+
+/**
+ * Set of known GTINs as a blocked Bloom filter: every GTIN maps to one 512-bit block (one or
+ * two cache lines) and sets up to seven bits inside it, so a membership test costs a single
+ * memory access instead of one per hash. "No" is always right; "yes" is wrong with about the
+ * configured false positive rate while no more than the expected number of GTINs are added.
+ *
+ * Single writer: add() must only be called from one thread at a time. Readers need no
+ * locking; a GTIN added concurrently may not be visible to them immediately.
+ */
+public final class GtinBloomFilter {
+
+    private static final int BLOCK_LONGS = 8;
+    private static final int MAX_HASHES = 7;
+
+    private final long[] bits;
+    private final long blocks;
+    private final int hashes;
+    private final int expectedItems;
+    private int added;
+
+    private GtinBloomFilter(int blocks, int hashes, int expectedItems) {
+        this.bits = new long[blocks * BLOCK_LONGS];
+        this.blocks = blocks;
+        this.hashes = hashes;
+        this.expectedItems = expectedItems;
+    }
+
+    public static GtinBloomFilter create(int expectedItems, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        int items = Math.max(expectedItems, 1);
+        double bitsPerItem = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        // Blocking skews bit density, so give it a little more room than a classic filter
+        long wantedBits = (long) Math.ceil(items * bitsPerItem * 1.1);
+        long blocks = Math.max(1, (wantedBits + 511) / 512);
+        if (blocks > Integer.MAX_VALUE / BLOCK_LONGS) {
+            throw new IllegalArgumentException("Bloom filter for " + expectedItems + " GTINs is too large");
+        }
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerItem * Math.log(2))));
+        return new GtinBloomFilter((int) blocks, hashes, items);
+    }
+
+    public void add(long gtin) {
+        long hash = mix(gtin);
+        int base = block(hash) * BLOCK_LONGS;
+        long probes = mix(hash);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (probes >>> (i * 9)) & 511;
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+        added++;
+    }
+
+    public boolean mightContain(long gtin) {
+        long hash = mix(gtin);
+        int base = block(hash) * BLOCK_LONGS;
+        long probes = mix(hash);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (probes >>> (i * 9)) & 511;
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False positive rate of a classic filter of the same size and fill; the blocked layout
+     * runs slightly above it
+     */
+    public double estimatedFalsePositiveRate() {
+        double bitCount = bits.length * 64.0;
+        return Math.pow(1 - Math.exp(-hashes * (double) added / bitCount), hashes);
+    }
+
+    public int added() {
+        return added;
+    }
+
+    public int expectedItems() {
+        return expectedItems;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    public long memoryBytes() {
+        return bits.length * 8L;
+    }
+
+    // Maps the high hash bits onto [0, blocks) with a multiply instead of a modulo
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.paklog.quality.domain.event;
+
+import java.time.Instant;
+
+public class CorrectiveActionOverdueEvent extends DomainEvent {
+    private final String inspectionId;
+    private final String trigger;
+    private final Instant dueAt;
+
+    private CorrectiveActionOverdueEvent(final String inspectionId, final String trigger, final Instant dueAt) {
+        super();
+        this.inspectionId = inspectionId;
+        this.trigger = trigger;
+        this.dueAt = dueAt;
+    }
+
+    @Override
+    public String getEventType() {
+        return "CorrectiveActionOverdue";
+    }
+
+    public final String getInspectionId() { return inspectionId; }
+    public final String getTrigger() { return trigger; }
+    public final Instant getDueAt() { return dueAt; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static class Builder {
+        private String inspectionId;
+        private String trigger;
+        private Instant dueAt;
+
+        public Builder inspectionId(final String inspectionId) { this.inspectionId = inspectionId; return this; }
+        public Builder trigger(final String trigger) { this.trigger = trigger; return this; }
+        public Builder dueAt(final Instant dueAt) { this.dueAt = dueAt; return this; }
+
+        public CorrectiveActionOverdueEvent build() {
+            return new CorrectiveActionOverdueEvent(inspectionId, trigger, dueAt);
+        }
+    }
+}
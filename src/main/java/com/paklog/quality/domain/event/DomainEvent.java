@@ -5,6 +5,8 @@ import java.time.Instant;
 public abstract class DomainEvent {
     private final String eventId;
     private final Instant occurredAt;
+    private String aggregateId;
+    private long sequence;
 
     protected DomainEvent() {
         this.eventId = java.util.UUID.randomUUID().toString();
@@ -13,6 +15,18 @@ public abstract class DomainEvent {
 
     public abstract String getEventType();
 
+    /**
+     * Stamp the event with the aggregate that raised it and its position in that
+     * aggregate's event stream. Done once, by the aggregate, when the event is raised.
+     */
+    public final void assignSequence(String aggregateId, long sequence) {
+        if (this.aggregateId != null) {
+            throw new IllegalStateException("Event " + eventId + " is already sequenced");
+        }
+        this.aggregateId = aggregateId;
+        this.sequence = sequence;
+    }
+
     public String getEventId() {
         return eventId;
     }
@@ -20,4 +34,15 @@ public abstract class DomainEvent {
     public Instant getOccurredAt() {
         return occurredAt;
     }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * 1-based, gap-free per aggregate; 0 if the event was never sequenced
+     */
+    public long getSequence() {
+        return sequence;
+    }
 }
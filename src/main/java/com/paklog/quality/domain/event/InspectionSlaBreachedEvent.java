@@ -0,0 +1,52 @@
+package com.paklog.quality.domain.event;
+
+import java.time.Instant;
+
+public class InspectionSlaBreachedEvent extends DomainEvent {
+    private final String inspectionId;
+    private final String inspectionType;
+    private final Instant inspectedAt;
+    private final Instant dueAt;
+    private final String action;
+
+    private InspectionSlaBreachedEvent(final String inspectionId, final String inspectionType, final Instant inspectedAt,
+                                       final Instant dueAt, final String action) {
+        super();
+        this.inspectionId = inspectionId;
+        this.inspectionType = inspectionType;
+        this.inspectedAt = inspectedAt;
+        this.dueAt = dueAt;
+        this.action = action;
+    }
+
+    @Override
+    public String getEventType() {
+        return "InspectionSlaBreached";
+    }
+
+    public final String getInspectionId() { return inspectionId; }
+    public final String getInspectionType() { return inspectionType; }
+    public final Instant getInspectedAt() { return inspectedAt; }
+    public final Instant getDueAt() { return dueAt; }
+    public final String getAction() { return action; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static class Builder {
+        private String inspectionId;
+        private String inspectionType;
+        private Instant inspectedAt;
+        private Instant dueAt;
+        private String action;
+
+        public Builder inspectionId(final String inspectionId) { this.inspectionId = inspectionId; return this; }
+        public Builder inspectionType(final String inspectionType) { this.inspectionType = inspectionType; return this; }
+        public Builder inspectedAt(final Instant inspectedAt) { this.inspectedAt = inspectedAt; return this; }
+        public Builder dueAt(final Instant dueAt) { this.dueAt = dueAt; return this; }
+        public Builder action(final String action) { this.action = action; return this; }
+
+        public InspectionSlaBreachedEvent build() {
+            return new InspectionSlaBreachedEvent(inspectionId, inspectionType, inspectedAt, dueAt, action);
+        }
+    }
+}
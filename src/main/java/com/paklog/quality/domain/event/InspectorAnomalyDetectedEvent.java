@@ -0,0 +1,72 @@
+package com.paklog.quality.domain.event;
+
+public class InspectorAnomalyDetectedEvent extends DomainEvent {
+    private final String inspectorId;
+    private final String metric;
+    private final String direction;
+    private final double value;
+    private final double peerMedian;
+    private final double robustZScore;
+    private final double threshold;
+    private final int peers;
+    private final double recentInspections;
+
+    private InspectorAnomalyDetectedEvent(final String inspectorId, final String metric, final String direction,
+                                          final double value, final double peerMedian, final double robustZScore,
+                                          final double threshold, final int peers, final double recentInspections) {
+        super();
+        this.inspectorId = inspectorId;
+        this.metric = metric;
+        this.direction = direction;
+        this.value = value;
+        this.peerMedian = peerMedian;
+        this.robustZScore = robustZScore;
+        this.threshold = threshold;
+        this.peers = peers;
+        this.recentInspections = recentInspections;
+    }
+
+    @Override
+    public String getEventType() {
+        return "InspectorAnomalyDetected";
+    }
+
+    public final String getInspectorId() { return inspectorId; }
+    public final String getMetric() { return metric; }
+    public final String getDirection() { return direction; }
+    public final double getValue() { return value; }
+    public final double getPeerMedian() { return peerMedian; }
+    public final double getRobustZScore() { return robustZScore; }
+    public final double getThreshold() { return threshold; }
+    public final int getPeers() { return peers; }
+    public final double getRecentInspections() { return recentInspections; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static class Builder {
+        private String inspectorId;
+        private String metric;
+        private String direction;
+        private double value;
+        private double peerMedian;
+        private double robustZScore;
+        private double threshold;
+        private int peers;
+        private double recentInspections;
+
+        public Builder inspectorId(final String inspectorId) { this.inspectorId = inspectorId; return this; }
+        public Builder metric(final String metric) { this.metric = metric; return this; }
+        public Builder direction(final String direction) { this.direction = direction; return this; }
+        public Builder value(final double value) { this.value = value; return this; }
+        public Builder peerMedian(final double peerMedian) { this.peerMedian = peerMedian; return this; }
+        public Builder robustZScore(final double robustZScore) { this.robustZScore = robustZScore; return this; }
+        public Builder threshold(final double threshold) { this.threshold = threshold; return this; }
+        public Builder peers(final int peers) { this.peers = peers; return this; }
+        public Builder recentInspections(final double recentInspections) { this.recentInspections = recentInspections; return this; }
+
+        public InspectorAnomalyDetectedEvent build() {
+            return new InspectorAnomalyDetectedEvent(inspectorId, metric, direction, value, peerMedian, robustZScore,
+                threshold, peers, recentInspections);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.paklog.quality.domain.expression;
+
+/**
+ * A boolean rule expression over an inspection fact vector
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+
+    boolean test(double[] facts);
+}
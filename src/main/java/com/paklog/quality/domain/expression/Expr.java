@@ -0,0 +1,253 @@
+package com.paklog.quality.domain.expression;
+
+import java.util.List;
+
+/**
+ * Typed syntax tree of a rule expression. Every node can evaluate itself, which makes the
+ * tree the reference interpreter that compiled expressions are checked against.
+ */
+abstract class Expr implements CompiledExpression {
+
+    final int position;
+
+    Expr(int position) {
+        this.position = position;
+    }
+
+    /** Boolean-valued, as opposed to numeric */
+    abstract boolean isBoolean();
+
+    double number(double[] facts) {
+        throw new IllegalStateException("Not a numeric expression");
+    }
+
+    boolean bool(double[] facts) {
+        throw new IllegalStateException("Not a boolean expression");
+    }
+
+    @Override
+    public boolean test(double[] facts) {
+        return bool(facts);
+    }
+
+    enum Function {
+        ABS(1, 1), MIN(2, Integer.MAX_VALUE), MAX(2, Integer.MAX_VALUE), SQRT(1, 1), FLOOR(1, 1), CEIL(1, 1);
+
+        final int minArgs;
+        final int maxArgs;
+
+        Function(int minArgs, int maxArgs) {
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+    }
+
+    static final class Literal extends Expr {
+        final double value;
+
+        Literal(double value, int position) {
+            super(position);
+            this.value = value;
+        }
+
+        @Override boolean isBoolean() { return false; }
+        @Override double number(double[] facts) { return value; }
+    }
+
+    static final class BoolLiteral extends Expr {
+        final boolean value;
+
+        BoolLiteral(boolean value, int position) {
+            super(position);
+            this.value = value;
+        }
+
+        @Override boolean isBoolean() { return true; }
+        @Override boolean bool(double[] facts) { return value; }
+    }
+
+    static final class Fact extends Expr {
+        final String name;
+        final int index;
+        final boolean booleanFact;
+
+        Fact(String name, int index, boolean booleanFact, int position) {
+            super(position);
+            this.name = name;
+            this.index = index;
+            this.booleanFact = booleanFact;
+        }
+
+        @Override boolean isBoolean() { return booleanFact; }
+        @Override double number(double[] facts) { return facts[index]; }
+        @Override boolean bool(double[] facts) { return facts[index] != 0.0; }
+    }
+
+    static final class Negate extends Expr {
+        final Expr operand;
+
+        Negate(Expr operand, int position) {
+            super(position);
+            this.operand = operand;
+        }
+
+        @Override boolean isBoolean() { return false; }
+        @Override double number(double[] facts) { return -operand.number(facts); }
+    }
+
+    static final class Arithmetic extends Expr {
+        final ExpressionLexer.Kind op;
+        final Expr left;
+        final Expr right;
+
+        Arithmetic(ExpressionLexer.Kind op, Expr left, Expr right, int position) {
+            super(position);
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean isBoolean() { return false; }
+
+        @Override
+        double number(double[] facts) {
+            double a = left.number(facts);
+            double b = right.number(facts);
+            return switch (op) {
+                case PLUS -> a + b;
+                case MINUS -> a - b;
+                case STAR -> a * b;
+                case SLASH -> a / b;
+                case PERCENT -> a % b;
+                default -> throw new IllegalStateException("Not an arithmetic operator: " + op);
+            };
+        }
+    }
+
+    static final class Call extends Expr {
+        final Function function;
+        final List<Expr> args;
+
+        Call(Function function, List<Expr> args, int position) {
+            super(position);
+            this.function = function;
+            this.args = List.copyOf(args);
+        }
+
+        @Override boolean isBoolean() { return false; }
+
+        @Override
+        double number(double[] facts) {
+            double result = args.get(0).number(facts);
+            switch (function) {
+                case ABS -> result = Math.abs(result);
+                case SQRT -> result = Math.sqrt(result);
+                case FLOOR -> result = Math.floor(result);
+                case CEIL -> result = Math.ceil(result);
+                case MIN -> {
+                    for (int i = 1; i < args.size(); i++) {
+                        result = Math.min(result, args.get(i).number(facts));
+                    }
+                }
+                case MAX -> {
+                    for (int i = 1; i < args.size(); i++) {
+                        result = Math.max(result, args.get(i).number(facts));
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Numeric comparison, or == / != between two booleans. Comparisons involving NaN
+     * are false except !=, as in Java.
+     */
+    static final class Compare extends Expr {
+        final ExpressionLexer.Kind op;
+        final Expr left;
+        final Expr right;
+
+        Compare(ExpressionLexer.Kind op, Expr left, Expr right, int position) {
+            super(position);
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean isBoolean() { return true; }
+
+        @Override
+        boolean bool(double[] facts) {
+            if (left.isBoolean()) {
+                boolean equal = left.bool(facts) == right.bool(facts);
+                return op == ExpressionLexer.Kind.EQ ? equal : !equal;
+            }
+            double a = left.number(facts);
+            double b = right.number(facts);
+            return switch (op) {
+                case LT -> a < b;
+                case LE -> a <= b;
+                case GT -> a > b;
+                case GE -> a >= b;
+                case EQ -> a == b;
+                case NE -> a != b;
+                default -> throw new IllegalStateException("Not a comparison: " + op);
+            };
+        }
+    }
+
+    static final class Logical extends Expr {
+        final boolean and;
+        final Expr left;
+        final Expr right;
+
+        Logical(boolean and, Expr left, Expr right, int position) {
+            super(position);
+            this.and = and;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean isBoolean() { return true; }
+
+        @Override
+        boolean bool(double[] facts) {
+            return and ? left.bool(facts) && right.bool(facts) : left.bool(facts) || right.bool(facts);
+        }
+    }
+
+    static final class Not extends Expr {
+        final Expr operand;
+
+        Not(Expr operand, int position) {
+            super(position);
+            this.operand = operand;
+        }
+
+        @Override boolean isBoolean() { return true; }
+        @Override boolean bool(double[] facts) { return !operand.bool(facts); }
+    }
+
+    /** Inclusive on both ends; the value is evaluated once */
+    static final class Between extends Expr {
+        final Expr value;
+        final Expr low;
+        final Expr high;
+
+        Between(Expr value, Expr low, Expr high, int position) {
+            super(position);
+            this.value = value;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override boolean isBoolean() { return true; }
+
+        @Override
+        boolean bool(double[] facts) {
+            double v = value.number(facts);
+            return v >= low.number(facts) && v <= high.number(facts);
+        }
+    }
+}
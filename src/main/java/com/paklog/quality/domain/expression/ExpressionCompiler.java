@@ -0,0 +1,307 @@
+package com.paklog.quality.domain.expression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.domain.service.InspectionFacts;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import java.lang.invoke.MethodHandles;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles rule expressions to JVM bytecode.
+ *
+ * Each expression becomes a hidden class implementing {@link CompiledExpression} whose
+ * test method is straight-line double arithmetic over the fact vector, so once JIT-compiled
+ * it runs at the speed of the equivalent hand-written Java. Hidden classes are unloaded
+ * with their last reference.
+ *
+ * Before a compiled expression is used it is run against the tree interpreter on a set of
+ * probe vectors; if compilation fails or the two disagree, the interpreter is used instead.
+ * Compiled expressions are cached by source text.
+ */
+public final class ExpressionCompiler {
+    private static final Logger log = LoggerFactory.getLogger(ExpressionCompiler.class);
+
+    private static final int MAX_CACHED = 10_000;
+    private static final int PROBES = 64;
+    private static final String FACTS_DESCRIPTOR = "[D";
+    private static final String GENERATED_NAME = ExpressionCompiler.class.getPackageName().replace('.', '/') + "/CompiledRule";
+
+    private static final ConcurrentHashMap<String, CompiledExpression> CACHE = new ConcurrentHashMap<>();
+
+    private final MethodVisitor method;
+    private int nextLocal = 2;
+
+    private ExpressionCompiler(MethodVisitor method) {
+        this.method = method;
+    }
+
+    /**
+     * Parse, type-check and compile, falling back to the interpreter
+     *
+     * @throws ExpressionException if the expression is invalid
+     */
+    public static CompiledExpression compile(String source) {
+        CompiledExpression cached = CACHE.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        Expr tree = ExpressionParser.parse(source);
+        CompiledExpression compiled = compileVerified(source, tree);
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        CompiledExpression raced = CACHE.putIfAbsent(source, compiled);
+        return raced != null ? raced : compiled;
+    }
+
+    /**
+     * The tree interpreter, without bytecode generation
+     *
+     * @throws ExpressionException if the expression is invalid
+     */
+    public static CompiledExpression interpret(String source) {
+        return ExpressionParser.parse(source);
+    }
+
+    /**
+     * @throws ExpressionException if the expression is invalid
+     */
+    public static void validate(String source) {
+        ExpressionParser.parse(source);
+    }
+
+    private static CompiledExpression compileVerified(String source, Expr tree) {
+        CompiledExpression compiled;
+        try {
+            compiled = generate(tree);
+        } catch (Throwable e) {
+            log.warn("Could not compile rule expression '{}', interpreting it: {}", source, e.toString());
+            return tree;
+        }
+
+        SplittableRandom random = new SplittableRandom(source.hashCode());
+        double[] probe = new double[InspectionFacts.NAMES.size()];
+        for (int i = 0; i < PROBES; i++) {
+            for (int f = 0; f < probe.length; f++) {
+                probe[f] = switch (i) {
+                    case 0 -> 0.0;
+                    case 1 -> 1.0;
+                    case 2 -> Double.NaN;
+                    default -> InspectionFacts.isBoolean(InspectionFacts.NAMES.get(f))
+                        ? random.nextInt(2)
+                        : random.nextDouble(-1000, 1000);
+                };
+            }
+            if (compiled.test(probe) != tree.test(probe)) {
+                log.error("Compiled rule expression '{}' disagrees with the interpreter, interpreting it", source);
+                return tree;
+            }
+        }
+        return compiled;
+    }
+
+    private static CompiledExpression generate(Expr tree) throws ReflectiveOperationException {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, GENERATED_NAME, null,
+            "java/lang/Object", new String[] {CompiledExpression.class.getName().replace('.', '/')});
+
+        MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor test = writer.visitMethod(Opcodes.ACC_PUBLIC, "test", "(" + FACTS_DESCRIPTOR + ")Z", null, null);
+        test.visitCode();
+        new ExpressionCompiler(test).condition(tree);
+        test.visitInsn(Opcodes.IRETURN);
+        test.visitMaxs(0, 0);
+        test.visitEnd();
+        writer.visitEnd();
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(writer.toByteArray(), true);
+        return (CompiledExpression) lookup.lookupClass().getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Leave the double value of a numeric node on the stack
+     */
+    private void number(Expr expr) {
+        if (expr instanceof Expr.Literal literal) {
+            if (literal.value == 0.0 && Double.doubleToRawLongBits(literal.value) == 0L) {
+                method.visitInsn(Opcodes.DCONST_0);
+            } else if (literal.value == 1.0) {
+                method.visitInsn(Opcodes.DCONST_1);
+            } else {
+                method.visitLdcInsn(literal.value);
+            }
+        } else if (expr instanceof Expr.Fact fact) {
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            pushInt(fact.index);
+            method.visitInsn(Opcodes.DALOAD);
+        } else if (expr instanceof Expr.Negate negate) {
+            number(negate.operand);
+            method.visitInsn(Opcodes.DNEG);
+        } else if (expr instanceof Expr.Arithmetic arithmetic) {
+            number(arithmetic.left);
+            number(arithmetic.right);
+            method.visitInsn(switch (arithmetic.op) {
+                case PLUS -> Opcodes.DADD;
+                case MINUS -> Opcodes.DSUB;
+                case STAR -> Opcodes.DMUL;
+                case SLASH -> Opcodes.DDIV;
+                case PERCENT -> Opcodes.DREM;
+                default -> throw new IllegalStateException("Not an arithmetic operator: " + arithmetic.op);
+            });
+        } else if (expr instanceof Expr.Call call) {
+            call(call);
+        } else {
+            throw new IllegalStateException("Not a numeric node: " + expr.getClass().getSimpleName());
+        }
+    }
+
+    private void call(Expr.Call call) {
+        number(call.args.get(0));
+        switch (call.function) {
+            case ABS -> math("abs", "(D)D");
+            case SQRT -> math("sqrt", "(D)D");
+            case FLOOR -> math("floor", "(D)D");
+            case CEIL -> math("ceil", "(D)D");
+            case MIN, MAX -> {
+                for (int i = 1; i < call.args.size(); i++) {
+                    number(call.args.get(i));
+                    math(call.function == Expr.Function.MIN ? "min" : "max", "(DD)D");
+                }
+            }
+        }
+    }
+
+    /**
+     * Leave 1 (true) or 0 (false) on the stack for a boolean node
+     */
+    private void condition(Expr expr) {
+        if (expr instanceof Expr.BoolLiteral literal) {
+            method.visitInsn(literal.value ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+            return;
+        }
+        if (expr instanceof Expr.Not not) {
+            condition(not.operand);
+            method.visitInsn(Opcodes.ICONST_1);
+            method.visitInsn(Opcodes.IXOR);
+            return;
+        }
+        Label whenFalse = new Label();
+        Label done = new Label();
+        jumpIfFalse(expr, whenFalse);
+        method.visitInsn(Opcodes.ICONST_1);
+        method.visitJumpInsn(Opcodes.GOTO, done);
+        method.visitLabel(whenFalse);
+        method.visitInsn(Opcodes.ICONST_0);
+        method.visitLabel(done);
+    }
+
+    /**
+     * Branch to target when the boolean node is false, fall through when true.
+     * AND and OR short-circuit like their Java counterparts.
+     */
+    private void jumpIfFalse(Expr expr, Label target) {
+        if (expr instanceof Expr.Logical logical) {
+            if (logical.and) {
+                jumpIfFalse(logical.left, target);
+                jumpIfFalse(logical.right, target);
+            } else {
+                Label whenTrue = new Label();
+                Label tryRight = new Label();
+                jumpIfFalse(logical.left, tryRight);
+                method.visitJumpInsn(Opcodes.GOTO, whenTrue);
+                method.visitLabel(tryRight);
+                jumpIfFalse(logical.right, target);
+                method.visitLabel(whenTrue);
+            }
+        } else if (expr instanceof Expr.Compare compare) {
+            compare(compare, target);
+        } else if (expr instanceof Expr.Between between) {
+            int local = nextLocal;
+            nextLocal += 2;
+            number(between.value);
+            method.visitVarInsn(Opcodes.DSTORE, local);
+            method.visitVarInsn(Opcodes.DLOAD, local);
+            number(between.low);
+            method.visitInsn(Opcodes.DCMPL);
+            method.visitJumpInsn(Opcodes.IFLT, target);
+            method.visitVarInsn(Opcodes.DLOAD, local);
+            number(between.high);
+            method.visitInsn(Opcodes.DCMPG);
+            method.visitJumpInsn(Opcodes.IFGT, target);
+        } else if (expr instanceof Expr.Fact fact) {
+            number(fact);
+            method.visitInsn(Opcodes.DCONST_0);
+            method.visitInsn(Opcodes.DCMPL);
+            method.visitJumpInsn(Opcodes.IFEQ, target);
+        } else {
+            condition(expr);
+            method.visitJumpInsn(Opcodes.IFEQ, target);
+        }
+    }
+
+    /**
+     * DCMPG yields 1 and DCMPL yields -1 for NaN, picked so that every ordered comparison
+     * with NaN takes the false branch, as in Java
+     */
+    private void compare(Expr.Compare compare, Label target) {
+        if (compare.left.isBoolean()) {
+            condition(compare.left);
+            condition(compare.right);
+            method.visitJumpInsn(compare.op == ExpressionLexer.Kind.EQ ? Opcodes.IF_ICMPNE : Opcodes.IF_ICMPEQ, target);
+            return;
+        }
+        number(compare.left);
+        number(compare.right);
+        switch (compare.op) {
+            case LT -> {
+                method.visitInsn(Opcodes.DCMPG);
+                method.visitJumpInsn(Opcodes.IFGE, target);
+            }
+            case LE -> {
+                method.visitInsn(Opcodes.DCMPG);
+                method.visitJumpInsn(Opcodes.IFGT, target);
+            }
+            case GT -> {
+                method.visitInsn(Opcodes.DCMPL);
+                method.visitJumpInsn(Opcodes.IFLE, target);
+            }
+            case GE -> {
+                method.visitInsn(Opcodes.DCMPL);
+                method.visitJumpInsn(Opcodes.IFLT, target);
+            }
+            case EQ -> {
+                method.visitInsn(Opcodes.DCMPL);
+                method.visitJumpInsn(Opcodes.IFNE, target);
+            }
+            case NE -> {
+                method.visitInsn(Opcodes.DCMPL);
+                method.visitJumpInsn(Opcodes.IFEQ, target);
+            }
+            default -> throw new IllegalStateException("Not a comparison: " + compare.op);
+        }
+    }
+
+    private void math(String name, String descriptor) {
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", name, descriptor, false);
+    }
+
+    private void pushInt(int value) {
+        if (value <= 5) {
+            method.visitInsn(Opcodes.ICONST_0 + value);
+        } else {
+            method.visitIntInsn(Opcodes.BIPUSH, value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.paklog.quality.domain.expression;
+
+/**
+ * A rule expression that does not lex, parse or type-check
+ */
+public class ExpressionException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int position;
+
+    public ExpressionException(String message, int position) {
+        super(message + " at position " + position);
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
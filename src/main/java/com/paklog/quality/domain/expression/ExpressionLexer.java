@@ -0,0 +1,123 @@
+package com.paklog.quality.domain.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a rule expression into tokens. Keywords (AND, OR, NOT, BETWEEN, TRUE, FALSE)
+ * are case-insensitive; &amp;&amp;, || and ! are accepted as synonyms.
+ */
+final class ExpressionLexer {
+
+    enum Kind {
+        NUMBER, IDENTIFIER, AND, OR, NOT, BETWEEN, TRUE, FALSE,
+        PLUS, MINUS, STAR, SLASH, PERCENT,
+        LT, LE, GT, GE, EQ, NE,
+        LPAREN, RPAREN, COMMA, END
+    }
+
+    record Token(Kind kind, String text, int position) {
+    }
+
+    private ExpressionLexer() {
+    }
+
+    static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(source.charAt(i + 1)))) {
+                while (i < length && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i < length && (source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+                    i++;
+                    if (i < length && (source.charAt(i) == '+' || source.charAt(i) == '-')) {
+                        i++;
+                    }
+                    while (i < length && Character.isDigit(source.charAt(i))) {
+                        i++;
+                    }
+                }
+                tokens.add(new Token(Kind.NUMBER, source.substring(start, i), start));
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+                    i++;
+                }
+                String word = source.substring(start, i);
+                tokens.add(new Token(keyword(word), word, start));
+                continue;
+            }
+
+            char next = i + 1 < length ? source.charAt(i + 1) : '\0';
+            Kind kind;
+            int width = 1;
+            switch (c) {
+                case '+' -> kind = Kind.PLUS;
+                case '-' -> kind = Kind.MINUS;
+                case '*' -> kind = Kind.STAR;
+                case '/' -> kind = Kind.SLASH;
+                case '%' -> kind = Kind.PERCENT;
+                case '(' -> kind = Kind.LPAREN;
+                case ')' -> kind = Kind.RPAREN;
+                case ',' -> kind = Kind.COMMA;
+                case '<' -> {
+                    kind = next == '=' ? Kind.LE : Kind.LT;
+                    width = next == '=' ? 2 : 1;
+                }
+                case '>' -> {
+                    kind = next == '=' ? Kind.GE : Kind.GT;
+                    width = next == '=' ? 2 : 1;
+                }
+                case '=' -> {
+                    kind = Kind.EQ;
+                    width = next == '=' ? 2 : 1;
+                }
+                case '!' -> {
+                    kind = next == '=' ? Kind.NE : Kind.NOT;
+                    width = next == '=' ? 2 : 1;
+                }
+                case '&' -> {
+                    if (next != '&') {
+                        throw new ExpressionException("Expected '&&'", start);
+                    }
+                    kind = Kind.AND;
+                    width = 2;
+                }
+                case '|' -> {
+                    if (next != '|') {
+                        throw new ExpressionException("Expected '||'", start);
+                    }
+                    kind = Kind.OR;
+                    width = 2;
+                }
+                default -> throw new ExpressionException("Unexpected character '" + c + "'", start);
+            }
+            i += width;
+            tokens.add(new Token(kind, source.substring(start, i), start));
+        }
+        tokens.add(new Token(Kind.END, "", length));
+        return tokens;
+    }
+
+    private static Kind keyword(String word) {
+        return switch (word.toUpperCase(java.util.Locale.ROOT)) {
+            case "AND" -> Kind.AND;
+            case "OR" -> Kind.OR;
+            case "NOT" -> Kind.NOT;
+            case "BETWEEN" -> Kind.BETWEEN;
+            case "TRUE" -> Kind.TRUE;
+            case "FALSE" -> Kind.FALSE;
+            default -> Kind.IDENTIFIER;
+        };
+    }
+}
@@ -0,0 +1,241 @@
+package com.paklog.quality.domain.expression;
+
+import com.paklog.quality.domain.expression.ExpressionLexer.Kind;
+import com.paklog.quality.domain.expression.ExpressionLexer.Token;
+import com.paklog.quality.domain.service.InspectionFacts;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive-descent parser and type checker for rule expressions.
+ *
+ * <pre>
+ * expression := or
+ * or         := and (OR and)*
+ * and        := not (AND not)*
+ * not        := NOT not | comparison
+ * comparison := additive [(&lt; | &lt;= | &gt; | &gt;= | == | !=) additive | BETWEEN additive AND additive]
+ * additive   := term ((+ | -) term)*
+ * term       := unary ((* | / | %) unary)*
+ * unary      := - unary | primary
+ * primary    := number | TRUE | FALSE | fact | function ( args ) | ( expression )
+ * </pre>
+ *
+ * Facts are the names in {@link InspectionFacts}; functions are abs, min, max, sqrt, floor,
+ * ceil and between(value, low, high). The whole expression must be boolean.
+ */
+final class ExpressionParser {
+
+    private final List<Token> tokens;
+    private int next;
+
+    private ExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    static Expr parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new ExpressionException("Empty expression", 0);
+        }
+        ExpressionParser parser = new ExpressionParser(ExpressionLexer.tokenize(source));
+        Expr expr = parser.or();
+        Token trailing = parser.peek();
+        if (trailing.kind() != Kind.END) {
+            throw new ExpressionException("Unexpected '" + trailing.text() + "'", trailing.position());
+        }
+        return requireBoolean(expr);
+    }
+
+    private Expr or() {
+        Expr left = and();
+        while (peek().kind() == Kind.OR) {
+            Token op = advance();
+            left = new Expr.Logical(false, requireBoolean(left), requireBoolean(and()), op.position());
+        }
+        return left;
+    }
+
+    private Expr and() {
+        Expr left = not();
+        while (peek().kind() == Kind.AND) {
+            Token op = advance();
+            left = new Expr.Logical(true, requireBoolean(left), requireBoolean(not()), op.position());
+        }
+        return left;
+    }
+
+    private Expr not() {
+        if (peek().kind() == Kind.NOT) {
+            Token op = advance();
+            return new Expr.Not(requireBoolean(not()), op.position());
+        }
+        return comparison();
+    }
+
+    private Expr comparison() {
+        Expr left = additive();
+        Token op = peek();
+        switch (op.kind()) {
+            case LT, LE, GT, GE -> {
+                advance();
+                return new Expr.Compare(op.kind(), requireNumber(left), requireNumber(additive()), op.position());
+            }
+            case EQ, NE -> {
+                advance();
+                Expr right = additive();
+                if (left.isBoolean() != right.isBoolean()) {
+                    throw new ExpressionException("Cannot compare a boolean with a number", op.position());
+                }
+                return new Expr.Compare(op.kind(), left, right, op.position());
+            }
+            case BETWEEN -> {
+                advance();
+                Expr low = requireNumber(additive());
+                expect(Kind.AND, "AND in BETWEEN");
+                Expr high = requireNumber(additive());
+                return new Expr.Between(requireNumber(left), low, high, op.position());
+            }
+            default -> {
+                return left;
+            }
+        }
+    }
+
+    private Expr additive() {
+        Expr left = term();
+        while (peek().kind() == Kind.PLUS || peek().kind() == Kind.MINUS) {
+            Token op = advance();
+            left = new Expr.Arithmetic(op.kind(), requireNumber(left), requireNumber(term()), op.position());
+        }
+        return left;
+    }
+
+    private Expr term() {
+        Expr left = unary();
+        while (peek().kind() == Kind.STAR || peek().kind() == Kind.SLASH || peek().kind() == Kind.PERCENT) {
+            Token op = advance();
+            left = new Expr.Arithmetic(op.kind(), requireNumber(left), requireNumber(unary()), op.position());
+        }
+        return left;
+    }
+
+    private Expr unary() {
+        if (peek().kind() == Kind.MINUS) {
+            Token op = advance();
+            Expr operand = requireNumber(unary());
+            if (operand instanceof Expr.Literal literal) {
+                return new Expr.Literal(-literal.value, op.position());
+            }
+            return new Expr.Negate(operand, op.position());
+        }
+        return primary();
+    }
+
+    private Expr primary() {
+        Token token = advance();
+        switch (token.kind()) {
+            case NUMBER -> {
+                try {
+                    return new Expr.Literal(Double.parseDouble(token.text()), token.position());
+                } catch (NumberFormatException e) {
+                    throw new ExpressionException("Malformed number '" + token.text() + "'", token.position());
+                }
+            }
+            case TRUE -> {
+                return new Expr.BoolLiteral(true, token.position());
+            }
+            case FALSE -> {
+                return new Expr.BoolLiteral(false, token.position());
+            }
+            case LPAREN -> {
+                Expr inner = or();
+                expect(Kind.RPAREN, "')'");
+                return inner;
+            }
+            case BETWEEN -> {
+                if (peek().kind() != Kind.LPAREN) {
+                    throw new ExpressionException("Unexpected 'BETWEEN'", token.position());
+                }
+                return call(token);
+            }
+            case IDENTIFIER -> {
+                if (peek().kind() == Kind.LPAREN) {
+                    return call(token);
+                }
+                int index = InspectionFacts.indexOf(token.text());
+                if (index < 0) {
+                    throw new ExpressionException("Unknown fact '" + token.text() + "'", token.position());
+                }
+                return new Expr.Fact(token.text(), index, InspectionFacts.isBoolean(token.text()), token.position());
+            }
+            default -> throw new ExpressionException(
+                token.kind() == Kind.END ? "Unexpected end of expression" : "Unexpected '" + token.text() + "'",
+                token.position());
+        }
+    }
+
+    private Expr call(Token name) {
+        advance();
+        List<Expr> args = new ArrayList<>();
+        if (peek().kind() != Kind.RPAREN) {
+            do {
+                args.add(requireNumber(or()));
+            } while (peek().kind() == Kind.COMMA && advance() != null);
+        }
+        expect(Kind.RPAREN, "')'");
+
+        String function = name.text().toLowerCase(Locale.ROOT);
+        if (function.equals("between")) {
+            if (args.size() != 3) {
+                throw new ExpressionException("between takes 3 arguments", name.position());
+            }
+            return new Expr.Between(args.get(0), args.get(1), args.get(2), name.position());
+        }
+        Expr.Function resolved;
+        try {
+            resolved = Expr.Function.valueOf(function.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ExpressionException("Unknown function '" + name.text() + "'", name.position());
+        }
+        if (args.size() < resolved.minArgs || args.size() > resolved.maxArgs) {
+            throw new ExpressionException(function + " takes " + (resolved.minArgs == resolved.maxArgs
+                ? resolved.minArgs + " argument(s)"
+                : "at least " + resolved.minArgs + " arguments"), name.position());
+        }
+        return new Expr.Call(resolved, args, name.position());
+    }
+
+    private static Expr requireBoolean(Expr expr) {
+        if (!expr.isBoolean()) {
+            throw new ExpressionException("Expected a condition, found a number", expr.position);
+        }
+        return expr;
+    }
+
+    private static Expr requireNumber(Expr expr) {
+        if (expr.isBoolean()) {
+            throw new ExpressionException("Expected a number, found a condition", expr.position);
+        }
+        return expr;
+    }
+
+    private void expect(Kind kind, String description) {
+        Token token = advance();
+        if (token.kind() != kind) {
+            throw new ExpressionException("Expected " + description, token.position());
+        }
+    }
+
+    private Token peek() {
+        return tokens.get(next);
+    }
+
+    private Token advance() {
+        Token token = tokens.get(next);
+        if (token.kind() != Kind.END) {
+            next++;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,24 @@
+package com.paklog.quality.domain.repository;
+
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * CAPA deadlines. Every state change is a conditional update, so instances racing on the
+ * same deadline agree on a single outcome.
+ */
+public interface CapaDeadlineRepository {
+    /** Insert the deadline unless one is in force; returns the deadline in force afterwards */
+    CapaDeadline openIfAbsent(CapaDeadline deadline);
+    /** OPEN to ESCALATED, only if still due at dueAt; true for exactly one caller */
+    boolean markEscalated(String inspectionId, Instant dueAt, Instant escalatedAt);
+    /** Undo a markEscalated whose escalation could not be recorded */
+    void reopen(String inspectionId, Instant dueAt);
+    /** OPEN or ESCALATED to CLOSED */
+    boolean close(String inspectionId, String correctiveAction, Instant closedAt);
+    Optional<CapaDeadline> findById(String inspectionId);
+    /** Inspection id and due time of every OPEN deadline, streamed */
+    void forEachOpen(BiConsumer<String, Instant> consumer);
+}
@@ -9,5 +9,6 @@ public interface ComplianceRuleRepository {
     Optional<ComplianceRule> findById(String id);
     List<ComplianceRule> findByType(InspectionType type);
     List<ComplianceRule> findActiveRules();
+    List<ComplianceRule> findByRuleSetVersion(String ruleSetVersion, InspectionType type);
     void deleteById(String id);
 }
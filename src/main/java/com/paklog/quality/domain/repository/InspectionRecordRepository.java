@@ -10,5 +10,14 @@ public interface InspectionRecordRepository {
     List<InspectionRecord> findByType(InspectionType type);
     List<InspectionRecord> findByResult(InspectionResult result);
     List<InspectionRecord> findFailedInspections();
+    List<InspectionRecord> findByShipmentId(String shipmentId);
     void deleteById(String id);
+
+    /**
+     * Lookup for read-only use; the result may be shared with other readers and must not be
+     * modified or saved. Load with {@link #findById(String)} before updating a record.
+     */
+    default Optional<InspectionRecord> findByIdReadOnly(String id) {
+        return findById(id);
+    }
 }
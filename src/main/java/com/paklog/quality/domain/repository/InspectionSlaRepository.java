@@ -0,0 +1,24 @@
+package com.paklog.quality.domain.repository;
+
+import com.paklog.quality.domain.valueobject.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Set-based access to open inspections for SLA enforcement. Claims are conditional bulk
+ * updates, so an inspection is acted on once however many instances sweep it.
+ */
+public interface InspectionSlaRepository {
+    /** Open inspections performed before performedBefore whose SLA has not been acted on, streamed */
+    void forEachOpen(Instant performedBefore, Consumer<OpenInspection> consumer);
+
+    /**
+     * Apply the action, in one update, to those of the given inspections that are still open,
+     * not yet acted on and of a type in performedBefore, performed at or before that type's cutoff.
+     * Returns the inspections this call claimed, with their event sequence already advanced by
+     * the action's event count.
+     */
+    List<OpenInspection> claimBreached(Collection<String> inspectionIds, Map<InspectionType, Instant> performedBefore,
+                                       SlaAction action, Instant breachedAt);
+}
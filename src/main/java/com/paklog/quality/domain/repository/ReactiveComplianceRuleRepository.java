@@ -0,0 +1,17 @@
+package com.paklog.quality.domain.repository;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.valueobject.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ComplianceRuleRepository}; queries stream results
+ */
+public interface ReactiveComplianceRuleRepository {
+    Mono<ComplianceRule> save(ComplianceRule rule);
+    Mono<ComplianceRule> findById(String id);
+    Flux<ComplianceRule> findByType(InspectionType type);
+    Flux<ComplianceRule> findActiveRules();
+    Mono<Void> deleteById(String id);
+}
@@ -0,0 +1,18 @@
+package com.paklog.quality.domain.repository;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.valueobject.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link InspectionRecordRepository}; queries stream results
+ */
+public interface ReactiveInspectionRecordRepository {
+    Mono<InspectionRecord> save(InspectionRecord record);
+    Mono<InspectionRecord> findById(String id);
+    Flux<InspectionRecord> findByType(InspectionType type);
+    Flux<InspectionRecord> findByResult(InspectionResult result);
+    Flux<InspectionRecord> findFailedInspections();
+    Mono<Void> deleteById(String id);
+}
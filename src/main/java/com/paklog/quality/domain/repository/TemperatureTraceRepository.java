@@ -0,0 +1,11 @@
+package com.paklog.quality.domain.repository;
+
+import com.paklog.quality.domain.aggregate.TemperatureTrace;
+import java.util.*;
+
+public interface TemperatureTraceRepository {
+    TemperatureTrace save(TemperatureTrace trace);
+    Optional<TemperatureTrace> findById(String id);
+    /** Traces for a shipment in upload order, without the encoded readings */
+    List<TemperatureTrace> findByShipmentId(String shipmentId);
+}
@@ -0,0 +1,100 @@
+package com.paklog.quality.domain.service;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders rules for short-circuit evaluation from their observed failure rate and cost.
+ *
+ * When evaluation stops at the first failure, the expected cost of a sequence is minimised
+ * by running rules in ascending order of cost / P(fail). Both are tracked per rule as
+ * exponentially weighted averages so the order follows drifting data. Unseen rules start
+ * with an even failure prior and no known cost, which puts them near the front until they
+ * have been measured. Updates are unsynchronised; a lost update only slows adaptation.
+ */
+final class AdaptiveRuleOrder {
+
+    private static final double FAILURE_PRIOR = 0.5;
+    private static final double MIN_FAILURE_PROBABILITY = 1e-4;
+    private static final double MIN_COST_NANOS = 1.0;
+
+    private final double smoothing;
+    private final int maxTrackedRules;
+    private final ConcurrentHashMap<String, RuleStats> stats = new ConcurrentHashMap<>();
+
+    AdaptiveRuleOrder(double smoothing, int maxTrackedRules) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]: " + smoothing);
+        }
+        this.smoothing = smoothing;
+        this.maxTrackedRules = maxTrackedRules;
+    }
+
+    /**
+     * Record one evaluation; elapsedNanos is {@link RuleEvaluationListener#NOT_SAMPLED} when untimed
+     */
+    void record(ComplianceRule rule, boolean passed, long elapsedNanos) {
+        RuleStats ruleStats = statsFor(rule);
+        if (ruleStats == null) {
+            return;
+        }
+        ruleStats.failureRate += smoothing * ((passed ? 0.0 : 1.0) - ruleStats.failureRate);
+        if (elapsedNanos != RuleEvaluationListener.NOT_SAMPLED) {
+            double cost = ruleStats.costNanos;
+            ruleStats.costNanos = cost == 0.0 ? elapsedNanos : cost + smoothing * (elapsedNanos - cost);
+        }
+    }
+
+    /**
+     * The given rules sorted cheapest-expected-stop first; the input is not modified
+     */
+    ComplianceRule[] order(List<ComplianceRule> rules) {
+        int n = rules.size();
+        ComplianceRule[] ordered = rules.toArray(new ComplianceRule[0]);
+        if (n < 2) {
+            return ordered;
+        }
+
+        double[] rank = new double[n];
+        Integer[] index = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            RuleStats ruleStats = stats.get(keyOf(ordered[i]));
+            double failure = ruleStats != null ? ruleStats.failureRate : FAILURE_PRIOR;
+            double cost = ruleStats != null ? ruleStats.costNanos : 0.0;
+            rank[i] = Math.max(cost, MIN_COST_NANOS) / Math.max(failure, MIN_FAILURE_PROBABILITY);
+            index[i] = i;
+        }
+        Arrays.sort(index, (a, b) -> Double.compare(rank[a], rank[b]));
+
+        ComplianceRule[] sorted = new ComplianceRule[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = ordered[index[i]];
+        }
+        return sorted;
+    }
+
+    private RuleStats statsFor(ComplianceRule rule) {
+        String key = keyOf(rule);
+        if (key == null) {
+            return null;
+        }
+        RuleStats existing = stats.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (stats.size() >= maxTrackedRules) {
+            return null;
+        }
+        return stats.computeIfAbsent(key, k -> new RuleStats());
+    }
+
+    private static String keyOf(ComplianceRule rule) {
+        return rule.getId() != null ? rule.getId() : rule.getRuleCode();
+    }
+
+    private static final class RuleStats {
+        private volatile double failureRate = FAILURE_PRIOR;
+        private volatile double costNanos;
+    }
+}
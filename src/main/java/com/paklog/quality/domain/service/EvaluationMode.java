@@ -0,0 +1,14 @@
+package com.paklog.quality.domain.service;
+
+/**
+ * How much work {@link RuleEvaluationService} does for an inspection
+ */
+public enum EvaluationMode {
+    /** Every applicable rule is evaluated and reported; required for audit and non-conformance records */
+    DETAILED,
+    /**
+     * Only the overall verdict is computed: CRITICAL rules alone decide it, so only they are
+     * evaluated, most-likely-to-fail-per-nanosecond first, stopping at the first failure
+     */
+    FAST_FAIL
+}
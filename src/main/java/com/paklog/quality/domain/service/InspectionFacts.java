@@ -0,0 +1,87 @@
+package com.paklog.quality.domain.service;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The facts compliance rules are evaluated against, derived the same way for a live
+ * inspection and for a stored document read back by a backtest.
+ *
+ * Facts exist both as a name-keyed map (simple "field op threshold" conditions) and as a
+ * fact vector, a double[] indexed by {@link #NAMES} with booleans as 1.0 / 0.0, which is
+ * what compiled rule expressions read.
+ */
+public final class InspectionFacts {
+
+    public static final String TEMPERATURE_CELSIUS = "temperatureCelsius";
+    public static final String WEIGHT_KG = "weightKg";
+    public static final String EXPECTED_WEIGHT_KG = "expectedWeightKg";
+    public static final String DEFECT_RATE = "defectRate";
+    public static final String DEFECTS_FOUND = "defectsFound";
+    public static final String ITEMS_INSPECTED = "itemsInspected";
+    public static final String BARCODE_VERIFIED = "barcodeVerified";
+    public static final String HAS_PHOTOS = "hasPhotos";
+
+    /** Fact vector layout */
+    public static final List<String> NAMES = List.of(TEMPERATURE_CELSIUS, WEIGHT_KG, EXPECTED_WEIGHT_KG,
+        DEFECT_RATE, DEFECTS_FOUND, ITEMS_INSPECTED, BARCODE_VERIFIED, HAS_PHOTOS);
+    private static final Set<String> BOOLEAN_FACTS = Set.of(BARCODE_VERIFIED, HAS_PHOTOS);
+
+    private InspectionFacts() {
+    }
+
+    /** Vector index of a fact, or -1 if there is no such fact */
+    public static int indexOf(String name) {
+        return NAMES.indexOf(name);
+    }
+
+    public static boolean isBoolean(String name) {
+        return BOOLEAN_FACTS.contains(name);
+    }
+
+    public static Map<String, Object> of(InspectionRecord inspection) {
+        Map<String, Object> facts = new HashMap<>();
+        fill(facts, inspection.getTemperatureCelsius(), inspection.getWeightKg(), inspection.getExpectedWeightKg(),
+            inspection.getDefectsFound(), inspection.getItemsInspected(), inspection.isBarcodeVerified(), inspection.hasPhotos());
+        return facts;
+    }
+
+    /**
+     * Overwrite every fact in a (possibly reused) map
+     */
+    public static void fill(Map<String, Object> facts, double temperatureCelsius, double weightKg, double expectedWeightKg,
+                            int defectsFound, int itemsInspected, boolean barcodeVerified, boolean hasPhotos) {
+        facts.put(TEMPERATURE_CELSIUS, temperatureCelsius);
+        facts.put(WEIGHT_KG, weightKg);
+        facts.put(EXPECTED_WEIGHT_KG, expectedWeightKg);
+        facts.put(DEFECT_RATE, itemsInspected > 0 ? (double) defectsFound / itemsInspected * 100 : 0.0);
+        facts.put(DEFECTS_FOUND, defectsFound);
+        facts.put(ITEMS_INSPECTED, itemsInspected);
+        facts.put(BARCODE_VERIFIED, barcodeVerified);
+        facts.put(HAS_PHOTOS, hasPhotos);
+    }
+
+    public static double[] toVector(Map<String, Object> facts) {
+        return toVector(facts, new double[NAMES.size()]);
+    }
+
+    /**
+     * Write the fact vector for a fact map into a (possibly reused) array
+     */
+    public static double[] toVector(Map<String, Object> facts, double[] vector) {
+        for (int i = 0; i < vector.length; i++) {
+            Object value = facts.get(NAMES.get(i));
+            if (value instanceof Number number) {
+                vector[i] = number.doubleValue();
+            } else if (value instanceof Boolean bool) {
+                vector[i] = bool ? 1.0 : 0.0;
+            } else {
+                vector[i] = 0.0;
+            }
+        }
+        return vector;
+    }
+}
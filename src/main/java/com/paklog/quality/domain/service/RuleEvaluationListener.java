@@ -0,0 +1,15 @@
+package com.paklog.quality.domain.service;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+
+/**
+ * Observer notified by {@link RuleEvaluationService} after each applicable rule is evaluated.
+ * Only a sample of evaluations is timed; unsampled notifications carry {@link #NOT_SAMPLED} as
+ * elapsed time. Detailed evaluation is not timed at all while no listener is registered.
+ */
+public interface RuleEvaluationListener {
+
+    long NOT_SAMPLED = -1L;
+
+    void onRuleEvaluated(ComplianceRule rule, boolean passed, long elapsedNanos);
+}
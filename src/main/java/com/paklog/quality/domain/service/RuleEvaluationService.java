@@ -4,24 +4,58 @@ import org.slf4j.LoggerFactory;
 
 import com.paklog.quality.domain.aggregate.*;
 import com.paklog.quality.domain.valueobject.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Rule evaluation engine for quality compliance
+ * Rule evaluation engine for quality compliance.
+ *
+ * {@link EvaluationMode#DETAILED} evaluates every applicable rule and reports each failure.
+ * {@link EvaluationMode#FAST_FAIL} only answers whether the inspection passes: it evaluates
+ * the CRITICAL rules in an order learned from earlier fast-fail runs and stops at the first
+ * failure. Only fast-fail runs record those statistics, so without listeners a detailed
+ * evaluation does no timing and no shared writes.
  */
 @Service
 public class RuleEvaluationService {
     private static final Logger log = LoggerFactory.getLogger(RuleEvaluationService.class);
 
+    private final RuleEvaluationListener[] listeners;
+    private final ShadowRuleEvaluator[] shadowEvaluators;
+    private final int timingSampleInterval;
+    private final AdaptiveRuleOrder ruleOrder;
+
+    public RuleEvaluationService(List<RuleEvaluationListener> listeners,
+                                 List<ShadowRuleEvaluator> shadowEvaluators,
+                                 @Value("${quality.rules.profiling.timing-sample-interval:8}") int timingSampleInterval,
+                                 @Value("${quality.rules.fast-fail.smoothing:0.02}") double orderSmoothing,
+                                 @Value("${quality.rules.profiling.max-tracked-rules:10000}") int maxTrackedRules) {
+        this.listeners = listeners.toArray(new RuleEvaluationListener[0]);
+        this.shadowEvaluators = shadowEvaluators.toArray(new ShadowRuleEvaluator[0]);
+        this.timingSampleInterval = Math.max(1, timingSampleInterval);
+        this.ruleOrder = new AdaptiveRuleOrder(orderSmoothing, maxTrackedRules);
+    }
 
     /**
      * Evaluate all applicable rules for an inspection
      */
     public RuleEvaluationResult evaluateRules(InspectionRecord inspection, List<ComplianceRule> rules) {
+        return evaluateRules(inspection, rules, EvaluationMode.DETAILED);
+    }
+
+    /**
+     * Evaluate rules for an inspection in the given mode; FAST_FAIL results list at most one failed rule
+     */
+    public RuleEvaluationResult evaluateRules(InspectionRecord inspection, List<ComplianceRule> rules, EvaluationMode mode) {
+        if (mode == EvaluationMode.FAST_FAIL) {
+            return evaluateCritical(inspection, rules);
+        }
         log.info("Evaluating {} rules for inspection {}", rules.size(), inspection.getId());
 
-        Map<String, Object> inspectionData = buildInspectionData(inspection);
+        Map<String, Object> inspectionData = InspectionFacts.of(inspection);
+        double[] factVector = InspectionFacts.toVector(inspectionData);
 
         List<ComplianceRule> passedRules = new ArrayList<>();
         List<ComplianceRule> failedRules = new ArrayList<>();
@@ -31,9 +65,7 @@ public class RuleEvaluationService {
                 continue;  // Skip rules not applicable to this inspection type
             }
 
-            boolean passed = rule.evaluate(inspectionData);
-
-            if (passed) {
+            if (evaluate(rule, inspectionData, factVector, false)) {
                 passedRules.add(rule);
             } else {
                 failedRules.add(rule);
@@ -45,6 +77,10 @@ public class RuleEvaluationService {
             }
         }
 
+        for (ShadowRuleEvaluator shadow : shadowEvaluators) {
+            shadow.submit(inspection.getType(), inspectionData, passedRules, failedRules);
+        }
+
         return RuleEvaluationResult.builder()
             .totalRules(rules.size())
             .passedRules(passedRules.size())
@@ -55,25 +91,90 @@ public class RuleEvaluationService {
             .failedRuleDetails(failedRules)
             .overallPassed(failedRules.stream()
                 .noneMatch(r -> r.getLevel() == ComplianceLevel.CRITICAL))
+            .mode(EvaluationMode.DETAILED)
+            .evaluatedRules(passedRules.size() + failedRules.size())
+            .build();
+    }
+
+    /**
+     * Verdict only: CRITICAL rules in adaptive order, stopping at the first failure.
+     * Shadow evaluators are not fed because the pass/fail lists are deliberately partial.
+     */
+    private RuleEvaluationResult evaluateCritical(InspectionRecord inspection, List<ComplianceRule> rules) {
+        List<ComplianceRule> critical = new ArrayList<>();
+        for (ComplianceRule rule : rules) {
+            if (rule.getLevel() == ComplianceLevel.CRITICAL && rule.getApplicableTo().equals(inspection.getType())) {
+                critical.add(rule);
+            }
+        }
+
+        Map<String, Object> inspectionData = InspectionFacts.of(inspection);
+        double[] factVector = InspectionFacts.toVector(inspectionData);
+
+        int evaluated = 0;
+        ComplianceRule failed = null;
+        for (ComplianceRule rule : ruleOrder.order(critical)) {
+            evaluated++;
+            if (!evaluate(rule, inspectionData, factVector, true)) {
+                failed = rule;
+                break;
+            }
+        }
+
+        if (failed != null) {
+            log.warn("CRITICAL rule violation: {} for inspection {}", failed.getRuleName(), inspection.getId());
+        }
+        log.debug("Fast-fail evaluated {} of {} critical rules for inspection {}", evaluated, critical.size(), inspection.getId());
+
+        return RuleEvaluationResult.builder()
+            .totalRules(rules.size())
+            .passedRules(failed == null ? evaluated : evaluated - 1)
+            .failedRules(failed == null ? 0 : 1)
+            .criticalFailures(failed == null ? 0 : 1)
+            .failedRuleDetails(failed == null ? List.of() : List.of(failed))
+            .overallPassed(failed == null)
+            .mode(EvaluationMode.FAST_FAIL)
+            .evaluatedRules(evaluated)
             .build();
     }
 
     /**
-     * Build inspection data map for rule evaluation
+     * Evaluate one rule, timing a sample of evaluations for the listeners and, when learnOrder
+     * is set, recording the outcome for the fast-fail order
+     */
+    private boolean evaluate(ComplianceRule rule, Map<String, Object> inspectionData, double[] factVector, boolean learnOrder) {
+        if (listeners.length == 0 && !learnOrder) {
+            return rule.evaluate(inspectionData, factVector);
+        }
+        boolean passed;
+        long elapsedNanos = RuleEvaluationListener.NOT_SAMPLED;
+        if (sampleTiming()) {
+            long start = System.nanoTime();
+            passed = rule.evaluate(inspectionData, factVector);
+            elapsedNanos = System.nanoTime() - start;
+        } else {
+            passed = rule.evaluate(inspectionData, factVector);
+        }
+        if (learnOrder) {
+            ruleOrder.record(rule, passed, elapsedNanos);
+        }
+        if (listeners.length > 0) {
+            notifyListeners(rule, passed, elapsedNanos);
+        }
+        return passed;
+    }
+
+    /**
+     * Time roughly one in every timingSampleInterval rule evaluations
      */
-    private Map<String, Object> buildInspectionData(InspectionRecord inspection) {
-        Map<String, Object> data = new HashMap<>();
-
-        data.put("temperatureCelsius", inspection.getTemperatureCelsius());
-        data.put("weightKg", inspection.getWeightKg());
-        data.put("expectedWeightKg", inspection.getExpectedWeightKg());
-        data.put("defectRate", inspection.getDefectRate());
-        data.put("defectsFound", inspection.getDefectsFound());
-        data.put("itemsInspected", inspection.getItemsInspected());
-        data.put("barcodeVerified", inspection.isBarcodeVerified());
-        data.put("hasPhotos", inspection.hasPhotos());
-
-        return data;
+    private boolean sampleTiming() {
+        return timingSampleInterval == 1 || ThreadLocalRandom.current().nextInt(timingSampleInterval) == 0;
+    }
+
+    private void notifyListeners(ComplianceRule rule, boolean passed, long elapsedNanos) {
+        for (RuleEvaluationListener listener : listeners) {
+            listener.onRuleEvaluated(rule, passed, elapsedNanos);
+        }
     }
 
     public static class RuleEvaluationResult {
@@ -83,6 +184,8 @@ public class RuleEvaluationService {
         private final int criticalFailures;
         private final List<ComplianceRule> failedRuleDetails;
         private final boolean overallPassed;
+        private final EvaluationMode mode;
+        private final int evaluatedRules;
 
         private RuleEvaluationResult(Builder builder) {
             this.totalRules = builder.totalRules;
@@ -91,6 +194,8 @@ public class RuleEvaluationService {
             this.criticalFailures = builder.criticalFailures;
             this.failedRuleDetails = builder.failedRuleDetails;
             this.overallPassed = builder.overallPassed;
+            this.mode = builder.mode;
+            this.evaluatedRules = builder.evaluatedRules;
         }
 
         public static Builder builder() {
@@ -104,6 +209,8 @@ public class RuleEvaluationService {
         public int getCriticalFailures() { return criticalFailures; }
         public List<ComplianceRule> getFailedRuleDetails() { return failedRuleDetails; }
         public boolean isOverallPassed() { return overallPassed; }
+        public EvaluationMode getMode() { return mode; }
+        public int getEvaluatedRules() { return evaluatedRules; }
 
         public static class Builder {
             private int totalRules;
@@ -112,6 +219,8 @@ public class RuleEvaluationService {
             private int criticalFailures;
             private List<ComplianceRule> failedRuleDetails;
             private boolean overallPassed;
+            private EvaluationMode mode = EvaluationMode.DETAILED;
+            private int evaluatedRules;
 
             public Builder totalRules(int totalRules) {
                 this.totalRules = totalRules;
@@ -143,6 +252,16 @@ public class RuleEvaluationService {
                 return this;
             }
 
+            public Builder mode(EvaluationMode mode) {
+                this.mode = mode;
+                return this;
+            }
+
+            public Builder evaluatedRules(int evaluatedRules) {
+                this.evaluatedRules = evaluatedRules;
+                return this;
+            }
+
             public RuleEvaluationResult build() {
                 return new RuleEvaluationResult(this);
             }
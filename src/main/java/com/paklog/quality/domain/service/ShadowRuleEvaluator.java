@@ -0,0 +1,22 @@
+package com.paklog.quality.domain.service;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a candidate rule set against the same facts as the live one.
+ * Called on the request thread, so implementations must hand off and return at once.
+ */
+public interface ShadowRuleEvaluator {
+
+    /**
+     * @param type         inspection type the live rules were selected for
+     * @param facts        inspection data the live rules saw; not modified afterwards
+     * @param livePassed   live rules that passed
+     * @param liveFailed   live rules that failed
+     */
+    void submit(InspectionType type, Map<String, Object> facts,
+                List<ComplianceRule> livePassed, List<ComplianceRule> liveFailed);
+}
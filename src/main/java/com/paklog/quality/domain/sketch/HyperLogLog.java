@@ -0,0 +1,222 @@
+package com.paklog.quality.domain.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-value counter with Ertl's improved estimator.
+ *
+ * Each value is hashed to 64 bits; the top p bits pick one of 2^p registers, which keeps the
+ * longest run of leading zeros seen in the rest. At the default precision of 14 that is 16 KB
+ * of registers for a standard error of about 0.8%, accurate from a handful of values up to
+ * billions without the small-range correction switch of the original estimator.
+ *
+ * Sketches of the same precision merge by register maximum, so per-pod, per-hour sketches
+ * combine into the count of their union. toBytes() writes the few registers that are set as
+ * varint pairs while the sketch is sparse, and all of them packed in 6 bits once that is
+ * smaller. Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 14;
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining 64 - p bits, plus one; a sentinel bit caps the run
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Fold other's values into this sketch; both must have the same precision
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog of precision " + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimated number of distinct values added
+     */
+    public long cardinality() {
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        int m = registers.length;
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        double alphaInfinity = 0.5 / Math.log(2);
+        return Math.round(alphaInfinity * m * m / z);
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Format byte, precision, then either (index delta, rank) varint pairs of the set registers
+     * or every register in 6 bits, whichever is shorter
+     */
+    public byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        int denseBytes = registers.length / 4 * 3;
+        // Deltas of at most 2^18 take three varint bytes, ranks one
+        if (set * 4 + 5 < denseBytes) {
+            ByteBuffer out = ByteBuffer.allocate(2 + 5 + set * 4);
+            out.put(SPARSE);
+            out.put((byte) precision);
+            Varints.put(out, set);
+            int previous = 0;
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    Varints.put(out, i - previous);
+                    out.put(registers[i]);
+                    previous = i;
+                }
+            }
+            return Arrays.copyOf(out.array(), out.position());
+        }
+        byte[] out = new byte[2 + denseBytes];
+        out[0] = DENSE;
+        out[1] = (byte) precision;
+        // Four 6-bit registers to three bytes
+        for (int i = 0, position = 2; i < registers.length; i += 4, position += 3) {
+            int bits = registers[i] | registers[i + 1] << 6 | registers[i + 2] << 12 | registers[i + 3] << 18;
+            out[position] = (byte) bits;
+            out[position + 1] = (byte) (bits >>> 8);
+            out[position + 2] = (byte) (bits >>> 16);
+        }
+        return out;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte format = in.get();
+        HyperLogLog sketch = new HyperLogLog(in.get());
+        byte[] registers = sketch.registers;
+        if (format == SPARSE) {
+            int set = (int) Varints.get(in);
+            int index = 0;
+            for (int i = 0; i < set; i++) {
+                index += (int) Varints.get(in);
+                registers[index] = in.get();
+            }
+        } else if (format == DENSE) {
+            if (bytes.length != 2 + registers.length / 4 * 3) {
+                throw new IllegalArgumentException("Truncated HyperLogLog encoding");
+            }
+            for (int i = 0, position = 2; i < registers.length; i += 4, position += 3) {
+                int bits = (bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8 | (bytes[position + 2] & 0xFF) << 16;
+                registers[i] = (byte) (bits & 0x3F);
+                registers[i + 1] = (byte) (bits >>> 6 & 0x3F);
+                registers[i + 2] = (byte) (bits >>> 12 & 0x3F);
+                registers[i + 3] = (byte) (bits >>> 18);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown HyperLogLog encoding");
+        }
+        return sketch;
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finished with the MurmurHash3 mixer so every bit avalanches
+     */
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Corrections for registers at zero (sigma) and at the maximum rank (tau), Ertl 2017
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= Math.pow(1 - x, 2) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+}
@@ -0,0 +1,278 @@
+package com.paklog.quality.domain.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning and Ertl) for approximate quantiles of a stream of doubles.
+ *
+ * Values are buffered and periodically merged into a sorted list of centroids (mean and
+ * count). The arcsine scale function lets centroids near the median absorb many values while
+ * those in the tails stay small, so p99 is estimated as well as p50: a compression of 100
+ * keeps about 50 centroids and a rank error well under 1% at the tails. Minimum and
+ * maximum are kept exactly.
+ *
+ * Digests merge: merge() folds another digest's centroids in as weighted values, so digests
+ * built on different pods or for different hours combine into the digest of all their
+ * values. toBytes() is a compact encoding (float means, varint counts) of a few hundred
+ * bytes. Not thread-safe.
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+    private static final byte VERSION = 1;
+
+    private final double compression;
+    private final double cosStep;
+    private final double sinStep;
+    private double[] means;
+    private long[] counts;
+    private int centroids;
+    private final double[] buffer;
+    private int buffered;
+    private double[] mergeMeans = new double[0];
+    private long[] mergeCounts = new long[0];
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        if (!(compression >= 10 && compression <= 1000)) {
+            throw new IllegalArgumentException("compression must be between 10 and 1000");
+        }
+        this.compression = compression;
+        this.cosStep = Math.cos(2 * Math.PI / compression);
+        this.sinStep = Math.sin(2 * Math.PI / compression);
+        // The arcsine scale spans compression/2 in k, and merged centroids span at most 1 each
+        int capacity = (int) Math.ceil(compression) + 8;
+        this.means = new double[capacity];
+        this.counts = new long[capacity];
+        this.buffer = new double[capacity * 5];
+    }
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (buffered == buffer.length) {
+            compress();
+        }
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add every value of other to this digest
+     */
+    public void merge(TDigest other) {
+        if (other.count == 0) {
+            return;
+        }
+        compress();
+        other.compress();
+        int total = centroids + other.centroids;
+        ensureMergeCapacity(total);
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < total; n++) {
+            if (j == other.centroids || i < centroids && means[i] <= other.means[j]) {
+                mergeMeans[n] = means[i];
+                mergeCounts[n] = counts[i++];
+            } else {
+                mergeMeans[n] = other.means[j];
+                mergeCounts[n] = other.counts[j++];
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        merge(total);
+    }
+
+    /**
+     * Estimated value at quantile q (0..1); NaN when empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be between 0 and 1");
+        }
+        compress();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0 || centroids == 1 && counts[0] == 1) {
+            return q == 1 ? max : min;
+        }
+        if (q == 1) {
+            return max;
+        }
+
+        // Each centroid's mean sits at the middle of its counts; interpolate between those points,
+        // and between min or max and the outermost means
+        double rank = q * count;
+        double firstHalf = counts[0] / 2.0;
+        if (rank < firstHalf) {
+            return min + (means[0] - min) * rank / firstHalf;
+        }
+        double lastHalf = counts[centroids - 1] / 2.0;
+        if (rank > count - lastHalf) {
+            return max - (max - means[centroids - 1]) * (count - rank) / lastHalf;
+        }
+        double left = firstHalf;
+        for (int i = 0; i < centroids - 1; i++) {
+            double right = left + (counts[i] + counts[i + 1]) / 2.0;
+            if (rank <= right) {
+                double value = means[i] + (means[i + 1] - means[i]) * (rank - left) / (right - left);
+                return Math.max(min, Math.min(max, value));
+            }
+            left = right;
+        }
+        return means[centroids - 1];
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public int centroids() {
+        compress();
+        return centroids;
+    }
+
+    public double compression() {
+        return compression;
+    }
+
+    /**
+     * Version, compression, min, max, then each centroid as a float mean and a varint count
+     */
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer out = ByteBuffer.allocate(1 + 4 + 8 + 8 + 5 + centroids * (4 + 10)).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(VERSION);
+        out.putFloat((float) compression);
+        out.putDouble(min);
+        out.putDouble(max);
+        Varints.put(out, centroids);
+        for (int i = 0; i < centroids; i++) {
+            out.putFloat((float) means[i]);
+            Varints.put(out, counts[i]);
+        }
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (in.get() != VERSION) {
+            throw new IllegalArgumentException("Unknown t-digest encoding");
+        }
+        TDigest digest = new TDigest(in.getFloat());
+        digest.min = in.getDouble();
+        digest.max = in.getDouble();
+        int centroids = (int) Varints.get(in);
+        if (centroids > digest.means.length) {
+            digest.means = new double[centroids];
+            digest.counts = new long[centroids];
+        }
+        // Centroids were written in order, so they are the digest as it was
+        for (int i = 0; i < centroids; i++) {
+            digest.means[i] = in.getFloat();
+            digest.counts[i] = Varints.get(in);
+            digest.count += digest.counts[i];
+        }
+        digest.centroids = centroids;
+        return digest;
+    }
+
+    // Sorts the buffered values and merges them, each of weight 1, with the centroids
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        int total = centroids + buffered;
+        ensureMergeCapacity(total);
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < total; n++) {
+            if (j == buffered || i < centroids && means[i] <= buffer[j]) {
+                mergeMeans[n] = means[i];
+                mergeCounts[n] = counts[i++];
+            } else {
+                mergeMeans[n] = buffer[j++];
+                mergeCounts[n] = 1;
+            }
+        }
+        buffered = 0;
+        merge(total);
+    }
+
+    // Rebuilds the centroids from the first total sorted entries of the merge arrays
+    private void merge(int total) {
+        int merged = 0;
+        double mean = mergeMeans[0];
+        long weight = mergeCounts[0];
+        long before = 0;
+        double limit = limit(0);
+        for (int i = 1; i < total; i++) {
+            if (before + weight + mergeCounts[i] <= limit) {
+                weight += mergeCounts[i];
+                mean += (mergeMeans[i] - mean) * mergeCounts[i] / weight;
+            } else {
+                merged = emit(merged, mean, weight);
+                before += weight;
+                limit = limit(before);
+                mean = mergeMeans[i];
+                weight = mergeCounts[i];
+            }
+        }
+        centroids = emit(merged, mean, weight);
+    }
+
+    private void ensureMergeCapacity(int total) {
+        if (mergeMeans.length < total) {
+            mergeMeans = new double[total];
+            mergeCounts = new long[total];
+        }
+    }
+
+    private int emit(int index, double mean, long weight) {
+        if (index == means.length) {
+            means = Arrays.copyOf(means, index * 2);
+            counts = Arrays.copyOf(counts, index * 2);
+        }
+        means[index] = mean;
+        counts[index] = weight;
+        return index + 1;
+    }
+
+    /**
+     * Cumulative weight a centroid starting after before may reach: count * q(k(before / count) + 1)
+     * under the arcsine scale k(q) = compression / 2pi * asin(2q - 1). With sin(theta) = 2q - 1,
+     * one step of k adds 2pi / compression to theta, so the angle-addition formula gives the
+     * bound without an asin per centroid.
+     */
+    private double limit(long before) {
+        double sin = 2.0 * before / count - 1;
+        if (sin >= cosStep) {
+            return count;
+        }
+        double cos = Math.sqrt(Math.max(0, 1 - sin * sin));
+        return count * (sin * cosStep + cos * sinStep + 1) / 2;
+    }
+}
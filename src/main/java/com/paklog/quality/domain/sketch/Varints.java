@@ -0,0 +1,32 @@
+package com.paklog.quality.domain.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unsigned LEB128 varints, seven bits a byte, for sketch encodings
+ */
+final class Varints {
+
+    private Varints() {
+    }
+
+    static void put(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long get(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,46 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a bit stream written by {@link BitOutput}
+ */
+final class BitInput {
+
+    private final long[] words;
+    private long position;
+
+    BitInput(ByteBuffer buffer) {
+        int bytes = buffer.remaining();
+        // One spare word so a read near the end never needs a bounds check
+        this.words = new long[(bytes >>> 3) + 2];
+        int i = 0;
+        while (buffer.remaining() >= 8) {
+            words[i++] = buffer.getLong();
+        }
+        int shift = 56;
+        while (buffer.hasRemaining()) {
+            words[i] |= (buffer.get() & 0xFFL) << shift;
+            shift -= 8;
+        }
+    }
+
+    /**
+     * Read the next {@code bits} bits (1..64) as an unsigned value
+     */
+    long read(int bits) {
+        int index = (int) (position >>> 6);
+        int offset = (int) (position & 63);
+        position += bits;
+        long value = (words[index] << offset) >>> (64 - bits);
+        int free = 64 - offset;
+        if (bits > free) {
+            value |= words[index + 1] >>> (64 - (bits - free));
+        }
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) != 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Append-only bit stream, most significant bit first. Bits collect in a long that is
+ * flushed to the backing array only when it fills, so most writes touch no memory.
+ */
+final class BitOutput {
+
+    private long[] words;
+    private int wordCount;
+    private long current;
+    private int free = 64;
+
+    BitOutput(int initialWords) {
+        this.words = new long[Math.max(2, initialWords)];
+    }
+
+    /**
+     * Append the low {@code bits} bits of value (1..64)
+     */
+    void write(long value, int bits) {
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        if (bits < free) {
+            current |= value << (free - bits);
+            free -= bits;
+            return;
+        }
+        int spill = bits - free;
+        flush(current | (value >>> spill));
+        // spill < 64 here; a zero spill leaves the new word empty
+        current = spill == 0 ? 0L : value << (64 - spill);
+        free = 64 - spill;
+    }
+
+    private void flush(long word) {
+        if (wordCount == words.length) {
+            words = Arrays.copyOf(words, wordCount * 2);
+        }
+        words[wordCount++] = word;
+    }
+
+    long bitCount() {
+        return (long) wordCount * 64 + (64 - free);
+    }
+
+    /**
+     * Copy the written bits into buffer, padding the last byte with zeros
+     */
+    void copyTo(ByteBuffer buffer) {
+        for (int i = 0; i < wordCount; i++) {
+            buffer.putLong(words[i]);
+        }
+        int tailBytes = (64 - free + 7) >>> 3;
+        for (int i = 0, shift = 56; i < tailBytes; i++, shift -= 8) {
+            buffer.put((byte) (current >>> shift));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A contiguous run of readings outside the allowed range. The excursion ends at the first
+ * reading back in range, or at the last reading if the trace ends out of range.
+ */
+public record TemperatureExcursion(
+    Direction direction,
+    Instant start,
+    Instant end,
+    double peakCelsius,
+    int readings
+) {
+
+    public enum Direction {
+        ABOVE,
+        BELOW
+    }
+
+    public Duration duration() {
+        return Duration.between(start, end);
+    }
+}
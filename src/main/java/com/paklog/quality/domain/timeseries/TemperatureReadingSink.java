@@ -0,0 +1,10 @@
+package com.paklog.quality.domain.timeseries;
+
+/**
+ * Receives temperature readings one at a time, in time order
+ */
+@FunctionalInterface
+public interface TemperatureReadingSink {
+
+    void accept(long epochMillis, double celsius);
+}
@@ -0,0 +1,12 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.io.IOException;
+
+/**
+ * A one-shot source of readings, such as a logger dump being parsed as it is read
+ */
+@FunctionalInterface
+public interface TemperatureReadings {
+
+    void forEach(TemperatureReadingSink sink) throws IOException;
+}
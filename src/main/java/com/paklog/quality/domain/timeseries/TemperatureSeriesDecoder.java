@@ -0,0 +1,75 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor over a series written by {@link TemperatureSeriesEncoder}.
+ * Call {@link #next()} before reading each point.
+ */
+public final class TemperatureSeriesDecoder {
+
+    private final BitInput in;
+    private final int count;
+    private int position;
+    private long timestamp;
+    private long delta;
+    private long value;
+
+    public TemperatureSeriesDecoder(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        byte format = buffer.get();
+        if (format != TemperatureSeriesEncoder.FORMAT) {
+            throw new IllegalArgumentException("Unsupported temperature series format " + format);
+        }
+        this.count = buffer.getInt();
+        this.in = new BitInput(buffer);
+    }
+
+    public boolean next() {
+        if (position == count) {
+            return false;
+        }
+        if (position == 0) {
+            timestamp = in.read(64);
+            value = in.read(64);
+        } else {
+            delta += readBucketed();
+            timestamp += delta;
+            value += readBucketed();
+        }
+        position++;
+        return true;
+    }
+
+    private long readBucketed() {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signed(in.read(7), 7);
+        }
+        if (!in.readBit()) {
+            return signed(in.read(9), 9);
+        }
+        if (!in.readBit()) {
+            return signed(in.read(12), 12);
+        }
+        return in.read(64);
+    }
+
+    private static long signed(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public double value() {
+        return value / TemperatureSeriesEncoder.SCALE;
+    }
+
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses a time-ordered series of (epoch millis, celsius) readings in the style of
+ * Facebook's Gorilla. Timestamps are stored as delta-of-delta in variable-width buckets.
+ * Values are rounded to 0.01 °C, finer than any reefer logger reports, and stored as the
+ * delta from the previous value in the same buckets; the format is lossy below that and
+ * reads -0.0 back as 0.0. Decimal readings have noisy IEEE-754
+ * mantissas, so Gorilla's XOR of raw doubles would cost several bytes a point here.
+ *
+ * A logger sampling at a fixed interval costs one bit per timestamp, and an unchanged
+ * reading one bit per value. Layout: format byte, point count (int), then the bit stream.
+ * Not thread-safe.
+ */
+public final class TemperatureSeriesEncoder {
+
+    static final byte FORMAT = 1;
+    static final int HEADER_BYTES = 5;
+    static final double SCALE = 100.0;
+    // Keeps scaled values and their deltas inside a long
+    static final double MAX_ABS_CELSIUS = Long.MAX_VALUE / SCALE / 2;
+
+    private final BitOutput out;
+    private int count;
+    private long previousTimestamp;
+    private long previousDelta;
+    private long previousValue;
+
+    public TemperatureSeriesEncoder() {
+        this(1024);
+    }
+
+    public TemperatureSeriesEncoder(int expectedPoints) {
+        // Roughly a byte a point for a typical logger
+        this.out = new BitOutput(expectedPoints / 8 + 1);
+    }
+
+    /**
+     * Append a reading; timestamps must not go backwards and the value must be finite
+     */
+    public void add(long epochMillis, double celsius) {
+        if (!Double.isFinite(celsius) || Math.abs(celsius) > MAX_ABS_CELSIUS) {
+            throw new IllegalArgumentException("Reading at " + epochMillis + " cannot be encoded: " + celsius);
+        }
+        long value = Math.round(celsius * SCALE);
+        if (count == 0) {
+            out.write(epochMillis, 64);
+            out.write(value, 64);
+        } else {
+            long delta = epochMillis - previousTimestamp;
+            if (delta < 0) {
+                throw new IllegalArgumentException("Readings must be in time order: " + epochMillis + " after " + previousTimestamp);
+            }
+            writeBucketed(delta - previousDelta);
+            writeBucketed(value - previousValue);
+            previousDelta = delta;
+        }
+        previousTimestamp = epochMillis;
+        previousValue = value;
+        count++;
+    }
+
+    /**
+     * '0' for zero, then '10', '110', '1110' prefixes for 7, 9 and 12-bit two's complement
+     * payloads and '1111' for a full 64-bit value; prefix and payload go in one write
+     */
+    private void writeBucketed(long v) {
+        if (v == 0) {
+            out.write(0b0, 1);
+        } else if (v >= -64 && v < 64) {
+            out.write((0b10L << 7) | (v & 0x7F), 9);
+        } else if (v >= -256 && v < 256) {
+            out.write((0b110L << 9) | (v & 0x1FF), 12);
+        } else if (v >= -2048 && v < 2048) {
+            out.write((0b1110L << 12) | (v & 0xFFF), 16);
+        } else {
+            out.write(0b1111, 4);
+            out.write(v, 64);
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int sizeBytes() {
+        return HEADER_BYTES + (int) ((out.bitCount() + 7) >>> 3);
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeBytes());
+        buffer.put(FORMAT).putInt(count);
+        out.copyTo(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,148 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass cold-chain analysis of a time-ordered temperature trace: min/max, mean kinetic
+ * temperature, cumulative time out of range and the excursions themselves.
+ *
+ * The interval between two readings is attributed to the state of the earlier one. Intervals
+ * longer than maxGap are logger outages: they count as unmonitored rather than in or out of
+ * range. Not thread-safe; use one analyzer per trace.
+ */
+public final class TemperatureTraceAnalyzer implements TemperatureReadingSink {
+
+    public static final int MAX_RECORDED_EXCURSIONS = 1000;
+
+    private final double minCelsius;
+    private final double maxCelsius;
+    private final long maxGapMillis;
+    private final MeanKineticTemperature mkt;
+
+    private long readings;
+    private long first;
+    private long previous;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double weightSum;
+    private long outOfRangeMillis;
+    private long unmonitoredMillis;
+
+    // Current excursion, if previousOutOfRange
+    private boolean previousOutOfRange;
+    private boolean excursionAbove;
+    private long excursionStart;
+    private double excursionPeak;
+    private int excursionReadings;
+    private int excursionCount;
+    private final List<TemperatureExcursion> excursions = new ArrayList<>();
+
+    public TemperatureTraceAnalyzer(double minCelsius, double maxCelsius, Duration maxGap, MeanKineticTemperature mkt) {
+        if (!(minCelsius < maxCelsius)) {
+            throw new IllegalArgumentException("minCelsius must be below maxCelsius");
+        }
+        this.minCelsius = minCelsius;
+        this.maxCelsius = maxCelsius;
+        this.maxGapMillis = maxGap.toMillis();
+        this.mkt = mkt;
+    }
+
+    @Override
+    public void accept(long epochMillis, double celsius) {
+        if (!Double.isFinite(celsius)) {
+            throw new IllegalArgumentException("Reading at " + epochMillis + " is not a finite number");
+        }
+        if (readings == 0) {
+            first = epochMillis;
+        } else {
+            long interval = epochMillis - previous;
+            if (interval < 0) {
+                throw new IllegalArgumentException("Readings must be in time order: " + epochMillis + " after " + previous);
+            }
+            if (interval > maxGapMillis) {
+                unmonitoredMillis += interval;
+            } else if (previousOutOfRange) {
+                outOfRangeMillis += interval;
+            }
+        }
+
+        readings++;
+        previous = epochMillis;
+        if (celsius < min) {
+            min = celsius;
+        }
+        if (celsius > max) {
+            max = celsius;
+        }
+        weightSum += mkt.weight(celsius);
+
+        boolean above = celsius > maxCelsius;
+        boolean outOfRange = above || celsius < minCelsius;
+        if (outOfRange) {
+            if (previousOutOfRange && above != excursionAbove) {
+                closeExcursion(epochMillis);
+            }
+            if (!previousOutOfRange || above != excursionAbove) {
+                excursionAbove = above;
+                excursionStart = epochMillis;
+                excursionPeak = celsius;
+                excursionReadings = 0;
+            }
+            excursionReadings++;
+            if (above ? celsius > excursionPeak : celsius < excursionPeak) {
+                excursionPeak = celsius;
+            }
+        } else if (previousOutOfRange) {
+            closeExcursion(epochMillis);
+        }
+        previousOutOfRange = outOfRange;
+    }
+
+    private void closeExcursion(long end) {
+        excursionCount++;
+        if (excursions.size() < MAX_RECORDED_EXCURSIONS) {
+            excursions.add(new TemperatureExcursion(
+                excursionAbove ? TemperatureExcursion.Direction.ABOVE : TemperatureExcursion.Direction.BELOW,
+                Instant.ofEpochMilli(excursionStart),
+                Instant.ofEpochMilli(end),
+                excursionPeak,
+                excursionReadings));
+        }
+    }
+
+    /**
+     * Summary once every reading has been accepted; an excursion still open at the last reading is closed there
+     */
+    public TemperatureTraceSummary summary() {
+        if (readings == 0) {
+            throw new IllegalStateException("No temperature readings");
+        }
+        if (previousOutOfRange) {
+            closeExcursion(previous);
+            previousOutOfRange = false;
+        }
+        return new TemperatureTraceSummary(
+            readings,
+            Instant.ofEpochMilli(first),
+            Instant.ofEpochMilli(previous),
+            min,
+            max,
+            mkt.fromWeights(weightSum, readings),
+            Duration.ofMillis(outOfRangeMillis),
+            Duration.ofMillis(unmonitoredMillis),
+            excursionCount,
+            List.copyOf(excursions)
+        );
+    }
+
+    public double minCelsius() {
+        return minCelsius;
+    }
+
+    public double maxCelsius() {
+        return maxCelsius;
+    }
+}
@@ -0,0 +1,28 @@
+package com.paklog.quality.domain.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of one pass over a temperature trace.
+ * excursions holds at most the first {@link TemperatureTraceAnalyzer#MAX_RECORDED_EXCURSIONS};
+ * excursionCount counts them all.
+ */
+public record TemperatureTraceSummary(
+    long readings,
+    Instant start,
+    Instant end,
+    double minCelsius,
+    double maxCelsius,
+    double meanKineticCelsius,
+    Duration timeOutOfRange,
+    Duration unmonitored,
+    int excursionCount,
+    List<TemperatureExcursion> excursions
+) {
+
+    public boolean hasExcursions() {
+        return excursionCount > 0;
+    }
+}
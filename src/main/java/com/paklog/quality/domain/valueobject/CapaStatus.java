@@ -0,0 +1,7 @@
+package com.paklog.quality.domain.valueobject;
+
+public enum CapaStatus {
+    OPEN,
+    ESCALATED,
+    CLOSED
+}
@@ -0,0 +1,17 @@
+package com.paklog.quality.domain.valueobject;
+
+/**
+ * Item master reference data used to validate an inspection server-side.
+ * expectedWeightKg is NaN when unknown; weightTolerancePercent and barcode may be null.
+ */
+public record ItemReference(
+    String itemId,
+    double expectedWeightKg,
+    Double weightTolerancePercent,
+    String barcode
+) {
+
+    public boolean hasExpectedWeight() {
+        return !Double.isNaN(expectedWeightKg) && expectedWeightKg > 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.paklog.quality.domain.valueobject;
+
+import java.time.Instant;
+
+/**
+ * The fields of an open inspection needed to time and act on its SLA.
+ * eventSequence is the inspection's last event sequence number.
+ */
+public record OpenInspection(
+    String id,
+    InspectionType type,
+    Instant inspectedAt,
+    long eventSequence
+) {
+}
@@ -0,0 +1,16 @@
+package com.paklog.quality.domain.valueobject;
+
+/**
+ * What happens to an inspection left open past its SLA
+ */
+public enum SlaAction {
+    /** Stays open; InspectionSlaBreached is raised once */
+    ESCALATE,
+    /** Closed as QUARANTINE with a ComplianceViolation, which also opens a CAPA deadline */
+    QUARANTINE;
+
+    /** Domain events raised on the inspection by this action */
+    public int eventCount() {
+        return this == QUARANTINE ? 2 : 1;
+    }
+}
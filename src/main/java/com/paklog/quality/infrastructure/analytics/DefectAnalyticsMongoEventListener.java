@@ -0,0 +1,30 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands every inspection saved on this instance to {@link DefectAnalyticsService}, from
+ * MongoTemplate, ReactiveMongoTemplate and bulk inserts alike
+ */
+@Component
+@ConditionalOnProperty(name = "quality.analytics.defects.enabled", havingValue = "true")
+public class DefectAnalyticsMongoEventListener extends AbstractMongoEventListener<Object> {
+
+    private final DefectAnalyticsService analytics;
+
+    public DefectAnalyticsMongoEventListener(DefectAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Document document = event.getDocument();
+        if (document != null && DefectAnalyticsService.COLLECTION.equals(event.getCollectionName())) {
+            analytics.ingest(document);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.paklog.quality.infrastructure.analytics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.paklog.quality.domain.valueobject.DefectType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link DefectColumnStore} of recent defects and answers Pareto and co-occurrence
+ * queries from it.
+ *
+ * On start the store is loaded from MongoDB with the defects of inspections within the
+ * lookback, in inspectedAt order. After that, inspections saved on this instance are applied
+ * as they are saved, and inspections saved elsewhere are read back when their DefectDetected
+ * or InspectionCompleted event arrives. Defects are only ever appended to an inspection, so
+ * applying one means adding those beyond the count already held, and applying it twice is
+ * harmless. Everything runs on one ingest thread, the store's single writer; queries run
+ * concurrently and answer from what has been loaded so far.
+ *
+ * The store only appends, so it is rebuilt from MongoDB every rebuild interval, and as soon as
+ * it fills up: a new store is loaded over the current lookback on the ingest thread and then
+ * replaces the old one, retiring defects that fell out of the lookback. Queries answer from the
+ * old store until then, so a rebuild briefly holds both in memory. Saves that arrive during a
+ * rebuild queue behind it and go to the new store.
+ */
+@Service
+@ConditionalOnProperty(name = "quality.analytics.defects.enabled", havingValue = "true")
+public class DefectAnalyticsService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(DefectAnalyticsService.class);
+
+    static final String COLLECTION = "inspection_records";
+    public static final int MAX_LIMIT = 1000;
+    private static final DefectType[] TYPES = DefectType.values();
+
+    private static final Bson PROJECTION = Projections.include(
+        "itemId", "inspectorId", "inspectedAt", "defects.type", "defects.location", "defects.reportedAt");
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxDefects;
+    private final int parallelism;
+    private final Duration lookback;
+    private final int cursorBatchSize;
+    private final Timer paretoTimer;
+    private final Timer coOccurrenceTimer;
+    private final ScheduledExecutorService ingestor;
+
+    private volatile DefectColumnStore store;
+    private volatile Instant loadedAt;
+    private volatile boolean running;
+
+    // Ingest thread only
+    private boolean loadedFull;
+    private boolean rebuildQueued;
+
+    public DefectAnalyticsService(MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${quality.analytics.defects.max-defects:50000000}") int maxDefects,
+                                  @Value("${quality.analytics.defects.lookback:365d}") Duration lookback,
+                                  @Value("${quality.analytics.defects.parallelism:0}") int parallelism,
+                                  @Value("${quality.analytics.defects.cursor-batch-size:5000}") int cursorBatchSize,
+                                  @Value("${quality.analytics.defects.rebuild-interval:1d}") Duration rebuildInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxDefects = maxDefects;
+        this.parallelism = parallelism;
+        this.store = new DefectColumnStore(maxDefects, parallelism);
+        this.lookback = lookback;
+        this.cursorBatchSize = cursorBatchSize;
+        this.paretoTimer = Timer.builder("quality.analytics.defects.query")
+            .description("Time to answer a defect analytics query")
+            .tag("query", "pareto")
+            .register(meterRegistry);
+        this.coOccurrenceTimer = Timer.builder("quality.analytics.defects.query")
+            .description("Time to answer a defect analytics query")
+            .tag("query", "co-occurrence")
+            .register(meterRegistry);
+        Gauge.builder("quality.analytics.defects.held", this, service -> service.store.defects())
+            .description("Defects held for Pareto and co-occurrence queries")
+            .register(meterRegistry);
+        Gauge.builder("quality.analytics.defects.memory", this, service -> service.store.memoryBytes())
+            .description("Bytes held by the defect column store")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        // Created here rather than in start() so saves that happen first queue behind the initial load
+        this.ingestor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "defect-analytics-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ingestor.execute(this::load);
+        if (!rebuildInterval.isZero() && !rebuildInterval.isNegative()) {
+            ingestor.scheduleWithFixedDelay(this::load, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public ParetoChart pareto(DefectDimension dimension, DefectFilter filter, int limit) {
+        checkLimit(limit);
+        long started = System.nanoTime();
+        try {
+            return store.pareto(dimension, filter, limit);
+        } finally {
+            paretoTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public DefectCoOccurrence coOccurrence(DefectFilter filter, int limit) {
+        checkLimit(limit);
+        long started = System.nanoTime();
+        try {
+            return store.coOccurrence(filter, limit);
+        } finally {
+            coOccurrenceTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Queue the defects of a saved inspection document. The fields needed are copied now, so
+     * the queue does not hold whole documents.
+     */
+    public void ingest(Document inspection) {
+        InspectionDefects defects = InspectionDefects.of(inspection);
+        if (defects != null) {
+            submit(() -> apply(defects));
+        }
+    }
+
+    /**
+     * Queue a read of the inspection from MongoDB, for inspections saved on other instances
+     */
+    public void refresh(String inspectionId) {
+        submit(() -> {
+            try {
+                // String ids that are valid ObjectIds are stored as ObjectIds
+                Object id = ObjectId.isValid(inspectionId) ? new ObjectId(inspectionId) : inspectionId;
+                Document document = mongoTemplate.getCollection(COLLECTION)
+                    .find(Filters.eq("_id", id))
+                    .projection(PROJECTION)
+                    .first();
+                InspectionDefects defects = document != null ? InspectionDefects.of(document) : null;
+                if (defects != null) {
+                    apply(defects);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read defects of inspection {} for analytics", inspectionId, e);
+            }
+        });
+    }
+
+    public DefectAnalyticsStatus status() {
+        DefectColumnStore store = this.store;
+        return new DefectAnalyticsStatus(loadedAt != null, loadedAt, store.defects(), store.inspections(),
+            store.items(), store.locations(), store.inspectors(), store.memoryBytes(), store.isFull());
+    }
+
+    // Load a new store over the lookback and swap it in; on failure the current one stays
+    private void load() {
+        long started = System.nanoTime();
+        DefectColumnStore loading = new DefectColumnStore(maxDefects, parallelism);
+        Bson filter = Filters.and(
+            Filters.gte("inspectedAt", Date.from(Instant.now().minus(lookback))),
+            Filters.gt("defectsFound", 0));
+        int inspections = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(COLLECTION)
+                .find(filter)
+                .projection(PROJECTION)
+                .sort(Sorts.ascending("inspectedAt"))
+                .batchSize(cursorBatchSize)
+                .iterator()) {
+            while (cursor.hasNext() && !loading.isFull()) {
+                InspectionDefects defects = InspectionDefects.of(cursor.next());
+                if (defects != null) {
+                    apply(loading, defects);
+                    inspections++;
+                }
+            }
+            loadedFull = loading.isFull();
+            rebuildQueued = false;
+            store = loading;
+            loadedAt = Instant.now();
+            log.info("Loaded {} defects of {} inspections for analytics in {} ms ({} MB)", loading.defects(), inspections,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), loading.memoryBytes() >> 20);
+            if (loadedFull) {
+                log.warn("Defects within the {} lookback exceed max-defects {}; newer defects are not counted until the "
+                    + "next rebuild. Raise max-defects or shorten the lookback", lookback, maxDefects);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load defects for analytics after {} inspections; keeping the {} defects held",
+                inspections, store.defects(), e);
+            if (loadedAt == null) {
+                loadedAt = Instant.now();
+            }
+        }
+    }
+
+    private void apply(InspectionDefects defects) {
+        if (!apply(store, defects) && !loadedFull && !rebuildQueued) {
+            // Full after growing from saves: a rebuild retires what fell out of the lookback
+            rebuildQueued = true;
+            log.info("Defect analytics store is full at {} defects; rebuilding it over the {} lookback",
+                store.defects(), lookback);
+            submit(this::load);
+        }
+    }
+
+    // False if the store is full
+    private static boolean apply(DefectColumnStore store, InspectionDefects defects) {
+        int inspection = store.inspection(defects.inspectionId(), defects.itemId(), defects.inspectorId(),
+            defects.inspectedAtMillis());
+        for (int i = store.defectsOf(inspection); i < defects.types().length; i++) {
+            if (!store.add(inspection, defects.types()[i], defects.locations()[i], defects.reportedAtMillis()[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Saves and events still arrive while the context shuts down; they are dropped then
+    private void submit(Runnable task) {
+        try {
+            ingestor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Defect analytics is stopped; dropping update");
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ingestor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The fields of an inspection document the store needs, defects in list order
+     */
+    record InspectionDefects(String inspectionId, String itemId, String inspectorId, long inspectedAtMillis,
+                             DefectType[] types, String[] locations, long[] reportedAtMillis) {
+
+        // Null for documents without an id or defects
+        static InspectionDefects of(Document document) {
+            Object id = document.get("_id");
+            if (id == null || !(document.get("defects") instanceof List<?> defects) || defects.isEmpty()) {
+                return null;
+            }
+            Date inspectedAt = document.get("inspectedAt") instanceof Date date ? date : null;
+            long inspectedAtMillis = inspectedAt != null ? inspectedAt.getTime() : System.currentTimeMillis();
+            DefectType[] types = new DefectType[defects.size()];
+            String[] locations = new String[defects.size()];
+            long[] reportedAtMillis = new long[defects.size()];
+            for (int i = 0; i < defects.size(); i++) {
+                // Malformed entries still take their place, as OTHER, so positions stay aligned with the list
+                Document defect = defects.get(i) instanceof Document entry ? entry : new Document();
+                types[i] = type(defect.get("type"));
+                locations[i] = defect.get("location") instanceof String location ? location : null;
+                reportedAtMillis[i] = defect.get("reportedAt") instanceof Date reportedAt ? reportedAt.getTime() : inspectedAtMillis;
+            }
+            return new InspectionDefects(id.toString(),
+                document.get("itemId") instanceof String itemId ? itemId : null,
+                document.get("inspectorId") instanceof String inspectorId ? inspectorId : null,
+                inspectedAtMillis, types, locations, reportedAtMillis);
+        }
+
+        private static DefectType type(Object value) {
+            if (value instanceof String name) {
+                for (DefectType type : TYPES) {
+                    if (type.name().equals(name)) {
+                        return type;
+                    }
+                }
+            }
+            return DefectType.OTHER;
+        }
+    }
+
+    public record DefectAnalyticsStatus(
+        boolean loaded,
+        Instant loadedAt,
+        int defects,
+        int inspections,
+        int items,
+        int locations,
+        int inspectors,
+        long memoryBytes,
+        boolean full
+    ) {}
+}
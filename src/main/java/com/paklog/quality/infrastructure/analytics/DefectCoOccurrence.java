@@ -0,0 +1,21 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.paklog.quality.domain.valueobject.DefectType;
+import java.util.List;
+
+/**
+ * Pairs of defect types found in the same inspection, most frequent first
+ *
+ * @param inspections inspections with at least one matching defect
+ * @param multiTypeInspections those with two or more matching types
+ */
+public record DefectCoOccurrence(long inspections, long multiTypeInspections, List<Pair> pairs, long tookMicros) {
+
+    /**
+     * @param support share of inspections with both types
+     * @param lift support over what independent types would give; above 1 means they go together
+     */
+    public record Pair(DefectType first, DefectType second, long inspections, long firstInspections,
+                       long secondInspections, double support, double lift) {
+    }
+}
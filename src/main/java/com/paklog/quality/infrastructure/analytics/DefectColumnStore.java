@@ -0,0 +1,599 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.paklog.quality.domain.valueobject.DefectType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Defects held column by column in primitive arrays for Pareto and co-occurrence queries.
+ *
+ * Every defect is a row of five columns: its type (the DefectType ordinal in a byte), and
+ * dictionary codes of its itemId, location and inspectorId, and the minute it was reported.
+ * That is 17 bytes a defect, about 340 MB for 20 million. Inspections have their own
+ * columns: the item, inspector and minute, plus a bit mask of the defect types found, which
+ * is all co-occurrence needs. Columns are cut into chunks of 65,536 rows that never move, so
+ * growing never copies data, and each chunk keeps the minute range of its rows: queries skip
+ * chunks outside their time range and do not test the time of rows in chunks wholly inside.
+ *
+ * Queries scan chunks on parallel streams, each stripe counting into its own array with
+ * branch-free loops that read only the columns the query filters on. Pareto charts over
+ * everything held are answered from running totals without a scan.
+ *
+ * Single writer: inspection() and add() must only be called from one thread at a time. The
+ * row count is published after each row is written, so readers need no locking and see every
+ * row up to the count they read.
+ */
+public final class DefectColumnStore {
+
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final DefectType[] TYPES = DefectType.values();
+    private static final int ALL_TYPES = (1 << TYPES.length) - 1;
+    private static final int MINUTE_MILLIS = 60_000;
+
+    private final int maxDefects;
+    private final int parallelism;
+
+    private final StringDictionary inspectionIds = new StringDictionary(1 << 16);
+    private final StringDictionary items = new StringDictionary(1 << 12);
+    private final StringDictionary locations = new StringDictionary(1 << 8);
+    private final StringDictionary inspectors = new StringDictionary(1 << 8);
+
+    // Defect columns and the minute range of each chunk
+    private byte[][] defectTypes = new byte[16][];
+    private int[][] defectItems = new int[16][];
+    private int[][] defectLocations = new int[16][];
+    private int[][] defectInspectors = new int[16][];
+    private int[][] defectMinutes = new int[16][];
+    private int[] defectChunkMin = new int[16];
+    private int[] defectChunkMax = new int[16];
+    private volatile int defects;
+
+    // Inspection columns, indexed by inspection code (code 0 is never used)
+    private short[][] inspectionMasks = new short[16][];
+    private int[][] inspectionItems = new int[16][];
+    private int[][] inspectionInspectors = new int[16][];
+    private int[][] inspectionMinutes = new int[16][];
+    private int[][] inspectionDefects = new int[16][];
+    private int[] inspectionChunkMin = new int[16];
+    private int[] inspectionChunkMax = new int[16];
+    private volatile int inspections = 1;
+
+    // Defects held per type and per item, location and inspector code
+    private final int[] typeTotals = new int[TYPES.length];
+    private int[] itemTotals = new int[16];
+    private int[] locationTotals = new int[16];
+    private int[] inspectorTotals = new int[16];
+
+    /**
+     * @param parallelism stripes a query is split into; 0 = one per core
+     */
+    public DefectColumnStore(int maxDefects, int parallelism) {
+        if (maxDefects < 1) {
+            throw new IllegalArgumentException("maxDefects must be positive");
+        }
+        this.maxDefects = maxDefects;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Code of the inspection, registered with its item, inspector and time if it is new.
+     * Writer thread only.
+     */
+    public int inspection(String inspectionId, String itemId, String inspectorId, long inspectedAtMillis) {
+        int code = inspectionIds.encode(inspectionId);
+        if (code < inspections) {
+            return code;
+        }
+        int chunk = code >>> CHUNK_BITS;
+        int row = code & CHUNK_MASK;
+        if (chunk == inspectionMasks.length) {
+            int length = chunk * 2;
+            inspectionMasks = Arrays.copyOf(inspectionMasks, length);
+            inspectionItems = Arrays.copyOf(inspectionItems, length);
+            inspectionInspectors = Arrays.copyOf(inspectionInspectors, length);
+            inspectionMinutes = Arrays.copyOf(inspectionMinutes, length);
+            inspectionDefects = Arrays.copyOf(inspectionDefects, length);
+            inspectionChunkMin = Arrays.copyOf(inspectionChunkMin, length);
+            inspectionChunkMax = Arrays.copyOf(inspectionChunkMax, length);
+        }
+        if (inspectionMasks[chunk] == null) {
+            inspectionMasks[chunk] = new short[CHUNK_SIZE];
+            inspectionItems[chunk] = new int[CHUNK_SIZE];
+            inspectionInspectors[chunk] = new int[CHUNK_SIZE];
+            inspectionMinutes[chunk] = new int[CHUNK_SIZE];
+            inspectionDefects[chunk] = new int[CHUNK_SIZE];
+            inspectionChunkMin[chunk] = Integer.MAX_VALUE;
+            inspectionChunkMax[chunk] = Integer.MIN_VALUE;
+        }
+        int minute = minute(inspectedAtMillis);
+        inspectionItems[chunk][row] = items.encode(itemId);
+        inspectionInspectors[chunk][row] = inspectors.encode(inspectorId);
+        inspectionMinutes[chunk][row] = minute;
+        inspectionChunkMin[chunk] = Math.min(inspectionChunkMin[chunk], minute);
+        inspectionChunkMax[chunk] = Math.max(inspectionChunkMax[chunk], minute);
+        inspections = code + 1;
+        return code;
+    }
+
+    /**
+     * Defects of the inspection added so far
+     */
+    public int defectsOf(int inspection) {
+        return inspectionDefects[inspection >>> CHUNK_BITS][inspection & CHUNK_MASK];
+    }
+
+    /**
+     * Append one defect of an inspection; false if the store is full. Writer thread only.
+     */
+    public boolean add(int inspection, DefectType type, String location, long reportedAtMillis) {
+        int index = defects;
+        if (index >= maxDefects) {
+            return false;
+        }
+        int chunk = index >>> CHUNK_BITS;
+        int row = index & CHUNK_MASK;
+        if (chunk == defectTypes.length) {
+            int length = chunk * 2;
+            defectTypes = Arrays.copyOf(defectTypes, length);
+            defectItems = Arrays.copyOf(defectItems, length);
+            defectLocations = Arrays.copyOf(defectLocations, length);
+            defectInspectors = Arrays.copyOf(defectInspectors, length);
+            defectMinutes = Arrays.copyOf(defectMinutes, length);
+            defectChunkMin = Arrays.copyOf(defectChunkMin, length);
+            defectChunkMax = Arrays.copyOf(defectChunkMax, length);
+        }
+        if (defectTypes[chunk] == null) {
+            defectTypes[chunk] = new byte[CHUNK_SIZE];
+            defectItems[chunk] = new int[CHUNK_SIZE];
+            defectLocations[chunk] = new int[CHUNK_SIZE];
+            defectInspectors[chunk] = new int[CHUNK_SIZE];
+            defectMinutes[chunk] = new int[CHUNK_SIZE];
+            defectChunkMin[chunk] = Integer.MAX_VALUE;
+            defectChunkMax[chunk] = Integer.MIN_VALUE;
+        }
+
+        int inspectionChunk = inspection >>> CHUNK_BITS;
+        int inspectionRow = inspection & CHUNK_MASK;
+        int item = inspectionItems[inspectionChunk][inspectionRow];
+        int inspector = inspectionInspectors[inspectionChunk][inspectionRow];
+        int locationCode = locations.encode(location);
+        int minute = minute(reportedAtMillis);
+
+        defectTypes[chunk][row] = (byte) type.ordinal();
+        defectItems[chunk][row] = item;
+        defectLocations[chunk][row] = locationCode;
+        defectInspectors[chunk][row] = inspector;
+        defectMinutes[chunk][row] = minute;
+        defectChunkMin[chunk] = Math.min(defectChunkMin[chunk], minute);
+        defectChunkMax[chunk] = Math.max(defectChunkMax[chunk], minute);
+
+        inspectionMasks[inspectionChunk][inspectionRow] |= (short) (1 << type.ordinal());
+        inspectionDefects[inspectionChunk][inspectionRow]++;
+        typeTotals[type.ordinal()]++;
+        itemTotals = increment(itemTotals, item);
+        locationTotals = increment(locationTotals, locationCode);
+        inspectorTotals = increment(inspectorTotals, inspector);
+        defects = index + 1;
+        return true;
+    }
+
+    public boolean isFull() {
+        return defects >= maxDefects;
+    }
+
+    /**
+     * Top bars of the Pareto chart of matching defects by dimension
+     */
+    public ParetoChart pareto(DefectDimension dimension, DefectFilter filter, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        long started = System.nanoTime();
+        // The row count is read before anything else, so every row below it is complete
+        int size = defects;
+        Scan scan = scan(filter, true);
+        if (scan == null) {
+            return chart(dimension, new long[0], limit, 0, started);
+        }
+
+        boolean keysOnly = scan.item < 0 && scan.location < 0 && scan.inspector < 0 && !filter.hasTimeRange();
+        if (keysOnly && (dimension == DefectDimension.TYPE || scan.typeMask == ALL_TYPES)) {
+            return chart(dimension, totals(dimension, scan.typeMask), limit, 0, started);
+        }
+
+        int keyCount = switch (dimension) {
+            case TYPE -> TYPES.length;
+            case ITEM -> items.size();
+            case LOCATION -> locations.size();
+            case INSPECTOR -> inspectors.size();
+        };
+        byte[][] types = defectTypes;
+        int[][] keys = switch (dimension) {
+            case TYPE -> null;
+            case ITEM -> defectItems;
+            case LOCATION -> defectLocations;
+            case INSPECTOR -> defectInspectors;
+        };
+        int[][] itemColumn = defectItems;
+        int[][] locationColumn = defectLocations;
+        int[][] inspectorColumn = defectInspectors;
+        int[][] minuteColumn = defectMinutes;
+        int[] chunkMin = defectChunkMin;
+        int[] chunkMax = defectChunkMax;
+
+        int chunks = (size + CHUNK_MASK) >>> CHUNK_BITS;
+        int stripes = Math.max(1, Math.min(parallelism, chunks));
+        int[][] partial = new int[stripes][];
+        long[] scanned = new long[stripes];
+        IntStream.range(0, stripes).parallel().forEach(stripe -> {
+            int[] counts = new int[keyCount];
+            byte[] selected = new byte[CHUNK_SIZE];
+            for (int chunk = chunks * stripe / stripes; chunk < chunks * (stripe + 1) / stripes; chunk++) {
+                if (chunkMax[chunk] < scan.fromMinute || chunkMin[chunk] >= scan.toMinute) {
+                    continue;
+                }
+                boolean timed = chunkMin[chunk] < scan.fromMinute || chunkMax[chunk] >= scan.toMinute;
+                int rows = Math.min(CHUNK_SIZE, size - (chunk << CHUNK_BITS));
+                scan.count(types[chunk], keys != null ? keys[chunk] : null, itemColumn[chunk], locationColumn[chunk],
+                    inspectorColumn[chunk], timed ? minuteColumn[chunk] : null, rows, selected, counts);
+                scanned[stripe] += rows;
+            }
+            partial[stripe] = counts;
+        });
+
+        long[] counts = new long[keyCount];
+        long scannedRows = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int[] stripeCounts = partial[stripe];
+            for (int key = 0; key < keyCount; key++) {
+                counts[key] += stripeCounts[key];
+            }
+            scannedRows += scanned[stripe];
+        }
+        return chart(dimension, counts, limit, scannedRows, started);
+    }
+
+    /**
+     * Pairs of defect types found together in matching inspections. Only types, item,
+     * inspector and the inspection time apply; location is a property of single defects.
+     */
+    public DefectCoOccurrence coOccurrence(DefectFilter filter, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (filter.location() != null) {
+            throw new IllegalArgumentException("location does not apply to co-occurrence");
+        }
+        long started = System.nanoTime();
+        int size = inspections;
+        Scan scan = scan(filter, false);
+        if (scan == null) {
+            return new DefectCoOccurrence(0, 0, List.of(), micros(started));
+        }
+
+        short[][] masks = inspectionMasks;
+        int[][] itemColumn = inspectionItems;
+        int[][] inspectorColumn = inspectionInspectors;
+        int[][] minuteColumn = inspectionMinutes;
+        int[] chunkMin = inspectionChunkMin;
+        int[] chunkMax = inspectionChunkMax;
+
+        // Inspections are counted per distinct type mask; 2^11 of them, so pairs are expanded afterwards
+        int chunks = (size + CHUNK_MASK) >>> CHUNK_BITS;
+        int stripes = Math.max(1, Math.min(parallelism, chunks));
+        long[][] partial = new long[stripes][];
+        IntStream.range(0, stripes).parallel().forEach(stripe -> {
+            long[] histogram = new long[ALL_TYPES + 1];
+            byte[] selected = new byte[CHUNK_SIZE];
+            for (int chunk = chunks * stripe / stripes; chunk < chunks * (stripe + 1) / stripes; chunk++) {
+                if (chunkMax[chunk] < scan.fromMinute || chunkMin[chunk] >= scan.toMinute) {
+                    continue;
+                }
+                boolean timed = chunkMin[chunk] < scan.fromMinute || chunkMax[chunk] >= scan.toMinute;
+                int rows = Math.min(CHUNK_SIZE, size - (chunk << CHUNK_BITS));
+                scan.histogram(masks[chunk], itemColumn[chunk], inspectorColumn[chunk],
+                    timed ? minuteColumn[chunk] : null, rows, selected, histogram);
+            }
+            partial[stripe] = histogram;
+        });
+
+        long[] single = new long[TYPES.length];
+        long[][] pairs = new long[TYPES.length][TYPES.length];
+        long matched = 0;
+        long multiType = 0;
+        for (int mask = 1; mask <= ALL_TYPES; mask++) {
+            long count = 0;
+            for (long[] histogram : partial) {
+                count += histogram[mask];
+            }
+            if (count == 0) {
+                continue;
+            }
+            matched += count;
+            if (Integer.bitCount(mask) > 1) {
+                multiType += count;
+            }
+            for (int first = 0; first < TYPES.length; first++) {
+                if ((mask & (1 << first)) == 0) {
+                    continue;
+                }
+                single[first] += count;
+                for (int second = first + 1; second < TYPES.length; second++) {
+                    if ((mask & (1 << second)) != 0) {
+                        pairs[first][second] += count;
+                    }
+                }
+            }
+        }
+
+        List<DefectCoOccurrence.Pair> result = new ArrayList<>();
+        for (int first = 0; first < TYPES.length; first++) {
+            for (int second = first + 1; second < TYPES.length; second++) {
+                long together = pairs[first][second];
+                if (together > 0) {
+                    result.add(new DefectCoOccurrence.Pair(TYPES[first], TYPES[second], together,
+                        single[first], single[second], (double) together / matched,
+                        (double) together * matched / ((double) single[first] * single[second])));
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(DefectCoOccurrence.Pair::inspections).reversed()
+            .thenComparing(Comparator.comparingDouble(DefectCoOccurrence.Pair::lift).reversed()));
+        return new DefectCoOccurrence(matched, multiType,
+            List.copyOf(result.subList(0, Math.min(limit, result.size()))), micros(started));
+    }
+
+    public int defects() {
+        return defects;
+    }
+
+    public int inspections() {
+        return inspections - 1;
+    }
+
+    public int items() {
+        return items.size() - 1;
+    }
+
+    public int locations() {
+        return locations.size() - 1;
+    }
+
+    public int inspectors() {
+        return inspectors.size() - 1;
+    }
+
+    /**
+     * Bytes of allocated chunks, totals and dictionaries, not counting the strings themselves
+     */
+    public long memoryBytes() {
+        long defectChunks = (defects + CHUNK_MASK) >>> CHUNK_BITS;
+        long inspectionChunks = (inspections + CHUNK_MASK) >>> CHUNK_BITS;
+        return defectChunks * CHUNK_SIZE * 17
+            + inspectionChunks * CHUNK_SIZE * 18
+            + (long) (itemTotals.length + locationTotals.length + inspectorTotals.length) * 4
+            + inspectionIds.memoryBytes() + items.memoryBytes() + locations.memoryBytes() + inspectors.memoryBytes();
+    }
+
+    // Null when the filter names a value never seen, so nothing can match
+    private Scan scan(DefectFilter filter, boolean withLocation) {
+        int item = filter.itemId() == null ? -1 : items.find(filter.itemId());
+        int location = !withLocation || filter.location() == null ? -1 : locations.find(filter.location());
+        int inspector = filter.inspectorId() == null ? -1 : inspectors.find(filter.inspectorId());
+        if ((filter.itemId() != null && item < 0) || (withLocation && filter.location() != null && location < 0)
+                || (filter.inspectorId() != null && inspector < 0)) {
+            return null;
+        }
+        int fromMinute = filter.from() == null ? Integer.MIN_VALUE : minute(filter.from().toEpochMilli());
+        int toMinute = filter.to() == null ? Integer.MAX_VALUE : minute(filter.to().toEpochMilli());
+        return new Scan(filter.typeMask(), item, location, inspector, fromMinute, toMinute);
+    }
+
+    private long[] totals(DefectDimension dimension, int typeMask) {
+        int[] totals = switch (dimension) {
+            case TYPE -> typeTotals;
+            case ITEM -> itemTotals;
+            case LOCATION -> locationTotals;
+            case INSPECTOR -> inspectorTotals;
+        };
+        long[] counts = new long[totals.length];
+        for (int key = 0; key < totals.length; key++) {
+            counts[key] = dimension == DefectDimension.TYPE && (typeMask & (1 << key)) == 0 ? 0 : totals[key];
+        }
+        return counts;
+    }
+
+    private ParetoChart chart(DefectDimension dimension, long[] counts, int limit, long scanned, long started) {
+        long total = 0;
+        int distinct = 0;
+        for (long count : counts) {
+            total += count;
+            distinct += count > 0 ? 1 : 0;
+        }
+        int[] top = top(counts, limit);
+        List<ParetoChart.Bar> bars = new ArrayList<>(top.length);
+        long cumulative = 0;
+        for (int key : top) {
+            long count = counts[key];
+            cumulative += count;
+            bars.add(new ParetoChart.Bar(keyName(dimension, key), count, (double) count / total, (double) cumulative / total));
+        }
+        return new ParetoChart(dimension, total, distinct, List.copyOf(bars), total - cumulative, scanned, micros(started));
+    }
+
+    private String keyName(DefectDimension dimension, int key) {
+        return switch (dimension) {
+            case TYPE -> TYPES[key].name();
+            case ITEM -> items.value(key);
+            case LOCATION -> locations.value(key);
+            case INSPECTOR -> inspectors.value(key);
+        };
+    }
+
+    /**
+     * Keys of the limit largest non-zero counts, largest first; ties go to the lower key.
+     * A min-heap of the best so far, so a million keys cost one comparison each.
+     */
+    static int[] top(long[] counts, int limit) {
+        int[] heap = new int[Math.min(limit, counts.length)];
+        int size = 0;
+        for (int key = 0; key < counts.length; key++) {
+            long count = counts[key];
+            if (count == 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++, counts);
+            } else if (count > counts[heap[0]]) {
+                heap[0] = key;
+                siftDown(heap, size, counts);
+            }
+        }
+        int[] sorted = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, counts);
+        }
+        return sorted;
+    }
+
+    // Heap order: smaller count first, then higher key first
+    private static boolean below(int a, int b, long[] counts) {
+        return counts[a] < counts[b] || (counts[a] == counts[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] counts) {
+        int key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!below(key, heap[parent], counts)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] counts) {
+        if (size == 0) {
+            return;
+        }
+        int key = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && below(heap[child + 1], heap[child], counts)) {
+                child++;
+            }
+            if (!below(heap[child], key, counts)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+
+    private static int[] increment(int[] totals, int code) {
+        if (code >= totals.length) {
+            totals = Arrays.copyOf(totals, Math.max(code + 1, totals.length * 2));
+        }
+        totals[code]++;
+        return totals;
+    }
+
+    private static int minute(long epochMillis) {
+        return (int) Math.floorDiv(epochMillis, MINUTE_MILLIS);
+    }
+
+    private static long micros(long started) {
+        return (System.nanoTime() - started) / 1000;
+    }
+
+    /**
+     * A filter resolved to dictionary codes (-1 = any) and minutes, with the counting loops.
+     * Each condition is its own pass over one column, narrowing a 0/1 selection byte per row,
+     * so a query reads only the columns it filters on, and the loops are simple enough for
+     * the JIT to unroll and vectorize. Counting then adds the selection byte, without a branch.
+     */
+    private record Scan(int typeMask, int item, int location, int inspector, int fromMinute, int toMinute) {
+
+        // minutes is null when the whole chunk is inside the time range; keys null counts by type
+        void count(byte[] types, int[] keys, int[] items, int[] locations, int[] inspectors, int[] minutes,
+                   int rows, byte[] selected, int[] counts) {
+            if (typeMask == ALL_TYPES && item < 0 && location < 0 && inspector < 0 && minutes == null) {
+                if (keys == null) {
+                    for (int i = 0; i < rows; i++) {
+                        counts[types[i]]++;
+                    }
+                } else {
+                    for (int i = 0; i < rows; i++) {
+                        counts[keys[i]]++;
+                    }
+                }
+                return;
+            }
+            int typeMask = this.typeMask;
+            for (int i = 0; i < rows; i++) {
+                selected[i] = (byte) ((typeMask >>> types[i]) & 1);
+            }
+            narrow(items, item, minutes, rows, selected);
+            narrow(locations, location, null, rows, selected);
+            narrow(inspectors, inspector, null, rows, selected);
+            if (keys == null) {
+                for (int i = 0; i < rows; i++) {
+                    counts[types[i]] += selected[i];
+                }
+            } else {
+                for (int i = 0; i < rows; i++) {
+                    counts[keys[i]] += selected[i];
+                }
+            }
+        }
+
+        void histogram(short[] masks, int[] items, int[] inspectors, int[] minutes, int rows, byte[] selected,
+                       long[] histogram) {
+            int typeMask = this.typeMask;
+            if (item < 0 && inspector < 0 && minutes == null) {
+                for (int i = 0; i < rows; i++) {
+                    histogram[masks[i] & typeMask]++;
+                }
+                return;
+            }
+            Arrays.fill(selected, 0, rows, (byte) 1);
+            narrow(items, item, minutes, rows, selected);
+            narrow(inspectors, inspector, null, rows, selected);
+            for (int i = 0; i < rows; i++) {
+                // -1 keeps the mask, 0 sends the row to the empty mask, which is not counted
+                histogram[masks[i] & typeMask & -selected[i]]++;
+            }
+        }
+
+        // One equality pass (code >= 0) and, with minutes, the time range pass
+        private void narrow(int[] column, int code, int[] minutes, int rows, byte[] selected) {
+            if (code >= 0) {
+                for (int i = 0; i < rows; i++) {
+                    selected[i] &= (byte) (column[i] == code ? 1 : 0);
+                }
+            }
+            if (minutes != null) {
+                int from = fromMinute;
+                int to = toMinute;
+                for (int i = 0; i < rows; i++) {
+                    selected[i] &= (byte) (minutes[i] >= from & minutes[i] < to ? 1 : 0);
+                }
+            }
+        }
+    }
+}
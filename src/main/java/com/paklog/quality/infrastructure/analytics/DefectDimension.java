@@ -0,0 +1,22 @@
+package com.paklog.quality.infrastructure.analytics;
+
+/**
+ * What the bars of a defect Pareto chart are
+ */
+public enum DefectDimension {
+    TYPE,
+    ITEM,
+    LOCATION,
+    INSPECTOR;
+
+    public static DefectDimension parse(String value) {
+        if (value == null || value.isBlank()) {
+            return TYPE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("by must be one of type, item, location, inspector: " + value);
+        }
+    }
+}
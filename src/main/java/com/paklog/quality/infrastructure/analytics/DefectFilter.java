@@ -0,0 +1,42 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.paklog.quality.domain.valueobject.DefectType;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Defects counted by an analytics query. An empty type set and null fields match everything;
+ * from is inclusive and to exclusive, both to the minute.
+ */
+public record DefectFilter(Set<DefectType> types, String itemId, String location, String inspectorId,
+                           Instant from, Instant to) {
+
+    public DefectFilter {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+
+    public static DefectFilter all() {
+        return new DefectFilter(Set.of(), null, null, null, null, null);
+    }
+
+    /**
+     * Bit i set for each DefectType ordinal i that matches
+     */
+    int typeMask() {
+        if (types.isEmpty()) {
+            return (1 << DefectType.values().length) - 1;
+        }
+        int mask = 0;
+        for (DefectType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    boolean hasTimeRange() {
+        return from != null || to != null;
+    }
+}
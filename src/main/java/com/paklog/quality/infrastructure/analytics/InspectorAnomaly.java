@@ -0,0 +1,29 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * Whether an inspector is currently flagged on one metric and direction, shared by every
+ * instance: the instance that flips flagged to true is the one that publishes the event.
+ */
+@Document(collection = "inspector_anomalies")
+public record InspectorAnomaly(
+    @Id String id,
+    String inspectorId,
+    InspectorMetric metric,
+    InspectorMetric.Direction direction,
+    @Indexed boolean flagged,
+    double value,
+    double peerMedian,
+    double robustZScore,
+    Instant flaggedAt,
+    Instant clearedAt
+) {
+
+    static String id(String inspectorId, InspectorMetric metric, InspectorMetric.Direction direction) {
+        return inspectorId + "|" + metric + "|" + direction;
+    }
+}
@@ -0,0 +1,434 @@
+package com.paklog.quality.infrastructure.analytics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.domain.event.InspectorAnomalyDetectedEvent;
+import com.paklog.quality.domain.valueobject.SeverityLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flags inspectors whose recent defect rate, inspection duration or severity mix is far from
+ * their peers', from an {@link InspectorStatsTable} of exponentially decayed statistics.
+ *
+ * On start the table is loaded from MongoDB with the inspections completed within the
+ * lookback. After that every instance reads back each inspection whose InspectionCompleted
+ * event arrives, so all instances hold the same statistics. Recording an inspection scores its
+ * inspector against the peer distributions (median and MAD of each metric over inspectors with
+ * enough recent inspections) in O(1); the distributions are recomputed, and every inspector
+ * scored again, every peer-refresh.
+ *
+ * A robust z-score at or beyond z-threshold flags the inspector on that metric and direction,
+ * and it is cleared once back inside clear-threshold. Flags are claimed in the
+ * inspector_anomalies collection, so although every instance sees the crossing, only the one
+ * that claims it publishes InspectorAnomalyDetected. Everything runs on one thread, the
+ * table's single writer.
+ */
+@Service
+@ConditionalOnProperty(name = "quality.analytics.inspectors.enabled", havingValue = "true")
+public class InspectorAnomalyService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(InspectorAnomalyService.class);
+
+    static final String COLLECTION = "inspection_records";
+    public static final int MAX_LIMIT = 1000;
+    private static final InspectorMetric[] METRICS = InspectorMetric.values();
+    private static final InspectorMetric.Direction[] DIRECTIONS = InspectorMetric.Direction.values();
+    private static final SeverityLevel[] SEVERITIES = SeverityLevel.values();
+
+    private static final Bson PROJECTION = Projections.include(
+        "inspectorId", "inspectedAt", "completedAt", "itemsInspected", "defectsFound", "defects.severity");
+
+    private final MongoTemplate mongoTemplate;
+    private final PublishEventPort publishEventPort;
+    private final InspectorStatsTable table;
+    private final Duration lookback;
+    private final int minPeers;
+    private final double threshold;
+    private final double clearThreshold;
+    private final Duration peerRefresh;
+    private final int cursorBatchSize;
+    private final Counter detected;
+    private final AtomicInteger flagged = new AtomicInteger();
+    private final ScheduledExecutorService ingestor;
+
+    private volatile PeerDistribution[] peers = new PeerDistribution[METRICS.length];
+    private volatile Instant loadedAt;
+    private volatile boolean running;
+    // Inspections completed before this were part of the initial load
+    private long loadedBeforeMillis = Long.MAX_VALUE;
+
+    public InspectorAnomalyService(MongoTemplate mongoTemplate,
+                                   PublishEventPort publishEventPort,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${quality.analytics.inspectors.expected-inspectors:10000}") int expectedInspectors,
+                                   @Value("${quality.analytics.inspectors.half-life:14d}") Duration halfLife,
+                                   @Value("${quality.analytics.inspectors.lookback:90d}") Duration lookback,
+                                   @Value("${quality.analytics.inspectors.min-inspections:20}") double minInspections,
+                                   @Value("${quality.analytics.inspectors.min-defects:10}") double minDefects,
+                                   @Value("${quality.analytics.inspectors.min-peers:5}") int minPeers,
+                                   @Value("${quality.analytics.inspectors.z-threshold:3.5}") double threshold,
+                                   @Value("${quality.analytics.inspectors.clear-threshold:3.0}") double clearThreshold,
+                                   @Value("${quality.analytics.inspectors.peer-refresh:1m}") Duration peerRefresh,
+                                   @Value("${quality.analytics.inspectors.cursor-batch-size:5000}") int cursorBatchSize) {
+        if (!(clearThreshold > 0 && clearThreshold <= threshold)) {
+            throw new IllegalArgumentException("clear-threshold must be positive and at most z-threshold");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.publishEventPort = publishEventPort;
+        this.table = new InspectorStatsTable(expectedInspectors, halfLife, minInspections, minDefects);
+        this.lookback = lookback;
+        this.minPeers = minPeers;
+        this.threshold = threshold;
+        this.clearThreshold = clearThreshold;
+        this.peerRefresh = peerRefresh;
+        this.cursorBatchSize = cursorBatchSize;
+        this.detected = Counter.builder("quality.analytics.inspectors.anomalies")
+            .description("Inspector anomalies published by this instance")
+            .register(meterRegistry);
+        Gauge.builder("quality.analytics.inspectors.flagged", flagged, AtomicInteger::get)
+            .description("Inspector metrics currently flagged as outliers")
+            .register(meterRegistry);
+        Gauge.builder("quality.analytics.inspectors.tracked", table, t -> t.codes() - 1)
+            .description("Inspectors with recorded inspections")
+            .register(meterRegistry);
+
+        // Created here rather than in start() so events that arrive first queue behind the initial load
+        this.ingestor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "inspector-analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ingestor.execute(this::load);
+    }
+
+    /**
+     * Queue a read of a completed inspection from MongoDB
+     */
+    public void refresh(String inspectionId) {
+        submit(() -> {
+            try {
+                // String ids that are valid ObjectIds are stored as ObjectIds
+                Object id = ObjectId.isValid(inspectionId) ? new ObjectId(inspectionId) : inspectionId;
+                Document document = mongoTemplate.getCollection(COLLECTION)
+                    .find(Filters.eq("_id", id))
+                    .projection(PROJECTION)
+                    .first();
+                if (document != null && document.get("completedAt") instanceof Date completedAt
+                        && completedAt.getTime() >= loadedBeforeMillis) {
+                    int code = apply(document);
+                    if (code > 0) {
+                        evaluate(code, System.currentTimeMillis());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read inspection {} for inspector analytics", inspectionId, e);
+            }
+        });
+    }
+
+    public InspectorAnalyticsStatus status() {
+        List<PeerDistribution> distributions = new ArrayList<>();
+        for (PeerDistribution distribution : peers) {
+            if (distribution != null) {
+                distributions.add(distribution);
+            }
+        }
+        return new InspectorAnalyticsStatus(loadedAt != null, loadedAt, table.codes() - 1, flagged.get(),
+            table.memoryBytes(), threshold, distributions);
+    }
+
+    /**
+     * Recent statistics of one inspector and their score on each metric; empty if none of
+     * their inspections is held
+     */
+    public Optional<InspectorProfile> profile(String inspectorId) {
+        int code = table.find(inspectorId);
+        if (code <= 0) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        PeerDistribution[] distributions = peers;
+        byte flags = table.flags(code);
+        List<InspectorProfile.MetricScore> scores = new ArrayList<>(METRICS.length);
+        for (InspectorMetric metric : METRICS) {
+            double value = table.value(code, metric, now);
+            PeerDistribution distribution = distributions[metric.ordinal()];
+            InspectorMetric.Direction flaggedDirection = null;
+            for (InspectorMetric.Direction direction : DIRECTIONS) {
+                if ((flags & InspectorStatsTable.flagBit(metric, direction)) != 0) {
+                    flaggedDirection = direction;
+                }
+            }
+            scores.add(new InspectorProfile.MetricScore(metric,
+                Double.isNaN(value) ? null : value,
+                distribution != null ? distribution.median() : null,
+                distribution != null && !Double.isNaN(value) ? distribution.zScore(value) : null,
+                flaggedDirection));
+        }
+        Map<SeverityLevel, Double> severityMix = new EnumMap<>(SeverityLevel.class);
+        double[] mix = table.severityMix(code);
+        for (SeverityLevel severity : SEVERITIES) {
+            severityMix.put(severity, mix[severity.ordinal()]);
+        }
+        return Optional.of(new InspectorProfile(inspectorId, table.inspections(code, now),
+            Instant.ofEpochMilli(table.updatedAt(code)), severityMix, scores));
+    }
+
+    /**
+     * Inspectors flagged on any instance, most recent first
+     */
+    public List<InspectorAnomaly> anomalies(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Query query = new Query(Criteria.where("flagged").is(true))
+            .with(Sort.by(Sort.Direction.DESC, "flaggedAt"))
+            .limit(limit);
+        return mongoTemplate.find(query, InspectorAnomaly.class);
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        Instant now = Instant.now();
+        loadedBeforeMillis = now.toEpochMilli();
+        Bson filter = Filters.and(
+            Filters.gte("inspectedAt", Date.from(now.minus(lookback))),
+            Filters.lt("completedAt", Date.from(now)));
+        int inspections = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(COLLECTION)
+                .find(filter)
+                .projection(PROJECTION)
+                .sort(Sorts.ascending("inspectedAt"))
+                .batchSize(cursorBatchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                if (apply(cursor.next()) > 0) {
+                    inspections++;
+                }
+            }
+            log.info("Loaded {} completed inspections of {} inspectors in {} ms", inspections, table.codes() - 1,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Failed to load inspections for inspector analytics after {}; continuing with completions from now on",
+                inspections, e);
+        }
+        loadedAt = Instant.now();
+        refreshPeers();
+    }
+
+    // Code of the inspector recorded, or 0 for documents without an inspector or completion time
+    private int apply(Document document) {
+        if (!(document.get("inspectorId") instanceof String inspectorId) || !(document.get("completedAt") instanceof Date completedAt)) {
+            return 0;
+        }
+        long durationMillis = document.get("inspectedAt") instanceof Date inspectedAt
+            ? Math.max(0, completedAt.getTime() - inspectedAt.getTime())
+            : -1;
+        int[] severityCounts = new int[SEVERITIES.length];
+        if (document.get("defects") instanceof List<?> defects) {
+            for (Object defect : defects) {
+                if (defect instanceof Document entry && entry.get("severity") instanceof String severity) {
+                    for (SeverityLevel level : SEVERITIES) {
+                        if (level.name().equals(severity)) {
+                            severityCounts[level.ordinal()]++;
+                        }
+                    }
+                }
+            }
+        }
+        int itemsInspected = document.get("itemsInspected") instanceof Number items ? items.intValue() : 0;
+        int defectsFound = document.get("defectsFound") instanceof Number found ? found.intValue() : 0;
+        return table.record(inspectorId, completedAt.getTime(), itemsInspected, defectsFound, durationMillis, severityCounts);
+    }
+
+    private void refreshPeers() {
+        long now = System.currentTimeMillis();
+        PeerDistribution[] distributions = new PeerDistribution[METRICS.length];
+        for (InspectorMetric metric : METRICS) {
+            distributions[metric.ordinal()] = table.peers(metric, now, minPeers);
+        }
+        peers = distributions;
+        int count = 0;
+        for (int code = 1; code < table.codes(); code++) {
+            evaluate(code, now);
+            count += Integer.bitCount(table.flags(code) & 0xFF);
+        }
+        flagged.set(count);
+    }
+
+    private void evaluate(int code, long now) {
+        PeerDistribution[] distributions = peers;
+        byte flags = table.flags(code);
+        for (InspectorMetric metric : METRICS) {
+            PeerDistribution distribution = distributions[metric.ordinal()];
+            double value = table.value(code, metric, now);
+            if (distribution == null || Double.isNaN(value)) {
+                continue;
+            }
+            double z = distribution.zScore(value);
+            for (InspectorMetric.Direction direction : DIRECTIONS) {
+                int bit = InspectorStatsTable.flagBit(metric, direction);
+                double signed = direction == InspectorMetric.Direction.HIGH ? z : -z;
+                if ((flags & bit) == 0 && signed >= threshold) {
+                    if (flag(code, metric, direction, value, distribution, z, now)) {
+                        flags |= (byte) bit;
+                    }
+                } else if ((flags & bit) != 0 && signed < clearThreshold) {
+                    if (clear(code, metric, direction, z, now)) {
+                        flags &= (byte) ~bit;
+                    }
+                }
+            }
+        }
+        table.setFlags(code, flags);
+    }
+
+    // True once the flag is held in MongoDB, by this instance or another; false to retry on the next score
+    private boolean flag(int code, InspectorMetric metric, InspectorMetric.Direction direction, double value,
+                         PeerDistribution distribution, double z, long now) {
+        String inspectorId = table.inspectorId(code);
+        Query unflagged = new Query(Criteria.where("_id").is(InspectorAnomaly.id(inspectorId, metric, direction))
+            .and("flagged").ne(true));
+        Update update = new Update()
+            .set("inspectorId", inspectorId)
+            .set("metric", metric)
+            .set("direction", direction)
+            .set("flagged", true)
+            .set("value", value)
+            .set("peerMedian", distribution.median())
+            .set("robustZScore", z)
+            .set("flaggedAt", Instant.ofEpochMilli(now));
+        try {
+            mongoTemplate.upsert(unflagged, update, InspectorAnomaly.class);
+        } catch (DuplicateKeyException e) {
+            // Already flagged: another instance saw the crossing first
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to flag inspector {} on {} {}", inspectorId, metric, direction, e);
+            return false;
+        }
+        double recentInspections = table.inspections(code, now);
+        publishEventPort.publish(InspectorAnomalyDetectedEvent.builder()
+            .inspectorId(inspectorId)
+            .metric(metric.name())
+            .direction(direction.name())
+            .value(value)
+            .peerMedian(distribution.median())
+            .robustZScore(z)
+            .threshold(threshold)
+            .peers(distribution.peers())
+            .recentInspections(recentInspections)
+            .build());
+        detected.increment();
+        log.info("Inspector {} flagged: {} {} at {} vs peer median {} (robust z {}, {} recent inspections)",
+            inspectorId, metric, direction, String.format("%.2f", value), String.format("%.2f", distribution.median()),
+            String.format("%.1f", z), String.format("%.0f", recentInspections));
+        return true;
+    }
+
+    private boolean clear(int code, InspectorMetric metric, InspectorMetric.Direction direction, double z, long now) {
+        String inspectorId = table.inspectorId(code);
+        Query flaggedQuery = new Query(Criteria.where("_id").is(InspectorAnomaly.id(inspectorId, metric, direction))
+            .and("flagged").is(true));
+        try {
+            mongoTemplate.updateFirst(flaggedQuery, new Update()
+                .set("flagged", false)
+                .set("robustZScore", z)
+                .set("clearedAt", Instant.ofEpochMilli(now)), InspectorAnomaly.class);
+            log.info("Inspector {} back within peers on {} {} (robust z {})", inspectorId, metric, direction, String.format("%.1f", z));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear inspector {} flag on {} {}", inspectorId, metric, direction, e);
+            return false;
+        }
+    }
+
+    // Events still arrive while the context shuts down; they are dropped then
+    private void submit(Runnable task) {
+        try {
+            ingestor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Inspector analytics is stopped; dropping update");
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long period = peerRefresh.toMillis();
+        ingestor.scheduleWithFixedDelay(this::refreshPeersQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ingestor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void refreshPeersQuietly() {
+        try {
+            refreshPeers();
+        } catch (RuntimeException e) {
+            log.error("Inspector peer refresh failed", e);
+        }
+    }
+
+    public record InspectorAnalyticsStatus(
+        boolean loaded,
+        Instant loadedAt,
+        int inspectors,
+        int flagged,
+        long memoryBytes,
+        double zThreshold,
+        List<PeerDistribution> peers
+    ) {}
+
+    /**
+     * Values are null where there are too few recent inspections (or peers) to judge
+     */
+    public record InspectorProfile(
+        String inspectorId,
+        double recentInspections,
+        Instant lastCompletedAt,
+        Map<SeverityLevel, Double> severityMixPercent,
+        List<MetricScore> scores
+    ) {
+
+        public record MetricScore(
+            InspectorMetric metric,
+            Double value,
+            Double peerMedian,
+            Double robustZScore,
+            InspectorMetric.Direction flagged
+        ) {}
+    }
+}
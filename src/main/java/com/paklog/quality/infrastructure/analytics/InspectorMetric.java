@@ -0,0 +1,21 @@
+package com.paklog.quality.infrastructure.analytics;
+
+/**
+ * Per-inspector rates compared against the other inspectors
+ */
+public enum InspectorMetric {
+    /** Defects found per 100 items inspected */
+    DEFECT_RATE,
+    /** Mean minutes from performing an inspection to completing it */
+    DURATION,
+    /** Share of defects, in percent, reported as HIGH or CRITICAL */
+    SEVERE_SHARE;
+
+    /**
+     * Which side of the peers an inspector is flagged on
+     */
+    public enum Direction {
+        HIGH,
+        LOW
+    }
+}
@@ -0,0 +1,251 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.paklog.quality.domain.valueobject.SeverityLevel;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Exponentially decayed inspection statistics per inspector, in primitive columns indexed by
+ * the inspector's dictionary code.
+ *
+ * Each inspector has decayed sums of inspections, items inspected, defects, timed inspections
+ * and their minutes, and defects per severity, plus the time they were last brought up to
+ * date. Recording an inspection scales the sums by exp(-lambda * elapsed) and adds it, so a
+ * week-old inspection counts half when the half-life is a week and recording is O(1) however
+ * long the history. An inspection older than the last one recorded is added with its own decay
+ * instead. The metrics are ratios of sums, so they compare across inspectors whenever each was
+ * last updated; only the inspection count is decayed to the present, to drop inspectors who
+ * stopped working from the peers.
+ *
+ * Single writer: record() and setFlags() must only be called from one thread at a time.
+ * Readers may call the other methods concurrently and see each inspector as of some recent
+ * update.
+ */
+public final class InspectorStatsTable {
+
+    private static final SeverityLevel[] SEVERITIES = SeverityLevel.values();
+    private static final int LEVELS = SEVERITIES.length;
+    private static final double MINUTE = 60_000.0;
+
+    private final StringDictionary inspectors;
+    private final double decayPerMilli;
+    private final double minInspections;
+    private final double minDefects;
+
+    private volatile long[] updatedAt;
+    private volatile double[] inspections;
+    private volatile double[] items;
+    private volatile double[] defects;
+    private volatile double[] timed;
+    private volatile double[] minutes;
+    // LEVELS entries per inspector, by severity ordinal
+    private volatile double[] severities;
+    private volatile byte[] flags;
+
+    public InspectorStatsTable(int expectedInspectors, Duration halfLife, double minInspections, double minDefects) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("halfLife must be positive");
+        }
+        this.inspectors = new StringDictionary(expectedInspectors);
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.minInspections = minInspections;
+        this.minDefects = minDefects;
+        int capacity = Math.max(16, expectedInspectors + 1);
+        this.updatedAt = new long[capacity];
+        this.inspections = new double[capacity];
+        this.items = new double[capacity];
+        this.defects = new double[capacity];
+        this.timed = new double[capacity];
+        this.minutes = new double[capacity];
+        this.severities = new double[capacity * LEVELS];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Add one completed inspection. durationMillis is negative when unknown, and
+     * severityCounts holds its defects per SeverityLevel ordinal. Returns the inspector's code.
+     */
+    public int record(String inspectorId, long completedAtMillis, int itemsInspected, int defectsFound,
+                      long durationMillis, int[] severityCounts) {
+        // Columns grow before the dictionary publishes a new code, so readers never index past them
+        ensureCapacity(inspectors.size() + 1);
+        int code = inspectors.encode(inspectorId);
+
+        long[] updated = updatedAt;
+        double[] counts = inspections;
+        double scale = 1;
+        double weight = 1;
+        if (counts[code] == 0 || completedAtMillis >= updated[code]) {
+            scale = counts[code] == 0 ? 1 : Math.exp(-decayPerMilli * (completedAtMillis - updated[code]));
+            updated[code] = completedAtMillis;
+        } else {
+            weight = Math.exp(-decayPerMilli * (updated[code] - completedAtMillis));
+        }
+
+        counts[code] = counts[code] * scale + weight;
+        double[] itemSums = items;
+        itemSums[code] = itemSums[code] * scale + weight * Math.max(1, itemsInspected);
+        double[] defectSums = defects;
+        defectSums[code] = defectSums[code] * scale + weight * defectsFound;
+        double[] timedSums = timed;
+        double[] minuteSums = minutes;
+        timedSums[code] *= scale;
+        minuteSums[code] *= scale;
+        if (durationMillis >= 0) {
+            timedSums[code] += weight;
+            minuteSums[code] += weight * (durationMillis / MINUTE);
+        }
+        double[] severitySums = severities;
+        int base = code * LEVELS;
+        for (int level = 0; level < LEVELS; level++) {
+            severitySums[base + level] = severitySums[base + level] * scale + weight * severityCounts[level];
+        }
+        return code;
+    }
+
+    /**
+     * Metric of an inspector as of now; NaN without enough recent inspections (or defects,
+     * for the severity share) to judge
+     */
+    public double value(int code, InspectorMetric metric, long nowMillis) {
+        if (inspections(code, nowMillis) < minInspections) {
+            return Double.NaN;
+        }
+        return switch (metric) {
+            case DEFECT_RATE -> defects[code] / items[code] * 100;
+            case DURATION -> timed[code] > 0 ? minutes[code] / timed[code] : Double.NaN;
+            case SEVERE_SHARE -> {
+                int base = code * LEVELS;
+                double all = 0;
+                for (int level = 0; level < LEVELS; level++) {
+                    all += severities[base + level];
+                }
+                if (all * decay(code, nowMillis) < minDefects) {
+                    yield Double.NaN;
+                }
+                double severe = severities[base + SeverityLevel.HIGH.ordinal()] + severities[base + SeverityLevel.CRITICAL.ordinal()];
+                yield severe / all * 100;
+            }
+        };
+    }
+
+    /**
+     * Distribution of a metric over every inspector it is defined for; null with fewer than
+     * minPeers of them
+     */
+    public PeerDistribution peers(InspectorMetric metric, long nowMillis, int minPeers) {
+        int count = inspectors.size();
+        double[] values = new double[count];
+        int peers = 0;
+        for (int code = 1; code < count; code++) {
+            double value = value(code, metric, nowMillis);
+            if (!Double.isNaN(value)) {
+                values[peers++] = value;
+            }
+        }
+        if (peers < Math.max(1, minPeers)) {
+            return null;
+        }
+        Arrays.sort(values, 0, peers);
+        double median = median(values, peers);
+        double absoluteSum = 0;
+        for (int i = 0; i < peers; i++) {
+            values[i] = Math.abs(values[i] - median);
+            absoluteSum += values[i];
+        }
+        Arrays.sort(values, 0, peers);
+        double mad = median(values, peers);
+        // Iglewicz and Hoaglin: MAD / 0.6745, or the mean absolute deviation when the MAD is 0
+        double scale = mad > 0 ? mad / 0.6745 : 1.253314 * absoluteSum / peers;
+        return new PeerDistribution(metric, peers, median, scale);
+    }
+
+    /**
+     * Decayed inspection count of an inspector, as of now
+     */
+    public double inspections(int code, long nowMillis) {
+        return inspections[code] * decay(code, nowMillis);
+    }
+
+    /**
+     * Share of the inspector's decayed defects at each severity, in percent
+     */
+    public double[] severityMix(int code) {
+        int base = code * LEVELS;
+        double all = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            all += severities[base + level];
+        }
+        double[] mix = new double[LEVELS];
+        for (int level = 0; level < LEVELS; level++) {
+            mix[level] = all > 0 ? severities[base + level] / all * 100 : 0;
+        }
+        return mix;
+    }
+
+    public long updatedAt(int code) {
+        return updatedAt[code];
+    }
+
+    /**
+     * Flag bits of an inspector, two per metric (HIGH, then LOW) in ordinal order
+     */
+    public byte flags(int code) {
+        return flags[code];
+    }
+
+    public void setFlags(int code, byte value) {
+        flags[code] = value;
+    }
+
+    public static int flagBit(InspectorMetric metric, InspectorMetric.Direction direction) {
+        return 1 << (metric.ordinal() * 2 + direction.ordinal());
+    }
+
+    /**
+     * Code of an inspector, or -1 if none of their inspections has been recorded
+     */
+    public int find(String inspectorId) {
+        return inspectorId == null ? -1 : inspectors.find(inspectorId);
+    }
+
+    public String inspectorId(int code) {
+        return inspectors.value(code);
+    }
+
+    /**
+     * Codes in use; code 0 collects inspections without an inspector
+     */
+    public int codes() {
+        return inspectors.size();
+    }
+
+    public long memoryBytes() {
+        return (long) updatedAt.length * (8 * 6 + 8 * LEVELS + 1) + inspectors.memoryBytes();
+    }
+
+    private double decay(int code, long nowMillis) {
+        return Math.exp(-decayPerMilli * Math.max(0, nowMillis - updatedAt[code]));
+    }
+
+    private void ensureCapacity(int codes) {
+        int capacity = updatedAt.length;
+        if (codes <= capacity) {
+            return;
+        }
+        int grown = Math.max(codes, capacity * 2);
+        updatedAt = Arrays.copyOf(updatedAt, grown);
+        inspections = Arrays.copyOf(inspections, grown);
+        items = Arrays.copyOf(items, grown);
+        defects = Arrays.copyOf(defects, grown);
+        timed = Arrays.copyOf(timed, grown);
+        minutes = Arrays.copyOf(minutes, grown);
+        severities = Arrays.copyOf(severities, grown * LEVELS);
+        flags = Arrays.copyOf(flags, grown);
+    }
+
+    private static double median(double[] sorted, int count) {
+        int middle = count >>> 1;
+        return (count & 1) == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
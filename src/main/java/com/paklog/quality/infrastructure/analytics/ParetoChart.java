@@ -0,0 +1,20 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import java.util.List;
+
+/**
+ * Top bars of a defect Pareto chart, largest first, with the defects of every other key
+ * folded into otherDefects
+ *
+ * @param distinctKeys keys with at least one matching defect
+ * @param scannedDefects defects read to answer, 0 when kept totals were enough
+ */
+public record ParetoChart(DefectDimension dimension, long totalDefects, int distinctKeys, List<Bar> bars,
+                          long otherDefects, long scannedDefects, long tookMicros) {
+
+    /**
+     * @param key defect type, itemId, location or inspectorId; null for defects without one
+     */
+    public record Bar(String key, long defects, double share, double cumulativeShare) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.paklog.quality.infrastructure.analytics;
+
+/**
+ * Median and robust spread of one metric over the inspectors with enough recent inspections.
+ * scale is MAD / 0.6745, which estimates the standard deviation of normal data, or
+ * 1.2533 times the mean absolute deviation when more than half the peers share the median.
+ */
+public record PeerDistribution(InspectorMetric metric, int peers, double median, double scale) {
+
+    /**
+     * Robust z-score of value; 0 when the peers do not vary at all
+     */
+    public double zScore(double value) {
+        return scale > 0 ? (value - median) / scale : 0;
+    }
+}
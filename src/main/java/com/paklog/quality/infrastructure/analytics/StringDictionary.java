@@ -0,0 +1,129 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary encoding of strings to dense int codes, 1, 2, 3... in order of first sight; code
+ * 0 stands for null. Open addressing over an int[] of codes, with the strings themselves in
+ * a code-indexed array, so there is no object per entry beyond the string.
+ *
+ * Single writer: encode() must only be called from one thread at a time. Readers may call
+ * find() and value() concurrently; a string added meanwhile may not be found yet.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = 0;
+    private static final double MAX_LOAD = 0.6;
+
+    private volatile String[] values;
+    private volatile int[] slots;
+    private volatile int size = 1;
+
+    StringDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) Math.min(1 << 30, (long) (expectedSize / MAX_LOAD) + 1)) - 1) << 1;
+        this.values = new String[Math.max(16, expectedSize + 1)];
+        this.slots = new int[capacity];
+    }
+
+    /**
+     * Code of value, added if new. Writer thread only.
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int[] table = slots;
+        String[] strings = values;
+        int mask = table.length - 1;
+        int index = hash(value) & mask;
+        while (true) {
+            int code = table[index];
+            if (code == 0) {
+                break;
+            }
+            if (strings[code].equals(value)) {
+                return code;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int code = size;
+        if (code == strings.length) {
+            strings = Arrays.copyOf(strings, strings.length * 2);
+            values = strings;
+        }
+        strings[code] = value;
+        if (code + 1 > table.length * MAX_LOAD) {
+            // The new table is complete before it is published; the string array went first
+            table = rehash(strings, code, table.length * 2);
+            mask = table.length - 1;
+            index = hash(value) & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = code;
+            slots = table;
+        } else {
+            table[index] = code;
+        }
+        size = code + 1;
+        return code;
+    }
+
+    /**
+     * Code of value, or -1 if it has not been seen (NULL_CODE for null)
+     */
+    int find(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int[] table = slots;
+        String[] strings = values;
+        int mask = table.length - 1;
+        int index = hash(value) & mask;
+        while (true) {
+            int code = table[index];
+            if (code == 0) {
+                return -1;
+            }
+            String candidate = code < strings.length ? strings[code] : null;
+            if (value.equals(candidate)) {
+                return code;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    String value(int code) {
+        return values[code];
+    }
+
+    /**
+     * Codes in use, including NULL_CODE
+     */
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) values.length * 4 + (long) slots.length * 4;
+    }
+
+    private static int[] rehash(String[] strings, int count, int capacity) {
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int code = 1; code < count; code++) {
+            int index = hash(strings[code]) & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = code;
+        }
+        return table;
+    }
+
+    private static int hash(String value) {
+        int h = value.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,17 @@
+package com.paklog.quality.infrastructure.audit;
+
+/**
+ * Kind of state change recorded by an audit entry
+ */
+public enum AuditEntryKind {
+    /** Document as saved */
+    SAVED,
+    /** Filter of a delete */
+    DELETED,
+    /** Filter and update document of a bulk update */
+    UPDATED;
+
+    static AuditEntryKind of(int code) {
+        return values()[code];
+    }
+}
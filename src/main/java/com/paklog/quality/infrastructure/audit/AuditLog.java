@@ -0,0 +1,346 @@
+package com.paklog.quality.infrastructure.audit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoClientSettings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Append-only audit trail of inspection and compliance rule changes, hash-chained across
+ * fixed-size memory-mapped segment files in quality.audit.directory.
+ *
+ * Appends are queued and a single writer thread group-commits them: whatever has accumulated
+ * is written to the mapped segment and made durable with one force, however many entries the
+ * batch holds. When a segment fills up it is sealed with the Merkle root of its entries and
+ * the seal is mirrored to the audit_segments collection. Each instance writes its own trail,
+ * identified by quality.audit.node-id.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.audit.enabled", havingValue = "true")
+public class AuditLog implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    /**
+     * Trail position of this instance. committedBytes counts the durable bytes of the current segment.
+     */
+    public record AuditStatus(
+        String nodeId,
+        String directory,
+        long currentSegment,
+        long segmentSize,
+        long committedBytes,
+        long lastSequence,
+        int queued
+    ) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditSegmentWriter writer;
+    private final Path directory;
+    private final BlockingQueue<PendingAppend> queue;
+    private final int maxBatchSize;
+    private final int verifyParallelism;
+    private final DistributionSummary batchSizes;
+    private final List<AuditSegmentSeal> unmirrored = new ArrayList<>();
+    private final Codec<Document> codec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private volatile long committedSegment;
+    private volatile int committedPosition;
+    private volatile long committedSequence;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLog(MongoTemplate mongoTemplate,
+                    MeterRegistry meterRegistry,
+                    @Value("${quality.audit.directory:./audit}") String directory,
+                    @Value("${quality.audit.node-id:${HOSTNAME:local}}") String nodeId,
+                    @Value("${quality.audit.segment-size:64MB}") DataSize segmentSize,
+                    @Value("${quality.audit.queue-capacity:100000}") int queueCapacity,
+                    @Value("${quality.audit.max-batch-size:1000}") int maxBatchSize,
+                    @Value("${quality.audit.verify-parallelism:0}") int verifyParallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.directory = Paths.get(directory);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.verifyParallelism = verifyParallelism > 0 ? verifyParallelism : Runtime.getRuntime().availableProcessors();
+        try {
+            this.writer = new AuditSegmentWriter(this.directory, Math.toIntExact(segmentSize.toBytes()), nodeId, this::mirror);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit log in " + directory, e);
+        }
+        this.committedSegment = writer.currentSegment();
+        this.committedPosition = writer.currentPosition();
+        this.committedSequence = writer.lastSequence();
+        this.batchSizes = DistributionSummary.builder("quality.audit.batch-size")
+            .description("Audit entries made durable per force")
+            .register(meterRegistry);
+        Gauge.builder("quality.audit.queue-depth", queue, BlockingQueue::size)
+            .description("Audit entries waiting to be written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue an entry, blocking while the queue is full rather than dropping it. The future
+     * completes with the entry's sequence number once it is durable.
+     */
+    public CompletableFuture<Long> append(AuditEntryKind kind, String collection, String documentId, byte[] payload) {
+        PendingAppend pending = new PendingAppend(kind, collection, documentId, payload, System.currentTimeMillis());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted queueing audit entry for " + collection + "/" + documentId, e);
+        }
+        return pending.committed;
+    }
+
+    /**
+     * Queue a document, encoded as BSON on the calling thread
+     */
+    public CompletableFuture<Long> record(AuditEntryKind kind, String collection, String documentId, Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer(512);
+        try (BsonBinaryWriter bson = new BsonBinaryWriter(buffer)) {
+            codec.encode(bson, document, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        return append(kind, collection, documentId, buffer.toByteArray());
+    }
+
+    private void drainLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!running) {
+                    queue.drainTo(batch);
+                    commit(batch);
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingAppend> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int written = 0;
+        try {
+            for (PendingAppend pending : batch) {
+                try {
+                    pending.sequence = writer.append(pending.kind, pending.collection, pending.documentId,
+                        pending.payload, pending.timestampMillis);
+                } catch (IllegalArgumentException e) {
+                    log.error("Audit entry rejected", e);
+                    pending.committed.completeExceptionally(e);
+                }
+                written++;
+            }
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit log write failed after {} of {} entries", written, batch.size(), e);
+            batch.forEach(pending -> pending.committed.completeExceptionally(e));
+            return;
+        }
+
+        committedSegment = writer.currentSegment();
+        committedPosition = writer.currentPosition();
+        committedSequence = writer.lastSequence();
+        batchSizes.record(batch.size());
+        for (PendingAppend pending : batch) {
+            pending.committed.complete(pending.sequence);
+        }
+        if (!unmirrored.isEmpty()) {
+            retryMirror();
+        }
+    }
+
+    private void mirror(AuditSegmentSeal seal) {
+        log.info("Sealed audit segment {} ({} entries, Merkle root {})", seal.segment(), seal.entries(), seal.merkleRoot());
+        try {
+            mongoTemplate.save(seal);
+        } catch (RuntimeException e) {
+            log.warn("Failed to mirror seal of audit segment {}; will retry", seal.segment(), e);
+            unmirrored.add(seal);
+        }
+    }
+
+    private void retryMirror() {
+        Iterator<AuditSegmentSeal> seals = unmirrored.iterator();
+        while (seals.hasNext()) {
+            AuditSegmentSeal seal = seals.next();
+            try {
+                mongoTemplate.save(seal);
+                seals.remove();
+            } catch (RuntimeException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mirror seals of segments sealed while MongoDB was unreachable before the last shutdown
+     */
+    private void mirrorMissingSeals() throws IOException {
+        Query latest = new Query(Criteria.where("nodeId").is(writer.nodeId()))
+            .with(Sort.by(Sort.Direction.DESC, "segment"))
+            .limit(1);
+        AuditSegmentSeal last = mongoTemplate.findOne(latest, AuditSegmentSeal.class);
+        long mirroredUpTo = last != null ? last.segment() : -1;
+        for (long segment = mirroredUpTo + 1; segment < writer.currentSegment(); segment++) {
+            Path path = writer.pathOf(segment);
+            AuditSegmentSeal seal = Files.exists(path) ? AuditSegmentVerifier.readSeal(path, writer.nodeId()) : null;
+            if (seal != null) {
+                mongoTemplate.save(seal);
+                log.info("Mirrored seal of audit segment {}", segment);
+            } else {
+                log.error("Audit segment {} is missing or not sealed", segment);
+            }
+        }
+    }
+
+    public AuditStatus status() {
+        return new AuditStatus(writer.nodeId(), directory.toAbsolutePath().toString(), committedSegment,
+            writer.segmentSize(), committedPosition, committedSequence, queue.size());
+    }
+
+    /**
+     * Seals mirrored to MongoDB for this instance's trail, oldest first
+     */
+    public List<AuditSegmentSeal> seals() {
+        Query query = new Query(Criteria.where("nodeId").is(writer.nodeId()))
+            .with(Sort.by(Sort.Direction.ASC, "segment"));
+        return mongoTemplate.find(query, AuditSegmentSeal.class);
+    }
+
+    /**
+     * Verify one segment. Of the segment being written only the committed part is checked.
+     */
+    public AuditSegmentVerifier.Result verify(long segment) {
+        Path path = writer.pathOf(segment);
+        if (segment < 0 || !Files.exists(path)) {
+            throw new IllegalArgumentException("No audit segment " + segment);
+        }
+        int limit = segment == committedSegment ? committedPosition : Integer.MAX_VALUE;
+        AuditSegmentSeal mirrored = mongoTemplate.findById(AuditSegmentSeal.id(writer.nodeId(), segment), AuditSegmentSeal.class);
+        byte[] mirroredRoot = mirrored != null ? HexFormat.of().parseHex(mirrored.merkleRoot()) : null;
+        try {
+            return AuditSegmentVerifier.verify(path, limit, mirroredRoot, verifyParallelism);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read audit segment " + segment, e);
+        }
+    }
+
+    /**
+     * Verify every segment in order, including that each continues the sequence of the one before
+     */
+    public List<AuditSegmentVerifier.Result> verifyAll() {
+        List<AuditSegmentVerifier.Result> results = new ArrayList<>();
+        long expectedFirst = -1;
+        for (long segment = 0; segment <= committedSegment; segment++) {
+            if (!Files.exists(writer.pathOf(segment))) {
+                continue;
+            }
+            AuditSegmentVerifier.Result result = verify(segment);
+            if (result.valid() && expectedFirst >= 0 && result.firstSequence() != expectedFirst) {
+                result = result.invalid("Starts at sequence " + result.firstSequence() + ", previous segment ended at " + (expectedFirst - 1));
+            }
+            // After an invalid segment its successor starts from the watermark, not from the last good entry
+            expectedFirst = result.valid() ? result.lastSequence() + 1 : -1;
+            results.add(result);
+        }
+        return results;
+    }
+
+    @Override
+    public void start() {
+        try {
+            mirrorMissingSeals();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not check mirrored audit seals", e);
+        }
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-group-commit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit log {} at segment {}, sequence {}", directory.toAbsolutePath(), committedSegment, committedSequence);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit segment", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the repositories' callers, so their last changes are still written
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private static final class PendingAppend {
+        private final AuditEntryKind kind;
+        private final String collection;
+        private final String documentId;
+        private final byte[] payload;
+        private final long timestampMillis;
+        private final CompletableFuture<Long> committed = new CompletableFuture<>();
+        private long sequence;
+
+        private PendingAppend(AuditEntryKind kind, String collection, String documentId, byte[] payload, long timestampMillis) {
+            this.kind = kind;
+            this.collection = collection;
+            this.documentId = documentId;
+            this.payload = payload;
+            this.timestampMillis = timestampMillis;
+        }
+    }
+}
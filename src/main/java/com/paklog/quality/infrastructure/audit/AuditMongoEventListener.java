@@ -0,0 +1,49 @@
+package com.paklog.quality.infrastructure.audit;
+
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+
+/**
+ * Records every saved or deleted inspection and compliance rule in the {@link AuditLog}, as the
+ * exact BSON document written (or the delete filter). Saves from MongoTemplate and
+ * ReactiveMongoTemplate both pass through here; bulk updates are recorded by the code that
+ * issues them.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.audit.enabled", havingValue = "true")
+public class AuditMongoEventListener extends AbstractMongoEventListener<Object> {
+
+    static final Set<String> AUDITED_COLLECTIONS = Set.of("inspection_records", "compliance_rules", "compliancerules");
+
+    private final AuditLog auditLog;
+
+    public AuditMongoEventListener(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Document document = event.getDocument();
+        if (document != null && AUDITED_COLLECTIONS.contains(event.getCollectionName())) {
+            auditLog.record(AuditEntryKind.SAVED, event.getCollectionName(), idOf(document), document);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Document filter = event.getDocument();
+        if (filter != null && AUDITED_COLLECTIONS.contains(event.getCollectionName())) {
+            auditLog.record(AuditEntryKind.DELETED, event.getCollectionName(), idOf(filter), filter);
+        }
+    }
+
+    private static String idOf(Document document) {
+        Object id = document.get("_id");
+        return id != null ? id.toString() : null;
+    }
+}
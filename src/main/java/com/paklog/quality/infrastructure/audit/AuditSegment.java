@@ -0,0 +1,299 @@
+package com.paklog.quality.infrastructure.audit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * One fixed-size, memory-mapped audit segment file.
+ *
+ * Layout: a 128-byte header (magic, format version, segment index, first sequence, chain hash
+ * of the previous segment's last entry, then the commit watermark: end offset, last sequence
+ * and chain hash of the entries known to be durable), then entries, then a seal once the
+ * segment is full.
+ * An entry is [int length][body][32-byte chain hash], where the body starts with the entry's
+ * sequence number and the chain hash is SHA-256(previous chain hash || leaf hash) with leaf
+ * hash SHA-256(0x00 || body). The seal is [int -1][long entries][long last sequence]
+ * [32-byte last chain hash][32-byte Merkle root of the leaf hashes]. A zero length marks the
+ * end of an unsealed segment; the file is zero-filled when created.
+ *
+ * force() makes the entries durable first and then the watermark, so on reopening everything
+ * below the watermark was committed. Only what lies beyond it can be a tail torn by a crash.
+ * Room for the seal is always kept free. Not thread-safe: one writer appends.
+ */
+final class AuditSegment implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(AuditSegment.class);
+
+    static final long MAGIC = 0x504b415544495431L; // "PKAUDIT1"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 128;
+    static final int COMMITTED_POSITION = 64;
+    static final int COMMITTED_SEQUENCE = 72;
+    static final int COMMITTED_HASH = 80;
+    static final int HASH_SIZE = MerkleAccumulator.HASH_SIZE;
+    static final int ENTRY_OVERHEAD = 4 + HASH_SIZE;
+    static final int SEAL_MARKER = -1;
+    static final int SEAL_SIZE = 4 + 8 + 8 + HASH_SIZE + HASH_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long index;
+    private final long firstSequence;
+    private final byte[] previousHash;
+    private final MessageDigest digest = MerkleAccumulator.sha256();
+    private final MerkleAccumulator merkle = new MerkleAccumulator();
+    private final byte[] leaf = new byte[HASH_SIZE];
+    private final byte[] chain;
+    private int position = HEADER_SIZE;
+    private int forcedUpTo = HEADER_SIZE;
+    private long entries;
+    private long lastSequence;
+    private boolean sealed;
+    private boolean corrupt;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer, long index, long firstSequence, byte[] previousHash) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.index = index;
+        this.firstSequence = firstSequence;
+        this.previousHash = previousHash;
+        this.chain = previousHash.clone();
+        this.lastSequence = firstSequence - 1;
+    }
+
+    static AuditSegment create(Path path, int size, long index, long firstSequence, byte[] previousHash) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            buffer.putLong(0, MAGIC);
+            buffer.putInt(8, FORMAT_VERSION);
+            buffer.putLong(16, index);
+            buffer.putLong(24, firstSequence);
+            buffer.put(32, previousHash, 0, HASH_SIZE);
+            AuditSegment segment = new AuditSegment(path, channel, buffer, index, firstSequence, previousHash.clone());
+            segment.writeWatermark();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reopen a segment after a restart, replaying its chain. A tail beyond the watermark that
+     * does not verify (an entry torn by a crash mid-write) is zeroed so appends continue after
+     * the last good entry. A committed entry that does not verify is left as it is, and the
+     * segment is marked corrupt so the writer continues the trail in a new one.
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != FORMAT_VERSION) {
+                throw new IOException("Not an audit segment: " + path);
+            }
+            byte[] previousHash = new byte[HASH_SIZE];
+            buffer.get(32, previousHash);
+            AuditSegment segment = new AuditSegment(path, channel, buffer, buffer.getLong(16), buffer.getLong(24), previousHash);
+            segment.replay();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void replay() {
+        byte[] body = new byte[0];
+        byte[] stored = new byte[HASH_SIZE];
+        while (position + 4 <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == SEAL_MARKER) {
+                sealed = true;
+                break;
+            }
+            if (length <= 0 || !hasRoom(position, length)) {
+                break;
+            }
+            if (body.length < length) {
+                body = new byte[length];
+            }
+            buffer.get(position + 4, body, 0, length);
+            buffer.get(position + 4 + length, stored);
+            MerkleAccumulator.leafHash(digest, body, 0, length, leaf);
+            digest.update(chain);
+            digest.update(leaf);
+            byte[] expected = digest.digest();
+            if (!Arrays.equals(expected, stored)) {
+                break;
+            }
+            System.arraycopy(expected, 0, chain, 0, HASH_SIZE);
+            merkle.add(leaf, 0);
+            lastSequence = readLong(body, 0);
+            entries++;
+            position += ENTRY_OVERHEAD + length;
+        }
+        int committed = buffer.getInt(COMMITTED_POSITION);
+        if (!sealed && position < committed) {
+            markCorrupt(committed);
+        } else if (!sealed) {
+            zeroTail();
+        }
+        forcedUpTo = position;
+    }
+
+    /**
+     * Carry on from the watermark rather than the last entry that verifies, so the entries
+     * after the bad one are neither overwritten nor reused
+     */
+    private void markCorrupt(int committed) {
+        long committedSequence = buffer.getLong(COMMITTED_SEQUENCE);
+        log.error("Audit segment {} fails verification at offset {} after sequence {}, inside the entries committed up to "
+                + "sequence {} (offset {}); it is left untouched and the trail continues in a new segment",
+            path, position, lastSequence, committedSequence, committed);
+        corrupt = true;
+        lastSequence = committedSequence;
+        buffer.get(COMMITTED_HASH, chain);
+    }
+
+    // Pages reach the disk in any order, so a crash can leave data beyond the first bad entry
+    private void zeroTail() {
+        byte[] zeros = new byte[8192];
+        int capacity = buffer.capacity();
+        for (int at = position; at < capacity; at += zeros.length) {
+            int length = Math.min(zeros.length, capacity - at);
+            if (!isZero(at, length)) {
+                buffer.put(at, zeros, 0, length);
+                buffer.force(at, length);
+            }
+        }
+    }
+
+    private boolean isZero(int at, int length) {
+        int end = at + length;
+        int i = at;
+        for (; i + 8 <= end; i += 8) {
+            if (buffer.getLong(i) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether an entry with a body of this length still fits before the seal
+     */
+    boolean fits(int bodyLength) {
+        return !sealed && !corrupt && hasRoom(position, bodyLength);
+    }
+
+    private boolean hasRoom(int at, int bodyLength) {
+        return (long) at + ENTRY_OVERHEAD + bodyLength + SEAL_SIZE <= buffer.capacity();
+    }
+
+    static int maxBodyLength(int segmentSize) {
+        return segmentSize - HEADER_SIZE - ENTRY_OVERHEAD - SEAL_SIZE;
+    }
+
+    /**
+     * Append an entry whose body starts with its sequence number; not durable until force()
+     */
+    void append(byte[] body, int length, long sequence) {
+        MerkleAccumulator.leafHash(digest, body, 0, length, leaf);
+        digest.update(chain);
+        digest.update(leaf);
+        MerkleAccumulator.finish(digest, chain);
+        merkle.add(leaf, 0);
+
+        buffer.putInt(position, length);
+        buffer.put(position + 4, body, 0, length);
+        buffer.put(position + 4 + length, chain, 0, HASH_SIZE);
+        position += ENTRY_OVERHEAD + length;
+        lastSequence = sequence;
+        entries++;
+    }
+
+    /**
+     * Flush everything appended since the last force to the storage device, then move the
+     * watermark past it
+     */
+    void force() {
+        if (position > forcedUpTo) {
+            buffer.force(forcedUpTo, position - forcedUpTo);
+            forcedUpTo = position;
+            writeWatermark();
+        }
+    }
+
+    private void writeWatermark() {
+        buffer.putInt(COMMITTED_POSITION, position);
+        buffer.putLong(COMMITTED_SEQUENCE, lastSequence);
+        buffer.put(COMMITTED_HASH, chain, 0, HASH_SIZE);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    /**
+     * Write the seal and flush; the segment takes no further entries
+     */
+    byte[] seal() {
+        byte[] root = merkle.root();
+        buffer.putInt(position, SEAL_MARKER);
+        buffer.putLong(position + 4, entries);
+        buffer.putLong(position + 12, lastSequence);
+        buffer.put(position + 20, chain, 0, HASH_SIZE);
+        buffer.put(position + 20 + HASH_SIZE, root, 0, HASH_SIZE);
+        buffer.force(forcedUpTo, position + SEAL_SIZE - forcedUpTo);
+        forcedUpTo = position + SEAL_SIZE;
+        sealed = true;
+        return root;
+    }
+
+    /**
+     * Merkle root as recorded in the seal of a sealed segment
+     */
+    byte[] sealedRoot() {
+        byte[] root = new byte[HASH_SIZE];
+        buffer.get(position + 20 + HASH_SIZE, root);
+        return root;
+    }
+
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    Path path() { return path; }
+    long index() { return index; }
+    long firstSequence() { return firstSequence; }
+    long lastSequence() { return lastSequence; }
+    long entries() { return entries; }
+    boolean sealed() { return sealed; }
+    boolean corrupt() { return corrupt; }
+    int position() { return position; }
+    int capacity() { return buffer.capacity(); }
+    byte[] previousHash() { return previousHash.clone(); }
+    byte[] lastChainHash() { return chain.clone(); }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
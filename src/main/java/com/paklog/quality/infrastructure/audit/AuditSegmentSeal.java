@@ -0,0 +1,29 @@
+package com.paklog.quality.infrastructure.audit;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * Copy of a sealed segment's seal, kept in MongoDB so a segment file rewritten together with
+ * its own seal still fails verification. Hashes are lowercase hex.
+ */
+@Document(collection = "audit_segments")
+public record AuditSegmentSeal(
+    @Id String id,
+    String nodeId,
+    long segment,
+    String fileName,
+    long firstSequence,
+    long lastSequence,
+    long entries,
+    String previousHash,
+    String lastChainHash,
+    String merkleRoot,
+    Instant sealedAt
+) {
+
+    static String id(String nodeId, long segment) {
+        return nodeId + "-" + segment;
+    }
+}
@@ -0,0 +1,241 @@
+package com.paklog.quality.infrastructure.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Verifies a segment file read-only: every entry's chain hash, the sequence numbers, that the
+ * entries reach the commit watermark, the seal, and the Merkle root against the seal and the
+ * copy mirrored to MongoDB.
+ *
+ * The leaf hashes, which cover all of the entry bytes, are independent of each other and are
+ * computed on several cores; only the chain step, one 64-byte hash per entry, is sequential.
+ * That keeps verification bound by how fast the segment can be read.
+ */
+public final class AuditSegmentVerifier {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Outcome of verifying one segment. firstInvalidSequence is -1 when no entry failed;
+     * mirroredRootMatches is null when there is no mirrored seal to compare against.
+     */
+    public record Result(
+        long segment,
+        String fileName,
+        boolean sealed,
+        long entries,
+        long firstSequence,
+        long lastSequence,
+        long bytes,
+        boolean valid,
+        long firstInvalidSequence,
+        String problem,
+        String merkleRoot,
+        Boolean mirroredRootMatches,
+        long elapsedMicros
+    ) {
+
+        public double megabytesPerSecond() {
+            return elapsedMicros > 0 ? bytes / (double) elapsedMicros : 0;
+        }
+
+        Result invalid(String reason) {
+            return new Result(segment, fileName, sealed, entries, firstSequence, lastSequence, bytes, false,
+                firstInvalidSequence, reason, merkleRoot, mirroredRootMatches, elapsedMicros);
+        }
+    }
+
+    private AuditSegmentVerifier() {
+    }
+
+    /**
+     * @param limit bytes of the file to consider, for a segment that is still being written
+     * @param mirroredRoot Merkle root recorded in MongoDB, or null
+     */
+    public static Result verify(Path path, int limit, byte[] mirroredRoot, int parallelism) throws IOException {
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), limit));
+            return verify(buffer, path.getFileName().toString(), mirroredRoot, parallelism, started);
+        }
+    }
+
+    private static Result verify(MappedByteBuffer buffer, String fileName, byte[] mirroredRoot, int parallelism, long started) {
+        int capacity = buffer.capacity();
+        if (capacity < AuditSegment.HEADER_SIZE || buffer.getLong(0) != AuditSegment.MAGIC
+                || buffer.getInt(8) != AuditSegment.FORMAT_VERSION) {
+            return new Result(-1, fileName, false, 0, 0, 0, capacity, false, -1, "Not an audit segment", null, null, micros(started));
+        }
+        long segment = buffer.getLong(16);
+        long firstSequence = buffer.getLong(24);
+        byte[] chain = new byte[AuditSegment.HASH_SIZE];
+        buffer.get(32, chain);
+
+        // Entry offsets; only the length prefixes are read here
+        int[] offsets = new int[1024];
+        int count = 0;
+        int position = AuditSegment.HEADER_SIZE;
+        boolean sealed = false;
+        String problem = null;
+        while (position + 4 <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == AuditSegment.SEAL_MARKER) {
+                sealed = position + AuditSegment.SEAL_SIZE <= capacity;
+                if (!sealed) {
+                    problem = "Truncated seal at offset " + position;
+                }
+                break;
+            }
+            if (length == 0) {
+                break;
+            }
+            if (length < 16 || (long) position + AuditSegment.ENTRY_OVERHEAD + length > capacity) {
+                problem = "Corrupt entry length " + length + " at offset " + position;
+                break;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = position;
+            position += AuditSegment.ENTRY_OVERHEAD + length;
+        }
+
+        byte[] leaves = leafHashes(buffer, offsets, count, parallelism);
+
+        MessageDigest digest = MerkleAccumulator.sha256();
+        MerkleAccumulator merkle = new MerkleAccumulator();
+        byte[] computed = new byte[AuditSegment.HASH_SIZE];
+        byte[] stored = new byte[AuditSegment.HASH_SIZE];
+        long firstInvalid = -1;
+        long lastSequence = firstSequence - 1;
+        int verified = 0;
+        for (; verified < count; verified++) {
+            int offset = offsets[verified];
+            int length = buffer.getInt(offset);
+            long sequence = buffer.getLong(offset + 4);
+            digest.update(chain);
+            digest.update(leaves, verified * AuditSegment.HASH_SIZE, AuditSegment.HASH_SIZE);
+            MerkleAccumulator.finish(digest, computed);
+            buffer.get(offset + 4 + length, stored);
+            if (sequence != firstSequence + verified) {
+                firstInvalid = firstSequence + verified;
+                problem = "Sequence " + sequence + " where " + firstInvalid + " was expected";
+                break;
+            }
+            if (!Arrays.equals(computed, stored)) {
+                firstInvalid = sequence;
+                problem = "Chain hash mismatch at sequence " + sequence;
+                break;
+            }
+            System.arraycopy(computed, 0, chain, 0, AuditSegment.HASH_SIZE);
+            merkle.add(leaves, verified * AuditSegment.HASH_SIZE);
+            lastSequence = sequence;
+        }
+
+        byte[] root = merkle.root();
+        // Zeroed entries end the segment early; a watermark beyond the mapped limit is a commit in progress
+        int committed = buffer.getInt(AuditSegment.COMMITTED_POSITION);
+        if (problem == null && !sealed && position < committed && committed <= capacity) {
+            firstInvalid = lastSequence + 1;
+            problem = "Entries end at offset " + position + ", before the committed offset " + committed;
+        }
+        if (problem == null && sealed) {
+            problem = checkSeal(buffer, position, count, lastSequence, chain, root);
+        }
+        Boolean mirroredMatches = mirroredRoot != null ? Arrays.equals(root, mirroredRoot) : null;
+        if (problem == null && Boolean.FALSE.equals(mirroredMatches)) {
+            problem = "Merkle root differs from the root mirrored to MongoDB";
+        }
+        return new Result(segment, fileName, sealed, verified, firstSequence, lastSequence, position,
+            problem == null, firstInvalid, problem, HexFormat.of().formatHex(root), mirroredMatches, micros(started));
+    }
+
+    /**
+     * The seal of a sealed segment as written in the file, found by skipping from length to
+     * length without hashing; null while the segment is open
+     */
+    static AuditSegmentSeal readSeal(Path path, String nodeId) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getLong(0) != AuditSegment.MAGIC) {
+                return null;
+            }
+            int position = AuditSegment.HEADER_SIZE;
+            while (position + AuditSegment.SEAL_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length == AuditSegment.SEAL_MARKER) {
+                    long segment = buffer.getLong(16);
+                    long entries = buffer.getLong(position + 4);
+                    byte[] previousHash = new byte[AuditSegment.HASH_SIZE];
+                    byte[] lastChain = new byte[AuditSegment.HASH_SIZE];
+                    byte[] root = new byte[AuditSegment.HASH_SIZE];
+                    buffer.get(32, previousHash);
+                    buffer.get(position + 20, lastChain);
+                    buffer.get(position + 20 + AuditSegment.HASH_SIZE, root);
+                    HexFormat hex = HexFormat.of();
+                    return new AuditSegmentSeal(AuditSegmentSeal.id(nodeId, segment), nodeId, segment,
+                        path.getFileName().toString(), buffer.getLong(24), buffer.getLong(position + 12), entries,
+                        hex.formatHex(previousHash), hex.formatHex(lastChain), hex.formatHex(root),
+                        Instant.ofEpochMilli(Files.getLastModifiedTime(path).toMillis()));
+                }
+                if (length <= 0) {
+                    return null;
+                }
+                position += AuditSegment.ENTRY_OVERHEAD + length;
+            }
+            return null;
+        }
+    }
+
+    private static String checkSeal(MappedByteBuffer buffer, int at, int count, long lastSequence, byte[] chain, byte[] root) {
+        byte[] sealedChain = new byte[AuditSegment.HASH_SIZE];
+        byte[] sealedRoot = new byte[AuditSegment.HASH_SIZE];
+        buffer.get(at + 20, sealedChain);
+        buffer.get(at + 20 + AuditSegment.HASH_SIZE, sealedRoot);
+        if (buffer.getLong(at + 4) != count || buffer.getLong(at + 12) != lastSequence) {
+            return "Seal records " + buffer.getLong(at + 4) + " entries up to sequence " + buffer.getLong(at + 12)
+                + ", segment holds " + count + " up to " + lastSequence;
+        }
+        if (!Arrays.equals(sealedChain, chain)) {
+            return "Seal chain hash differs from the last entry's";
+        }
+        if (!Arrays.equals(sealedRoot, root)) {
+            return "Seal Merkle root differs from the entries'";
+        }
+        return null;
+    }
+
+    private static byte[] leafHashes(MappedByteBuffer buffer, int[] offsets, int count, int parallelism) {
+        byte[] leaves = new byte[count * AuditSegment.HASH_SIZE];
+        int chunks = Math.max(1, Math.min(Math.max(1, parallelism) * CHUNKS_PER_THREAD, count / 256));
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            MessageDigest digest = MerkleAccumulator.sha256();
+            byte[] leaf = new byte[AuditSegment.HASH_SIZE];
+            byte[] body = new byte[4096];
+            int from = (int) ((long) count * chunk / chunks);
+            int to = (int) ((long) count * (chunk + 1) / chunks);
+            for (int i = from; i < to; i++) {
+                int length = buffer.getInt(offsets[i]);
+                if (body.length < length) {
+                    body = new byte[Math.max(length, body.length * 2)];
+                }
+                // Absolute reads, so the chunks share the buffer safely
+                buffer.get(offsets[i] + 4, body, 0, length);
+                MerkleAccumulator.leafHash(digest, body, 0, length, leaf);
+                System.arraycopy(leaf, 0, leaves, i * AuditSegment.HASH_SIZE, AuditSegment.HASH_SIZE);
+            }
+        });
+        return leaves;
+    }
+
+    private static long micros(long started) {
+        return (System.nanoTime() - started) / 1000;
+    }
+}
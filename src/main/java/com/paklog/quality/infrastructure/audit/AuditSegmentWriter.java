@@ -0,0 +1,158 @@
+package com.paklog.quality.infrastructure.audit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit entries to a directory of {@link AuditSegment} files, sealing a segment and
+ * starting the next when an entry no longer fits. The hash chain runs across segments: each
+ * new segment's header carries the last chain hash of the one before. On start the newest
+ * segment is reopened and its chain replayed; if a committed entry no longer verifies, the
+ * segment is left unsealed and the trail continues in a new one from its commit watermark.
+ *
+ * Entry body: [long sequence][long timestamp millis][byte kind][byte collection length]
+ * [collection][short id length][id][payload]. Not thread-safe: one writer appends.
+ */
+public final class AuditSegmentWriter implements AutoCloseable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final String nodeId;
+    private final Consumer<AuditSegmentSeal> onSeal;
+    private final int maxBodyLength;
+    private byte[] scratch = new byte[4096];
+    private AuditSegment current;
+    private long nextSequence;
+
+    public AuditSegmentWriter(Path directory, int segmentSize, String nodeId, Consumer<AuditSegmentSeal> onSeal) throws IOException {
+        if (segmentSize < 64 * 1024 || segmentSize > (1 << 30)) {
+            throw new IllegalArgumentException("Audit segment size must be between 64 KB and 1 GB");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.nodeId = nodeId;
+        this.onSeal = onSeal;
+        this.maxBodyLength = AuditSegment.maxBodyLength(segmentSize);
+
+        List<Path> segments = segmentFiles();
+        if (segments.isEmpty()) {
+            current = AuditSegment.create(pathOf(0), segmentSize, 0, 1, new byte[AuditSegment.HASH_SIZE]);
+        } else {
+            current = AuditSegment.open(segments.get(segments.size() - 1));
+            if (current.sealed() || current.corrupt()) {
+                roll();
+            }
+        }
+        nextSequence = current.lastSequence() + 1;
+    }
+
+    /**
+     * Append one entry and return its sequence number; durable after the next commit()
+     */
+    public long append(AuditEntryKind kind, String collection, String documentId, byte[] payload, long timestampMillis) throws IOException {
+        byte[] collectionBytes = collection.getBytes(StandardCharsets.UTF_8);
+        byte[] idBytes = documentId != null ? documentId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = 8 + 8 + 1 + 1 + collectionBytes.length + 2 + idBytes.length + payload.length;
+        if (length > maxBodyLength || collectionBytes.length > 255 || idBytes.length > 65535) {
+            throw new IllegalArgumentException("Audit entry of " + length + " bytes for " + collection + "/" + documentId + " is too large");
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        long sequence = nextSequence;
+        int at = putLong(scratch, 0, sequence);
+        at = putLong(scratch, at, timestampMillis);
+        scratch[at++] = (byte) kind.ordinal();
+        scratch[at++] = (byte) collectionBytes.length;
+        System.arraycopy(collectionBytes, 0, scratch, at, collectionBytes.length);
+        at += collectionBytes.length;
+        scratch[at++] = (byte) (idBytes.length >>> 8);
+        scratch[at++] = (byte) idBytes.length;
+        System.arraycopy(idBytes, 0, scratch, at, idBytes.length);
+        at += idBytes.length;
+        System.arraycopy(payload, 0, scratch, at, payload.length);
+
+        if (!current.fits(length)) {
+            roll();
+        }
+        current.append(scratch, length, sequence);
+        nextSequence++;
+        return sequence;
+    }
+
+    /**
+     * Make everything appended so far durable
+     */
+    public void commit() {
+        current.force();
+    }
+
+    private void roll() throws IOException {
+        AuditSegment previous = current;
+        if (!previous.sealed() && !previous.corrupt()) {
+            previous.force();
+            byte[] root = previous.seal();
+            onSeal.accept(new AuditSegmentSeal(
+                AuditSegmentSeal.id(nodeId, previous.index()),
+                nodeId,
+                previous.index(),
+                previous.path().getFileName().toString(),
+                previous.firstSequence(),
+                previous.lastSequence(),
+                previous.entries(),
+                HexFormat.of().formatHex(previous.previousHash()),
+                HexFormat.of().formatHex(previous.lastChainHash()),
+                HexFormat.of().formatHex(root),
+                Instant.now()));
+        }
+        long index = previous.index() + 1;
+        current = AuditSegment.create(pathOf(index), segmentSize, index, previous.lastSequence() + 1, previous.lastChainHash());
+        previous.close();
+    }
+
+    public List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    public Path pathOf(long index) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, index, SUFFIX));
+    }
+
+    long currentSegment() { return current.index(); }
+    Path currentPath() { return current.path(); }
+    /** Bytes of the current segment holding entries that are committed or about to be */
+    int currentPosition() { return current.position(); }
+    int segmentSize() { return segmentSize; }
+    long lastSequence() { return nextSequence - 1; }
+    String nodeId() { return nodeId; }
+
+    private static int putLong(byte[] bytes, int at, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[at + i] = (byte) value;
+            value >>>= 8;
+        }
+        return at + 8;
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.close();
+    }
+}
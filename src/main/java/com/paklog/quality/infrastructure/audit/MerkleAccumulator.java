@@ -0,0 +1,85 @@
+package com.paklog.quality.infrastructure.audit;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Streaming Merkle tree hash over leaf hashes, as defined by RFC 6962: nodes are
+ * SHA-256(0x01 || left || right) and an unbalanced tree splits at the largest power of two.
+ * Only the roots of the complete subtrees seen so far are kept, at most one per level, so
+ * memory stays O(log n) whatever the number of leaves.
+ */
+final class MerkleAccumulator {
+
+    static final int HASH_SIZE = 32;
+
+    private final MessageDigest digest;
+    private final byte[][] subtrees = new byte[64][];
+    private long leaves;
+
+    MerkleAccumulator() {
+        this.digest = sha256();
+    }
+
+    /**
+     * Leaf hash of an entry, SHA-256(0x00 || data)
+     */
+    static void leafHash(MessageDigest digest, byte[] data, int offset, int length, byte[] out) {
+        digest.update((byte) 0);
+        digest.update(data, offset, length);
+        finish(digest, out);
+    }
+
+    void add(byte[] leaf, int offset) {
+        byte[] node = new byte[HASH_SIZE];
+        System.arraycopy(leaf, offset, node, 0, HASH_SIZE);
+        int level = 0;
+        for (long n = leaves; (n & 1) == 1; n >>>= 1) {
+            node = node(subtrees[level], node);
+            subtrees[level] = null;
+            level++;
+        }
+        subtrees[level] = node;
+        leaves++;
+    }
+
+    long leaves() {
+        return leaves;
+    }
+
+    /**
+     * Root over the leaves added so far; SHA-256 of nothing when there are none
+     */
+    byte[] root() {
+        byte[] root = null;
+        for (byte[] subtree : subtrees) {
+            if (subtree != null) {
+                root = root == null ? subtree : node(subtree, root);
+            }
+        }
+        return root != null ? root.clone() : digest.digest();
+    }
+
+    private byte[] node(byte[] left, byte[] right) {
+        digest.update((byte) 1);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    static void finish(MessageDigest digest, byte[] out) {
+        try {
+            digest.digest(out, 0, HASH_SIZE);
+        } catch (java.security.DigestException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
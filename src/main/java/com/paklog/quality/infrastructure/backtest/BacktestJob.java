@@ -0,0 +1,151 @@
+package com.paklog.quality.infrastructure.backtest;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State and counters of one backtest.
+ *
+ * Counters are plain arrays indexed by rule set, inspection type, day and rule. Every day
+ * is scanned by exactly one chunk task, so tasks never write the same cell; results are
+ * read after the task that wrote them has completed.
+ */
+public class BacktestJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String id;
+    private final List<String> ruleSetVersions;
+    private final Instant from;
+    private final Instant to;
+    private final LocalDate firstDay;
+    private final int days;
+    private final Instant startedAt = Instant.now();
+    private final LongAdder inspectionsScanned = new LongAdder();
+    private final AtomicInteger chunksDone = new AtomicInteger();
+
+    // [ruleSet][type] -> rules evaluated
+    final ComplianceRule[][][] rules;
+    // [type][day] -> inspections scanned
+    final long[][] inspections;
+    // [ruleSet][type][day][rule]; the extra last slot counts inspections with a CRITICAL failure
+    final long[][][][] failures;
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    BacktestJob(String id, List<String> ruleSetVersions, Instant from, Instant to,
+                LocalDate firstDay, int days, ComplianceRule[][][] rules) {
+        this.id = id;
+        this.ruleSetVersions = List.copyOf(ruleSetVersions);
+        this.from = from;
+        this.to = to;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.rules = rules;
+        int types = InspectionType.values().length;
+        this.inspections = new long[types][days];
+        this.failures = new long[rules.length][types][days][];
+        for (int v = 0; v < rules.length; v++) {
+            for (int t = 0; t < types; t++) {
+                for (int d = 0; d < days; d++) {
+                    failures[v][t][d] = new long[rules[v][t].length + 1];
+                }
+            }
+        }
+    }
+
+    void scanned(long count) {
+        inspectionsScanned.add(count);
+    }
+
+    void chunkDone() {
+        chunksDone.incrementAndGet();
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized void finish(Throwable failure) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        finishedAt = Instant.now();
+        if (failure != null) {
+            state = State.FAILED;
+            error = failure.toString();
+        } else {
+            state = cancelRequested ? State.CANCELLED : State.COMPLETED;
+        }
+    }
+
+    /**
+     * Rows for every rule, type and day with at least one inspection; empty while running.
+     * A cancelled job reports the days it got through.
+     */
+    public List<BacktestResultRow> results() {
+        List<BacktestResultRow> rows = new ArrayList<>();
+        if (state == State.RUNNING) {
+            return rows;
+        }
+        InspectionType[] types = InspectionType.values();
+        for (int v = 0; v < rules.length; v++) {
+            for (int t = 0; t < types.length; t++) {
+                for (int d = 0; d < days; d++) {
+                    long scanned = inspections[t][d];
+                    if (scanned == 0) {
+                        continue;
+                    }
+                    LocalDate day = firstDay.plusDays(d);
+                    long[] counts = failures[v][t][d];
+                    for (int r = 0; r < rules[v][t].length; r++) {
+                        rows.add(new BacktestResultRow(ruleSetVersions.get(v), ruleCode(rules[v][t][r]), types[t], day, scanned, counts[r]));
+                    }
+                    rows.add(new BacktestResultRow(ruleSetVersions.get(v), BacktestService.OVERALL, types[t], day, scanned, counts[counts.length - 1]));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String ruleCode(ComplianceRule rule) {
+        return rule.getRuleCode() != null ? rule.getRuleCode() : String.valueOf(rule.getId());
+    }
+
+    public String getId() { return id; }
+    public List<String> getRuleSetVersions() { return ruleSetVersions; }
+    public Instant getFrom() { return from; }
+    public Instant getTo() { return to; }
+    public State getState() { return state; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+    public long getInspectionsScanned() { return inspectionsScanned.sum(); }
+    public int getChunksTotal() { return days; }
+    public int getChunksDone() { return chunksDone.get(); }
+
+    public double getInspectionsPerMinute() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return inspectionsScanned.sum() * 60_000.0 / millis;
+    }
+}
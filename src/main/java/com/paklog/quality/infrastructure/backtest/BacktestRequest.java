@@ -0,0 +1,15 @@
+package com.paklog.quality.infrastructure.backtest;
+
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @param ruleSetVersions rule sets to evaluate; {@link BacktestService#LIVE} is the active rules. Defaults to live only
+ * @param from            inclusive start of the inspectedAt range, default 90 days ago
+ * @param to              exclusive end of the inspectedAt range, default now
+ * @param types           inspection types to include, default all
+ */
+public record BacktestRequest(List<String> ruleSetVersions, Instant from, Instant to, Set<InspectionType> types) {
+}
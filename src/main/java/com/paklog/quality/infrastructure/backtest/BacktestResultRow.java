@@ -0,0 +1,12 @@
+package com.paklog.quality.infrastructure.backtest;
+
+import com.paklog.quality.domain.valueobject.InspectionType;
+import java.time.LocalDate;
+
+/**
+ * Failures of one rule on one day for one inspection type.
+ * ruleCode {@link BacktestService#OVERALL} counts inspections with at least one CRITICAL failure.
+ */
+public record BacktestResultRow(String ruleSetVersion, String ruleCode, InspectionType inspectionType,
+                                LocalDate day, long inspections, long failures) {
+}
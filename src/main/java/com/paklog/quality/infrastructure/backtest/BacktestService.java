@@ -0,0 +1,234 @@
+package com.paklog.quality.infrastructure.backtest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.repository.ComplianceRuleRepository;
+import com.paklog.quality.domain.service.InspectionFacts;
+import com.paklog.quality.domain.valueobject.ComplianceLevel;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Replays stored inspections through one or more rule sets.
+ *
+ * The inspectedAt range is cut into one-day chunks scanned in parallel, each by its own
+ * cursor over the inspectedAt index with only the fact fields projected. Per document the
+ * worker refills one reused fact map and fact vector and counts failures into the job's arrays, so memory
+ * is bounded by rule sets x types x days x rules, not by the number of inspections.
+ */
+@Service
+public class BacktestService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(BacktestService.class);
+
+    /** Rule-set name for the currently active rules */
+    public static final String LIVE = "live";
+    /** Pseudo rule code for the overall verdict (any CRITICAL failure) */
+    public static final String OVERALL = "_overall";
+
+    private static final String COLLECTION = "inspection_records";
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final MongoTemplate mongoTemplate;
+    private final ComplianceRuleRepository ruleRepository;
+    private final ExecutorService workers;
+    private final int cursorBatchSize;
+    private final Duration defaultLookback;
+    private final Map<String, BacktestJob> jobs = new ConcurrentHashMap<>();
+
+    public BacktestService(MongoTemplate mongoTemplate,
+                           ComplianceRuleRepository ruleRepository,
+                           @Value("${quality.backtest.parallelism:0}") int parallelism,
+                           @Value("${quality.backtest.cursor-batch-size:5000}") int cursorBatchSize,
+                           @Value("${quality.backtest.default-lookback:90d}") Duration defaultLookback) {
+        this.mongoTemplate = mongoTemplate;
+        this.ruleRepository = ruleRepository;
+        this.cursorBatchSize = cursorBatchSize;
+        this.defaultLookback = defaultLookback;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.workers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "rule-backtest-" + count++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public Collection<BacktestJob> jobs() {
+        return jobs.values();
+    }
+
+    public Optional<BacktestJob> job(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public boolean cancel(String jobId) {
+        BacktestJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    public BacktestJob start(BacktestRequest request) {
+        List<String> versions = request.ruleSetVersions() == null || request.ruleSetVersions().isEmpty()
+            ? List.of(LIVE)
+            : List.copyOf(new LinkedHashSet<>(request.ruleSetVersions()));
+        Instant to = request.to() != null ? request.to() : Instant.now();
+        Instant from = request.from() != null ? request.from() : to.minus(defaultLookback);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Set<InspectionType> types = request.types() == null || request.types().isEmpty()
+            ? EnumSet.allOf(InspectionType.class)
+            : EnumSet.copyOf(request.types());
+
+        ComplianceRule[][][] rules = new ComplianceRule[versions.size()][InspectionType.values().length][];
+        for (int v = 0; v < versions.size(); v++) {
+            for (InspectionType type : InspectionType.values()) {
+                rules[v][type.ordinal()] = types.contains(type)
+                    ? loadRules(versions.get(v), type).toArray(new ComplianceRule[0])
+                    : new ComplianceRule[0];
+            }
+        }
+
+        LocalDate firstDay = LocalDate.ofInstant(from, ZoneOffset.UTC);
+        LocalDate lastDay = LocalDate.ofInstant(to.minusNanos(1), ZoneOffset.UTC);
+        int days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+
+        String jobId = UUID.randomUUID().toString();
+        BacktestJob job = new BacktestJob(jobId, versions, from, to, firstDay, days, rules);
+        jobs.put(jobId, job);
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            int day = d;
+            Instant dayStart = firstDay.plusDays(d).atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant chunkFrom = dayStart.isBefore(from) ? from : dayStart;
+            Instant dayEnd = dayStart.plus(Duration.ofDays(1));
+            Instant chunkTo = dayEnd.isAfter(to) ? to : dayEnd;
+            chunks.add(CompletableFuture.runAsync(() -> scanChunk(job, day, chunkFrom, chunkTo, types), workers));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+            job.finish(failure instanceof CompletionException ? failure.getCause() : failure);
+            log.info("Backtest {} {}: {} inspections at {} per minute",
+                jobId, job.getState(), job.getInspectionsScanned(), Math.round(job.getInspectionsPerMinute()));
+        });
+        log.info("Backtest {} started: rule sets {} over {} days", jobId, versions, days);
+        return job;
+    }
+
+    private List<ComplianceRule> loadRules(String version, InspectionType type) {
+        return LIVE.equals(version)
+            ? ruleRepository.findByType(type)
+            : ruleRepository.findByRuleSetVersion(version, type);
+    }
+
+    private void scanChunk(BacktestJob job, int day, Instant from, Instant to, Set<InspectionType> types) {
+        if (job.isCancelRequested()) {
+            return;
+        }
+        Criteria criteria = Criteria.where("inspectedAt").gte(from).lt(to);
+        if (types.size() < InspectionType.values().length) {
+            criteria = criteria.and("type").in(types.stream().map(Enum::name).toList());
+        }
+        Query query = new Query(criteria).cursorBatchSize(cursorBatchSize);
+        query.fields()
+            .include("type", "temperatureCelsius", "weightKg", "expectedWeightKg",
+                "defectsFound", "itemsInspected", "barcodeVerified")
+            .slice("photoUrls", 1);
+
+        InspectionType[] typeValues = InspectionType.values();
+        ComplianceRule[][][] rules = job.rules;
+        long[][] inspections = job.inspections;
+        long[][][][] failures = job.failures;
+        Map<String, Object> facts = new HashMap<>(16);
+        double[] factVector = new double[InspectionFacts.NAMES.size()];
+        long scanned = 0;
+
+        try (Stream<Document> cursor = mongoTemplate.stream(query, Document.class, COLLECTION)) {
+            Iterator<Document> documents = cursor.iterator();
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                InspectionType type = typeOf(document.getString("type"), typeValues);
+                if (type == null) {
+                    continue;
+                }
+                List<?> photos = document.getList("photoUrls", Object.class);
+                InspectionFacts.fill(facts,
+                    number(document, "temperatureCelsius"),
+                    number(document, "weightKg"),
+                    number(document, "expectedWeightKg"),
+                    (int) number(document, "defectsFound"),
+                    (int) number(document, "itemsInspected"),
+                    Boolean.TRUE.equals(document.getBoolean("barcodeVerified")),
+                    photos != null && !photos.isEmpty());
+                InspectionFacts.toVector(facts, factVector);
+
+                int t = type.ordinal();
+                inspections[t][day]++;
+                for (int v = 0; v < rules.length; v++) {
+                    ComplianceRule[] ruleSet = rules[v][t];
+                    long[] counts = failures[v][t][day];
+                    boolean critical = false;
+                    for (int r = 0; r < ruleSet.length; r++) {
+                        if (!ruleSet[r].check(facts, factVector)) {
+                            counts[r]++;
+                            critical |= ruleSet[r].getLevel() == ComplianceLevel.CRITICAL;
+                        }
+                    }
+                    if (critical) {
+                        counts[ruleSet.length]++;
+                    }
+                }
+
+                if (++scanned % CANCEL_CHECK_INTERVAL == 0) {
+                    job.scanned(CANCEL_CHECK_INTERVAL);
+                    if (job.isCancelRequested()) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            job.scanned(scanned % CANCEL_CHECK_INTERVAL);
+        }
+        job.chunkDone();
+    }
+
+    private static InspectionType typeOf(String name, InspectionType[] values) {
+        if (name == null) {
+            return null;
+        }
+        for (InspectionType type : values) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static double number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
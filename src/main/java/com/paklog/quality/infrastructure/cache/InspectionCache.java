@@ -0,0 +1,54 @@
+package com.paklog.quality.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of inspection records for read-only lookups.
+ * Entries are shared between concurrent readers and are never handed to command paths.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.cache.inspections.enabled", havingValue = "true", matchIfMissing = true)
+public class InspectionCache {
+
+    private final Cache<String, InspectionRecord> cache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public InspectionCache(MeterRegistry meterRegistry,
+                           @Value("${quality.cache.inspections.max-size:50000}") long maxSize,
+                           @Value("${quality.cache.inspections.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "inspections");
+    }
+
+    /**
+     * Cached record, loading it on a miss. Absent records are not cached.
+     */
+    public Optional<InspectionRecord> get(String id, Function<String, Optional<InspectionRecord>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void evict(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Identifies this instance so it can ignore its own invalidation broadcasts
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,135 @@
+package com.paklog.quality.infrastructure.capa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds every open CAPA deadline in a {@link HierarchicalTimingWheel} and escalates the ones
+ * that expire. Open deadlines are loaded from MongoDB on start; new ones and cancellations
+ * arrive from the quality events topic. Every instance tracks every deadline and the
+ * escalation itself is claimed in MongoDB, so any one instance is enough for deadlines to fire.
+ *
+ * The wheel is only touched from the ticker thread. It is created with the bean so deadlines
+ * received before start() queue behind the initial load.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.compliance.capa.enabled", havingValue = "true", matchIfMissing = true)
+public class CapaDeadlineScheduler implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(CapaDeadlineScheduler.class);
+
+    private final CapaUseCase capaUseCase;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final Duration tick;
+    private final Duration retryDelay;
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final Counter escalations;
+    private final ScheduledExecutorService ticker;
+    private volatile boolean running;
+
+    public CapaDeadlineScheduler(CapaUseCase capaUseCase,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${quality.compliance.capa.tick:1s}") Duration tick,
+                                 @Value("${quality.compliance.capa.levels:4}") int levels,
+                                 @Value("${quality.compliance.capa.retry-delay:1m}") Duration retryDelay) {
+        this.capaUseCase = capaUseCase;
+        this.tick = tick;
+        this.retryDelay = retryDelay;
+        // Four levels span 64^4 ticks, about 194 days at one-second ticks
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), levels, System.currentTimeMillis());
+        this.escalations = Counter.builder("quality.capa.escalations")
+            .description("CAPA deadlines escalated by this instance")
+            .register(meterRegistry);
+        Gauge.builder("quality.capa.open-deadlines", tracked, AtomicInteger::get)
+            .description("Open CAPA deadlines tracked in the timing wheel")
+            .register(meterRegistry);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "capa-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.execute(this::loadOpenDeadlines);
+    }
+
+    /**
+     * Track a deadline, replacing any earlier one for the inspection
+     */
+    public void track(String inspectionId, Instant dueAt) {
+        ticker.execute(() -> {
+            wheel.schedule(inspectionId, dueAt.toEpochMilli());
+            tracked.set(wheel.size());
+        });
+    }
+
+    public void untrack(String inspectionId) {
+        ticker.execute(() -> {
+            wheel.cancel(inspectionId);
+            tracked.set(wheel.size());
+        });
+    }
+
+    private void loadOpenDeadlines() {
+        long started = System.nanoTime();
+        try {
+            capaUseCase.forEachOpenDeadline((inspectionId, dueAt) -> wheel.schedule(inspectionId, dueAt.toEpochMilli()));
+            log.info("Tracking {} open CAPA deadlines, loaded in {} ms", wheel.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Failed to load open CAPA deadlines; tracking only new ones", e);
+        }
+        tracked.set(wheel.size());
+    }
+
+    private void advance() {
+        try {
+            wheel.advance(System.currentTimeMillis(), this::expired);
+        } catch (RuntimeException e) {
+            log.error("CAPA deadline tick failed", e);
+        }
+        tracked.set(wheel.size());
+    }
+
+    private void expired(String inspectionId, long deadlineMillis) {
+        Instant dueAt = Instant.ofEpochMilli(deadlineMillis);
+        try {
+            if (capaUseCase.escalate(inspectionId, dueAt)) {
+                escalations.increment();
+            }
+        } catch (RuntimeException e) {
+            // The claim was released; try again later unless a correction cancels it first. The
+            // escalation claim matches the stored dueAt, so the retry keeps the original deadline.
+            log.error("Failed to escalate CAPA for inspection {}; retrying in {}", inspectionId, retryDelay, e);
+            wheel.schedule(inspectionId, deadlineMillis, System.currentTimeMillis() + retryDelay.toMillis());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long period = tick.toMillis();
+        ticker.scheduleAtFixedRate(this::advance, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
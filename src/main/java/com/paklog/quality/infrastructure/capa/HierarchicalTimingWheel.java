@@ -0,0 +1,189 @@
+package com.paklog.quality.infrastructure.capa;
+
+import java.util.*;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck): levels of 64 slots, each level's slot
+ * spanning a whole rotation of the level below. A deadline goes into the coarsest level it
+ * needs, is cascaded into finer levels as its time approaches and fires from level 0 on its
+ * tick. Scheduling and cancelling are O(1) whatever the number of pending deadlines; a tick
+ * costs the entries it fires or cascades. Deadlines past the top level's span wait in its
+ * farthest slot and are re-placed when that slot cascades.
+ *
+ * Deadlines fire on the first tick at or after them, never early. Keys are unique; scheduling
+ * an existing key moves it. Not thread-safe: one thread drives it.
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /**
+     * Receives each expired key with the deadline it was scheduled for
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler<K> {
+        void expired(K key, long deadlineMillis);
+    }
+
+    private final long tickMillis;
+    private final int levels;
+    private final Entry<K>[][] slots;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels < 2 || levels > 10) {
+            throw new IllegalArgumentException("tickMillis must be positive and levels between 2 and 10");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.slots = newSlots(levels);
+        for (Entry<K>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                Entry<K> sentinel = new Entry<>(null);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedule a key, replacing any deadline it had; true if the key was not yet scheduled
+     */
+    public boolean schedule(K key, long deadlineMillis) {
+        return schedule(key, deadlineMillis, deadlineMillis);
+    }
+
+    /**
+     * Schedule a key to fire at fireAtMillis while still reporting deadlineMillis to the
+     * handler, as a retry after the deadline has passed does
+     */
+    public boolean schedule(K key, long deadlineMillis, long fireAtMillis) {
+        Entry<K> entry = entries.get(key);
+        boolean added = entry == null;
+        if (added) {
+            entry = new Entry<>(key);
+            entries.put(key, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.deadlineMillis = deadlineMillis;
+        entry.expiryTick = Math.floorDiv(fireAtMillis + tickMillis - 1, tickMillis);
+        place(entry, currentTick + 1);
+        return added;
+    }
+
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Deadline scheduled for the key, or null
+     */
+    public Long deadlineOf(K key) {
+        Entry<K> entry = entries.get(key);
+        return entry == null ? null : entry.deadlineMillis;
+    }
+
+    /**
+     * Run every tick up to nowMillis, handing expired keys to the handler in deadline order
+     * (tick by tick). The handler may schedule or cancel keys. Returns how many expired.
+     */
+    public int advance(long nowMillis, ExpiryHandler<K> handler) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(slots[level][(int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+            }
+
+            Entry<K> sentinel = slots[0][(int) currentTick & SLOT_MASK];
+            Entry<K> entry;
+            while ((entry = sentinel.next) != sentinel) {
+                unlink(entry);
+                entries.remove(entry.key);
+                handler.expired(entry.key, entry.deadlineMillis);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Farthest deadline that is placed directly rather than parked in the top level
+     */
+    public long horizonMillis() {
+        return tickMillis * (1L << (SLOT_BITS * levels));
+    }
+
+    private void cascade(Entry<K> sentinel) {
+        Entry<K> entry;
+        while ((entry = sentinel.next) != sentinel) {
+            unlink(entry);
+            place(entry, currentTick);
+        }
+    }
+
+    /**
+     * Link the entry into the coarsest level whose rotation still reaches its tick; entries
+     * due before the earliest tick still to fire go into that tick's slot
+     */
+    private void place(Entry<K> entry, long earliestTick) {
+        long tick = Math.max(entry.expiryTick, earliestTick);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        if (delta >= 1L << (SLOT_BITS * levels)) {
+            tick = currentTick + (1L << (SLOT_BITS * levels)) - 1;
+        }
+        Entry<K> sentinel = slots[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK];
+        entry.prev = sentinel.prev;
+        entry.next = sentinel;
+        sentinel.prev.next = entry;
+        sentinel.prev = entry;
+    }
+
+    // Generic arrays cannot be created directly; every slot only ever holds Entry<K>
+    @SuppressWarnings("unchecked")
+    private static <K> Entry<K>[][] newSlots(int levels) {
+        return (Entry<K>[][]) new Entry<?>[levels][SLOTS];
+    }
+
+    private static <K> void unlink(Entry<K> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private long deadlineMillis;
+        private long expiryTick;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+    }
+}
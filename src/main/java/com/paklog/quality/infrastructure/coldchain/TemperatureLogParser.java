@@ -0,0 +1,103 @@
+package com.paklog.quality.infrastructure.coldchain;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.paklog.quality.domain.timeseries.TemperatureReadings;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Streaming parsers for reefer logger dumps. Each reading is handed to the sink as soon as it
+ * is parsed. Timestamps are epoch milliseconds or ISO-8601 instants/offset date-times.
+ *
+ * CSV: {@code timestamp,celsius} per line (comma or semicolon), optional header line,
+ * further columns ignored. NDJSON: one object per line with {@code timestamp} (or {@code time},
+ * {@code t}) and {@code celsius} (or {@code temperature}, {@code value}).
+ */
+public final class TemperatureLogParser {
+
+    private TemperatureLogParser() {
+    }
+
+    public static TemperatureReadings csv(InputStream input) {
+        return sink -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.charAt(0) == '#') {
+                    continue;
+                }
+                int separator = line.indexOf(',');
+                if (separator < 0) {
+                    separator = line.indexOf(';');
+                }
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": expected timestamp,celsius");
+                }
+                int end = line.indexOf(line.charAt(separator), separator + 1);
+                String timestamp = line.substring(0, separator).trim();
+                String celsius = line.substring(separator + 1, end < 0 ? line.length() : end).trim();
+                if (lineNumber == 1 && !startsLikeTimestamp(timestamp)) {
+                    continue;  // header
+                }
+                try {
+                    sink.accept(parseTimestamp(timestamp), Double.parseDouble(celsius));
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    public static TemperatureReadings ndjson(InputStream input, JsonFactory jsonFactory) {
+        return sink -> {
+            try (JsonParser parser = jsonFactory.createParser(input)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new IllegalArgumentException("Expected one JSON object per line at " + parser.currentLocation());
+                    }
+                    long timestamp = Long.MIN_VALUE;
+                    double celsius = Double.NaN;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        JsonToken value = parser.nextToken();
+                        switch (field) {
+                            case "timestamp", "time", "t" -> timestamp = value == JsonToken.VALUE_STRING
+                                ? parseTimestamp(parser.getText())
+                                : parser.getLongValue();
+                            case "celsius", "temperature", "value" -> celsius = parser.getDoubleValue();
+                            default -> parser.skipChildren();
+                        }
+                    }
+                    if (timestamp == Long.MIN_VALUE || Double.isNaN(celsius)) {
+                        throw new IllegalArgumentException("Reading without timestamp or celsius at " + parser.currentLocation());
+                    }
+                    sink.accept(timestamp, celsius);
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private static boolean startsLikeTimestamp(String field) {
+        return !field.isEmpty() && Character.isDigit(field.charAt(0));
+    }
+
+    private static long parseTimestamp(String text) {
+        if (text.indexOf('T') < 0 && text.indexOf('-', 1) < 0) {
+            return Long.parseLong(text);
+        }
+        if (text.endsWith("Z")) {
+            return Instant.parse(text).toEpochMilli();
+        }
+        return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+    }
+}
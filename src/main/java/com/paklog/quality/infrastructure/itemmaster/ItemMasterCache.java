@@ -0,0 +1,268 @@
+package com.paklog.quality.infrastructure.itemmaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.out.ItemMasterPort;
+import com.paklog.quality.domain.barcode.GtinBloomFilter;
+import com.paklog.quality.domain.barcode.Gs1Parser;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import com.paklog.quality.domain.valueobject.ItemReference;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Item master reference data held in an {@link ItemMasterTable}, so validation looks up the
+ * expected weight, tolerance and barcode in O(1) without leaving the process.
+ *
+ * The bulk file is loaded on start and reloaded whenever its modification time changes;
+ * single-item changes arrive from the feed in between. Every mutation runs on one refresh
+ * thread, which is the table's single writer: a reload builds a new table while readers keep
+ * using the old one, and feed updates received meanwhile are applied after the swap.
+ * Loading starts when the bean is created; until it completes lookups find nothing and
+ * validation is skipped.
+ *
+ * Barcodes that are valid GTINs also go into a Bloom filter, rebuilt with each load and
+ * extended by feed upserts, which barcode verification uses to recognise unknown GTINs.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.item-master.enabled", havingValue = "true")
+public class ItemMasterCache implements ItemMasterPort, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ItemMasterCache.class);
+
+    private final Path bulkFile;
+    private final int expectedItems;
+    private final Duration reloadCheckInterval;
+    private final double gtinFalsePositiveRate;
+    private final MeterRegistry meterRegistry;
+    private final Counter updates;
+
+    private volatile ItemMasterTable table;
+    private volatile GtinBloomFilter knownGtins;
+    private volatile Instant loadedAt;
+    private long loadedFileModified = Long.MIN_VALUE;
+    private final ScheduledExecutorService refresher;
+    private volatile boolean running;
+
+    public ItemMasterCache(MeterRegistry meterRegistry,
+                           @Value("${quality.item-master.bulk-file:}") String bulkFile,
+                           @Value("${quality.item-master.expected-items:1000000}") int expectedItems,
+                           @Value("${quality.item-master.reload-check-interval:5m}") Duration reloadCheckInterval,
+                           @Value("${quality.item-master.gtin-false-positive-rate:0.01}") double gtinFalsePositiveRate) {
+        this.bulkFile = bulkFile.isBlank() ? null : Path.of(bulkFile);
+        this.expectedItems = expectedItems;
+        this.reloadCheckInterval = reloadCheckInterval;
+        this.gtinFalsePositiveRate = gtinFalsePositiveRate;
+        this.meterRegistry = meterRegistry;
+        this.table = new ItemMasterTable(16);
+        this.knownGtins = GtinBloomFilter.create(expectedItems, gtinFalsePositiveRate);
+        this.updates = Counter.builder("quality.item-master.updates")
+            .description("Item master changes applied from the feed")
+            .register(meterRegistry);
+
+        // Created here rather than in start() so feed updates that arrive first queue behind the initial load
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "item-master-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs once the cache is fully constructed but before it is injected into the feed
+     */
+    @PostConstruct
+    void initialize() {
+        Gauge.builder("quality.item-master.items", this, cache -> cache.table.size())
+            .description("Items in the item master cache")
+            .register(meterRegistry);
+        Gauge.builder("quality.item-master.memory", this, cache -> cache.table.memoryBytes())
+            .description("Bytes held by the item master table")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        refresher.execute(() -> reloadIfChanged(true));
+    }
+
+    @Override
+    public Optional<ItemReference> findByItemId(String itemId) {
+        return itemId == null ? Optional.empty() : Optional.ofNullable(table.get(itemId));
+    }
+
+    @Override
+    public GtinBloomFilter knownGtins() {
+        return knownGtins;
+    }
+
+    /**
+     * Queue an insert or replacement from the feed
+     */
+    public void upsert(ItemReference reference) {
+        refresher.execute(() -> {
+            ItemMasterTable current = table;
+            if (current.isFull()) {
+                current = current.copy(current.size() * 2);
+                table = current;
+            }
+            current.put(reference);
+            addGtin(knownGtins, reference.barcode());
+            updates.increment();
+        });
+    }
+
+    /**
+     * Queue a removal from the feed
+     */
+    public void remove(String itemId) {
+        refresher.execute(() -> {
+            if (table.remove(itemId)) {
+                updates.increment();
+            }
+        });
+    }
+
+    /**
+     * Reload the bulk file now, whether or not it changed
+     */
+    public CompletableFuture<Void> reload() {
+        return CompletableFuture.runAsync(() -> reloadIfChanged(true), refresher);
+    }
+
+    public ItemMasterStatus status() {
+        ItemMasterTable current = table;
+        GtinBloomFilter gtins = knownGtins;
+        return new ItemMasterStatus(current.size(), current.capacity(), current.memoryBytes(),
+            gtins.added(), gtins.memoryBytes(), gtins.estimatedFalsePositiveRate(),
+            bulkFile == null ? null : bulkFile.toString(), loadedAt, (long) updates.count());
+    }
+
+    private void reloadIfChanged(boolean force) {
+        if (bulkFile == null) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(bulkFile).toMillis();
+            if (!force && modified == loadedFileModified) {
+                return;
+            }
+            long started = System.nanoTime();
+            int sizeFor = Math.max(expectedItems, table.size());
+            GtinBloomFilter gtins = GtinBloomFilter.create(sizeFor, gtinFalsePositiveRate);
+            ItemMasterTable loaded = load(bulkFile, sizeFor, gtins);
+            table = loaded;
+            knownGtins = gtins;
+            if (gtins.added() > gtins.expectedItems()) {
+                log.warn("{} GTINs exceed the {} the filter was sized for; unknown-GTIN checks run at ~{} false positives until the next reload",
+                    gtins.added(), gtins.expectedItems(), String.format("%.2f%%", gtins.estimatedFalsePositiveRate() * 100));
+            }
+            loadedFileModified = modified;
+            loadedAt = Instant.now();
+            log.info("Loaded {} items from {} in {} ms ({} MB)", loaded.size(), bulkFile,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), loaded.memoryBytes() >> 20);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load item master from {}; keeping {} cached items", bulkFile, table.size(), e);
+        }
+    }
+
+    /**
+     * CSV with a header line: itemId,expectedWeightKg,weightTolerancePercent,barcode.
+     * Empty fields mean unknown. Barcodes that are GTINs are added to knownGtins.
+     */
+    static ItemMasterTable load(Path file, int expectedItems, GtinBloomFilter knownGtins) throws IOException {
+        ItemMasterTable loaded = new ItemMasterTable(expectedItems);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();  // header
+            int lineNumber = 1;
+            String[] fields = new String[4];
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int count = split(line, fields);
+                if (count < 2 || fields[0].isEmpty()) {
+                    throw new IOException(file + " line " + lineNumber + ": expected itemId,expectedWeightKg,weightTolerancePercent,barcode");
+                }
+                if (loaded.isFull()) {
+                    loaded = loaded.copy(loaded.size() * 2);
+                }
+                try {
+                    String barcode = count < 4 || fields[3].isEmpty() ? null : fields[3];
+                    loaded.put(new ItemReference(
+                        fields[0],
+                        fields[1].isEmpty() ? Double.NaN : Double.parseDouble(fields[1]),
+                        count < 3 || fields[2].isEmpty() ? null : Double.valueOf(fields[2]),
+                        barcode));
+                    addGtin(knownGtins, barcode);
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + " line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static void addGtin(GtinBloomFilter knownGtins, String barcode) {
+        if (barcode != null) {
+            long gtin = Gs1Parser.gtinValue(barcode);
+            if (gtin != Gs1Scan.NONE) {
+                knownGtins.add(gtin);
+            }
+        }
+    }
+
+    private static int split(String line, String[] fields) {
+        int count = 0;
+        int start = 0;
+        while (count < fields.length) {
+            int comma = line.indexOf(',', start);
+            fields[count++] = (comma < 0 ? line.substring(start) : line.substring(start, comma)).trim();
+            if (comma < 0) {
+                break;
+            }
+            start = comma + 1;
+        }
+        return count;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long period = reloadCheckInterval.toMillis();
+        refresher.scheduleWithFixedDelay(() -> reloadIfChanged(false), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public record ItemMasterStatus(
+        int items,
+        int capacity,
+        long memoryBytes,
+        int knownGtins,
+        long gtinFilterBytes,
+        double gtinFalsePositiveRate,
+        String bulkFile,
+        Instant loadedAt,
+        long updatesApplied
+    ) {}
+}
@@ -0,0 +1,287 @@
+package com.paklog.quality.infrastructure.itemmaster;
+
+import com.paklog.quality.domain.valueobject.ItemReference;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table of item reference data in a single long[], sized for tens of
+ * millions of SKUs without an object per entry.
+ *
+ * Each slot is three longs: a 64-bit hash of the itemId, then the expected weight (float
+ * bits), tolerance (hundredths of a percent, 16 bits) and a 16-bit second fingerprint of
+ * the itemId, then the barcode. Item ids are not stored. Two ids must collide on all 80
+ * bits to be confused, which is about 1e-9 at 50 million items. Numeric barcodes up to
+ * 16 digits, which covers every GTIN, are packed with their digit count so leading zeros
+ * survive. Other barcodes, SSCCs among them, go to a side array.
+ *
+ * That is 24 bytes a slot, or 32 bytes an item at the 0.75 maximum load. There is a single
+ * writer and any number of concurrent readers. Writers bump a sequence number around each
+ * slot update (a seqlock), and readers retry if it changed while they read.
+ * The table never grows in place: the writer copies it into a larger one and publishes that.
+ */
+public final class ItemMasterTable {
+
+    private static final int SLOT = 3;
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = 1L;
+    private static final int NO_TOLERANCE = 0xFFFF;
+    private static final int DIGITS_SHIFT = 56;
+    private static final long DIGITS_VALUE_MASK = (1L << DIGITS_SHIFT) - 1;
+    // 10^16 < 2^56, so the value never reaches the digit count
+    private static final int MAX_PACKED_DIGITS = 16;
+    private static final double MAX_LOAD = 0.75;
+
+    private final long[] slots;
+    private final int mask;
+    private volatile String[] textBarcodes = new String[16];
+    private int textBarcodeCount;
+    private int size;
+    private int used;
+    private volatile long sequence;
+
+    public ItemMasterTable(int expectedItems) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) Math.min(1 << 29, (long) (expectedItems / MAX_LOAD) + 1)) - 1) << 1;
+        this.slots = new long[capacity * SLOT];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Reference data for itemId, or null
+     */
+    public ItemReference get(String itemId) {
+        long key = key(itemId);
+        int fingerprint = fingerprint(itemId);
+        while (true) {
+            long before = sequence;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int slot = find(key, fingerprint);
+            long values = slot < 0 ? 0 : slots[slot + 1];
+            long barcode = slot < 0 ? 0 : slots[slot + 2];
+            VarHandle.acquireFence();
+            if (sequence != before) {
+                continue;
+            }
+            return slot < 0 ? null : decode(itemId, values, barcode);
+        }
+    }
+
+    /**
+     * Insert or replace; the caller must have checked {@link #isFull()}. Writer thread only.
+     */
+    public void put(ItemReference reference) {
+        long key = key(reference.itemId());
+        int fingerprint = fingerprint(reference.itemId());
+        long values = ((long) Float.floatToRawIntBits((float) reference.expectedWeightKg()) << 32)
+            | ((long) tolerance(reference.weightTolerancePercent()) << 16)
+            | fingerprint;
+        long barcode = encodeBarcode(reference.barcode());
+
+        int slot = find(key, fingerprint);
+        if (slot < 0) {
+            slot = insertionSlot(key);
+            if (slots[slot] == EMPTY) {
+                used++;
+            }
+            size++;
+        }
+        beginWrite();
+        slots[slot + 1] = values;
+        slots[slot + 2] = barcode;
+        slots[slot] = key;
+        endWrite();
+    }
+
+    /**
+     * Writer thread only
+     */
+    public boolean remove(String itemId) {
+        int slot = find(key(itemId), fingerprint(itemId));
+        if (slot < 0) {
+            return false;
+        }
+        beginWrite();
+        slots[slot] = TOMBSTONE;
+        endWrite();
+        size--;
+        return true;
+    }
+
+    public boolean isFull() {
+        return used + 1 > (mask + 1) * MAX_LOAD;
+    }
+
+    /**
+     * A new table with room for at least minItems holding the same entries, without tombstones
+     */
+    public ItemMasterTable copy(int minItems) {
+        ItemMasterTable copy = new ItemMasterTable(Math.max(minItems, size));
+        String[] text = textBarcodes;
+        for (int slot = 0; slot < slots.length; slot += SLOT) {
+            long key = slots[slot];
+            if (key == EMPTY || key == TOMBSTONE) {
+                continue;
+            }
+            long barcode = slots[slot + 2];
+            if (barcode < 0) {
+                barcode = copy.encodeText(text[(int) (-barcode - 1)]);
+            }
+            int target = copy.insertionSlot(key);
+            copy.slots[target + 1] = slots[slot + 1];
+            copy.slots[target + 2] = barcode;
+            copy.slots[target] = key;
+            copy.used++;
+            copy.size++;
+        }
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long memoryBytes() {
+        return (long) slots.length * Long.BYTES;
+    }
+
+    private int find(long key, int fingerprint) {
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        while (true) {
+            int slot = index * SLOT;
+            long candidate = slots[slot];
+            if (candidate == EMPTY) {
+                return -1;
+            }
+            if (candidate == key && (slots[slot + 1] & 0xFFFF) == fingerprint) {
+                return slot;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private int insertionSlot(long key) {
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        while (true) {
+            int slot = index * SLOT;
+            long candidate = slots[slot];
+            if (candidate == EMPTY || candidate == TOMBSTONE) {
+                return slot;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void beginWrite() {
+        sequence = sequence + 1;
+        VarHandle.storeStoreFence();
+    }
+
+    private void endWrite() {
+        sequence = sequence + 1;
+    }
+
+    private ItemReference decode(String itemId, long values, long barcode) {
+        double weight = Float.intBitsToFloat((int) (values >>> 32));
+        int tolerance = (int) (values >>> 16) & 0xFFFF;
+        return new ItemReference(
+            itemId,
+            weight,
+            tolerance == NO_TOLERANCE ? null : tolerance / 100.0,
+            decodeBarcode(barcode));
+    }
+
+    private static int tolerance(Double percent) {
+        if (percent == null || percent.isNaN()) {
+            return NO_TOLERANCE;
+        }
+        return (int) Math.max(0, Math.min(NO_TOLERANCE - 1, Math.round(percent * 100)));
+    }
+
+    private long encodeBarcode(String barcode) {
+        if (barcode == null || barcode.isEmpty()) {
+            return 0L;
+        }
+        int digits = barcode.length();
+        if (digits <= MAX_PACKED_DIGITS) {
+            long value = 0;
+            boolean numeric = true;
+            for (int i = 0; i < digits && numeric; i++) {
+                char c = barcode.charAt(i);
+                numeric = c >= '0' && c <= '9';
+                value = value * 10 + (c - '0');
+            }
+            if (numeric) {
+                return ((long) digits << DIGITS_SHIFT) | value;
+            }
+        }
+        return encodeText(barcode);
+    }
+
+    private long encodeText(String barcode) {
+        String[] text = textBarcodes;
+        if (textBarcodeCount == text.length) {
+            text = Arrays.copyOf(text, text.length * 2);
+        }
+        text[textBarcodeCount] = barcode;
+        textBarcodes = text;
+        return -(++textBarcodeCount);
+    }
+
+    private String decodeBarcode(long barcode) {
+        if (barcode == 0L) {
+            return null;
+        }
+        if (barcode < 0) {
+            return textBarcodes[(int) (-barcode - 1)];
+        }
+        int digits = (int) (barcode >>> DIGITS_SHIFT);
+        long value = barcode & DIGITS_VALUE_MASK;
+        byte[] text = new byte[digits];
+        for (int i = digits - 1; i >= 0; i--) {
+            text[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(text, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Four UTF-16 code units per multiply, then a murmur3 finalizer; 0 and 1 are reserved
+     */
+    static long key(String itemId) {
+        int length = itemId.length();
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = ((long) itemId.charAt(i) << 48) | ((long) itemId.charAt(i + 1) << 32)
+                | ((long) itemId.charAt(i + 2) << 16) | itemId.charAt(i + 3);
+            h = (h ^ block) * 0xff51afd7ed558ccdL;
+            h ^= h >>> 29;
+        }
+        long tail = 0;
+        for (; i < length; i++) {
+            tail = (tail << 16) | itemId.charAt(i);
+        }
+        h = (h ^ tail) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY || h == TOMBSTONE ? h + 2 : h;
+    }
+
+    /**
+     * Independent of {@link #key}: String.hashCode spread by a multiplicative hash
+     */
+    static int fingerprint(String itemId) {
+        return (itemId.hashCode() * 0x9E3779B9) >>> 16;
+    }
+}
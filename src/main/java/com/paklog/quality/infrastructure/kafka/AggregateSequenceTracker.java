@@ -0,0 +1,67 @@
+package com.paklog.quality.infrastructure.kafka;
+
+import io.cloudevents.CloudEvent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the last sequence seen per aggregate for a consumer.
+ *
+ * Events are keyed by aggregate id, so a consumer that processes each partition on its own
+ * thread already sees every aggregate in order; this only has to recognise redeliveries and
+ * report gaps, never reorder. Bounded to the most recently seen aggregates; an aggregate that
+ * has been forgotten is accepted as in order.
+ */
+public class AggregateSequenceTracker {
+
+    public enum Outcome {
+        IN_ORDER,
+        DUPLICATE,
+        GAP
+    }
+
+    private final Map<String, Long> lastSequence;
+
+    public AggregateSequenceTracker(int maxAggregates) {
+        this.lastSequence = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxAggregates;
+            }
+        };
+    }
+
+    public synchronized Outcome observe(String aggregateId, long sequence) {
+        if (aggregateId == null || sequence <= 0) {
+            return Outcome.IN_ORDER;
+        }
+        Long last = lastSequence.get(aggregateId);
+        if (last != null && sequence <= last) {
+            return Outcome.DUPLICATE;
+        }
+        lastSequence.put(aggregateId, sequence);
+        return last != null && sequence > last + 1 ? Outcome.GAP : Outcome.IN_ORDER;
+    }
+
+    public Outcome observe(CloudEvent event) {
+        return observe(event.getSubject(), sequenceOf(event));
+    }
+
+    /**
+     * Extensions arrive as strings in Kafka binary mode and as numbers in structured mode
+     */
+    public static long sequenceOf(CloudEvent event) {
+        Object sequence = event.getExtension(EventPublisher.SEQUENCE_EXTENSION);
+        if (sequence instanceof Number number) {
+            return number.longValue();
+        }
+        if (sequence != null) {
+            try {
+                return Long.parseLong(sequence.toString());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.paklog.quality.infrastructure.kafka;
+
+import com.paklog.quality.infrastructure.cache.InspectionCache;
+import io.cloudevents.CloudEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies cache evictions broadcast by other instances.
+ * Each instance joins its own consumer group so every instance sees every eviction.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.cache.inspections.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+
+    private final InspectionCache cache;
+    private final String ownSource;
+
+    public CacheInvalidationListener(InspectionCache cache) {
+        this.cache = cache;
+        this.ownSource = "https://paklog.com/quality/nodes/" + cache.getNodeId();
+    }
+
+    @KafkaListener(
+        topics = "${quality.cache.inspections.invalidation-topic:quality-cache-invalidations}",
+        groupId = "quality-cache-${random.uuid}")
+    public void onInvalidation(CloudEvent invalidation) {
+        if (!CacheInvalidationPublisher.EVENT_TYPE.equals(invalidation.getType())
+                || invalidation.getSubject() == null
+                || ownSource.equals(String.valueOf(invalidation.getSource()))) {
+            return;
+        }
+        cache.evict(invalidation.getSubject());
+    }
+}
@@ -0,0 +1,54 @@
+package com.paklog.quality.infrastructure.kafka;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.infrastructure.cache.InspectionCache;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Broadcasts inspection cache evictions to every instance
+ */
+@Component
+@ConditionalOnProperty(name = "quality.cache.inspections.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationPublisher {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    static final String EVENT_TYPE = "com.paklog.quality.InspectionCacheInvalidated";
+
+    private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private final URI source;
+
+    @Value("${quality.cache.inspections.invalidation-topic:quality-cache-invalidations}")
+    private String topic;
+
+    public CacheInvalidationPublisher(KafkaTemplate<String, CloudEvent> kafkaTemplate, InspectionCache cache) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.source = URI.create("https://paklog.com/quality/nodes/" + cache.getNodeId());
+    }
+
+    public void publish(String inspectionId) {
+        try {
+            CloudEvent invalidation = CloudEventBuilder.v1()
+                .withId(UUID.randomUUID().toString())
+                .withType(EVENT_TYPE)
+                .withSource(source)
+                .withSubject(inspectionId)
+                .withTime(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+
+            kafkaTemplate.send(topic, inspectionId, invalidation);
+        } catch (Exception e) {
+            // Other instances fall back to TTL expiry
+            log.error("Failed to broadcast cache invalidation for inspection {}", inspectionId, e);
+        }
+    }
+}
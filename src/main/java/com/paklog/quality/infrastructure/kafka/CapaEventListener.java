@@ -0,0 +1,53 @@
+package com.paklog.quality.infrastructure.kafka;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import com.paklog.quality.infrastructure.capa.CapaDeadlineScheduler;
+import io.cloudevents.CloudEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this instance's timing wheel in step with the CAPA deadlines in MongoDB: tracks the
+ * deadline opened with NonConformanceCreated or ComplianceViolation and drops it on
+ * CorrectiveActionTaken. The deadlines themselves are written by the service that raises the
+ * events, so an event missed here only costs this instance its timer; every instance joins its
+ * own consumer group, and open deadlines are reloaded on start.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.compliance.capa.enabled", havingValue = "true", matchIfMissing = true)
+public class CapaEventListener {
+
+    static final String NON_CONFORMANCE_CREATED = "com.paklog.quality.NonConformanceCreated";
+    static final String COMPLIANCE_VIOLATION = "com.paklog.quality.ComplianceViolation";
+    static final String CORRECTIVE_ACTION_TAKEN = "com.paklog.quality.CorrectiveActionTaken";
+
+    private final CapaUseCase capaUseCase;
+    private final CapaDeadlineScheduler scheduler;
+
+    public CapaEventListener(CapaUseCase capaUseCase, CapaDeadlineScheduler scheduler) {
+        this.capaUseCase = capaUseCase;
+        this.scheduler = scheduler;
+    }
+
+    @KafkaListener(
+        topics = "${kafka.topic:quality-events}",
+        groupId = "quality-capa-${random.uuid}")
+    public void onEvent(CloudEvent event) {
+        String inspectionId = event.getSubject();
+        String type = event.getType();
+        if (inspectionId == null || type == null) {
+            return;
+        }
+
+        switch (type) {
+            case NON_CONFORMANCE_CREATED, COMPLIANCE_VIOLATION -> capaUseCase.getDeadline(inspectionId)
+                .filter(CapaDeadline::isOpen)
+                .ifPresent(deadline -> scheduler.track(inspectionId, deadline.getDueAt()));
+            case CORRECTIVE_ACTION_TAKEN -> scheduler.untrack(inspectionId);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.paklog.quality.infrastructure.kafka;
+
+import com.paklog.quality.infrastructure.analytics.DefectAnalyticsService;
+import io.cloudevents.CloudEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings defects recorded on other instances into this instance's defect analytics. Every
+ * instance joins its own consumer group and re-reads the inspection on DefectDetected and
+ * InspectionCompleted; inspections it saved itself are already held, so the read adds nothing.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.analytics.defects.enabled", havingValue = "true")
+public class DefectAnalyticsListener {
+
+    static final String DEFECT_DETECTED = "com.paklog.quality.DefectDetected";
+    static final String INSPECTION_COMPLETED = "com.paklog.quality.InspectionCompleted";
+
+    private final DefectAnalyticsService analytics;
+
+    public DefectAnalyticsListener(DefectAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+    @KafkaListener(
+        topics = "${kafka.topic:quality-events}",
+        groupId = "quality-defect-analytics-${random.uuid}")
+    public void onEvent(CloudEvent event) {
+        String inspectionId = event.getSubject();
+        if (inspectionId != null && (DEFECT_DETECTED.equals(event.getType()) || INSPECTION_COMPLETED.equals(event.getType()))) {
+            analytics.refresh(inspectionId);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.paklog.quality.infrastructure.kafka;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.paklog.quality.application.port.out.PublishEventPort;
 import com.paklog.quality.domain.event.DomainEvent;
 import io.cloudevents.CloudEvent;
@@ -10,33 +11,88 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import java.net.URI;
+import java.util.List;
 
+/**
+ * Publishes domain events as CloudEvents keyed by aggregate id, so all events of one
+ * inspection land on one partition in the order they were raised. The aggregate id travels
+ * as the CloudEvent subject and the per-aggregate sequence as the "sequence" extension.
+ */
 @Component
 public class EventPublisher implements PublishEventPort {
     private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
 
+    /** CloudEvent extension carrying the site that produced the event */
+    public static final String SITE_EXTENSION = "site";
+    /** CloudEvent extension carrying the event's position in its aggregate's stream */
+    public static final String SEQUENCE_EXTENSION = "sequence";
+
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
 
     @Value("${kafka.topic:quality-events}")
     private String topic;
 
-    public EventPublisher(KafkaTemplate<String, CloudEvent> kafkaTemplate) {
+    @Value("${quality.inspection.number.site-id:DC01}")
+    private String siteId;
+
+    public EventPublisher(KafkaTemplate<String, CloudEvent> kafkaTemplate, ObjectMapper objectMapper) {
         this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public void publish(DomainEvent event) {
+        send(event);
+    }
+
+    /**
+     * Sends the events back to back on the same key. With the idempotent producer they stay
+     * in order through retries, and within linger.ms they go out as one record batch.
+     */
+    @Override
+    public void publishAll(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            send(event);
+        }
+        if (!events.isEmpty()) {
+            log.info("Published {} events for aggregate {}", events.size(), events.get(0).getAggregateId());
+        }
+    }
+
+    /**
+     * Sends everything before flushing once, so the producer packs the batch into as few
+     * requests as the partitions allow
+     */
+    @Override
+    public void publishBatch(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (DomainEvent event : events) {
+            send(event);
+        }
+        kafkaTemplate.flush();
+        log.info("Published a batch of {} events", events.size());
+    }
+
+    private void send(DomainEvent event) {
         try {
-            CloudEvent cloudEvent = CloudEventBuilder.v1()
+            String key = event.getAggregateId() != null ? event.getAggregateId() : event.getEventId();
+            CloudEventBuilder builder = CloudEventBuilder.v1()
                 .withId(event.getEventId())
                 .withType("com.paklog.quality." + event.getEventType())
                 .withSource(URI.create("https://paklog.com/quality"))
                 .withTime(event.getOccurredAt().atOffset(java.time.ZoneOffset.UTC))
-                .withData("application/json", event.toString().getBytes())
-                .build();
+                .withExtension(SITE_EXTENSION, siteId)
+                .withData("application/json", objectMapper.writeValueAsBytes(event));
+            if (event.getAggregateId() != null) {
+                builder.withSubject(event.getAggregateId())
+                    .withExtension(SEQUENCE_EXTENSION, event.getSequence());
+            }
 
-            kafkaTemplate.send(topic, event.getEventId(), cloudEvent);
-            log.info("Published event: {}", event.getEventType());
+            kafkaTemplate.send(topic, key, builder.build());
+            log.debug("Published event: {} #{} for {}", event.getEventType(), event.getSequence(), key);
         } catch (Exception e) {
             log.error("Failed to publish event: {}", event.getEventType(), e);
         }
@@ -0,0 +1,34 @@
+package com.paklog.quality.infrastructure.kafka;
+
+import com.paklog.quality.infrastructure.analytics.InspectorAnomalyService;
+import io.cloudevents.CloudEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every completed inspection, from whichever instance completed it, into this
+ * instance's inspector statistics. Every instance joins its own consumer group.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.analytics.inspectors.enabled", havingValue = "true")
+public class InspectorAnomalyListener {
+
+    static final String INSPECTION_COMPLETED = "com.paklog.quality.InspectionCompleted";
+
+    private final InspectorAnomalyService anomalies;
+
+    public InspectorAnomalyListener(InspectorAnomalyService anomalies) {
+        this.anomalies = anomalies;
+    }
+
+    @KafkaListener(
+        topics = "${kafka.topic:quality-events}",
+        groupId = "quality-inspector-analytics-${random.uuid}")
+    public void onEvent(CloudEvent event) {
+        String inspectionId = event.getSubject();
+        if (inspectionId != null && INSPECTION_COMPLETED.equals(event.getType())) {
+            anomalies.refresh(inspectionId);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.paklog.quality.infrastructure.kafka;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.quality.domain.valueobject.ItemReference;
+import com.paklog.quality.infrastructure.itemmaster.ItemMasterCache;
+import io.cloudevents.CloudEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies item master changes from the catalog feed between bulk reloads. The subject is the
+ * itemId; upserts carry expectedWeightKg, weightTolerancePercent and barcode as JSON data.
+ * Each instance joins its own consumer group so every cache sees every change.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.item-master.feed.enabled", havingValue = "true")
+public class ItemMasterFeedListener {
+    private static final Logger log = LoggerFactory.getLogger(ItemMasterFeedListener.class);
+
+    static final String UPSERTED = "com.paklog.catalog.item.upserted";
+    static final String DELETED = "com.paklog.catalog.item.deleted";
+
+    private final ItemMasterCache cache;
+    private final ObjectMapper objectMapper;
+
+    public ItemMasterFeedListener(ItemMasterCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(
+        topics = "${quality.item-master.feed.topic:catalog.item-master.changes}",
+        groupId = "quality-item-master-${random.uuid}")
+    public void onChange(CloudEvent event) {
+        String itemId = event.getSubject();
+        if (itemId == null) {
+            return;
+        }
+        if (DELETED.equals(event.getType())) {
+            cache.remove(itemId);
+            return;
+        }
+        if (!UPSERTED.equals(event.getType()) || event.getData() == null) {
+            return;
+        }
+
+        try {
+            JsonNode data = objectMapper.readTree(event.getData().toBytes());
+            cache.upsert(new ItemReference(
+                itemId,
+                data.hasNonNull("expectedWeightKg") ? data.get("expectedWeightKg").asDouble() : Double.NaN,
+                data.hasNonNull("weightTolerancePercent") ? data.get("weightTolerancePercent").asDouble() : null,
+                data.hasNonNull("barcode") ? data.get("barcode").asText() : null));
+        } catch (Exception e) {
+            log.warn("Skipping item master change {} for {} with unreadable payload", event.getId(), itemId, e);
+        }
+    }
+}
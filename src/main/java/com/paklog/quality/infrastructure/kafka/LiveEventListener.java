@@ -0,0 +1,73 @@
+package com.paklog.quality.infrastructure.kafka;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.quality.infrastructure.stream.LiveEventHub;
+import io.cloudevents.CloudEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Feeds the live event stream from the quality events topic.
+ * Each instance joins its own consumer group so its subscribers see events from every instance.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.stream.enabled", havingValue = "true", matchIfMissing = true)
+public class LiveEventListener {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventListener.class);
+
+    private static final String TYPE_PREFIX = "com.paklog.quality.";
+    private static final Set<String> STREAMED_TYPES = Set.of("InspectionCompleted", "DefectDetected", "ComplianceViolation");
+
+    private final LiveEventHub hub;
+    private final ObjectMapper objectMapper;
+    private final AggregateSequenceTracker sequences;
+
+    public LiveEventListener(LiveEventHub hub, ObjectMapper objectMapper,
+                             @Value("${quality.stream.replay-size:10000}") int trackedAggregates) {
+        this.hub = hub;
+        this.objectMapper = objectMapper;
+        this.sequences = new AggregateSequenceTracker(trackedAggregates);
+    }
+
+    @KafkaListener(topics = "${kafka.topic:quality-events}", groupId = "quality-stream-${random.uuid}")
+    public void onEvent(CloudEvent event) {
+        String type = event.getType();
+        if (type == null || !type.startsWith(TYPE_PREFIX)) {
+            return;
+        }
+        type = type.substring(TYPE_PREFIX.length());
+        AggregateSequenceTracker.Outcome order = sequences.observe(event);
+        if (order == AggregateSequenceTracker.Outcome.DUPLICATE) {
+            return;
+        }
+        if (order == AggregateSequenceTracker.Outcome.GAP) {
+            log.warn("Sequence gap before event {} #{} of inspection {}",
+                event.getId(), AggregateSequenceTracker.sequenceOf(event), event.getSubject());
+        }
+        if (!STREAMED_TYPES.contains(type) || event.getData() == null) {
+            return;
+        }
+
+        byte[] payload = event.getData().toBytes();
+        String result = null;
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            if (node.hasNonNull("result")) {
+                result = node.get("result").asText();
+            }
+        } catch (Exception e) {
+            log.warn("Skipping live event {} with unreadable payload", event.getId(), e);
+            return;
+        }
+        Object site = event.getExtension(EventPublisher.SITE_EXTENSION);
+        hub.publish(event.getId(), type, site == null ? null : site.toString(), result,
+            new String(payload, StandardCharsets.UTF_8));
+    }
+}
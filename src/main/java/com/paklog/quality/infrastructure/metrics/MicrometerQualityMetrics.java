@@ -0,0 +1,125 @@
+package com.paklog.quality.infrastructure.metrics;
+
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.domain.valueobject.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer adapter for {@link QualityMetricsPort}.
+ * All meters are registered up front and indexed by enum ordinal, so recording never
+ * touches the registry or builds tag lists on the hot path.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MicrometerQualityMetrics implements QualityMetricsPort {
+
+    private final Timer[][] stageTimers;
+    private final Timer[] operationTimers;
+    private final Counter[] resultCounters;
+    private final Counter[] defectCounters;
+    private final Counter unknownDefectCounter;
+    private final Counter[] ruleFailureCounters;
+
+    public MicrometerQualityMetrics(MeterRegistry registry,
+                                    @Value("${quality.metrics.slo-buckets:5ms,10ms,25ms,50ms,100ms,250ms,500ms,1s}") Duration[] sloBuckets) {
+        Operation[] operations = Operation.values();
+        Stage[] stages = Stage.values();
+
+        this.stageTimers = new Timer[operations.length][stages.length];
+        this.operationTimers = new Timer[operations.length];
+        for (Operation operation : operations) {
+            String operationTag = tag(operation);
+            operationTimers[operation.ordinal()] = Timer.builder("quality.inspection.operation")
+                .description("End-to-end latency of inspection use cases")
+                .tag("operation", operationTag)
+                .serviceLevelObjectives(sloBuckets)
+                .register(registry);
+
+            for (Stage stage : stages) {
+                stageTimers[operation.ordinal()][stage.ordinal()] = Timer.builder("quality.inspection.stage")
+                    .description("Latency of individual stages within inspection use cases")
+                    .tag("operation", operationTag)
+                    .tag("stage", tag(stage))
+                    .serviceLevelObjectives(sloBuckets)
+                    .register(registry);
+            }
+        }
+
+        InspectionResult[] results = InspectionResult.values();
+        this.resultCounters = new Counter[results.length];
+        for (InspectionResult result : results) {
+            resultCounters[result.ordinal()] = Counter.builder("quality.inspections.completed")
+                .description("Completed inspections by final result")
+                .tag("result", result.name())
+                .register(registry);
+        }
+
+        DefectType[] defectTypes = DefectType.values();
+        this.defectCounters = new Counter[defectTypes.length];
+        for (DefectType type : defectTypes) {
+            defectCounters[type.ordinal()] = defectCounter(registry, type.name());
+        }
+        this.unknownDefectCounter = defectCounter(registry, "UNKNOWN");
+
+        ComplianceLevel[] levels = ComplianceLevel.values();
+        this.ruleFailureCounters = new Counter[levels.length];
+        for (ComplianceLevel level : levels) {
+            ruleFailureCounters[level.ordinal()] = Counter.builder("quality.rules.failures")
+                .description("Compliance rule failures by rule level")
+                .tag("level", level.name())
+                .register(registry);
+        }
+    }
+
+    @Override
+    public long startTimer() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void recordStage(Operation operation, Stage stage, long startNanos) {
+        stageTimers[operation.ordinal()][stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long startNanos) {
+        operationTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordInspectionResult(InspectionResult result) {
+        if (result != null) {
+            resultCounters[result.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void recordDefect(DefectType type) {
+        (type != null ? defectCounters[type.ordinal()] : unknownDefectCounter).increment();
+    }
+
+    @Override
+    public void recordRuleFailure(ComplianceLevel level) {
+        if (level != null) {
+            ruleFailureCounters[level.ordinal()].increment();
+        }
+    }
+
+    private static Counter defectCounter(MeterRegistry registry, String type) {
+        return Counter.builder("quality.defects.added")
+            .description("Defects recorded against inspections by defect type")
+            .tag("type", type)
+            .register(registry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase().replace('_', '-');
+    }
+}
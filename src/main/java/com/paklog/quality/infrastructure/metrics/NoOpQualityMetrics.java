@@ -0,0 +1,39 @@
+package com.paklog.quality.infrastructure.metrics;
+
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.domain.valueobject.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used when quality.metrics.enabled=false; never reads the clock or touches a registry
+ */
+@Component
+@ConditionalOnProperty(name = "quality.metrics.enabled", havingValue = "false")
+public class NoOpQualityMetrics implements QualityMetricsPort {
+
+    @Override
+    public long startTimer() {
+        return 0L;
+    }
+
+    @Override
+    public void recordStage(Operation operation, Stage stage, long startNanos) {
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long startNanos) {
+    }
+
+    @Override
+    public void recordInspectionResult(InspectionResult result) {
+    }
+
+    @Override
+    public void recordDefect(DefectType type) {
+    }
+
+    @Override
+    public void recordRuleFailure(ComplianceLevel level) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.paklog.quality.infrastructure.metrics;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.service.RuleEvaluationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-rule evaluation counters.
+ * Cardinality is capped at quality.metrics.max-rule-tags distinct rule codes; evaluations
+ * of any further rules are folded into a single "other" series.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RuleMetricsListener implements RuleEvaluationListener {
+
+    private static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final int maxRuleTags;
+    private final ConcurrentHashMap<String, RuleCounters> counters = new ConcurrentHashMap<>();
+    private final RuleCounters overflow;
+
+    public RuleMetricsListener(MeterRegistry registry,
+                               @Value("${quality.metrics.max-rule-tags:100}") int maxRuleTags) {
+        this.registry = registry;
+        this.maxRuleTags = maxRuleTags;
+        this.overflow = new RuleCounters(registry, OTHER);
+    }
+
+    @Override
+    public void onRuleEvaluated(ComplianceRule rule, boolean passed, long elapsedNanos) {
+        RuleCounters ruleCounters = countersFor(rule.getRuleCode());
+        (passed ? ruleCounters.passed : ruleCounters.failed).increment();
+    }
+
+    private RuleCounters countersFor(String ruleCode) {
+        if (ruleCode == null) {
+            return overflow;
+        }
+        RuleCounters existing = counters.get(ruleCode);
+        if (existing != null) {
+            return existing;
+        }
+        if (counters.size() >= maxRuleTags) {
+            return overflow;
+        }
+        return counters.computeIfAbsent(ruleCode, code -> new RuleCounters(registry, code));
+    }
+
+    private static final class RuleCounters {
+        private final Counter passed;
+        private final Counter failed;
+
+        private RuleCounters(MeterRegistry registry, String ruleCode) {
+            this.passed = counter(registry, ruleCode, "pass");
+            this.failed = counter(registry, ruleCode, "fail");
+        }
+
+        private static Counter counter(MeterRegistry registry, String ruleCode, String outcome) {
+            return Counter.builder("quality.rules.evaluations")
+                .description("Compliance rule evaluations by rule and outcome")
+                .tag("rule", ruleCode)
+                .tag("outcome", outcome)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.paklog.quality.infrastructure.metrics;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.service.RuleEvaluationListener;
+import com.paklog.quality.domain.valueobject.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-rule evaluation profile: pass/fail counts and sampled evaluation time.
+ * Counters are striped {@link LongAdder}s so concurrent inspections never contend on a
+ * single cache line. The number of tracked rules is bounded; rules beyond the limit are
+ * counted only in the aggregate untracked total.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.rules.profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class RuleProfiler implements RuleEvaluationListener {
+
+    private final int maxTrackedRules;
+    private final ConcurrentHashMap<String, RuleProfile> profiles = new ConcurrentHashMap<>();
+    private final LongAdder untrackedEvaluations = new LongAdder();
+
+    public RuleProfiler(@Value("${quality.rules.profiling.max-tracked-rules:10000}") int maxTrackedRules) {
+        this.maxTrackedRules = maxTrackedRules;
+    }
+
+    @Override
+    public void onRuleEvaluated(ComplianceRule rule, boolean passed, long elapsedNanos) {
+        RuleProfile profile = profileFor(rule);
+        if (profile == null) {
+            untrackedEvaluations.increment();
+            return;
+        }
+        profile.record(passed, elapsedNanos);
+    }
+
+    private RuleProfile profileFor(ComplianceRule rule) {
+        String key = rule.getId() != null ? rule.getId() : rule.getRuleCode();
+        if (key == null) {
+            return null;
+        }
+        RuleProfile existing = profiles.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (profiles.size() >= maxTrackedRules) {
+            return null;
+        }
+        return profiles.computeIfAbsent(key, k -> new RuleProfile(k, rule));
+    }
+
+    public List<RuleProfileSnapshot> snapshot() {
+        List<RuleProfileSnapshot> snapshots = new ArrayList<>(profiles.size());
+        for (RuleProfile profile : profiles.values()) {
+            snapshots.add(profile.snapshot());
+        }
+        return snapshots;
+    }
+
+    public long getUntrackedEvaluations() {
+        return untrackedEvaluations.sum();
+    }
+
+    public void reset() {
+        profiles.clear();
+        untrackedEvaluations.reset();
+    }
+
+    private static final class RuleProfile {
+        private final String ruleId;
+        private final String ruleCode;
+        private final String ruleName;
+        private final ComplianceLevel level;
+        private final InspectionType applicableTo;
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timedEvaluations = new LongAdder();
+        private final LongAdder timedNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private RuleProfile(String ruleId, ComplianceRule rule) {
+            this.ruleId = ruleId;
+            this.ruleCode = rule.getRuleCode();
+            this.ruleName = rule.getRuleName();
+            this.level = rule.getLevel();
+            this.applicableTo = rule.getApplicableTo();
+        }
+
+        private void record(boolean passed, long elapsedNanos) {
+            evaluations.increment();
+            if (!passed) {
+                failures.increment();
+            }
+            if (elapsedNanos != NOT_SAMPLED) {
+                timedEvaluations.increment();
+                timedNanos.add(elapsedNanos);
+                maxNanos.accumulate(elapsedNanos);
+            }
+        }
+
+        private RuleProfileSnapshot snapshot() {
+            long evaluated = evaluations.sum();
+            long failed = failures.sum();
+            long timed = timedEvaluations.sum();
+            return new RuleProfileSnapshot(
+                ruleId,
+                ruleCode,
+                ruleName,
+                level,
+                applicableTo,
+                evaluated,
+                failed,
+                evaluated > 0 ? (double) failed / evaluated : 0.0,
+                timed,
+                timed > 0 ? (double) timedNanos.sum() / timed : 0.0,
+                maxNanos.get()
+            );
+        }
+    }
+
+    public record RuleProfileSnapshot(
+        String ruleId,
+        String ruleCode,
+        String ruleName,
+        ComplianceLevel level,
+        InspectionType applicableTo,
+        long evaluations,
+        long failures,
+        double failureRatio,
+        long timedEvaluations,
+        double meanNanos,
+        long maxNanos
+    ) {}
+}
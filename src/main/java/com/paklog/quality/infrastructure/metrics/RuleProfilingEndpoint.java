@@ -0,0 +1,87 @@
+package com.paklog.quality.infrastructure.metrics;
+
+import com.paklog.quality.infrastructure.metrics.RuleProfiler.RuleProfileSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import java.util.*;
+
+/**
+ * GET /actuator/rules - slowest and most-failing compliance rules, plus pruning candidates.
+ *
+ * A rule "fires" when it fails. Rules that never fire or always fire are only reported once
+ * they have been evaluated at least quality.rules.profiling.min-evaluations times.
+ * DELETE /actuator/rules resets the profile.
+ */
+@Component
+@Endpoint(id = "rules")
+@ConditionalOnProperty(name = "quality.rules.profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class RuleProfilingEndpoint {
+
+    private final RuleProfiler ruleProfiler;
+    private final int defaultLimit;
+    private final long minEvaluations;
+
+    public RuleProfilingEndpoint(RuleProfiler ruleProfiler,
+                                 @Value("${quality.rules.profiling.top-n:10}") int defaultLimit,
+                                 @Value("${quality.rules.profiling.min-evaluations:100}") long minEvaluations) {
+        this.ruleProfiler = ruleProfiler;
+        this.defaultLimit = defaultLimit;
+        this.minEvaluations = minEvaluations;
+    }
+
+    @ReadOperation
+    public RuleProfileReport rules(@Nullable Integer limit) {
+        int topN = limit != null && limit > 0 ? limit : defaultLimit;
+        List<RuleProfileSnapshot> snapshots = ruleProfiler.snapshot();
+
+        List<RuleProfileSnapshot> slowest = snapshots.stream()
+            .filter(s -> s.timedEvaluations() > 0)
+            .sorted(Comparator.comparingDouble(RuleProfileSnapshot::meanNanos).reversed())
+            .limit(topN)
+            .toList();
+
+        List<RuleProfileSnapshot> mostFailing = snapshots.stream()
+            .filter(s -> s.failures() > 0)
+            .sorted(Comparator.comparingDouble(RuleProfileSnapshot::failureRatio)
+                .thenComparingLong(RuleProfileSnapshot::failures)
+                .reversed())
+            .limit(topN)
+            .toList();
+
+        List<RuleProfileSnapshot> neverFiring = snapshots.stream()
+            .filter(s -> s.evaluations() >= minEvaluations && s.failures() == 0)
+            .toList();
+
+        List<RuleProfileSnapshot> alwaysFiring = snapshots.stream()
+            .filter(s -> s.evaluations() >= minEvaluations && s.failures() == s.evaluations())
+            .toList();
+
+        return new RuleProfileReport(
+            snapshots.size(),
+            ruleProfiler.getUntrackedEvaluations(),
+            slowest,
+            mostFailing,
+            neverFiring,
+            alwaysFiring
+        );
+    }
+
+    @DeleteOperation
+    public void reset() {
+        ruleProfiler.reset();
+    }
+
+    public record RuleProfileReport(
+        int trackedRules,
+        long untrackedEvaluations,
+        List<RuleProfileSnapshot> slowest,
+        List<RuleProfileSnapshot> mostFailing,
+        List<RuleProfileSnapshot> neverFiring,
+        List<RuleProfileSnapshot> alwaysFiring
+    ) {}
+}
@@ -0,0 +1,215 @@
+package com.paklog.quality.infrastructure.persistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.out.InspectionWriteBufferPort;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Group-commit writer for new inspection records.
+ *
+ * Records are queued in a bounded in-process buffer and a single writer thread drains
+ * whatever has accumulated into one insertMany round trip. Under load batches grow on
+ * their own; when idle a record is written as soon as it arrives. If a batch insert fails
+ * the records are retried one by one so a single bad document cannot fail its neighbours.
+ * An ordered insertMany stores the records before the one that failed, so a retry that hits
+ * a duplicate key on a record whose id is already stored counts as persisted.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.inspection.async-write.enabled", havingValue = "true")
+public class GroupCommitInspectionWriter implements InspectionWriteBufferPort, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitInspectionWriter.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final int maxBatchSize;
+    private final Duration awaitTimeout;
+    private final DistributionSummary batchSizes;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public GroupCommitInspectionWriter(MongoTemplate mongoTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${quality.inspection.async-write.queue-capacity:10000}") int queueCapacity,
+                                       @Value("${quality.inspection.async-write.max-batch-size:500}") int maxBatchSize,
+                                       @Value("${quality.inspection.async-write.sync-timeout:5s}") Duration awaitTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeout = awaitTimeout;
+        this.batchSizes = DistributionSummary.builder("quality.inspection.write-buffer.batch-size")
+            .description("Inspection records committed per insertMany")
+            .register(meterRegistry);
+        this.failures = Counter.builder("quality.inspection.write-buffer.failures")
+            .description("Buffered inspection records that could not be persisted")
+            .register(meterRegistry);
+        Gauge.builder("quality.inspection.write-buffer.depth", queue, BlockingQueue::size)
+            .description("Inspection records waiting to be committed")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<Void> offer(InspectionRecord record) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        pending.put(record.getId(), committed);
+        if (!queue.offer(new PendingWrite(record, committed))) {
+            pending.remove(record.getId(), committed);
+            return null;
+        }
+        return committed;
+    }
+
+    @Override
+    public void awaitPersisted(String inspectionId) {
+        CompletableFuture<Void> committed = pending.get(inspectionId);
+        if (committed == null) {
+            return;
+        }
+        try {
+            committed.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for inspection " + inspectionId + " to be persisted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Inspection " + inspectionId + " is not yet persisted", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!running) {
+                    queue.drainTo(batch);
+                    commit(batch);
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<InspectionRecord> records = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            records.add(write.record());
+        }
+
+        try {
+            mongoTemplate.insert(records, InspectionRecord.class);
+            batchSizes.record(batch.size());
+            batch.forEach(PendingWrite::succeed);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch insert of {} inspections failed, retrying individually", batch.size(), batchFailure);
+            for (PendingWrite write : batch) {
+                try {
+                    mongoTemplate.insert(write.record());
+                    write.succeed();
+                } catch (DuplicateKeyException e) {
+                    if (isStored(write.record())) {
+                        write.succeed();
+                    } else {
+                        log.error("Failed to persist inspection {}", write.record().getId(), e);
+                        write.fail(e);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to persist inspection {}", write.record().getId(), e);
+                    write.fail(e);
+                }
+            }
+        }
+    }
+
+    // A duplicate key on another unique index (inspectionNumber) leaves no document with this id
+    private boolean isStored(InspectionRecord record) {
+        try {
+            return mongoTemplate.exists(Query.query(Criteria.where("_id").is(record.getId())), InspectionRecord.class);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "inspection-group-commit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(awaitTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} buffered inspections were not persisted before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class PendingWrite {
+        private final InspectionRecord record;
+        private final CompletableFuture<Void> committed;
+
+        private PendingWrite(InspectionRecord record, CompletableFuture<Void> committed) {
+            this.record = record;
+            this.committed = committed;
+        }
+
+        private InspectionRecord record() {
+            return record;
+        }
+
+        private void succeed() {
+            pending.remove(record.getId(), committed);
+            committed.complete(null);
+        }
+
+        private void fail(Throwable cause) {
+            failures.increment();
+            pending.remove(record.getId(), committed);
+            committed.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.repository.InspectionRecordRepository;
+import com.paklog.quality.domain.valueobject.*;
+import com.paklog.quality.infrastructure.cache.InspectionCache;
+import com.paklog.quality.infrastructure.kafka.CacheInvalidationPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import java.util.*;
+
+/**
+ * Read-through cache in front of {@link MongoInspectionRecordRepository}.
+ *
+ * Only {@link #findByIdReadOnly(String)} is served from the cache; command paths keep
+ * reading MongoDB so optimistic locking sees the current version. Every write evicts the
+ * local entry and broadcasts the eviction to the other instances.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "quality.cache.inspections.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingInspectionRecordRepository implements InspectionRecordRepository {
+
+    private final MongoInspectionRecordRepository delegate;
+    private final InspectionCache cache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    public CachingInspectionRecordRepository(MongoInspectionRecordRepository delegate, InspectionCache cache, CacheInvalidationPublisher invalidationPublisher) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+
+    @Override
+    public InspectionRecord save(InspectionRecord record) {
+        InspectionRecord saved = delegate.save(record);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<InspectionRecord> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<InspectionRecord> findByIdReadOnly(String id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public List<InspectionRecord> findByType(InspectionType type) {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public List<InspectionRecord> findByResult(InspectionResult result) {
+        return delegate.findByResult(result);
+    }
+
+    @Override
+    public List<InspectionRecord> findFailedInspections() {
+        return delegate.findFailedInspections();
+    }
+
+    @Override
+    public List<InspectionRecord> findByShipmentId(String shipmentId) {
+        return delegate.findByShipmentId(shipmentId);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    private void invalidate(String id) {
+        cache.evict(id);
+        invalidationPublisher.publish(id);
+    }
+}
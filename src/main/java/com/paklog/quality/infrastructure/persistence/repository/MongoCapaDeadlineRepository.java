@@ -0,0 +1,95 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import com.paklog.quality.domain.repository.CapaDeadlineRepository;
+import com.paklog.quality.domain.valueobject.CapaStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+@Repository
+public class MongoCapaDeadlineRepository implements CapaDeadlineRepository {
+
+    private final MongoTemplate mongoTemplate;
+    public MongoCapaDeadlineRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    /**
+     * Insert, and on a duplicate key reopen the existing deadline only if it was closed
+     * before this one was raised; otherwise the existing deadline stays in force
+     */
+    @Override
+    public CapaDeadline openIfAbsent(CapaDeadline deadline) {
+        try {
+            return mongoTemplate.insert(deadline);
+        } catch (DuplicateKeyException e) {
+            Query closedBefore = new Query(Criteria.where("_id").is(deadline.getInspectionId())
+                .and("status").is(CapaStatus.CLOSED)
+                .and("closedAt").lt(deadline.getOpenedAt()));
+            Update reopen = new Update()
+                .set("trigger", deadline.getTrigger())
+                .set("reason", deadline.getReason())
+                .set("openedAt", deadline.getOpenedAt())
+                .set("dueAt", deadline.getDueAt())
+                .set("status", CapaStatus.OPEN)
+                .unset("escalatedAt")
+                .unset("closedAt")
+                .unset("correctiveAction");
+            CapaDeadline reopened = mongoTemplate.findAndModify(closedBefore, reopen,
+                FindAndModifyOptions.options().returnNew(true), CapaDeadline.class);
+            return reopened != null ? reopened : mongoTemplate.findById(deadline.getInspectionId(), CapaDeadline.class);
+        }
+    }
+
+    @Override
+    public boolean markEscalated(String inspectionId, Instant dueAt, Instant escalatedAt) {
+        Query due = new Query(Criteria.where("_id").is(inspectionId)
+            .and("status").is(CapaStatus.OPEN)
+            .and("dueAt").is(dueAt));
+        Update escalate = new Update()
+            .set("status", CapaStatus.ESCALATED)
+            .set("escalatedAt", escalatedAt);
+        return mongoTemplate.updateFirst(due, escalate, CapaDeadline.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public void reopen(String inspectionId, Instant dueAt) {
+        Query escalated = new Query(Criteria.where("_id").is(inspectionId)
+            .and("status").is(CapaStatus.ESCALATED)
+            .and("dueAt").is(dueAt));
+        mongoTemplate.updateFirst(escalated, new Update().set("status", CapaStatus.OPEN).unset("escalatedAt"), CapaDeadline.class);
+    }
+
+    @Override
+    public boolean close(String inspectionId, String correctiveAction, Instant closedAt) {
+        Query inForce = new Query(Criteria.where("_id").is(inspectionId)
+            .and("status").in(CapaStatus.OPEN, CapaStatus.ESCALATED));
+        Update close = new Update()
+            .set("status", CapaStatus.CLOSED)
+            .set("closedAt", closedAt)
+            .set("correctiveAction", correctiveAction);
+        return mongoTemplate.updateFirst(inForce, close, CapaDeadline.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public Optional<CapaDeadline> findById(String inspectionId) {
+        return Optional.ofNullable(mongoTemplate.findById(inspectionId, CapaDeadline.class));
+    }
+
+    @Override
+    public void forEachOpen(BiConsumer<String, Instant> consumer) {
+        Query open = new Query(Criteria.where("status").is(CapaStatus.OPEN));
+        open.fields().include("dueAt");
+        try (Stream<CapaDeadline> deadlines = mongoTemplate.stream(open, CapaDeadline.class)) {
+            deadlines.forEach(deadline -> consumer.accept(deadline.getInspectionId(), deadline.getDueAt()));
+        }
+    }
+}
@@ -39,6 +39,12 @@ public class MongoComplianceRuleRepository implements ComplianceRuleRepository {
         return mongoTemplate.find(query, ComplianceRule.class);
     }
 
+    @Override
+    public List<ComplianceRule> findByRuleSetVersion(String ruleSetVersion, InspectionType type) {
+        Query query = new Query(Criteria.where("ruleSetVersion").is(ruleSetVersion).and("applicableTo").is(type));
+        return mongoTemplate.find(query, ComplianceRule.class);
+    }
+
     @Override
     public void deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
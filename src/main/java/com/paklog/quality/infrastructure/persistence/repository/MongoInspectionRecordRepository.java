@@ -46,6 +46,12 @@ public class MongoInspectionRecordRepository implements InspectionRecordReposito
         return mongoTemplate.find(query, InspectionRecord.class);
     }
 
+    @Override
+    public List<InspectionRecord> findByShipmentId(String shipmentId) {
+        Query query = new Query(Criteria.where("shipmentId").is(shipmentId));
+        return mongoTemplate.find(query, InspectionRecord.class);
+    }
+
     @Override
     public void deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
@@ -0,0 +1,103 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.repository.InspectionSlaRepository;
+import com.paklog.quality.domain.valueobject.*;
+import com.paklog.quality.infrastructure.audit.AuditEntryKind;
+import com.paklog.quality.infrastructure.audit.AuditLog;
+import com.paklog.quality.infrastructure.cache.InspectionCache;
+import com.paklog.quality.infrastructure.kafka.CacheInvalidationPublisher;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Open inspections are found through the partial (result, inspectedAt) index, which holds
+ * only documents with open = true. Bulk claims bypass the inspection repository and its
+ * lifecycle events, so claimed inspections are evicted from the read cache and recorded in the
+ * audit log here.
+ */
+@Repository
+public class MongoInspectionSlaRepository implements InspectionSlaRepository {
+
+    private static final String COLLECTION = "inspection_records";
+
+    private final MongoTemplate mongoTemplate;
+    private final Optional<InspectionCache> cache;
+    private final Optional<CacheInvalidationPublisher> invalidationPublisher;
+    private final Optional<AuditLog> auditLog;
+    public MongoInspectionSlaRepository(MongoTemplate mongoTemplate, Optional<InspectionCache> cache, Optional<CacheInvalidationPublisher> invalidationPublisher,
+                                        Optional<AuditLog> auditLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.auditLog = auditLog;
+    }
+
+
+    @Override
+    public void forEachOpen(Instant performedBefore, Consumer<OpenInspection> consumer) {
+        // Every result value is listed so the planner can use the index's leading field
+        Query open = new Query(Criteria.where("result").in((Object[]) InspectionResult.values())
+            .and("inspectedAt").lt(performedBefore)
+            .and("open").is(true)
+            .and("slaBreachedAt").is(null));
+        open.fields().include("type", "inspectedAt", "eventSequence");
+        open.cursorBatchSize(5000);
+        mongoTemplate.executeQuery(open, COLLECTION, document -> consumer.accept(toOpenInspection(document)));
+    }
+
+    @Override
+    public List<OpenInspection> claimBreached(Collection<String> inspectionIds, Map<InspectionType, Instant> performedBefore,
+                                              SlaAction action, Instant breachedAt) {
+        if (inspectionIds.isEmpty() || performedBefore.isEmpty()) {
+            return List.of();
+        }
+        List<Criteria> overdue = new ArrayList<>(performedBefore.size());
+        performedBefore.forEach((type, cutoff) -> overdue.add(Criteria.where("type").is(type).and("inspectedAt").lte(cutoff)));
+        String sweepId = UUID.randomUUID().toString();
+        Query due = new Query(Criteria.where("_id").in(inspectionIds)
+            .and("open").is(true)
+            .and("slaBreachedAt").is(null)
+            .orOperator(overdue));
+        Update claim = new Update()
+            .set("slaBreachedAt", breachedAt)
+            .set("slaSweepId", sweepId)
+            .inc("eventSequence", action.eventCount())
+            .inc("version", 1);
+        if (action == SlaAction.QUARANTINE) {
+            claim.set("result", InspectionResult.QUARANTINE)
+                .set("open", false)
+                .set("completedAt", breachedAt);
+        }
+        if (mongoTemplate.updateMulti(due, claim, InspectionRecord.class).getModifiedCount() == 0) {
+            return List.of();
+        }
+
+        Query claimed = new Query(Criteria.where("_id").in(inspectionIds).and("slaSweepId").is(sweepId));
+        claimed.fields().include("type", "inspectedAt", "eventSequence");
+        List<OpenInspection> result = new ArrayList<>();
+        mongoTemplate.executeQuery(claimed, COLLECTION, document -> result.add(toOpenInspection(document)));
+        for (OpenInspection inspection : result) {
+            cache.ifPresent(local -> local.evict(inspection.id()));
+            invalidationPublisher.ifPresent(publisher -> publisher.publish(inspection.id()));
+            auditLog.ifPresent(audit -> audit.record(AuditEntryKind.UPDATED, COLLECTION, inspection.id(),
+                new Document("filter", new Document("_id", inspection.id()).append("slaSweepId", sweepId))
+                    .append("update", claim.getUpdateObject())));
+        }
+        return result;
+    }
+
+    private static OpenInspection toOpenInspection(Document document) {
+        Number sequence = document.get("eventSequence", Number.class);
+        return new OpenInspection(
+            document.getString("_id"),
+            InspectionType.valueOf(document.getString("type")),
+            document.getDate("inspectedAt").toInstant(),
+            sequence != null ? sequence.longValue() : 0);
+    }
+}
@@ -0,0 +1,32 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.application.port.out.InspectionSummaryQueryPort;
+import com.paklog.quality.application.query.InspectionSummary;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import java.util.*;
+
+/**
+ * Reads {@link InspectionSummary} through a field projection, so defects and photo URLs
+ * never leave MongoDB
+ */
+@Repository
+public class MongoInspectionSummaryRepository implements InspectionSummaryQueryPort {
+
+    private final MongoTemplate mongoTemplate;
+    public MongoInspectionSummaryRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public Optional<InspectionSummary> findSummaryById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.query(InspectionRecord.class)
+            .as(InspectionSummary.class)
+            .matching(query)
+            .one();
+    }
+}
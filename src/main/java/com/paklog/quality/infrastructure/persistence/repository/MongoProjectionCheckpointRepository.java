@@ -0,0 +1,51 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.infrastructure.replay.ProjectionCheckpointStore;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Projection checkpoints, one small document per projection and partition.
+ * Kept in their own collection; replay never reads inspection_records.
+ */
+@Repository
+public class MongoProjectionCheckpointRepository implements ProjectionCheckpointStore {
+
+    private static final String COLLECTION = "projection_checkpoints";
+
+    private final MongoTemplate mongoTemplate;
+    public MongoProjectionCheckpointRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public Map<Integer, Long> load(String projection) {
+        Map<Integer, Long> offsets = new HashMap<>();
+        Query query = new Query(Criteria.where("projection").is(projection));
+        for (Document checkpoint : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            offsets.put(checkpoint.getInteger("partition"), ((Number) checkpoint.get("offset")).longValue());
+        }
+        return offsets;
+    }
+
+    @Override
+    public void save(String projection, int partition, long offset) {
+        Query query = new Query(Criteria.where("_id").is(projection + ":" + partition));
+        Update update = new Update()
+            .set("projection", projection)
+            .set("partition", partition)
+            .set("offset", offset)
+            .currentDate("updatedAt");
+        mongoTemplate.upsert(query, update, COLLECTION);
+    }
+
+    @Override
+    public void clear(String projection) {
+        mongoTemplate.remove(new Query(Criteria.where("projection").is(projection)), COLLECTION);
+    }
+}
@@ -0,0 +1,34 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.application.port.out.SequenceBlockPort;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leases sequence blocks with an atomic $inc on a per-sequence counter document
+ */
+@Repository
+public class MongoSequenceBlockRepository implements SequenceBlockPort {
+
+    private static final String COLLECTION = "sequences";
+
+    private final MongoTemplate mongoTemplate;
+    public MongoSequenceBlockRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public long leaseBlock(String sequenceName, int blockSize) {
+        Query query = new Query(Criteria.where("_id").is(sequenceName));
+        Update update = new Update().inc("value", (long) blockSize);
+        Document counter = mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().returnNew(true).upsert(true), Document.class, COLLECTION);
+
+        long end = ((Number) counter.get("value")).longValue();
+        return end - blockSize;
+    }
+}
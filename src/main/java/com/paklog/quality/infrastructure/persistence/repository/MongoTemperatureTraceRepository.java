@@ -0,0 +1,37 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.TemperatureTrace;
+import com.paklog.quality.domain.repository.TemperatureTraceRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import java.util.*;
+
+@Repository
+public class MongoTemperatureTraceRepository implements TemperatureTraceRepository {
+
+    private final MongoTemplate mongoTemplate;
+    public MongoTemperatureTraceRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public TemperatureTrace save(TemperatureTrace trace) {
+        return mongoTemplate.save(trace);
+    }
+
+    @Override
+    public Optional<TemperatureTrace> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, TemperatureTrace.class));
+    }
+
+    @Override
+    public List<TemperatureTrace> findByShipmentId(String shipmentId) {
+        Query query = new Query(Criteria.where("shipmentId").is(shipmentId))
+            .with(Sort.by("uploadedAt"));
+        query.fields().exclude("series");
+        return mongoTemplate.find(query, TemperatureTrace.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.repository.ReactiveComplianceRuleRepository;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class ReactiveMongoComplianceRuleRepository implements ReactiveComplianceRuleRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    public ReactiveMongoComplianceRuleRepository(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public Mono<ComplianceRule> save(ComplianceRule rule) {
+        return mongoTemplate.save(rule);
+    }
+
+    @Override
+    public Mono<ComplianceRule> findById(String id) {
+        return mongoTemplate.findById(id, ComplianceRule.class);
+    }
+
+    @Override
+    public Flux<ComplianceRule> findByType(InspectionType type) {
+        Query query = new Query(Criteria.where("applicableTo").is(type).and("active").is(true));
+        return mongoTemplate.find(query, ComplianceRule.class);
+    }
+
+    @Override
+    public Flux<ComplianceRule> findActiveRules() {
+        Query query = new Query(Criteria.where("active").is(true));
+        return mongoTemplate.find(query, ComplianceRule.class);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.remove(query, ComplianceRule.class).then();
+    }
+}
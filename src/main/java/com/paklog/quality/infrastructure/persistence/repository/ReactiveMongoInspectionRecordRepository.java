@@ -0,0 +1,57 @@
+package com.paklog.quality.infrastructure.persistence.repository;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.repository.ReactiveInspectionRecordRepository;
+import com.paklog.quality.domain.valueobject.*;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class ReactiveMongoInspectionRecordRepository implements ReactiveInspectionRecordRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    public ReactiveMongoInspectionRecordRepository(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+
+    @Override
+    public Mono<InspectionRecord> save(InspectionRecord record) {
+        return mongoTemplate.save(record);
+    }
+
+    @Override
+    public Mono<InspectionRecord> findById(String id) {
+        return mongoTemplate.findById(id, InspectionRecord.class);
+    }
+
+    @Override
+    public Flux<InspectionRecord> findByType(InspectionType type) {
+        Query query = new Query(Criteria.where("type").is(type));
+        return mongoTemplate.find(query, InspectionRecord.class);
+    }
+
+    @Override
+    public Flux<InspectionRecord> findByResult(InspectionResult result) {
+        Query query = new Query(Criteria.where("result").is(result));
+        return mongoTemplate.find(query, InspectionRecord.class);
+    }
+
+    @Override
+    public Flux<InspectionRecord> findFailedInspections() {
+        Query query = new Query(Criteria.where("result")
+            .in(InspectionResult.FAILED, InspectionResult.QUARANTINE));
+        return mongoTemplate.find(query, InspectionRecord.class);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.remove(query, InspectionRecord.class).then();
+    }
+}
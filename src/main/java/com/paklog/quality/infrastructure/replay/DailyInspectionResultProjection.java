@@ -0,0 +1,84 @@
+package com.paklog.quality.infrastructure.replay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.*;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Completed inspections per day, inspection type and result, built from InspectionCompleted events.
+ * Each batch is folded in memory and written as one bulk of $inc upserts.
+ */
+@Component
+public class DailyInspectionResultProjection implements ProjectionHandler {
+    private static final Logger log = LoggerFactory.getLogger(DailyInspectionResultProjection.class);
+
+    private static final String COLLECTION = "kpi_daily_inspection_results";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DailyInspectionResultProjection(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "daily-inspection-results";
+    }
+
+    @Override
+    public void reset() {
+        mongoTemplate.dropCollection(COLLECTION);
+    }
+
+    @Override
+    public void apply(int partition, List<ReplayedEvent> batch) {
+        Map<String, Long> counts = new HashMap<>();
+        for (ReplayedEvent event : batch) {
+            if (!"InspectionCompleted".equals(event.type())) {
+                continue;
+            }
+            try {
+                JsonNode payload = objectMapper.readTree(event.data());
+                String day = LocalDate.ofInstant(event.occurredAt(), ZoneOffset.UTC).toString();
+                String key = day + "|" + payload.path("inspectionType").asText() + "|" + payload.path("result").asText();
+                counts.merge(key, 1L, Long::sum);
+            } catch (IOException e) {
+                log.warn("Skipping unreadable event at {}@{}", partition, event.offset());
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        counts.forEach((key, count) -> {
+            String[] parts = key.split("\\|", 3);
+            bulk.upsert(new Query(Criteria.where("_id").is(key)), new Update()
+                .set("day", parts[0])
+                .set("inspectionType", parts[1])
+                .set("result", parts[2])
+                .inc("count", count));
+        });
+        bulk.execute();
+    }
+
+    @Override
+    public Object view() {
+        Query query = new Query().with(Sort.by("day", "inspectionType", "result"));
+        query.fields().exclude("_id");
+        return mongoTemplate.find(query, Document.class, COLLECTION);
+    }
+}
@@ -0,0 +1,16 @@
+package com.paklog.quality.infrastructure.replay;
+
+import java.util.Map;
+
+/**
+ * Last offset applied per projection and partition
+ */
+public interface ProjectionCheckpointStore {
+
+    /** Partition to last applied offset; empty if the projection has never run */
+    Map<Integer, Long> load(String projection);
+
+    void save(String projection, int partition, long offset);
+
+    void clear(String projection);
+}
@@ -0,0 +1,29 @@
+package com.paklog.quality.infrastructure.replay;
+
+import java.util.List;
+
+/**
+ * A read model built from the quality events topic.
+ *
+ * Register an implementation as a bean and it can be rebuilt with the replay API. Batches
+ * of one partition are delivered in offset order on one thread; different partitions are
+ * delivered concurrently, so state shared across partitions must be thread-safe. Events of
+ * one inspection are always on the same partition.
+ */
+public interface ProjectionHandler {
+
+    /** Unique name, used in the replay API and for checkpoints */
+    String name();
+
+    /** Drop all state before a full rebuild */
+    void reset();
+
+    void apply(int partition, List<ReplayedEvent> batch);
+
+    /**
+     * Current state for the replay API, or null if the projection is not readable there
+     */
+    default Object view() {
+        return null;
+    }
+}
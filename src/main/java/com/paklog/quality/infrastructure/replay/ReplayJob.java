@@ -0,0 +1,109 @@
+package com.paklog.quality.infrastructure.replay;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one replay run, as reported by the replay API
+ */
+public class ReplayJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String id;
+    private final List<String> projections;
+    private final ReplayRequest.StartPosition from;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong eventsRead = new AtomicLong();
+    private final Map<Integer, PartitionProgress> partitions = new ConcurrentHashMap<>();
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    ReplayJob(String id, List<String> projections, ReplayRequest.StartPosition from) {
+        this.id = id;
+        this.projections = List.copyOf(projections);
+        this.from = from;
+    }
+
+    void addPartition(int partition, long start, long end) {
+        partitions.put(partition, new PartitionProgress(start, end));
+    }
+
+    void progress(int partition, long position, int events) {
+        partitions.get(partition).position = position;
+        eventsRead.addAndGet(events);
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized void finish(Throwable failure) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        finishedAt = Instant.now();
+        if (failure != null) {
+            state = State.FAILED;
+            error = failure.toString();
+        } else {
+            state = cancelRequested ? State.CANCELLED : State.COMPLETED;
+        }
+    }
+
+    public String getId() { return id; }
+    public List<String> getProjections() { return projections; }
+    public ReplayRequest.StartPosition getFrom() { return from; }
+    public State getState() { return state; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+    public long getEventsRead() { return eventsRead.get(); }
+
+    public double getEventsPerSecond() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return eventsRead.get() * 1000.0 / millis;
+    }
+
+    public long getRemaining() {
+        return partitions.values().stream().mapToLong(p -> Math.max(0, p.end - p.position)).sum();
+    }
+
+    public Map<Integer, PartitionProgress> getPartitions() {
+        return new TreeMap<>(partitions);
+    }
+
+    public static final class PartitionProgress {
+        private final long start;
+        private final long end;
+        private volatile long position;
+
+        private PartitionProgress(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.position = start;
+        }
+
+        public long getStart() { return start; }
+        public long getEnd() { return end; }
+        public long getPosition() { return position; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.paklog.quality.infrastructure.replay;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param projections projection names to feed
+ * @param from        where each partition starts
+ * @param timestamp   start time for {@link StartPosition#TIMESTAMP}
+ * @param offset      start offset on every partition for {@link StartPosition#OFFSET}
+ */
+public record ReplayRequest(List<String> projections, StartPosition from, Instant timestamp, Long offset) {
+
+    public enum StartPosition {
+        /** Reset the projections and rebuild from the start of the log */
+        EARLIEST,
+        /** Continue each projection from its last checkpoint, or the start of the log without one */
+        CHECKPOINT,
+        /** Replay events at or after a point in time */
+        TIMESTAMP,
+        /** Replay from a given offset on every partition */
+        OFFSET
+    }
+}
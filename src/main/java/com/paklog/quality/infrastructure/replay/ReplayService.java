@@ -0,0 +1,332 @@
+package com.paklog.quality.infrastructure.replay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.infrastructure.kafka.AggregateSequenceTracker;
+import com.paklog.quality.infrastructure.kafka.EventPublisher;
+import io.cloudevents.CloudEvent;
+import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the quality events topic into projection handlers.
+ *
+ * A run reads every partition up to the end offsets seen when it starts, one consumer and
+ * one thread per partition, with large fetches and no consumer group. Each projection's
+ * position is checkpointed per partition, so a CHECKPOINT run only applies what that
+ * projection has not seen. Delivery is at-least-once: a crash between applying a batch
+ * and checkpointing it replays that batch.
+ */
+@Service
+public class ReplayService {
+    private static final Logger log = LoggerFactory.getLogger(ReplayService.class);
+
+    private static final String TYPE_PREFIX = "com.paklog.quality.";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Map<String, ProjectionHandler> handlers = new LinkedHashMap<>();
+    private final ProjectionCheckpointStore checkpoints;
+    private final ConsumerFactory<String, CloudEvent> consumerFactory;
+    private final String topic;
+    private final int maxPollRecords;
+    private final Duration checkpointInterval;
+    private final ExecutorService workers;
+    private final Map<String, ReplayJob> jobs = new ConcurrentHashMap<>();
+
+    public ReplayService(List<ProjectionHandler> projectionHandlers,
+                         ProjectionCheckpointStore checkpoints,
+                         ConsumerFactory<String, CloudEvent> consumerFactory,
+                         @Value("${kafka.topic:quality-events}") String topic,
+                         @Value("${quality.replay.max-parallelism:16}") int maxParallelism,
+                         @Value("${quality.replay.max-poll-records:5000}") int maxPollRecords,
+                         @Value("${quality.replay.checkpoint-interval:5s}") Duration checkpointInterval) {
+        for (ProjectionHandler handler : projectionHandlers) {
+            if (handlers.putIfAbsent(handler.name(), handler) != null) {
+                throw new IllegalStateException("Duplicate projection name " + handler.name());
+            }
+        }
+        this.checkpoints = checkpoints;
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.maxPollRecords = maxPollRecords;
+        this.checkpointInterval = checkpointInterval;
+        this.workers = Executors.newFixedThreadPool(maxParallelism, new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "projection-replay-" + count++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public Collection<ProjectionHandler> projections() {
+        return Collections.unmodifiableCollection(handlers.values());
+    }
+
+    public Optional<ProjectionHandler> projection(String name) {
+        return Optional.ofNullable(handlers.get(name));
+    }
+
+    public Map<Integer, Long> checkpoints(String projection) {
+        return new TreeMap<>(checkpoints.load(projection));
+    }
+
+    public Collection<ReplayJob> jobs() {
+        return jobs.values();
+    }
+
+    public Optional<ReplayJob> job(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public boolean cancel(String jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    public synchronized ReplayJob start(ReplayRequest request) {
+        List<String> names = request.projections() == null || request.projections().isEmpty()
+            ? List.copyOf(handlers.keySet())
+            : request.projections();
+        List<ProjectionHandler> selected = new ArrayList<>();
+        for (String name : names) {
+            ProjectionHandler handler = handlers.get(name);
+            if (handler == null) {
+                throw new IllegalArgumentException("Unknown projection " + name);
+            }
+            selected.add(handler);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No projections registered");
+        }
+        ReplayRequest.StartPosition from = request.from() != null ? request.from() : ReplayRequest.StartPosition.CHECKPOINT;
+        if (from == ReplayRequest.StartPosition.TIMESTAMP && request.timestamp() == null) {
+            throw new IllegalArgumentException("timestamp is required to replay from a timestamp");
+        }
+        if (from == ReplayRequest.StartPosition.OFFSET && request.offset() == null) {
+            throw new IllegalArgumentException("offset is required to replay from an offset");
+        }
+        for (ReplayJob running : jobs.values()) {
+            if (running.getState() == ReplayJob.State.RUNNING
+                    && running.getProjections().stream().anyMatch(names::contains)) {
+                throw new IllegalStateException("Replay " + running.getId() + " is already feeding one of " + names);
+            }
+        }
+
+        if (from == ReplayRequest.StartPosition.EARLIEST) {
+            for (ProjectionHandler handler : selected) {
+                handler.reset();
+                checkpoints.clear(handler.name());
+            }
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        ReplayJob job = new ReplayJob(jobId, names, from);
+        Map<String, Map<Integer, Long>> applied = new HashMap<>();
+        for (ProjectionHandler handler : selected) {
+            applied.put(handler.name(), from == ReplayRequest.StartPosition.CHECKPOINT
+                ? checkpoints.load(handler.name())
+                : Map.of());
+        }
+
+        Map<TopicPartition, Long> starts;
+        Map<TopicPartition, Long> ends;
+        try (Consumer<String, CloudEvent> consumer = createConsumer(jobId + "-meta")) {
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (infos == null || infos.isEmpty()) {
+                throw new IllegalStateException("Topic " + topic + " not found");
+            }
+            List<TopicPartition> partitions = infos.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .collect(Collectors.toList());
+            Map<TopicPartition, Long> beginnings = consumer.beginningOffsets(partitions);
+            ends = consumer.endOffsets(partitions);
+            starts = startOffsets(from, request, partitions, beginnings, ends, applied, consumer);
+        }
+
+        jobs.put(jobId, job);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<TopicPartition, Long> start : starts.entrySet()) {
+            TopicPartition partition = start.getKey();
+            long end = ends.get(partition);
+            job.addPartition(partition.partition(), start.getValue(), end);
+            if (start.getValue() >= end) {
+                continue;
+            }
+            Map<String, Long> skipThrough = new HashMap<>();
+            applied.forEach((name, offsets) -> skipThrough.put(name, offsets.getOrDefault(partition.partition(), -1L)));
+            tasks.add(CompletableFuture.runAsync(
+                () -> replayPartition(job, partition, start.getValue(), end, selected, skipThrough), workers));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+            job.finish(failure instanceof CompletionException ? failure.getCause() : failure);
+            log.info("Replay {} {}: {} events in {} partitions at {} events/s",
+                jobId, job.getState(), job.getEventsRead(), starts.size(), Math.round(job.getEventsPerSecond()));
+        });
+        log.info("Replay {} started for {} from {}", jobId, names, from);
+        return job;
+    }
+
+    private Map<TopicPartition, Long> startOffsets(ReplayRequest.StartPosition from, ReplayRequest request,
+                                                   List<TopicPartition> partitions,
+                                                   Map<TopicPartition, Long> beginnings,
+                                                   Map<TopicPartition, Long> ends,
+                                                   Map<String, Map<Integer, Long>> applied,
+                                                   Consumer<String, CloudEvent> consumer) {
+        Map<TopicPartition, Long> starts = new TreeMap<>(Comparator.comparingInt(TopicPartition::partition));
+        Map<TopicPartition, OffsetAndTimestamp> byTime = Map.of();
+        if (from == ReplayRequest.StartPosition.TIMESTAMP) {
+            Map<TopicPartition, Long> query = new HashMap<>();
+            partitions.forEach(partition -> query.put(partition, request.timestamp().toEpochMilli()));
+            byTime = consumer.offsetsForTimes(query);
+        }
+
+        for (TopicPartition partition : partitions) {
+            long beginning = beginnings.get(partition);
+            long start;
+            switch (from) {
+                case EARLIEST -> start = beginning;
+                case OFFSET -> start = Math.max(beginning, request.offset());
+                case TIMESTAMP -> {
+                    OffsetAndTimestamp found = byTime.get(partition);
+                    start = found != null ? found.offset() : ends.get(partition);
+                }
+                default -> {
+                    // The projection furthest behind decides where the partition is read from
+                    long earliest = Long.MAX_VALUE;
+                    for (Map<Integer, Long> offsets : applied.values()) {
+                        Long last = offsets.get(partition.partition());
+                        earliest = Math.min(earliest, last != null ? last + 1 : beginning);
+                    }
+                    start = Math.max(beginning, earliest);
+                }
+            }
+            starts.put(partition, start);
+        }
+        return starts;
+    }
+
+    private void replayPartition(ReplayJob job, TopicPartition partition, long start, long end,
+                                 List<ProjectionHandler> selected, Map<String, Long> skipThrough) {
+        int partitionId = partition.partition();
+        long position = start;
+        long lastCheckpoint = System.nanoTime();
+        try (Consumer<String, CloudEvent> consumer = createConsumer(job.getId() + "-" + partitionId)) {
+            consumer.assign(List.of(partition));
+            consumer.seek(partition, start);
+
+            while (position < end && !job.isCancelRequested()) {
+                ConsumerRecords<String, CloudEvent> records;
+                try {
+                    records = consumer.poll(POLL_TIMEOUT);
+                } catch (RecordDeserializationException e) {
+                    log.warn("Skipping undecodable record {}@{}", e.topicPartition(), e.offset());
+                    consumer.seek(partition, e.offset() + 1);
+                    continue;
+                }
+                if (records.isEmpty()) {
+                    position = consumer.position(partition);
+                    continue;
+                }
+
+                List<ReplayedEvent> batch = new ArrayList<>(records.count());
+                for (ConsumerRecord<String, CloudEvent> record : records.records(partition)) {
+                    if (record.offset() >= end) {
+                        position = end;
+                        break;
+                    }
+                    ReplayedEvent event = toEvent(record);
+                    if (event != null) {
+                        batch.add(event);
+                    }
+                    position = record.offset() + 1;
+                }
+
+                for (ProjectionHandler handler : selected) {
+                    List<ReplayedEvent> unseen = after(batch, skipThrough.get(handler.name()));
+                    if (!unseen.isEmpty()) {
+                        handler.apply(partitionId, unseen);
+                    }
+                }
+                job.progress(partitionId, position, batch.size());
+
+                if (System.nanoTime() - lastCheckpoint >= checkpointInterval.toNanos()) {
+                    checkpoint(selected, skipThrough, partitionId, position);
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+            checkpoint(selected, skipThrough, partitionId, position);
+        }
+    }
+
+    private void checkpoint(List<ProjectionHandler> selected, Map<String, Long> skipThrough, int partition, long position) {
+        long lastApplied = position - 1;
+        for (ProjectionHandler handler : selected) {
+            if (lastApplied > skipThrough.get(handler.name())) {
+                checkpoints.save(handler.name(), partition, lastApplied);
+                skipThrough.put(handler.name(), lastApplied);
+            }
+        }
+    }
+
+    /**
+     * Batch events are in offset order, so a projection's unseen events are a suffix
+     */
+    private static List<ReplayedEvent> after(List<ReplayedEvent> batch, long lastApplied) {
+        int from = 0;
+        while (from < batch.size() && batch.get(from).offset() <= lastApplied) {
+            from++;
+        }
+        return from == 0 ? batch : batch.subList(from, batch.size());
+    }
+
+    private static ReplayedEvent toEvent(ConsumerRecord<String, CloudEvent> record) {
+        CloudEvent event = record.value();
+        if (event == null || event.getType() == null || !event.getType().startsWith(TYPE_PREFIX)) {
+            return null;
+        }
+        Object site = event.getExtension(EventPublisher.SITE_EXTENSION);
+        Instant occurredAt = event.getTime() != null
+            ? event.getTime().toInstant()
+            : Instant.ofEpochMilli(record.timestamp());
+        return new ReplayedEvent(
+            record.partition(),
+            record.offset(),
+            event.getType().substring(TYPE_PREFIX.length()),
+            event.getSubject(),
+            AggregateSequenceTracker.sequenceOf(event),
+            occurredAt,
+            site == null ? null : site.toString(),
+            event.getData() != null ? event.getData().toBytes() : new byte[0]);
+    }
+
+    private Consumer<String, CloudEvent> createConsumer(String clientId) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        overrides.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1024 * 1024);
+        overrides.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 200);
+        overrides.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 8 * 1024 * 1024);
+        overrides.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, 64 * 1024 * 1024);
+        return consumerFactory.createConsumer(null, "quality-replay-", clientId, overrides);
+    }
+}
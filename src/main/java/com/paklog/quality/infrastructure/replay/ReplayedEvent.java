@@ -0,0 +1,19 @@
+package com.paklog.quality.infrastructure.replay;
+
+import java.time.Instant;
+
+/**
+ * One event read back from the events topic.
+ *
+ * @param partition   source partition
+ * @param offset      offset within the partition
+ * @param type        event type without the CloudEvent prefix, e.g. InspectionCompleted
+ * @param aggregateId inspection id, null for events published before aggregate keying
+ * @param sequence    per-aggregate sequence, 0 if unknown
+ * @param occurredAt  event time
+ * @param site        producing site, null if unknown
+ * @param data        event payload as JSON
+ */
+public record ReplayedEvent(int partition, long offset, String type, String aggregateId, long sequence,
+                            Instant occurredAt, String site, byte[] data) {
+}
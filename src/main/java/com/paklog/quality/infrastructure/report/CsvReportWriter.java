@@ -0,0 +1,81 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header line. Timestamps are ISO-8601 UTC, dates ISO local dates, and
+ * missing values empty fields.
+ */
+public final class CsvReportWriter implements ReportWriter {
+
+    private final Writer writer;
+    private final ReportColumn[] columns;
+
+    public CsvReportWriter(OutputStream out, List<ReportColumn> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.columns = columns.toArray(new ReportColumn[0]);
+        for (int i = 0; i < this.columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeText(this.columns[i].name());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ReportRow row) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (!row.isPresent(i)) {
+                continue;
+            }
+            switch (columns[i].kind()) {
+                case STRING -> writeText(row.text(i));
+                case LONG -> writer.write(Long.toString(row.number(i)));
+                case TIMESTAMP -> writer.write(Instant.ofEpochMilli(row.number(i)).toString());
+                case DATE -> writer.write(LocalDate.ofEpochDay(row.number(i)).toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
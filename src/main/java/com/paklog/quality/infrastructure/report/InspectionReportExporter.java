@@ -0,0 +1,345 @@
+package com.paklog.quality.infrastructure.report;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Exports inspections of an inspectedAt range as a flat report, one row per defect (one row
+ * with empty defect columns for an inspection without defects).
+ *
+ * Documents come off a cursor over the inspectedAt index as raw BSON and are read field by
+ * field into a single reused row, without mapping to InspectionRecord. Each row goes
+ * straight to the format writer, so memory stays flat whatever the range: one cursor batch
+ * plus, for Parquet, one row group.
+ */
+@Service
+public class InspectionReportExporter {
+    private static final Logger log = LoggerFactory.getLogger(InspectionReportExporter.class);
+
+    private static final String COLLECTION = "inspection_records";
+    private static final Pattern SITE = Pattern.compile("[A-Za-z0-9_]{1,32}");
+
+    private static final int INSPECTION_ID = 0;
+    private static final int INSPECTION_NUMBER = 1;
+    private static final int SITE_COLUMN = 2;
+    private static final int TYPE = 3;
+    private static final int RESULT = 4;
+    private static final int INSPECTED_AT = 5;
+    private static final int COMPLETED_AT = 6;
+    private static final int ORDER_ID = 7;
+    private static final int SHIPMENT_ID = 8;
+    private static final int ITEM_ID = 9;
+    private static final int LOT_NUMBER = 10;
+    private static final int SERIAL_NUMBER = 11;
+    private static final int EXPIRY_DATE = 12;
+    private static final int INSPECTOR_ID = 13;
+    private static final int SAMPLE_SIZE = 14;
+    private static final int ITEMS_INSPECTED = 15;
+    private static final int DEFECTS_FOUND = 16;
+    private static final int CORRECTION_ACTION = 17;
+    private static final int CORRECTION_COMPLETED_AT = 18;
+    private static final int DEFECT_ID = 19;
+    private static final int DEFECT_TYPE = 20;
+    private static final int DEFECT_SEVERITY = 21;
+    private static final int DEFECT_QUANTITY = 22;
+    private static final int DEFECT_LOCATION = 23;
+    private static final int DEFECT_DESCRIPTION = 24;
+    private static final int DEFECT_REPORTED_BY = 25;
+    private static final int DEFECT_REPORTED_AT = 26;
+    private static final int DEFECT_ROOT_CAUSE = 27;
+    private static final int DEFECT_CORRECTION_ACTION = 28;
+
+    /** Report columns, indexed by the constants above */
+    public static final List<ReportColumn> COLUMNS = List.of(
+        ReportColumn.string("inspectionId"),
+        ReportColumn.string("inspectionNumber"),
+        ReportColumn.string("site"),
+        ReportColumn.string("type"),
+        ReportColumn.string("result"),
+        ReportColumn.timestamp("inspectedAt"),
+        ReportColumn.timestamp("completedAt"),
+        ReportColumn.string("orderId"),
+        ReportColumn.string("shipmentId"),
+        ReportColumn.string("itemId"),
+        ReportColumn.string("lotNumber"),
+        ReportColumn.string("serialNumber"),
+        ReportColumn.date("expiryDate"),
+        ReportColumn.string("inspectorId"),
+        ReportColumn.number("sampleSize"),
+        ReportColumn.number("itemsInspected"),
+        ReportColumn.number("defectsFound"),
+        ReportColumn.string("correctionAction"),
+        ReportColumn.timestamp("correctionCompletedAt"),
+        ReportColumn.string("defectId"),
+        ReportColumn.string("defectType"),
+        ReportColumn.string("defectSeverity"),
+        ReportColumn.number("defectQuantity"),
+        ReportColumn.string("defectLocation"),
+        ReportColumn.string("defectDescription"),
+        ReportColumn.string("defectReportedBy"),
+        ReportColumn.timestamp("defectReportedAt"),
+        ReportColumn.string("defectRootCause"),
+        ReportColumn.string("defectCorrectionAction"));
+
+    private static final Bson PROJECTION = Projections.include(
+        "inspectionNumber", "type", "result", "inspectedAt", "completedAt", "orderId", "shipmentId", "itemId",
+        "lotNumber", "serialNumber", "expiryDate", "inspectorId", "sampleSize", "itemsInspected", "defectsFound",
+        "correctionAction", "correctionCompletedAt", "defects");
+
+    private final MongoTemplate mongoTemplate;
+    private final int cursorBatchSize;
+    private final int xlsxCompressionLevel;
+    private final int parquetRowGroupRows;
+    private final DataSize parquetRowGroupSize;
+    private final int parquetCompressionLevel;
+    private final Timer[] exportTimers = new Timer[ReportFormat.values().length];
+    private final Counter[] rowCounters = new Counter[ReportFormat.values().length];
+
+    public InspectionReportExporter(MongoTemplate mongoTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${quality.report.cursor-batch-size:5000}") int cursorBatchSize,
+                                    @Value("${quality.report.xlsx.compression-level:1}") int xlsxCompressionLevel,
+                                    @Value("${quality.report.parquet.row-group-rows:65536}") int parquetRowGroupRows,
+                                    @Value("${quality.report.parquet.row-group-size:32MB}") DataSize parquetRowGroupSize,
+                                    @Value("${quality.report.parquet.compression-level:1}") int parquetCompressionLevel) {
+        this.mongoTemplate = mongoTemplate;
+        this.cursorBatchSize = cursorBatchSize;
+        this.xlsxCompressionLevel = xlsxCompressionLevel;
+        this.parquetRowGroupRows = parquetRowGroupRows;
+        this.parquetRowGroupSize = parquetRowGroupSize;
+        this.parquetCompressionLevel = parquetCompressionLevel;
+        for (ReportFormat format : ReportFormat.values()) {
+            String tag = format.extension();
+            exportTimers[format.ordinal()] = Timer.builder("quality.report.export")
+                .description("Time to stream an inspection report")
+                .tag("format", tag)
+                .register(meterRegistry);
+            rowCounters[format.ordinal()] = Counter.builder("quality.report.rows")
+                .description("Rows written to inspection reports")
+                .tag("format", tag)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Checks a request up front so it can be rejected before a streamed response is committed
+     */
+    public void validate(Instant from, Instant to, String site) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (site != null && !SITE.matcher(site).matches()) {
+            throw new IllegalArgumentException("Invalid site " + site);
+        }
+    }
+
+    /**
+     * Stream inspections with from <= inspectedAt < to, optionally of one site, to out in the
+     * given format. Returns the number of rows written.
+     */
+    public long export(Instant from, Instant to, String site, ReportFormat format, OutputStream out) throws IOException {
+        validate(from, to, site);
+        long started = System.nanoTime();
+        ReportWriter writer = switch (format) {
+            case CSV -> new CsvReportWriter(out, COLUMNS);
+            case XLSX -> new XlsxReportWriter(out, COLUMNS, "Inspections", xlsxCompressionLevel);
+            case PARQUET -> new ParquetReportWriter(out, COLUMNS, parquetRowGroupRows,
+                parquetRowGroupSize.toBytes(), parquetCompressionLevel);
+        };
+
+        Bson filter = Filters.and(Filters.gte("inspectedAt", Date.from(from)), Filters.lt("inspectedAt", Date.from(to)));
+        if (site != null) {
+            // Inspection numbers are INS-{site}-{sequence}
+            filter = Filters.and(filter, Filters.regex("inspectionNumber", "^INS-" + site + "-"));
+        }
+
+        ReportRow row = new ReportRow(COLUMNS.size());
+        long inspections = 0;
+        long rows = 0;
+        try (MongoCursor<RawBsonDocument> cursor = mongoTemplate.getDb()
+                .getCollection(COLLECTION, RawBsonDocument.class)
+                .find(filter)
+                .projection(PROJECTION)
+                .sort(Sorts.ascending("inspectedAt"))
+                .batchSize(cursorBatchSize)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                rows += writeInspection(cursor.next(), row, writer);
+                inspections++;
+            }
+        }
+        writer.finish();
+
+        long elapsed = System.nanoTime() - started;
+        exportTimers[format.ordinal()].record(Duration.ofNanos(elapsed));
+        rowCounters[format.ordinal()].increment(rows);
+        log.info("Exported {} inspections as {} rows of {} in {} ms", inspections, rows, format, elapsed / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Read the inspection fields into the row, then emit one row per defect. The defects array
+     * may come before other fields, so it is read in a second pass over the document.
+     */
+    public static int writeInspection(RawBsonDocument document, ReportRow row, ReportWriter writer) throws IOException {
+        row.clear(0, COLUMNS.size());
+        boolean hasDefects = false;
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                switch (name) {
+                    case "_id" -> row.setText(INSPECTION_ID, readText(reader));
+                    case "inspectionNumber" -> {
+                        String number = readText(reader);
+                        row.setText(INSPECTION_NUMBER, number);
+                        row.setText(SITE_COLUMN, siteOf(number));
+                    }
+                    case "type" -> row.setText(TYPE, readText(reader));
+                    case "result" -> row.setText(RESULT, readText(reader));
+                    case "inspectedAt" -> readTimestamp(reader, row, INSPECTED_AT);
+                    case "completedAt" -> readTimestamp(reader, row, COMPLETED_AT);
+                    case "orderId" -> row.setText(ORDER_ID, readText(reader));
+                    case "shipmentId" -> row.setText(SHIPMENT_ID, readText(reader));
+                    case "itemId" -> row.setText(ITEM_ID, readText(reader));
+                    case "lotNumber" -> row.setText(LOT_NUMBER, readText(reader));
+                    case "serialNumber" -> row.setText(SERIAL_NUMBER, readText(reader));
+                    case "expiryDate" -> readDate(reader, row, EXPIRY_DATE);
+                    case "inspectorId" -> row.setText(INSPECTOR_ID, readText(reader));
+                    case "sampleSize" -> readNumber(reader, row, SAMPLE_SIZE);
+                    case "itemsInspected" -> readNumber(reader, row, ITEMS_INSPECTED);
+                    case "defectsFound" -> readNumber(reader, row, DEFECTS_FOUND);
+                    case "correctionAction" -> row.setText(CORRECTION_ACTION, readText(reader));
+                    case "correctionCompletedAt" -> readTimestamp(reader, row, CORRECTION_COMPLETED_AT);
+                    case "defects" -> {
+                        hasDefects = reader.getCurrentBsonType() == BsonType.ARRAY;
+                        reader.skipValue();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+        }
+        if (!hasDefects) {
+            writer.write(row);
+            return 1;
+        }
+
+        int written = 0;
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (!reader.readName().equals("defects")) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    row.clear(DEFECT_ID, COLUMNS.size());
+                    readDefect(reader, row);
+                    writer.write(row);
+                    written++;
+                }
+                reader.readEndArray();
+                break;
+            }
+        }
+        if (written == 0) {
+            writer.write(row);
+            written = 1;
+        }
+        return written;
+    }
+
+    private static void readDefect(BsonBinaryReader reader, ReportRow row) {
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "defectId" -> row.setText(DEFECT_ID, readText(reader));
+                case "type" -> row.setText(DEFECT_TYPE, readText(reader));
+                case "severity" -> row.setText(DEFECT_SEVERITY, readText(reader));
+                case "quantity" -> readNumber(reader, row, DEFECT_QUANTITY);
+                case "location" -> row.setText(DEFECT_LOCATION, readText(reader));
+                case "description" -> row.setText(DEFECT_DESCRIPTION, readText(reader));
+                case "reportedBy" -> row.setText(DEFECT_REPORTED_BY, readText(reader));
+                case "reportedAt" -> readTimestamp(reader, row, DEFECT_REPORTED_AT);
+                case "rootCause" -> row.setText(DEFECT_ROOT_CAUSE, readText(reader));
+                case "correctionAction" -> row.setText(DEFECT_CORRECTION_ACTION, readText(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+    }
+
+    static String siteOf(String inspectionNumber) {
+        if (inspectionNumber == null || !inspectionNumber.startsWith("INS-")) {
+            return null;
+        }
+        int end = inspectionNumber.lastIndexOf('-');
+        return end > 4 ? inspectionNumber.substring(4, end) : null;
+    }
+
+    private static String readText(BsonBinaryReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case STRING:
+                return reader.readString();
+            case OBJECT_ID:
+                return reader.readObjectId().toHexString();
+            case SYMBOL:
+                return reader.readSymbol();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static void readNumber(BsonBinaryReader reader, ReportRow row, int column) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32 -> row.setNumber(column, reader.readInt32());
+            case INT64 -> row.setNumber(column, reader.readInt64());
+            case DOUBLE -> row.setNumber(column, (long) reader.readDouble());
+            default -> reader.skipValue();
+        }
+    }
+
+    private static void readTimestamp(BsonBinaryReader reader, ReportRow row, int column) {
+        if (reader.getCurrentBsonType() == BsonType.DATE_TIME) {
+            row.setNumber(column, reader.readDateTime());
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    // LocalDate is stored as the start of that day in the server's zone
+    private static void readDate(BsonBinaryReader reader, ReportRow row, int column) {
+        if (reader.getCurrentBsonType() == BsonType.DATE_TIME) {
+            Instant instant = Instant.ofEpochMilli(reader.readDateTime());
+            row.setNumber(column, LocalDate.ofInstant(instant, ZoneId.systemDefault()).toEpochDay());
+        } else {
+            reader.skipValue();
+        }
+    }
+}
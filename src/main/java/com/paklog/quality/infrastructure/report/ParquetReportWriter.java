@@ -0,0 +1,410 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Parquet file written as a stream, one row group at a time. Rows are split into per-column
+ * buffers until a row group is full (by rows or bytes); each column is then written as one
+ * v1 data page, PLAIN encoded with RLE/bit-packed definition levels and optionally gzip
+ * compressed, and the buffers are reused for the next group. Only the row-group offsets
+ * and statistics for the footer are kept for the whole file.
+ *
+ * Every column is OPTIONAL. STRING is BYTE_ARRAY (UTF8), LONG INT64, TIMESTAMP INT64
+ * (TIMESTAMP_MILLIS, UTC) and DATE INT32 (DATE).
+ */
+public final class ParquetReportWriter implements ReportWriter {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final String CREATED_BY = "paklog quality-compliance";
+
+    // Enum values from parquet.thrift
+    private static final int TYPE_INT32 = 1;
+    private static final int TYPE_INT64 = 2;
+    private static final int TYPE_BYTE_ARRAY = 6;
+    private static final int REPETITION_OPTIONAL = 1;
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_DATE = 6;
+    private static final int CONVERTED_TIMESTAMP_MILLIS = 9;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final int CODEC_UNCOMPRESSED = 0;
+    private static final int CODEC_GZIP = 2;
+    private static final int PAGE_TYPE_DATA = 0;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final OutputStream out;
+    private final ReportColumn[] columns;
+    private final ColumnBuffer[] buffers;
+    private final int rowGroupRows;
+    private final long rowGroupBytes;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final ThriftCompactWriter thrift = new ThriftCompactWriter();
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private byte[] page = new byte[64 * 1024];
+    private byte[] compressed = new byte[64 * 1024];
+    private long position;
+    private int rowsInGroup;
+    private long bytesInGroup;
+    private long totalRows;
+
+    /**
+     * @param compressionLevel gzip level for data pages, 0 for uncompressed pages
+     */
+    public ParquetReportWriter(OutputStream out, List<ReportColumn> columns, int rowGroupRows, long rowGroupBytes,
+                               int compressionLevel) throws IOException {
+        if (rowGroupRows < 1) {
+            throw new IllegalArgumentException("rowGroupRows must be positive");
+        }
+        this.out = out;
+        this.columns = columns.toArray(new ReportColumn[0]);
+        this.buffers = new ColumnBuffer[this.columns.length];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ColumnBuffer(rowGroupRows);
+        }
+        this.rowGroupRows = rowGroupRows;
+        this.rowGroupBytes = rowGroupBytes;
+        this.deflater = compressionLevel > 0 ? new Deflater(compressionLevel, true) : null;
+        write(MAGIC, 0, MAGIC.length);
+    }
+
+    @Override
+    public void write(ReportRow row) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            ColumnBuffer buffer = buffers[i];
+            if (!row.isPresent(i)) {
+                buffer.addNull();
+                continue;
+            }
+            switch (columns[i].kind()) {
+                case STRING -> bytesInGroup += buffer.addString(row.text(i));
+                case LONG, TIMESTAMP -> bytesInGroup += buffer.addLong(row.number(i));
+                case DATE -> bytesInGroup += buffer.addInt((int) row.number(i));
+            }
+        }
+        rowsInGroup++;
+        if (rowsInGroup == rowGroupRows || bytesInGroup >= rowGroupBytes) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rowsInGroup > 0) {
+            flushRowGroup();
+        }
+        writeFileMetadata();
+        thrift.writeTo(out);
+        position += thrift.size();
+        byte[] length = new byte[4];
+        putInt(length, 0, thrift.size());
+        write(length, 0, 4);
+        write(MAGIC, 0, MAGIC.length);
+        out.flush();
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        Chunk[] chunks = new Chunk[columns.length];
+        long uncompressedBytes = 0;
+        for (int i = 0; i < columns.length; i++) {
+            chunks[i] = writeColumnChunk(columns[i], buffers[i]);
+            uncompressedBytes += chunks[i].uncompressedSize();
+            buffers[i].reset();
+        }
+        rowGroups.add(new RowGroup(chunks, rowsInGroup, uncompressedBytes));
+        totalRows += rowsInGroup;
+        rowsInGroup = 0;
+        bytesInGroup = 0;
+    }
+
+    private Chunk writeColumnChunk(ReportColumn column, ColumnBuffer buffer) throws IOException {
+        int pageSize = buildPage(buffer);
+        byte[] body = page;
+        int bodySize = pageSize;
+        if (deflater != null) {
+            bodySize = gzip(pageSize);
+            body = compressed;
+        }
+
+        thrift.reset();
+        thrift.i32(1, PAGE_TYPE_DATA);
+        thrift.i32(2, pageSize);
+        thrift.i32(3, bodySize);
+        thrift.beginStruct(5);
+        thrift.i32(1, buffer.rows);
+        thrift.i32(2, ENCODING_PLAIN);
+        thrift.i32(3, ENCODING_RLE);
+        thrift.i32(4, ENCODING_RLE);
+        thrift.endStruct();
+        thrift.endStruct();
+
+        long offset = position;
+        int headerSize = thrift.size();
+        thrift.writeTo(out);
+        position += headerSize;
+        write(body, 0, bodySize);
+
+        boolean statistics = column.kind() != ReportColumn.Kind.STRING && buffer.nulls < buffer.rows;
+        return new Chunk(offset, buffer.rows, buffer.nulls, headerSize + (long) pageSize, headerSize + (long) bodySize,
+            statistics, buffer.min, buffer.max);
+    }
+
+    /**
+     * Definition levels (4-byte length, then one RLE run or one bit-packed run at bit width 1)
+     * followed by the PLAIN values, into {@link #page}
+     */
+    private int buildPage(ColumnBuffer buffer) {
+        int rows = buffer.rows;
+        int groups = (rows + 7) / 8;
+        ensurePage(4 + 10 + groups + buffer.size);
+        int at = 4;
+        if (buffer.nulls == 0 || buffer.nulls == rows) {
+            at = putVarint(page, at, (long) rows << 1);
+            page[at++] = (byte) (buffer.nulls == 0 ? 1 : 0);
+        } else {
+            at = putVarint(page, at, (long) groups << 1 | 1);
+            Arrays.fill(page, at, at + groups, (byte) 0);
+            byte[] defined = buffer.defined;
+            for (int row = 0; row < rows; row++) {
+                if (defined[row] != 0) {
+                    page[at + (row >>> 3)] |= (byte) (1 << (row & 7));
+                }
+            }
+            at += groups;
+        }
+        putInt(page, 0, at - 4);
+        System.arraycopy(buffer.values, 0, page, at, buffer.size);
+        return at + buffer.size;
+    }
+
+    private int gzip(int length) {
+        crc.reset();
+        crc.update(page, 0, length);
+        deflater.reset();
+        deflater.setInput(page, 0, length);
+        deflater.finish();
+        System.arraycopy(GZIP_HEADER, 0, compressed, 0, GZIP_HEADER.length);
+        int at = GZIP_HEADER.length;
+        while (!deflater.finished()) {
+            if (at == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            at += deflater.deflate(compressed, at, compressed.length - at);
+        }
+        if (at + 8 > compressed.length) {
+            compressed = Arrays.copyOf(compressed, at + 8);
+        }
+        putInt(compressed, at, (int) crc.getValue());
+        putInt(compressed, at + 4, length);
+        return at + 8;
+    }
+
+    private void writeFileMetadata() {
+        thrift.reset();
+        thrift.i32(1, 1);
+        thrift.beginList(2, ThriftCompactWriter.STRUCT, columns.length + 1);
+        thrift.beginStruct();
+        thrift.string(4, "schema");
+        thrift.i32(5, columns.length);
+        thrift.endStruct();
+        for (ReportColumn column : columns) {
+            thrift.beginStruct();
+            thrift.i32(1, switch (column.kind()) {
+                case STRING -> TYPE_BYTE_ARRAY;
+                case LONG, TIMESTAMP -> TYPE_INT64;
+                case DATE -> TYPE_INT32;
+            });
+            thrift.i32(3, REPETITION_OPTIONAL);
+            thrift.string(4, column.name());
+            switch (column.kind()) {
+                case STRING -> thrift.i32(6, CONVERTED_UTF8);
+                case TIMESTAMP -> thrift.i32(6, CONVERTED_TIMESTAMP_MILLIS);
+                case DATE -> thrift.i32(6, CONVERTED_DATE);
+                case LONG -> { }
+            }
+            thrift.endStruct();
+        }
+        thrift.i64(3, totalRows);
+        thrift.beginList(4, ThriftCompactWriter.STRUCT, rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            thrift.beginStruct();
+            thrift.beginList(1, ThriftCompactWriter.STRUCT, columns.length);
+            for (int i = 0; i < columns.length; i++) {
+                writeColumnChunkMetadata(columns[i], rowGroup.chunks()[i]);
+            }
+            thrift.i64(2, rowGroup.uncompressedBytes());
+            thrift.i64(3, rowGroup.rows());
+            thrift.endStruct();
+        }
+        thrift.string(6, CREATED_BY);
+        thrift.endStruct();
+    }
+
+    private void writeColumnChunkMetadata(ReportColumn column, Chunk chunk) {
+        thrift.beginStruct();
+        thrift.i64(2, chunk.offset());
+        thrift.beginStruct(3);
+        thrift.i32(1, switch (column.kind()) {
+            case STRING -> TYPE_BYTE_ARRAY;
+            case LONG, TIMESTAMP -> TYPE_INT64;
+            case DATE -> TYPE_INT32;
+        });
+        thrift.beginList(2, ThriftCompactWriter.I32, 2);
+        thrift.i32Element(ENCODING_PLAIN);
+        thrift.i32Element(ENCODING_RLE);
+        thrift.beginList(3, ThriftCompactWriter.BINARY, 1);
+        thrift.stringElement(column.name());
+        thrift.i32(4, deflater != null ? CODEC_GZIP : CODEC_UNCOMPRESSED);
+        thrift.i64(5, chunk.values());
+        thrift.i64(6, chunk.uncompressedSize());
+        thrift.i64(7, chunk.compressedSize());
+        thrift.i64(9, chunk.offset());
+        thrift.beginStruct(12);
+        thrift.i64(3, chunk.nulls());
+        if (chunk.statistics()) {
+            int width = column.kind() == ReportColumn.Kind.DATE ? 4 : 8;
+            thrift.binary(5, littleEndian(chunk.max(), width));
+            thrift.binary(6, littleEndian(chunk.min(), width));
+        }
+        thrift.endStruct();
+        thrift.endStruct();
+        thrift.endStruct();
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+        position += length;
+    }
+
+    private void ensurePage(int capacity) {
+        if (page.length < capacity) {
+            page = new byte[Math.max(capacity, page.length * 2)];
+        }
+        if (deflater != null && compressed.length < capacity / 2) {
+            compressed = new byte[Math.max(capacity / 2, compressed.length * 2)];
+        }
+    }
+
+    private static byte[] littleEndian(long value, int width) {
+        byte[] bytes = new byte[width];
+        for (int i = 0; i < width; i++) {
+            bytes[i] = (byte) (value >>> (8 * i));
+        }
+        return bytes;
+    }
+
+    private static int putVarint(byte[] bytes, int at, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[at++] = (byte) value;
+        return at;
+    }
+
+    private static void putInt(byte[] bytes, int at, int value) {
+        bytes[at] = (byte) value;
+        bytes[at + 1] = (byte) (value >>> 8);
+        bytes[at + 2] = (byte) (value >>> 16);
+        bytes[at + 3] = (byte) (value >>> 24);
+    }
+
+    private record Chunk(long offset, long values, long nulls, long uncompressedSize, long compressedSize,
+                         boolean statistics, long min, long max) {
+    }
+
+    private record RowGroup(Chunk[] chunks, long rows, long uncompressedBytes) {
+    }
+
+    /**
+     * Definition levels and PLAIN-encoded values of one column for the current row group
+     */
+    private static final class ColumnBuffer {
+
+        private final byte[] defined;
+        private byte[] values = new byte[16 * 1024];
+        private int size;
+        private int rows;
+        private int nulls;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        private ColumnBuffer(int rowGroupRows) {
+            this.defined = new byte[rowGroupRows];
+        }
+
+        private void addNull() {
+            defined[rows++] = 0;
+            nulls++;
+        }
+
+        private int addLong(long value) {
+            defined[rows++] = 1;
+            track(value);
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                values[size++] = (byte) (value >>> (8 * i));
+            }
+            return 8;
+        }
+
+        private int addInt(int value) {
+            defined[rows++] = 1;
+            track(value);
+            ensure(4);
+            putInt(values, size, value);
+            size += 4;
+            return 4;
+        }
+
+        private int addString(String value) {
+            defined[rows++] = 1;
+            int length = value.length();
+            ensure(4 + length);
+            int start = size;
+            int at = start + 4;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    ensure(4 + utf8.length);
+                    System.arraycopy(utf8, 0, values, start + 4, utf8.length);
+                    at = start + 4 + utf8.length;
+                    break;
+                }
+                values[at++] = (byte) c;
+            }
+            putInt(values, start, at - start - 4);
+            size = at;
+            return at - start;
+        }
+
+        private void track(long value) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + extra));
+            }
+        }
+
+        private void reset() {
+            size = 0;
+            rows = 0;
+            nulls = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+        }
+    }
+}
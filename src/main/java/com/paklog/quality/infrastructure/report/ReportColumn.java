@@ -0,0 +1,32 @@
+package com.paklog.quality.infrastructure.report;
+
+/**
+ * One column of an exported report. Every column is nullable.
+ */
+public record ReportColumn(String name, Kind kind) {
+
+    public enum Kind {
+        STRING,
+        LONG,
+        /** Epoch milliseconds, UTC */
+        TIMESTAMP,
+        /** Epoch day */
+        DATE
+    }
+
+    public static ReportColumn string(String name) {
+        return new ReportColumn(name, Kind.STRING);
+    }
+
+    public static ReportColumn number(String name) {
+        return new ReportColumn(name, Kind.LONG);
+    }
+
+    public static ReportColumn timestamp(String name) {
+        return new ReportColumn(name, Kind.TIMESTAMP);
+    }
+
+    public static ReportColumn date(String name) {
+        return new ReportColumn(name, Kind.DATE);
+    }
+}
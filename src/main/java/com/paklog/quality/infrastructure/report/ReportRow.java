@@ -0,0 +1,56 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.util.Arrays;
+
+/**
+ * Values of the row being written, reused for every row of an export. STRING columns hold
+ * text; LONG, TIMESTAMP and DATE columns hold a long.
+ */
+public final class ReportRow {
+
+    private final String[] text;
+    private final long[] numbers;
+    private final boolean[] present;
+
+    public ReportRow(int columns) {
+        this.text = new String[columns];
+        this.numbers = new long[columns];
+        this.present = new boolean[columns];
+    }
+
+    public void setText(int column, String value) {
+        text[column] = value;
+        present[column] = value != null;
+    }
+
+    public void setNumber(int column, long value) {
+        numbers[column] = value;
+        present[column] = true;
+    }
+
+    public void clear(int column) {
+        text[column] = null;
+        present[column] = false;
+    }
+
+    public void clear(int fromColumn, int toColumn) {
+        Arrays.fill(text, fromColumn, toColumn, null);
+        Arrays.fill(present, fromColumn, toColumn, false);
+    }
+
+    public boolean isPresent(int column) {
+        return present[column];
+    }
+
+    public String text(int column) {
+        return text[column];
+    }
+
+    public long number(int column) {
+        return numbers[column];
+    }
+
+    public int columns() {
+        return present.length;
+    }
+}
@@ -0,0 +1,17 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.io.IOException;
+
+/**
+ * Writes rows of a report to an output stream as they arrive. Implementations buffer at most
+ * a bounded number of rows, whatever the length of the report.
+ */
+public interface ReportWriter {
+
+    void write(ReportRow row) throws IOException;
+
+    /**
+     * Write any buffered rows and the format's trailer. Does not close the underlying stream.
+     */
+    void finish() throws IOException;
+}
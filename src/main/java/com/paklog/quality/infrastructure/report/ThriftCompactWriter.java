@@ -0,0 +1,149 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Just enough of the Thrift compact protocol to write Parquet page headers and file
+ * metadata: structs, i32/i64/bool/binary fields and lists. Callers write fields in
+ * ascending id order and close every struct they open; the top-level struct is closed
+ * with {@link #endStruct()} as well.
+ */
+final class ThriftCompactWriter {
+
+    static final byte BOOLEAN_TRUE = 1;
+    static final byte BOOLEAN_FALSE = 2;
+    static final byte I32 = 5;
+    static final byte I64 = 6;
+    static final byte BINARY = 8;
+    static final byte LIST = 9;
+    static final byte STRUCT = 12;
+
+    private byte[] bytes = new byte[256];
+    private int size;
+    private final int[] fieldStack = new int[16];
+    private int depth;
+    private int lastField;
+
+    void i32(int id, int value) {
+        fieldHeader(id, I32);
+        varint(zigzag(value));
+    }
+
+    void i64(int id, long value) {
+        fieldHeader(id, I64);
+        varint(zigzag(value));
+    }
+
+    void bool(int id, boolean value) {
+        fieldHeader(id, value ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+    }
+
+    void binary(int id, byte[] value) {
+        fieldHeader(id, BINARY);
+        binaryValue(value);
+    }
+
+    void string(int id, String value) {
+        binary(id, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void beginStruct(int id) {
+        fieldHeader(id, STRUCT);
+        push();
+    }
+
+    /** Start a struct element of a list */
+    void beginStruct() {
+        push();
+    }
+
+    void endStruct() {
+        write(0);
+        lastField = depth > 0 ? fieldStack[--depth] : 0;
+    }
+
+    void beginList(int id, byte elementType, int elements) {
+        fieldHeader(id, LIST);
+        if (elements < 15) {
+            write(elements << 4 | elementType);
+        } else {
+            write(0xF0 | elementType);
+            varint(elements);
+        }
+    }
+
+    void i32Element(int value) {
+        varint(zigzag(value));
+    }
+
+    void stringElement(String value) {
+        binaryValue(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+        depth = 0;
+        lastField = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    private void fieldHeader(int id, byte type) {
+        int delta = id - lastField;
+        if (delta > 0 && delta <= 15) {
+            write(delta << 4 | type);
+        } else {
+            write(type);
+            varint(zigzag(id));
+        }
+        lastField = id;
+    }
+
+    private void push() {
+        fieldStack[depth++] = lastField;
+        lastField = 0;
+    }
+
+    private void binaryValue(byte[] value) {
+        varint(value.length);
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private void write(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
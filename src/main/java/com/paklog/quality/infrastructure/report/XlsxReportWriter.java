@@ -0,0 +1,312 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Office Open XML workbook written as a stream: the worksheet XML goes straight into the zip
+ * entry row by row with inline strings, so there is no shared-string table or in-memory
+ * sheet. The package parts that list the sheets are written after them. A sheet that
+ * reaches Excel's row limit continues on the next one, each with the header row frozen.
+ *
+ * Rows are encoded to UTF-8 directly into a byte buffer with pre-encoded tags; going through
+ * a Writer costs a lock and an encoder call per tag, which made XML generation the
+ * bottleneck rather than deflate.
+ */
+public final class XlsxReportWriter implements ReportWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final int MAX_CELL_CHARS = 32_767;
+    private static final long EXCEL_DAY_OF_EPOCH = 25_569;
+    private static final long MILLIS_PER_DAY = 86_400_000;
+    private static final long SERIAL_FRACTION_SCALE = 10_000_000_000L;
+    private static final int SERIAL_FRACTION_DIGITS = 10;
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    // Cell styles are indexes into cellXfs of styles.xml: 1 timestamp, 2 header, 3 date
+    private static final byte[] ROW_START = utf8("<row r=\"");
+    private static final byte[] TAG_END = utf8("\">");
+    private static final byte[] ROW_END = utf8("</row>");
+    private static final byte[] EMPTY_CELL = utf8("<c/>");
+    private static final byte[] NUMBER_START = utf8("<c><v>");
+    private static final byte[] TIMESTAMP_START = utf8("<c s=\"1\"><v>");
+    private static final byte[] DATE_START = utf8("<c s=\"3\"><v>");
+    private static final byte[] NUMBER_END = utf8("</v></c>");
+    private static final byte[] STRING_START = utf8("<c t=\"inlineStr\"><is><t");
+    private static final byte[] HEADER_START = utf8("<c s=\"2\" t=\"inlineStr\"><is><t");
+    private static final byte[] PRESERVE_SPACE = utf8(" xml:space=\"preserve\"");
+    private static final byte[] STRING_END = utf8("</t></is></c>");
+    private static final byte[] AMP = utf8("&amp;");
+    private static final byte[] LT = utf8("&lt;");
+    private static final byte[] GT = utf8("&gt;");
+
+    private final ZipOutputStream zip;
+    private final ReportColumn[] columns;
+    private final String sheetName;
+    private byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int sheets;
+    private int rowsInSheet;
+
+    public XlsxReportWriter(OutputStream out, List<ReportColumn> columns, String sheetName, int compressionLevel) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.zip.setLevel(compressionLevel);
+        this.columns = columns.toArray(new ReportColumn[0]);
+        this.sheetName = sheetName;
+        startSheet();
+    }
+
+    @Override
+    public void write(ReportRow row) throws IOException {
+        if (rowsInSheet == MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+        }
+        rowsInSheet++;
+        put(ROW_START);
+        putLong(rowsInSheet);
+        put(TAG_END);
+        for (int i = 0; i < columns.length; i++) {
+            if (!row.isPresent(i)) {
+                put(EMPTY_CELL);
+                continue;
+            }
+            switch (columns[i].kind()) {
+                case STRING -> putInlineString(STRING_START, row.text(i));
+                case LONG -> {
+                    put(NUMBER_START);
+                    putLong(row.number(i));
+                    put(NUMBER_END);
+                }
+                case TIMESTAMP -> {
+                    put(TIMESTAMP_START);
+                    putSerial(row.number(i));
+                    put(NUMBER_END);
+                }
+                case DATE -> {
+                    put(DATE_START);
+                    putLong(EXCEL_DAY_OF_EPOCH + row.number(i));
+                    put(NUMBER_END);
+                }
+            }
+        }
+        put(ROW_END);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endSheet();
+        writeEntry("xl/styles.xml", styles());
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+        writeEntry("_rels/.rels", XML_DECLARATION
+            + "<Relationships xmlns=\"" + PACKAGE_REL_NS + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>");
+        writeEntry("[Content_Types].xml", contentTypes());
+        zip.finish();
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        rowsInSheet = 1;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        put(utf8(XML_DECLARATION
+            + "<worksheet xmlns=\"" + MAIN_NS + "\"><sheetViews><sheetView workbookViewId=\"0\">"
+            + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+            + "</sheetView></sheetViews><sheetData><row r=\"1\">"));
+        for (ReportColumn column : columns) {
+            putInlineString(HEADER_START, column.name());
+        }
+        put(ROW_END);
+    }
+
+    private void endSheet() throws IOException {
+        put(utf8("</sheetData></worksheet>"));
+        flushBuffer();
+        zip.closeEntry();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Excel date serial (days since 1899-12-30) of an epoch-millis timestamp, with ten
+     * decimals computed in integer arithmetic
+     */
+    private void putSerial(long epochMillis) throws IOException {
+        putLong(EXCEL_DAY_OF_EPOCH + Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+        long fraction = Math.floorMod(epochMillis, MILLIS_PER_DAY) * SERIAL_FRACTION_SCALE / MILLIS_PER_DAY;
+        if (fraction == 0) {
+            return;
+        }
+        ensure(SERIAL_FRACTION_DIGITS + 1);
+        buffer[position++] = '.';
+        int end = position + SERIAL_FRACTION_DIGITS;
+        for (int at = end - 1; at >= position; at--) {
+            buffer[at] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        while (buffer[end - 1] == '0') {
+            end--;
+        }
+        position = end;
+    }
+
+    private void putInlineString(byte[] start, String value) throws IOException {
+        int length = Math.min(value.length(), MAX_CELL_CHARS);
+        put(start);
+        if (length > 0 && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(length - 1)))) {
+            put(PRESERVE_SPACE);
+        }
+        ensure(1 + length * 5);
+        buffer[position++] = '>';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '&' -> putUnchecked(AMP);
+                    case '<' -> putUnchecked(LT);
+                    case '>' -> putUnchecked(GT);
+                    default -> {
+                        // Control characters other than tab and line breaks are not allowed in XML
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            buffer[position++] = (byte) c;
+                        }
+                    }
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (!Character.isSurrogate(c) && c != '\uFFFE' && c != '\uFFFF') {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        put(STRING_END);
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(20);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                putUnchecked(utf8(Long.toString(value)));
+                return;
+            }
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int at = position + digits - 1; at >= position; at--) {
+            buffer[at] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        putUnchecked(bytes);
+    }
+
+    private void putUnchecked(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+            if (bytes > buffer.length) {
+                buffer = new byte[bytes];
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        zip.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private String workbook() {
+        StringBuilder content = new StringBuilder(XML_DECLARATION)
+            .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int i = 1; i <= sheets; i++) {
+            String name = i == 1 ? sheetName : sheetName + " " + i;
+            content.append("<sheet name=\"").append(name).append("\" sheetId=\"").append(i)
+                .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return content.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelationships() {
+        StringBuilder content = new StringBuilder(XML_DECLARATION)
+            .append("<Relationships xmlns=\"").append(PACKAGE_REL_NS).append("\">");
+        for (int i = 1; i <= sheets; i++) {
+            content.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL_NS)
+                .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        content.append("<Relationship Id=\"rId").append(sheets + 1).append("\" Type=\"").append(REL_NS)
+            .append("/styles\" Target=\"styles.xml\"/>");
+        return content.append("</Relationships>").toString();
+    }
+
+    private String contentTypes() {
+        StringBuilder content = new StringBuilder(XML_DECLARATION)
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheets; i++) {
+            content.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return content.append("</Types>").toString();
+    }
+
+    private static String styles() {
+        return XML_DECLARATION
+            + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+            + "<numFmts count=\"2\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/>"
+            + "<numFmt numFmtId=\"165\" formatCode=\"yyyy-mm-dd\"/></numFmts>"
+            + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+            + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"4\">"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+            + "<xf numFmtId=\"165\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "</cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
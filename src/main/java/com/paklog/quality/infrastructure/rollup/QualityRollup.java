@@ -0,0 +1,31 @@
+package com.paklog.quality.infrastructure.rollup;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * One instance's sketches for one item family and time bucket. Each instance only writes its
+ * own documents; queries merge them across instances, families and buckets.
+ */
+@Document(collection = "quality_rollups")
+@CompoundIndex(name = "bucket_family", def = "{'bucket': 1, 'family': 1}")
+public record QualityRollup(
+    @Id String id,
+    Instant bucket,
+    String family,
+    String nodeId,
+    long inspections,
+    byte[] weightDeviation,
+    byte[] temperature,
+    byte[] defectiveItems,
+    @Version Long version,
+    Instant updatedAt
+) {
+
+    static String id(Instant bucket, String family, String nodeId) {
+        return bucket.toEpochMilli() + "|" + family + "|" + nodeId;
+    }
+}
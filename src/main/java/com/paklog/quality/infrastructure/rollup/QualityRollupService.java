@@ -0,0 +1,284 @@
+package com.paklog.quality.infrastructure.rollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.out.QualityRollupPort;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.sketch.TDigest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the quality dashboard rollups: per item family and time bucket, a t-digest of
+ * weight deviation, a t-digest of cold-chain temperature readings and a HyperLogLog of the
+ * items found defective.
+ *
+ * Completed inspections and uploaded traces are added to sketches held in memory, and every
+ * flush-interval those are merged into this instance's {@link QualityRollup} documents
+ * (read, merge, write on the version). A failed write keeps the sketches for the next flush.
+ * Queries merge the documents of every instance, bucket and family they cover, so dashboards
+ * lag by at most one flush interval and each document stays a few KB however many inspections
+ * it summarizes.
+ */
+@Service
+@ConditionalOnProperty(name = "quality.rollups.enabled", havingValue = "true")
+public class QualityRollupService implements QualityRollupPort, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(QualityRollupService.class);
+
+    public static final String ALL_FAMILIES = "all";
+    private static final String UNKNOWN_FAMILY = "unknown";
+    private static final String OTHER_FAMILY = "other";
+    private static final int MAX_POINTS = 10_000;
+    private static final int WRITE_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final String nodeId;
+    private final long bucketMillis;
+    private final Pattern familyPattern;
+    private final int maxFamilies;
+    private final Duration flushInterval;
+    private final Set<String> families = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Key, RollupSketches> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    record Key(Instant bucket, String family) {
+    }
+
+    public QualityRollupService(MongoTemplate mongoTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${quality.rollups.node-id:${HOSTNAME:local}}") String nodeId,
+                                @Value("${quality.rollups.bucket:1h}") Duration bucket,
+                                @Value("${quality.rollups.family-pattern:([^-]+)-}") String familyPattern,
+                                @Value("${quality.rollups.max-families:1000}") int maxFamilies,
+                                @Value("${quality.rollups.flush-interval:30s}") Duration flushInterval) {
+        if (bucket.isNegative() || bucket.isZero() || Duration.ofDays(1).toMillis() % bucket.toMillis() != 0) {
+            throw new IllegalArgumentException("quality.rollups.bucket must divide a day: " + bucket);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.nodeId = nodeId;
+        this.bucketMillis = bucket.toMillis();
+        this.familyPattern = Pattern.compile(familyPattern);
+        this.maxFamilies = maxFamilies;
+        this.flushInterval = flushInterval;
+        Gauge.builder("quality.rollups.pending", pending, Map::size)
+            .description("Family buckets with sketches not yet written to MongoDB")
+            .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "quality-rollups");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void recordCompletion(InspectionRecord inspection) {
+        Instant completedAt = inspection.getCompletedAt() != null ? inspection.getCompletedAt() : Instant.now();
+        double weightKg = inspection.getWeightKg();
+        double expectedWeightKg = inspection.getExpectedWeightKg();
+        boolean defective = inspection.getDefectsFound() > 0 && inspection.getItemId() != null;
+        pending.compute(key(completedAt, inspection.getItemId()), (key, sketches) -> {
+            if (sketches == null) {
+                sketches = new RollupSketches();
+            }
+            sketches.inspections++;
+            if (weightKg > 0 && expectedWeightKg > 0) {
+                sketches.weightDeviation.add(Math.abs(weightKg - expectedWeightKg) / expectedWeightKg * 100);
+            }
+            if (defective) {
+                sketches.defectiveItems.add(inspection.getItemId());
+            }
+            return sketches;
+        });
+    }
+
+    /**
+     * Readings are bucketed at upload time
+     */
+    @Override
+    public void recordTemperatures(String itemId, TDigest readings) {
+        pending.compute(key(Instant.now(), itemId), (key, sketches) -> {
+            if (sketches == null) {
+                sketches = new RollupSketches();
+            }
+            sketches.temperature.merge(readings);
+            return sketches;
+        });
+    }
+
+    /**
+     * Series per family, or one combined series, with a point per interval in [from, to).
+     * Intervals are whole multiples of the bucket, aligned to the epoch (midnight UTC for days).
+     */
+    public List<RollupSeries> series(Instant from, Instant to, Set<String> familyFilter, Duration interval,
+                                     boolean combined, List<Double> quantiles) {
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis <= 0 || intervalMillis % bucketMillis != 0) {
+            throw new IllegalArgumentException("interval must be a multiple of the " + Duration.ofMillis(bucketMillis) + " bucket");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        long start = floor(from.toEpochMilli(), intervalMillis);
+        if ((to.toEpochMilli() - start) / intervalMillis >= MAX_POINTS) {
+            throw new IllegalArgumentException("At most " + MAX_POINTS + " intervals per query");
+        }
+        for (double q : quantiles) {
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("quantiles must be between 0 and 1: " + q);
+            }
+        }
+
+        Criteria criteria = Criteria.where("bucket").gte(Instant.ofEpochMilli(start)).lt(to);
+        if (!familyFilter.isEmpty()) {
+            criteria = criteria.and("family").in(familyFilter);
+        }
+        Map<String, TreeMap<Long, RollupSketches>> merged = new TreeMap<>();
+        for (QualityRollup rollup : mongoTemplate.find(new Query(criteria), QualityRollup.class)) {
+            String family = combined ? ALL_FAMILIES : rollup.family();
+            long intervalStart = floor(rollup.bucket().toEpochMilli(), intervalMillis);
+            merged.computeIfAbsent(family, f -> new TreeMap<>())
+                .merge(intervalStart, RollupSketches.of(rollup), RollupSketches::merge);
+        }
+
+        List<RollupSeries> series = new ArrayList<>(merged.size());
+        merged.forEach((family, intervals) -> {
+            List<RollupSeries.Point> points = new ArrayList<>(intervals.size());
+            intervals.forEach((intervalStart, sketches) -> points.add(new RollupSeries.Point(
+                Instant.ofEpochMilli(intervalStart),
+                sketches.inspections,
+                sketches.weightDeviation.count(),
+                quantiles(sketches.weightDeviation, quantiles),
+                sketches.temperature.count(),
+                quantiles(sketches.temperature, quantiles),
+                sketches.defectiveItems.cardinality())));
+            series.add(new RollupSeries(family, points));
+        });
+        return series;
+    }
+
+    /**
+     * Write every pending sketch to this instance's documents
+     */
+    public void flush() {
+        int written = 0;
+        for (Key key : List.copyOf(pending.keySet())) {
+            RollupSketches sketches = pending.remove(key);
+            if (sketches == null) {
+                continue;
+            }
+            try {
+                write(key, sketches);
+                written++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write rollup {} {}; keeping it for the next flush", key.family(), key.bucket(), e);
+                pending.merge(key, sketches, RollupSketches::merge);
+            }
+        }
+        if (written > 0) {
+            log.debug("Flushed {} quality rollups", written);
+        }
+    }
+
+    private void write(Key key, RollupSketches sketches) {
+        String id = QualityRollup.id(key.bucket(), key.family(), nodeId);
+        for (int attempt = 1; ; attempt++) {
+            QualityRollup stored = mongoTemplate.findById(id, QualityRollup.class);
+            // Merge into a copy so a lost race retries from the unmerged sketches
+            RollupSketches merged = stored == null ? sketches : RollupSketches.of(stored).merge(sketches);
+            try {
+                mongoTemplate.save(merged.toDocument(key.bucket(), key.family(), nodeId,
+                    stored == null ? null : stored.version(), Instant.now()));
+                return;
+            } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                // Another instance running under the same node id wrote first
+                if (attempt == WRITE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Key key(Instant at, String itemId) {
+        return new Key(Instant.ofEpochMilli(floor(at.toEpochMilli(), bucketMillis)), family(itemId));
+    }
+
+    private String family(String itemId) {
+        if (itemId == null || itemId.isBlank()) {
+            return UNKNOWN_FAMILY;
+        }
+        Matcher matcher = familyPattern.matcher(itemId);
+        if (!matcher.lookingAt()) {
+            return OTHER_FAMILY;
+        }
+        String family = matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+        if (family == null || family.isEmpty()) {
+            return OTHER_FAMILY;
+        }
+        // Bounds the documents written per bucket when item ids do not follow the pattern
+        if (!families.contains(family)) {
+            if (families.size() >= maxFamilies) {
+                return OTHER_FAMILY;
+            }
+            families.add(family);
+        }
+        return family;
+    }
+
+    private static Map<String, Double> quantiles(TDigest digest, List<Double> quantiles) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            String name = "p" + BigDecimal.valueOf(q * 100).stripTrailingZeros().toPlainString();
+            values.put(name, digest.count() == 0 ? null : digest.quantile(q));
+        }
+        return values;
+    }
+
+    private static long floor(long epochMillis, long unitMillis) {
+        return epochMillis - Math.floorMod(epochMillis, unitMillis);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long period = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Quality rollup flush failed", e);
+        }
+    }
+}
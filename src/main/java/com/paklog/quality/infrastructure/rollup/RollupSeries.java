@@ -0,0 +1,23 @@
+package com.paklog.quality.infrastructure.rollup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard series of one item family (or "all" when families are combined). Quantiles are
+ * keyed p50, p95, p99.9 and so on, and null when the interval has no values.
+ */
+public record RollupSeries(String family, List<Point> points) {
+
+    public record Point(
+        Instant start,
+        long inspections,
+        long weighedInspections,
+        Map<String, Double> weightDeviationPercent,
+        long temperatureReadings,
+        Map<String, Double> temperatureCelsius,
+        long distinctDefectiveItems
+    ) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.paklog.quality.infrastructure.rollup;
+
+import com.paklog.quality.domain.sketch.HyperLogLog;
+import com.paklog.quality.domain.sketch.TDigest;
+import java.time.Instant;
+
+/**
+ * Mutable sketches of one family and bucket: pending changes on this instance, or the merge
+ * of stored documents at query time
+ */
+final class RollupSketches {
+
+    long inspections;
+    final TDigest weightDeviation;
+    final TDigest temperature;
+    final HyperLogLog defectiveItems;
+
+    RollupSketches() {
+        this(0, new TDigest(), new TDigest(), new HyperLogLog());
+    }
+
+    private RollupSketches(long inspections, TDigest weightDeviation, TDigest temperature, HyperLogLog defectiveItems) {
+        this.inspections = inspections;
+        this.weightDeviation = weightDeviation;
+        this.temperature = temperature;
+        this.defectiveItems = defectiveItems;
+    }
+
+    static RollupSketches of(QualityRollup rollup) {
+        return new RollupSketches(rollup.inspections(),
+            TDigest.fromBytes(rollup.weightDeviation()),
+            TDigest.fromBytes(rollup.temperature()),
+            HyperLogLog.fromBytes(rollup.defectiveItems()));
+    }
+
+    RollupSketches merge(RollupSketches other) {
+        inspections += other.inspections;
+        weightDeviation.merge(other.weightDeviation);
+        temperature.merge(other.temperature);
+        defectiveItems.merge(other.defectiveItems);
+        return this;
+    }
+
+    QualityRollup toDocument(Instant bucket, String family, String nodeId, Long version, Instant updatedAt) {
+        return new QualityRollup(QualityRollup.id(bucket, family, nodeId), bucket, family, nodeId, inspections,
+            weightDeviation.toBytes(), temperature.toBytes(), defectiveItems.toBytes(), version, updatedAt);
+    }
+}
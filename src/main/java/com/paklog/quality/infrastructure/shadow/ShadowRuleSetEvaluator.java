@@ -0,0 +1,179 @@
+package com.paklog.quality.infrastructure.shadow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.domain.aggregate.ComplianceRule;
+import com.paklog.quality.domain.repository.ComplianceRuleRepository;
+import com.paklog.quality.domain.service.InspectionFacts;
+import com.paklog.quality.domain.service.ShadowRuleEvaluator;
+import com.paklog.quality.domain.valueobject.ComplianceLevel;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs a candidate rule-set version beside the live rules and counts where they disagree.
+ *
+ * Work is queued on a small, bounded, low-priority pool. When the queue is full the
+ * inspection is simply not shadowed (counted as shed), so a traffic spike costs the live
+ * path one failed offer and nothing more. Candidate rules are read by the pool threads and
+ * cached per inspection type for refresh-interval.
+ *
+ * Divergence is counted per rule code: "newly_failing" where the candidate fails a rule the
+ * live set passes (or does not have), "newly_passing" the other way round, and the same for
+ * the overall verdict, which fails when any CRITICAL rule fails.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.rules.shadow.enabled", havingValue = "true")
+public class ShadowRuleSetEvaluator implements ShadowRuleEvaluator, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ShadowRuleSetEvaluator.class);
+
+    private static final String OTHER = "other";
+
+    private final ComplianceRuleRepository ruleRepository;
+    private final MeterRegistry registry;
+    private final String candidateVersion;
+    private final double sampleRate;
+    private final long refreshNanos;
+    private final int maxRuleTags;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<InspectionType, CandidateRules> candidates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> divergence = new ConcurrentHashMap<>();
+    private final Counter evaluated;
+    private final Counter shed;
+
+    public ShadowRuleSetEvaluator(ComplianceRuleRepository ruleRepository,
+                                  MeterRegistry registry,
+                                  @Value("${quality.rules.shadow.rule-set-version}") String candidateVersion,
+                                  @Value("${quality.rules.shadow.threads:2}") int threads,
+                                  @Value("${quality.rules.shadow.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${quality.rules.shadow.sample-rate:1.0}") double sampleRate,
+                                  @Value("${quality.rules.shadow.refresh-interval:60s}") Duration refreshInterval,
+                                  @Value("${quality.metrics.max-rule-tags:100}") int maxRuleTags) {
+        this.ruleRepository = ruleRepository;
+        this.registry = registry;
+        this.candidateVersion = candidateVersion;
+        this.sampleRate = sampleRate;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.maxRuleTags = maxRuleTags;
+        this.evaluated = Counter.builder("quality.rules.shadow.evaluations")
+            .description("Inspections evaluated against the candidate rule set")
+            .tag("candidate", candidateVersion)
+            .register(registry);
+        this.shed = Counter.builder("quality.rules.shadow.shed")
+            .description("Inspections not shadowed because the shadow queue was full")
+            .tag("candidate", candidateVersion)
+            .register(registry);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new ThreadFactory() {
+                private int count;
+
+                @Override
+                public synchronized Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "rule-shadow-" + count++);
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            }, (task, pool) -> shed.increment());
+        this.executor.prestartAllCoreThreads();
+        Gauge.builder("quality.rules.shadow.queue", executor, pool -> pool.getQueue().size())
+            .description("Inspections waiting for shadow evaluation")
+            .register(registry);
+        log.info("Shadow evaluating rule set {}", candidateVersion);
+    }
+
+    @Override
+    public void submit(InspectionType type, Map<String, Object> facts,
+                       List<ComplianceRule> livePassed, List<ComplianceRule> liveFailed) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        // A full queue rejects straight into the shed counter
+        executor.execute(() -> compare(type, facts, livePassed, liveFailed));
+    }
+
+    private void compare(InspectionType type, Map<String, Object> facts,
+                         List<ComplianceRule> livePassed, List<ComplianceRule> liveFailed) {
+        try {
+            Map<String, Boolean> live = new HashMap<>();
+            livePassed.forEach(rule -> live.put(key(rule), true));
+            liveFailed.forEach(rule -> live.put(key(rule), false));
+
+            double[] factVector = InspectionFacts.toVector(facts);
+            Map<String, Boolean> candidate = new HashMap<>();
+            boolean candidateCritical = false;
+            for (ComplianceRule rule : candidateRules(type)) {
+                if (rule.getApplicableTo() != type) {
+                    continue;
+                }
+                boolean passed = rule.check(facts, factVector);
+                candidate.put(key(rule), passed);
+                candidateCritical |= !passed && rule.getLevel() == ComplianceLevel.CRITICAL;
+            }
+
+            Set<String> ruleCodes = new HashSet<>(live.keySet());
+            ruleCodes.addAll(candidate.keySet());
+            for (String ruleCode : ruleCodes) {
+                // A rule missing from one side counts as passing there
+                boolean livePass = live.getOrDefault(ruleCode, true);
+                boolean candidatePass = candidate.getOrDefault(ruleCode, true);
+                if (livePass != candidatePass) {
+                    divergence(ruleCode, candidatePass).increment();
+                }
+            }
+
+            boolean liveCritical = liveFailed.stream()
+                .anyMatch(rule -> rule.getLevel() == ComplianceLevel.CRITICAL);
+            if (liveCritical != candidateCritical) {
+                divergence("_overall", liveCritical).increment();
+            }
+            evaluated.increment();
+        } catch (RuntimeException e) {
+            log.warn("Shadow evaluation of rule set {} failed", candidateVersion, e);
+        }
+    }
+
+    private List<ComplianceRule> candidateRules(InspectionType type) {
+        long now = System.nanoTime();
+        CandidateRules cached = candidates.get(type);
+        if (cached == null || now - cached.loadedAt > refreshNanos) {
+            cached = new CandidateRules(ruleRepository.findByRuleSetVersion(candidateVersion, type), now);
+            candidates.put(type, cached);
+        }
+        return cached.rules;
+    }
+
+    private Counter divergence(String ruleCode, boolean candidatePasses) {
+        String direction = candidatePasses ? "newly_passing" : "newly_failing";
+        String tagged = divergence.size() >= maxRuleTags && !divergence.containsKey(ruleCode + "|" + direction)
+            ? OTHER
+            : ruleCode;
+        return divergence.computeIfAbsent(tagged + "|" + direction, k -> Counter.builder("quality.rules.shadow.divergence")
+            .description("Rule outcomes where the candidate rule set disagrees with the live one")
+            .tag("candidate", candidateVersion)
+            .tag("rule", tagged)
+            .tag("direction", direction)
+            .register(registry));
+    }
+
+    private static String key(ComplianceRule rule) {
+        return rule.getRuleCode() != null ? rule.getRuleCode() : String.valueOf(rule.getId());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record CandidateRules(List<ComplianceRule> rules, long loadedAt) {
+    }
+}
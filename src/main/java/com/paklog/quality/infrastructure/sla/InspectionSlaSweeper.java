@@ -0,0 +1,156 @@
+package com.paklog.quality.infrastructure.sla;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paklog.quality.application.port.in.InspectionSlaUseCase;
+import com.paklog.quality.application.port.out.InspectionSlaTimerPort;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import com.paklog.quality.infrastructure.capa.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times the SLA of open inspections in a {@link HierarchicalTimingWheel} and hands the ones
+ * that expire on a tick to {@link InspectionSlaUseCase#sweep} in batches.
+ *
+ * Inspections opened and completed on this instance are tracked as it happens. All open
+ * inspections are loaded on start, and every recovery-interval the overdue ones are queried
+ * again, which catches inspections opened on an instance that has since stopped. Timers left
+ * for inspections completed elsewhere are harmless: the sweep only claims open inspections.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.inspection.sla.enabled", havingValue = "true", matchIfMissing = true)
+public class InspectionSlaSweeper implements InspectionSlaTimerPort, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(InspectionSlaSweeper.class);
+
+    private final InspectionSlaUseCase slaUseCase;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final Duration tick;
+    private final Duration recoveryInterval;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final List<String> expired = new ArrayList<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final Counter breaches;
+    private final ScheduledExecutorService ticker;
+    private volatile boolean running;
+
+    public InspectionSlaSweeper(InspectionSlaUseCase slaUseCase,
+                                MeterRegistry meterRegistry,
+                                @Value("${quality.inspection.sla.tick:10s}") Duration tick,
+                                @Value("${quality.inspection.sla.recovery-interval:5m}") Duration recoveryInterval,
+                                @Value("${quality.inspection.sla.retry-delay:1m}") Duration retryDelay,
+                                @Value("${quality.inspection.sla.batch-size:1000}") int batchSize) {
+        this.slaUseCase = slaUseCase;
+        this.tick = tick;
+        this.recoveryInterval = recoveryInterval;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), 4, System.currentTimeMillis());
+        this.breaches = Counter.builder("quality.inspection.sla.breaches")
+            .description("Inspections escalated or quarantined by this instance for breaching their SLA")
+            .register(meterRegistry);
+        Gauge.builder("quality.inspection.sla.tracked", tracked, AtomicInteger::get)
+            .description("Open inspections with an SLA timer on this instance")
+            .register(meterRegistry);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "inspection-sla");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.execute(this::loadOpenInspections);
+    }
+
+    @Override
+    public void track(String inspectionId, InspectionType type, Instant inspectedAt) {
+        Instant dueAt = slaUseCase.dueAt(type, inspectedAt);
+        ticker.execute(() -> {
+            wheel.schedule(inspectionId, dueAt.toEpochMilli());
+            tracked.set(wheel.size());
+        });
+    }
+
+    @Override
+    public void untrack(String inspectionId) {
+        ticker.execute(() -> {
+            wheel.cancel(inspectionId);
+            tracked.set(wheel.size());
+        });
+    }
+
+    private void loadOpenInspections() {
+        try {
+            slaUseCase.forEachOpen((inspectionId, dueAt) -> wheel.schedule(inspectionId, dueAt.toEpochMilli()));
+            log.info("Tracking the SLA of {} open inspections", wheel.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to load open inspections; overdue ones are picked up by the next recovery query", e);
+        }
+        tracked.set(wheel.size());
+    }
+
+    private void recoverOverdue() {
+        try {
+            slaUseCase.forEachOverdue(Instant.now(), (inspectionId, dueAt) -> wheel.schedule(inspectionId, dueAt.toEpochMilli()));
+        } catch (RuntimeException e) {
+            log.error("Recovery query for overdue inspections failed", e);
+        }
+        tracked.set(wheel.size());
+    }
+
+    private void advance() {
+        try {
+            wheel.advance(System.currentTimeMillis(), (inspectionId, dueAt) -> expired.add(inspectionId));
+            for (int from = 0; from < expired.size(); from += batchSize) {
+                sweep(expired.subList(from, Math.min(expired.size(), from + batchSize)));
+            }
+        } catch (RuntimeException e) {
+            log.error("Inspection SLA tick failed", e);
+        } finally {
+            expired.clear();
+        }
+        tracked.set(wheel.size());
+    }
+
+    private void sweep(List<String> batch) {
+        try {
+            breaches.increment(slaUseCase.sweep(batch));
+        } catch (RuntimeException e) {
+            log.error("SLA sweep of {} inspections failed; retrying in {}", batch.size(), retryDelay, e);
+            long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+            for (String inspectionId : batch) {
+                wheel.schedule(inspectionId, retryAt);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long period = tick.toMillis();
+        ticker.scheduleAtFixedRate(this::advance, period, period, TimeUnit.MILLISECONDS);
+        long recovery = recoveryInterval.toMillis();
+        ticker.scheduleAtFixedRate(this::recoverOverdue, recovery, recovery, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,14 @@
+package com.paklog.quality.infrastructure.stream;
+
+/**
+ * A domain event as pushed to stream subscribers.
+ *
+ * @param sequence position in this instance's replay buffer
+ * @param id       the domain event id, used as the SSE event id
+ * @param type     event type without the CloudEvent prefix, e.g. InspectionCompleted
+ * @param site     site that produced the event, null if unknown
+ * @param result   inspection result for InspectionCompleted events, otherwise null
+ * @param data     event payload as JSON
+ */
+public record LiveEvent(long sequence, String id, String type, String site, String result, String data) {
+}
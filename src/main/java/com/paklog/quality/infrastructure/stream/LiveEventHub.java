@@ -0,0 +1,312 @@
+package com.paklog.quality.infrastructure.stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans live domain events out to stream subscribers on this instance.
+ *
+ * Every subscriber has its own bounded buffer drained by its own virtual thread, so a slow
+ * client only ever fills its own buffer; what happens then is the subscriber's
+ * {@link OverflowPolicy}. The last {@code replay-size} events are kept in a ring so a client
+ * reconnecting with Last-Event-ID picks up where it left off. If that id has been evicted,
+ * or the gap is larger than the subscriber buffer, the client is told to reset instead.
+ */
+@Component
+@ConditionalOnProperty(name = "quality.stream.enabled", havingValue = "true", matchIfMissing = true)
+public class LiveEventHub implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventHub.class);
+
+    /** Events sent per drain pass before the subscriber yields its thread */
+    private static final int DRAIN_BATCH = 64;
+
+    private final Object replayLock = new Object();
+    private final LiveEvent[] replay;
+    private final Map<String, Long> sequenceById;
+    private long nextSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration heartbeatInterval;
+    private final Counter droppedEvents;
+    private final Counter overflowDisconnects;
+
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("live-stream-sender-", 0).factory());
+    private ScheduledExecutorService heartbeats;
+    private volatile boolean running;
+
+    public LiveEventHub(MeterRegistry meterRegistry,
+                        @Value("${quality.stream.replay-size:10000}") int replaySize,
+                        @Value("${quality.stream.buffer-size:256}") int bufferSize,
+                        @Value("${quality.stream.max-subscribers:5000}") int maxSubscribers,
+                        @Value("${quality.stream.heartbeat:15s}") Duration heartbeatInterval) {
+        this.replay = new LiveEvent[replaySize];
+        this.sequenceById = new HashMap<>(replaySize * 2);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatInterval = heartbeatInterval;
+        this.droppedEvents = Counter.builder("quality.stream.events.dropped")
+            .description("Live events discarded by a subscriber overflow policy")
+            .register(meterRegistry);
+        this.overflowDisconnects = Counter.builder("quality.stream.overflow.disconnects")
+            .description("Subscribers disconnected because their buffer was full")
+            .register(meterRegistry);
+        Gauge.builder("quality.stream.subscribers", subscribers, Set::size)
+            .description("Open live event streams on this instance")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Append an event to the replay ring and hand it to every matching subscriber.
+     * Redelivered events (same id still in the ring) are ignored.
+     */
+    public void publish(String id, String type, String site, String result, String data) {
+        synchronized (replayLock) {
+            if (sequenceById.containsKey(id)) {
+                return;
+            }
+            long sequence = nextSequence++;
+            LiveEvent event = new LiveEvent(sequence, id, type, site, result, data);
+            int slot = (int) (sequence % replay.length);
+            LiveEvent evicted = replay[slot];
+            if (evicted != null) {
+                sequenceById.remove(evicted.id());
+            }
+            replay[slot] = event;
+            sequenceById.put(id, sequence);
+
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(event)) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Register a subscriber, replaying events after {@code lastEventId} when it is given.
+     * Registration and replay happen atomically with respect to {@link #publish}, so the
+     * client sees neither a gap nor a duplicate between replayed and live events.
+     */
+    public Subscription subscribe(StreamFilter filter, OverflowPolicy policy, String lastEventId, StreamSink sink) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new StreamCapacityExceededException(maxSubscribers);
+        }
+        Subscriber subscriber = new Subscriber(filter, policy, sink);
+        synchronized (replayLock) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replayAfter(lastEventId, subscriber);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return subscriber::close;
+    }
+
+    private void replayAfter(String lastEventId, Subscriber subscriber) {
+        Long last = sequenceById.get(lastEventId);
+        if (last == null) {
+            subscriber.resetDue = true;
+            return;
+        }
+        List<LiveEvent> missed = new ArrayList<>();
+        for (long sequence = last + 1; sequence < nextSequence; sequence++) {
+            LiveEvent event = replay[(int) (sequence % replay.length)];
+            if (subscriber.filter.matches(event)) {
+                if (missed.size() == bufferSize) {
+                    subscriber.resetDue = true;
+                    return;
+                }
+                missed.add(event);
+            }
+        }
+        subscriber.buffer.addAll(missed);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void sendHeartbeats() {
+        long idleSince = System.nanoTime() - heartbeatInterval.toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.lastWriteNanos - idleSince <= 0) {
+                subscriber.heartbeatDue = true;
+                subscriber.schedule();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "live-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        new ArrayList<>(subscribers).forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Handle returned to the transport; cancel when the client goes away
+     */
+    @FunctionalInterface
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final class Subscriber {
+        private final StreamFilter filter;
+        private final OverflowPolicy policy;
+        private final StreamSink sink;
+        private final ArrayDeque<LiveEvent> buffer = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Guarded by this
+        private long dropped;
+        private boolean resetDue;
+
+        private volatile boolean heartbeatDue;
+        private volatile long lastWriteNanos = System.nanoTime();
+        private volatile boolean closed;
+
+        private Subscriber(StreamFilter filter, OverflowPolicy policy, StreamSink sink) {
+            this.filter = filter;
+            this.policy = policy;
+            this.sink = sink;
+        }
+
+        private void offer(LiveEvent event) {
+            boolean disconnect = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() < bufferSize) {
+                    buffer.addLast(event);
+                } else if (policy == OverflowPolicy.DROP_OLDEST) {
+                    buffer.pollFirst();
+                    buffer.addLast(event);
+                    dropped++;
+                    droppedEvents.increment();
+                } else if (policy == OverflowPolicy.DROP_NEWEST) {
+                    dropped++;
+                    droppedEvents.increment();
+                } else {
+                    disconnect = true;
+                }
+            }
+            if (disconnect) {
+                overflowDisconnects.increment();
+                close();
+            } else {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+                    boolean reset;
+                    long lost;
+                    LiveEvent next;
+                    synchronized (this) {
+                        reset = resetDue;
+                        resetDue = false;
+                        lost = dropped;
+                        dropped = 0;
+                        next = buffer.pollFirst();
+                    }
+                    if (reset) {
+                        sink.reset();
+                    }
+                    if (lost > 0) {
+                        sink.overflow(lost);
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    sink.send(next);
+                    lastWriteNanos = System.nanoTime();
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    sink.heartbeat();
+                    lastWriteNanos = System.nanoTime();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Live event subscriber closed: {}", e.toString());
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (hasWork()) {
+                schedule();
+            }
+        }
+
+        private synchronized boolean hasWork() {
+            return !buffer.isEmpty() || resetDue || dropped > 0 || heartbeatDue;
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            subscribers.remove(this);
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                log.debug("Error closing live event stream: {}", e.toString());
+            }
+        }
+    }
+}
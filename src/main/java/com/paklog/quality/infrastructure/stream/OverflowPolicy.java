@@ -0,0 +1,13 @@
+package com.paklog.quality.infrastructure.stream;
+
+/**
+ * What to do when a subscriber's buffer is full because the client reads slower than events arrive
+ */
+public enum OverflowPolicy {
+    /** Discard the oldest buffered event to make room; the client sees the most recent events */
+    DROP_OLDEST,
+    /** Discard the incoming event; the client sees events in order up to the gap */
+    DROP_NEWEST,
+    /** Close the stream; the client reconnects with Last-Event-ID and replays what it missed */
+    DISCONNECT
+}
@@ -0,0 +1,10 @@
+package com.paklog.quality.infrastructure.stream;
+
+public class StreamCapacityExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StreamCapacityExceededException(int maxSubscribers) {
+        super("Live event stream is at capacity (" + maxSubscribers + " subscribers)");
+    }
+}
@@ -0,0 +1,26 @@
+package com.paklog.quality.infrastructure.stream;
+
+import java.util.Set;
+
+/**
+ * Server-side subscription filter. An empty set matches everything.
+ * The result filter only constrains events that carry a result.
+ */
+public record StreamFilter(Set<String> types, Set<String> results, Set<String> sites) {
+
+    public StreamFilter {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        results = results == null ? Set.of() : Set.copyOf(results);
+        sites = sites == null ? Set.of() : Set.copyOf(sites);
+    }
+
+    public boolean matches(LiveEvent event) {
+        if (!types.isEmpty() && !types.contains(event.type())) {
+            return false;
+        }
+        if (!sites.isEmpty() && !sites.contains(event.site())) {
+            return false;
+        }
+        return results.isEmpty() || event.result() == null || results.contains(event.result());
+    }
+}
@@ -0,0 +1,22 @@
+package com.paklog.quality.infrastructure.stream;
+
+import java.io.IOException;
+
+/**
+ * Transport for one subscriber. Calls for a given sink are never concurrent.
+ */
+public interface StreamSink {
+
+    void send(LiveEvent event) throws IOException;
+
+    /** Keep-alive on an idle stream */
+    void heartbeat() throws IOException;
+
+    /** Events were dropped by the overflow policy since the last send */
+    void overflow(long droppedEvents) throws IOException;
+
+    /** The requested Last-Event-ID is no longer replayable; the client should reload its state */
+    void reset() throws IOException;
+
+    void close();
+}
@@ -0,0 +1,55 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.audit.AuditLog;
+import com.paklog.quality.infrastructure.audit.AuditSegmentSeal;
+import com.paklog.quality.infrastructure.audit.AuditSegmentVerifier;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.audit.enabled", havingValue = "true")
+@RequestMapping("/api/v1/quality/audit")
+@Tag(name = "Audit", description = "Tamper-evident audit trail of quality records")
+public class AuditController {
+
+    private final AuditLog auditLog;
+    public AuditController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+
+    @GetMapping
+    @Operation(summary = "Audit trail status", description = "Current segment, committed position and sequence, queue depth")
+    public AuditLog.AuditStatus status() {
+        return auditLog.status();
+    }
+
+    @GetMapping("/segments")
+    @Operation(summary = "Sealed segments", description = "Seals mirrored to MongoDB, oldest first")
+    public List<AuditSegmentSeal> seals() {
+        return auditLog.seals();
+    }
+
+    @PostMapping("/segments/{segment}/verify")
+    @Operation(summary = "Verify one segment", description = "Replays the hash chain and recomputes the Merkle root against the seal and its MongoDB mirror")
+    public AuditSegmentVerifier.Result verify(@PathVariable long segment) {
+        return auditLog.verify(segment);
+    }
+
+    @PostMapping("/verify")
+    @Operation(summary = "Verify the whole trail", description = "Every segment in order, including sequence continuity between segments")
+    public List<AuditSegmentVerifier.Result> verifyAll() {
+        return auditLog.verifyAll();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,63 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.backtest.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality/backtests")
+@Tag(name = "Rule Backtesting", description = "Evaluate rule sets over stored inspections")
+public class BacktestController {
+
+    private final BacktestService backtestService;
+    public BacktestController(BacktestService backtestService) {
+        this.backtestService = backtestService;
+    }
+
+
+    @PostMapping
+    @Operation(summary = "Start a backtest",
+        description = "Evaluates each rule set (\"live\" = active rules, otherwise a ruleSetVersion) over inspections in [from, to)")
+    public ResponseEntity<BacktestJob> start(@RequestBody BacktestRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(backtestService.start(request));
+    }
+
+    @GetMapping
+    @Operation(summary = "List backtests")
+    public Collection<BacktestJob> jobs() {
+        return backtestService.jobs();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Backtest progress", description = "Chunks (days) done, inspections scanned and inspections per minute")
+    public ResponseEntity<BacktestJob> job(@PathVariable String id) {
+        return ResponseEntity.of(backtestService.job(id));
+    }
+
+    @GetMapping("/{id}/results")
+    @Operation(summary = "Backtest results", description = "Failures per rule set, rule, inspection type and day; 409 while running")
+    public ResponseEntity<List<BacktestResultRow>> results(@PathVariable String id) {
+        return backtestService.job(id)
+            .map(job -> job.getState() == BacktestJob.State.RUNNING
+                ? ResponseEntity.status(HttpStatus.CONFLICT).<List<BacktestResultRow>>build()
+                : ResponseEntity.ok(job.results()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a backtest")
+    public ResponseEntity<Void> cancel(@PathVariable String id) {
+        return backtestService.cancel(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,36 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.query.BarcodeVerification;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality/barcodes")
+@Tag(name = "Barcodes", description = "GS1 barcode verification")
+public class BarcodeController {
+
+    private final BarcodeVerificationUseCase barcodeVerificationUseCase;
+    public BarcodeController(BarcodeVerificationUseCase barcodeVerificationUseCase) {
+        this.barcodeVerificationUseCase = barcodeVerificationUseCase;
+    }
+
+
+    @PostMapping("/verify")
+    @Operation(summary = "Verify scanned barcodes",
+        description = "Parses GTIN, SSCC and GS1 element strings, checks check digits, known GTINs and AI(17) expiry. "
+            + "Results are in request order")
+    public List<BarcodeVerification> verify(@RequestBody List<String> barcodes) {
+        return barcodeVerificationUseCase.verifyAll(barcodes);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,30 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality/inspections")
+@Tag(name = "Quality Control", description = "Quality control and compliance")
+public class CapaController {
+
+    private final CapaUseCase capaUseCase;
+    public CapaController(CapaUseCase capaUseCase) {
+        this.capaUseCase = capaUseCase;
+    }
+
+
+    @GetMapping("/{id}/capa")
+    @Operation(summary = "Get the CAPA deadline of an inspection")
+    public ResponseEntity<CapaDeadline> getDeadline(@PathVariable String id) {
+        return capaUseCase.getDeadline(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.quality.application.command.IngestTemperatureTraceCommand;
+import com.paklog.quality.application.port.in.ColdChainUseCase;
+import com.paklog.quality.domain.aggregate.TemperatureTrace;
+import com.paklog.quality.domain.timeseries.TemperatureReadings;
+import com.paklog.quality.infrastructure.coldchain.TemperatureLogParser;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality")
+@Tag(name = "Cold Chain", description = "Reefer logger temperature traces")
+public class ColdChainController {
+
+    private final ColdChainUseCase coldChainUseCase;
+    private final ObjectMapper objectMapper;
+    public ColdChainController(ColdChainUseCase coldChainUseCase, ObjectMapper objectMapper) {
+        this.coldChainUseCase = coldChainUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+
+    @PostMapping(value = "/shipments/{shipmentId}/temperature-traces",
+        consumes = {"text/csv", "text/plain", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Upload a logger dump",
+        description = "CSV (timestamp,celsius) or NDJSON readings in time order. Stores them compressed, computes MKT and "
+            + "time out of range, and raises TEMPERATURE_VIOLATION defects for excursions")
+    public ResponseEntity<TemperatureTrace> ingest(@PathVariable String shipmentId,
+                                                   @RequestParam(required = false) String loggerId,
+                                                   @RequestParam(required = false) String inspectionId,
+                                                   @RequestParam(required = false) Double minCelsius,
+                                                   @RequestParam(required = false) Double maxCelsius,
+                                                   @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) {
+        TemperatureReadings readings = contentType.getSubtype().contains("json")
+            ? TemperatureLogParser.ndjson(body, objectMapper.getFactory())
+            : TemperatureLogParser.csv(body);
+        TemperatureTrace trace = coldChainUseCase.ingestTrace(
+            new IngestTemperatureTraceCommand(shipmentId, loggerId, inspectionId, minCelsius, maxCelsius), readings);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/quality/temperature-traces/{id}")
+                .buildAndExpand(trace.getId())
+                .toUri())
+            .body(trace);
+    }
+
+    @GetMapping("/shipments/{shipmentId}/temperature-traces")
+    @Operation(summary = "List a shipment's temperature traces", description = "Summaries only, in upload order")
+    public List<TemperatureTrace> traces(@PathVariable String shipmentId) {
+        return coldChainUseCase.getTraces(shipmentId);
+    }
+
+    @GetMapping("/temperature-traces/{id}")
+    @Operation(summary = "Get a temperature trace summary")
+    public ResponseEntity<TemperatureTrace> trace(@PathVariable String id) {
+        return ResponseEntity.of(coldChainUseCase.getTrace(id));
+    }
+
+    @GetMapping(value = "/temperature-traces/{id}/readings", produces = "text/csv")
+    @Operation(summary = "Download the readings of a trace", description = "Decompressed as epoch-millis,celsius CSV")
+    public ResponseEntity<StreamingResponseBody> readings(@PathVariable String id) {
+        return coldChainUseCase.getTrace(id)
+            .map(trace -> ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body((StreamingResponseBody) out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    writer.write("timestamp,celsius\n");
+                    trace.forEachReading((epochMillis, celsius) -> {
+                        try {
+                            writer.write(Long.toString(epochMillis));
+                            writer.write(',');
+                            writer.write(Double.toString(celsius));
+                            writer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    writer.flush();
+                }))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
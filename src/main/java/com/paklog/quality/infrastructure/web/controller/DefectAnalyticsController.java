@@ -0,0 +1,105 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.domain.valueobject.DefectType;
+import com.paklog.quality.infrastructure.analytics.DefectAnalyticsService;
+import com.paklog.quality.infrastructure.analytics.DefectCoOccurrence;
+import com.paklog.quality.infrastructure.analytics.DefectDimension;
+import com.paklog.quality.infrastructure.analytics.DefectFilter;
+import com.paklog.quality.infrastructure.analytics.ParetoChart;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.analytics.defects.enabled", havingValue = "true")
+@RequestMapping("/api/v1/quality/analytics/defects")
+@Tag(name = "Defect Analytics", description = "Pareto and co-occurrence of defect types")
+public class DefectAnalyticsController {
+
+    private final DefectAnalyticsService analytics;
+    public DefectAnalyticsController(DefectAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+
+    @GetMapping
+    @Operation(summary = "Defect store status", description = "Defects, inspections and distinct keys held, memory, and whether the initial load is done")
+    public DefectAnalyticsService.DefectAnalyticsStatus status() {
+        return analytics.status();
+    }
+
+    @GetMapping("/pareto")
+    @Operation(summary = "Defect Pareto chart",
+        description = "Matching defects counted by type, item, location or inspector, largest first with cumulative shares")
+    public ParetoChart pareto(
+            @Parameter(description = "type (default), item, location or inspector") @RequestParam(required = false) String by,
+            @Parameter(description = "Only these defect types") @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) String itemId,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String inspectorId,
+            @Parameter(description = "Defects reported at or after, ISO-8601 instant or date") @RequestParam(required = false) String from,
+            @Parameter(description = "Defects reported before, ISO-8601 instant or date") @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "10") int limit) {
+        DefectFilter filter = new DefectFilter(types(type), itemId, location, inspectorId,
+            parseInstant("from", from), parseInstant("to", to));
+        return analytics.pareto(DefectDimension.parse(by), filter, limit);
+    }
+
+    @GetMapping("/co-occurrence")
+    @Operation(summary = "Defect types found together",
+        description = "Pairs of defect types recorded on the same inspection, with support and lift")
+    public DefectCoOccurrence coOccurrence(
+            @Parameter(description = "Only pairs among these defect types") @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) String itemId,
+            @RequestParam(required = false) String inspectorId,
+            @Parameter(description = "Inspections performed at or after, ISO-8601 instant or date") @RequestParam(required = false) String from,
+            @Parameter(description = "Inspections performed before, ISO-8601 instant or date") @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int limit) {
+        DefectFilter filter = new DefectFilter(types(type), itemId, null, inspectorId,
+            parseInstant("from", from), parseInstant("to", to));
+        return analytics.coOccurrence(filter, limit);
+    }
+
+    private static Set<DefectType> types(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<DefectType> types = EnumSet.noneOf(DefectType.class);
+        for (String value : values) {
+            try {
+                types.add(DefectType.valueOf(value.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown defect type: " + value);
+            }
+        }
+        return types;
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 instant or date: " + value);
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
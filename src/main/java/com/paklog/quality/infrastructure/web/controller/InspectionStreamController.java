@@ -0,0 +1,106 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.stream.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Server-sent events feed of inspection results, defects and compliance violations
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.stream.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/v1/quality")
+@Tag(name = "Quality Control", description = "Quality control and compliance")
+public class InspectionStreamController {
+
+    private final LiveEventHub hub;
+    private final OverflowPolicy defaultOverflowPolicy;
+    private final Duration timeout;
+
+    public InspectionStreamController(LiveEventHub hub,
+                                      @Value("${quality.stream.overflow-policy:DROP_OLDEST}") OverflowPolicy defaultOverflowPolicy,
+                                      @Value("${quality.stream.timeout:30m}") Duration timeout) {
+        this.hub = hub;
+        this.defaultOverflowPolicy = defaultOverflowPolicy;
+        this.timeout = timeout;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live quality events",
+        description = "Pushes InspectionCompleted, DefectDetected and ComplianceViolation events. "
+            + "Filter with repeated type, result and site parameters; resume with the Last-Event-ID header. "
+            + "A 'reset' event means the requested position is no longer available and the client should reload; "
+            + "an 'overflow' event reports how many events were dropped because the client fell behind.")
+    public SseEmitter stream(@RequestParam(name = "type", required = false) Set<String> types,
+                             @RequestParam(name = "result", required = false) Set<String> results,
+                             @RequestParam(name = "site", required = false) Set<String> sites,
+                             @RequestParam(name = "overflow", required = false) OverflowPolicy overflow,
+                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        LiveEventHub.Subscription subscription = hub.subscribe(
+            new StreamFilter(types, results, sites),
+            overflow != null ? overflow : defaultOverflowPolicy,
+            lastEventId,
+            new EmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    @ExceptionHandler(StreamCapacityExceededException.class)
+    public ResponseEntity<String> handleCapacityExceeded(StreamCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .body(e.getMessage());
+    }
+
+    private static final class EmitterSink implements StreamSink {
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(LiveEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                .id(event.id())
+                .name(event.type())
+                .data(event.data(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void overflow(long droppedEvents) throws IOException {
+            emitter.send(SseEmitter.event().name("overflow").data(droppedEvents));
+        }
+
+        @Override
+        public void reset() throws IOException {
+            emitter.send(SseEmitter.event().name("reset").data(""));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.analytics.InspectorAnomaly;
+import com.paklog.quality.infrastructure.analytics.InspectorAnomalyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.analytics.inspectors.enabled", havingValue = "true")
+@RequestMapping("/api/v1/quality/analytics/inspectors")
+@Tag(name = "Inspector Analytics", description = "Inspectors whose defect rate, duration or severity mix stands out from their peers")
+public class InspectorAnalyticsController {
+
+    private final InspectorAnomalyService anomalies;
+    public InspectorAnalyticsController(InspectorAnomalyService anomalies) {
+        this.anomalies = anomalies;
+    }
+
+
+    @GetMapping
+    @Operation(summary = "Inspector analytics status", description = "Inspectors tracked, metrics flagged and the current peer distributions")
+    public InspectorAnomalyService.InspectorAnalyticsStatus status() {
+        return anomalies.status();
+    }
+
+    @GetMapping("/anomalies")
+    @Operation(summary = "Flagged inspectors", description = "Inspector metrics currently flagged on any instance, most recently flagged first")
+    public List<InspectorAnomaly> flagged(@RequestParam(defaultValue = "100") int limit) {
+        return anomalies.anomalies(limit);
+    }
+
+    @GetMapping("/{inspectorId}")
+    @Operation(summary = "Inspector profile",
+        description = "Decayed defect rate, duration and severity mix of one inspector, with robust z-scores against the peers")
+    public ResponseEntity<InspectorAnomalyService.InspectorProfile> profile(@PathVariable String inspectorId) {
+        return anomalies.profile(inspectorId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,43 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.domain.valueobject.ItemReference;
+import com.paklog.quality.infrastructure.itemmaster.ItemMasterCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.item-master.enabled", havingValue = "true")
+@RequestMapping("/api/v1/quality/item-master")
+@Tag(name = "Item Master", description = "Reference data used for server-side validation")
+public class ItemMasterController {
+
+    private final ItemMasterCache itemMasterCache;
+    public ItemMasterController(ItemMasterCache itemMasterCache) {
+        this.itemMasterCache = itemMasterCache;
+    }
+
+
+    @GetMapping
+    @Operation(summary = "Item master cache status", description = "Items, table capacity and memory, last bulk load")
+    public ItemMasterCache.ItemMasterStatus status() {
+        return itemMasterCache.status();
+    }
+
+    @GetMapping("/{itemId}")
+    @Operation(summary = "Look up an item's reference data")
+    public ResponseEntity<ItemReference> item(@PathVariable String itemId) {
+        return ResponseEntity.of(itemMasterCache.findByItemId(itemId));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Reload the bulk file", description = "Runs after any feed updates already queued")
+    public ResponseEntity<Void> reload() {
+        itemMasterCache.reload();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -2,16 +2,26 @@ package com.paklog.quality.infrastructure.web.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.paklog.quality.application.command.ApplyCorrectionCommand;
+import com.paklog.quality.application.command.InspectionSubmission;
 import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.command.WriteDurability;
+import com.paklog.quality.application.exception.WriteBufferFullException;
 import com.paklog.quality.application.port.in.QualityControlUseCase;
+import com.paklog.quality.application.query.ComplianceVerdict;
+import com.paklog.quality.application.query.InspectionSummary;
 import com.paklog.quality.domain.aggregate.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.validation.Valid;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/quality")
 @Tag(name = "Quality Control", description = "Quality control and compliance")
 public class QualityController {
@@ -25,10 +35,20 @@ public class QualityController {
 
 
     @PostMapping("/inspections")
-    @Operation(summary = "Perform inspection")
-    public ResponseEntity<String> performInspection(@Valid @RequestBody PerformInspectionCommand command) {
-        String inspectionId = qualityUseCase.performInspection(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(inspectionId);
+    @Operation(summary = "Perform inspection",
+        description = "Returns 201 once persisted, or 202 with the pre-generated id when accepted by the async write buffer")
+    public ResponseEntity<String> performInspection(@Valid @RequestBody PerformInspectionCommand command,
+                                                    @RequestHeader(value = "X-Write-Durability", required = false) WriteDurability durability) {
+        InspectionSubmission submission = qualityUseCase.submitInspection(command, durability);
+        if (submission.persisted()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(submission.inspectionId());
+        }
+        return ResponseEntity.accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(submission.inspectionId())
+                .toUri())
+            .body(submission.inspectionId());
     }
 
     @PostMapping("/inspections/{id}/defects")
@@ -45,9 +65,61 @@ public class QualityController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/inspections/{id}/corrective-action")
+    @Operation(summary = "Record corrective action", description = "Closes the inspection's CAPA deadline")
+    public ResponseEntity<Void> applyCorrection(@PathVariable String id, @Valid @RequestBody ApplyCorrectionCommand command) {
+        qualityUseCase.applyCorrection(id, command.action());
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/inspections/{id}")
-    @Operation(summary = "Get inspection")
-    public ResponseEntity<InspectionRecord> getInspection(@PathVariable String id) {
-        return ResponseEntity.ok(qualityUseCase.getInspection(id));
+    @Operation(summary = "Get inspection",
+        description = "view=summary returns the compact summary. Responds with an ETag derived from the record version; "
+            + "If-None-Match polls of an unchanged inspection get 304")
+    public ResponseEntity<?> getInspection(@PathVariable String id,
+                                           @RequestParam(defaultValue = "full") String view,
+                                           WebRequest webRequest) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return getInspectionSummary(id, webRequest);
+        }
+        InspectionRecord inspection = qualityUseCase.getInspection(id);
+        return conditional(inspection, inspection.getVersion(), webRequest);
+    }
+
+    @GetMapping("/inspections/{id}/summary")
+    @Operation(summary = "Get inspection summary", description = "Status, result and counts only, read through a MongoDB projection")
+    public ResponseEntity<InspectionSummary> getInspectionSummary(@PathVariable String id, WebRequest webRequest) {
+        InspectionSummary summary = qualityUseCase.getInspectionSummary(id);
+        return conditional(summary, summary.version(), webRequest);
+    }
+
+    @GetMapping("/inspections/{id}/compliance")
+    @Operation(summary = "Check compliance verdict",
+        description = "Evaluates only CRITICAL rules, most likely to fail first, and stops at the first failure")
+    public ResponseEntity<ComplianceVerdict> checkCompliance(@PathVariable String id) {
+        return ResponseEntity.ok(qualityUseCase.checkCompliance(id));
+    }
+
+    /**
+     * 304 without a body when If-None-Match carries the current version, otherwise 200 with an ETag
+     */
+    private static <T> ResponseEntity<T> conditional(T body, Long version, WebRequest webRequest) {
+        if (version == null) {
+            return ResponseEntity.ok(body);
+        }
+
+        String etag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    @ExceptionHandler(WriteBufferFullException.class)
+    public ResponseEntity<String> handleWriteBufferFull(WriteBufferFullException e) {
+        log.warn("Rejecting inspection: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
     }
 }
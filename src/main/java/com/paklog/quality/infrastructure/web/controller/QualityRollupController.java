@@ -0,0 +1,69 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.rollup.QualityRollupService;
+import com.paklog.quality.infrastructure.rollup.RollupSeries;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "quality.rollups.enabled", havingValue = "true")
+@RequestMapping("/api/v1/quality/dashboards")
+@Tag(name = "Dashboards", description = "Weight deviation and temperature quantiles and distinct defective items per item family")
+public class QualityRollupController {
+
+    private final QualityRollupService rollups;
+    public QualityRollupController(QualityRollupService rollups) {
+        this.rollups = rollups;
+    }
+
+
+    @GetMapping("/rollups")
+    @Operation(summary = "Quality rollup series",
+        description = "Per item family and interval: weight deviation and temperature quantiles and distinct defective items, merged from every instance's sketches")
+    public List<RollupSeries> rollups(
+            @Parameter(description = "Interval start, ISO-8601 instant or date; default 7 days before to") @RequestParam(required = false) String from,
+            @Parameter(description = "Interval end (exclusive), ISO-8601 instant or date; default now") @RequestParam(required = false) String to,
+            @Parameter(description = "Only these item families") @RequestParam(required = false) List<String> family,
+            @Parameter(description = "Point width, e.g. 1h or 1d; a multiple of the rollup bucket") @RequestParam(defaultValue = "1d") String interval,
+            @Parameter(description = "Merge the selected families into one series named all") @RequestParam(defaultValue = "false") boolean combined,
+            @RequestParam(defaultValue = "0.5,0.95,0.99") List<Double> quantiles) {
+        Instant end = to != null && !to.isBlank() ? parseInstant("to", to) : Instant.now();
+        Instant start = from != null && !from.isBlank() ? parseInstant("from", from) : end.minus(Duration.ofDays(7));
+        return rollups.series(start, end, family == null ? Set.of() : Set.copyOf(family),
+            parseDuration(interval), combined, quantiles);
+    }
+
+    private static Duration parseDuration(String value) {
+        try {
+            return DurationStyle.detectAndParse(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("interval must be a duration such as 1h or 1d: " + value);
+        }
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 instant or date: " + value);
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.application.command.ApplyCorrectionCommand;
+import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.port.in.ReactiveQualityControlUseCase;
+import com.paklog.quality.domain.aggregate.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux adapter for the quality API, active under the "reactive" profile.
+ * Same paths and payloads as {@link QualityController}.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/quality")
+@Tag(name = "Quality Control", description = "Quality control and compliance")
+public class ReactiveQualityController {
+
+    private final ReactiveQualityControlUseCase qualityUseCase;
+    public ReactiveQualityController(ReactiveQualityControlUseCase qualityUseCase) {
+        this.qualityUseCase = qualityUseCase;
+    }
+
+
+    @PostMapping("/inspections")
+    @Operation(summary = "Perform inspection")
+    public Mono<ResponseEntity<String>> performInspection(@Valid @RequestBody PerformInspectionCommand command) {
+        return qualityUseCase.performInspection(command)
+            .map(inspectionId -> ResponseEntity.status(HttpStatus.CREATED).body(inspectionId));
+    }
+
+    @PostMapping("/inspections/{id}/defects")
+    @Operation(summary = "Add defect to inspection")
+    public Mono<ResponseEntity<Void>> addDefect(@PathVariable String id, @RequestBody Defect defect) {
+        return qualityUseCase.addDefect(id, defect)
+            .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @PostMapping("/inspections/{id}/complete")
+    @Operation(summary = "Complete inspection")
+    public Mono<ResponseEntity<Void>> completeInspection(@PathVariable String id) {
+        return qualityUseCase.completeInspection(id)
+            .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @PostMapping("/inspections/{id}/corrective-action")
+    @Operation(summary = "Record corrective action", description = "Closes the inspection's CAPA deadline")
+    public Mono<ResponseEntity<Void>> applyCorrection(@PathVariable String id, @Valid @RequestBody ApplyCorrectionCommand command) {
+        return qualityUseCase.applyCorrection(id, command.action())
+            .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @GetMapping("/inspections/{id}")
+    @Operation(summary = "Get inspection",
+        description = "Responds with an ETag derived from the record version; If-None-Match polls of an unchanged inspection get 304")
+    public Mono<ResponseEntity<InspectionRecord>> getInspection(@PathVariable String id, ServerWebExchange exchange) {
+        return qualityUseCase.getInspection(id)
+            .map(inspection -> {
+                if (inspection.getVersion() == null) {
+                    return ResponseEntity.ok(inspection);
+                }
+                String etag = "\"" + inspection.getVersion() + "\"";
+                if (exchange.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<InspectionRecord>build();
+                }
+                return ResponseEntity.ok().eTag(etag).body(inspection);
+            });
+    }
+
+    @GetMapping(value = "/inspections/failed", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream failed and quarantined inspections", description = "Newline-delimited JSON, streamed from a MongoDB cursor")
+    public Flux<InspectionRecord> getFailedInspections() {
+        return qualityUseCase.getFailedInspections();
+    }
+}
@@ -0,0 +1,78 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.replay.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality/replay")
+@Tag(name = "Event Replay", description = "Rebuild projections from the quality events topic")
+public class ReplayController {
+
+    private final ReplayService replayService;
+    public ReplayController(ReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start a replay",
+        description = "from: EARLIEST resets the projections and rebuilds them; CHECKPOINT (default) catches up; "
+            + "TIMESTAMP and OFFSET re-apply events from that point")
+    public ResponseEntity<ReplayJob> start(@RequestBody ReplayRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start(request));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List replays")
+    public Collection<ReplayJob> jobs() {
+        return replayService.jobs();
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Replay progress", description = "Per-partition positions, events read and events per second")
+    public ResponseEntity<ReplayJob> job(@PathVariable String id) {
+        return ResponseEntity.of(replayService.job(id));
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    @Operation(summary = "Cancel a replay", description = "Partitions stop after their current batch and checkpoint it")
+    public ResponseEntity<Void> cancel(@PathVariable String id) {
+        return replayService.cancel(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/projections")
+    @Operation(summary = "Registered projections with their checkpoints")
+    public Map<String, Map<Integer, Long>> projections() {
+        Map<String, Map<Integer, Long>> projections = new LinkedHashMap<>();
+        for (ProjectionHandler handler : replayService.projections()) {
+            projections.put(handler.name(), replayService.checkpoints(handler.name()));
+        }
+        return projections;
+    }
+
+    @GetMapping("/projections/{name}")
+    @Operation(summary = "Current state of a projection")
+    public ResponseEntity<Object> projection(@PathVariable String name) {
+        return replayService.projection(name)
+            .map(ProjectionHandler::view)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
@@ -0,0 +1,66 @@
+package com.paklog.quality.infrastructure.web.controller;
+
+import com.paklog.quality.infrastructure.report.InspectionReportExporter;
+import com.paklog.quality.infrastructure.report.ReportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/quality/reports")
+@Tag(name = "Reports", description = "Compliance report exports")
+public class ReportController {
+
+    private final InspectionReportExporter reportExporter;
+    public ReportController(InspectionReportExporter reportExporter) {
+        this.reportExporter = reportExporter;
+    }
+
+
+    @GetMapping("/inspections")
+    @Operation(summary = "Export inspections and defects",
+        description = "Streams inspections with from <= inspectedAt < to as CSV, XLSX or Parquet, one row per defect")
+    public ResponseEntity<StreamingResponseBody> inspections(
+            @Parameter(description = "ISO-8601 instant, or a date for the start of that day in UTC") @RequestParam String from,
+            @Parameter(description = "ISO-8601 instant, or a date for the start of that day in UTC (exclusive)") @RequestParam String to,
+            @Parameter(description = "csv (default), xlsx or parquet") @RequestParam(required = false) String format,
+            @Parameter(description = "Only inspections numbered at this site") @RequestParam(required = false) String site) {
+        Instant start = parseInstant("from", from);
+        Instant end = parseInstant("to", to);
+        ReportFormat reportFormat = ReportFormat.parse(format);
+        reportExporter.validate(start, end, site);
+
+        String fileName = "inspections-" + (site != null ? site + "-" : "")
+            + LocalDate.ofInstant(start, ZoneOffset.UTC) + "-" + LocalDate.ofInstant(end, ZoneOffset.UTC)
+            + "." + reportFormat.extension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(reportFormat.mediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> reportExporter.export(start, end, site, reportFormat, out));
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 instant or date: " + value);
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,55 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.domain.aggregate.CapaDeadline;
+import com.paklog.quality.domain.event.*;
+import com.paklog.quality.domain.repository.CapaDeadlineRepository;
+import com.paklog.quality.domain.repository.InspectionRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CapaApplicationServiceTest {
+
+    private final CapaDeadlineRepository deadlineRepository = mock(CapaDeadlineRepository.class);
+    private final CapaApplicationService service = new CapaApplicationService(deadlineRepository,
+        mock(InspectionRecordRepository.class), mock(PublishEventPort.class), Optional.empty(), 48);
+
+    @Test
+    void nonConformanceAndViolationEventsOpenADeadline() {
+        when(deadlineRepository.openIfAbsent(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        NonConformanceCreatedEvent nonConformance = NonConformanceCreatedEvent.builder()
+            .inspectionId("inspection-1")
+            .description("Compliance rule violations detected")
+            .build();
+
+        service.applyDeadlineEvents(List.of(nonConformance, InspectionCompletedEvent.builder().inspectionId("inspection-1").build()));
+
+        ArgumentCaptor<CapaDeadline> opened = ArgumentCaptor.forClass(CapaDeadline.class);
+        verify(deadlineRepository).openIfAbsent(opened.capture());
+        assertThat(opened.getValue().getInspectionId()).isEqualTo("inspection-1");
+        assertThat(opened.getValue().getTrigger()).isEqualTo("NonConformanceCreated");
+        assertThat(opened.getValue().getReason()).isEqualTo("Compliance rule violations detected");
+        assertThat(opened.getValue().getDueAt()).isEqualTo(nonConformance.getOccurredAt().plus(Duration.ofHours(48)));
+    }
+
+    @Test
+    void correctiveActionClosesTheDeadline() {
+        Instant completedAt = Instant.parse("2026-03-01T10:00:00Z");
+        service.applyDeadlineEvents(List.of(CorrectiveActionTakenEvent.builder()
+            .inspectionId("inspection-1")
+            .action("Relabelled")
+            .completedAt(completedAt)
+            .build()));
+
+        verify(deadlineRepository).close("inspection-1", "Relabelled", completedAt);
+        verify(deadlineRepository, never()).openIfAbsent(any());
+    }
+}
@@ -0,0 +1,107 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.command.IngestTemperatureTraceCommand;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.aggregate.TemperatureTrace;
+import com.paklog.quality.domain.repository.InspectionRecordRepository;
+import com.paklog.quality.domain.repository.TemperatureTraceRepository;
+import com.paklog.quality.domain.timeseries.MeanKineticTemperature;
+import com.paklog.quality.domain.timeseries.TemperatureReadings;
+import com.paklog.quality.domain.valueobject.DefectType;
+import com.paklog.quality.domain.valueobject.InspectionResult;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ColdChainApplicationServiceTest {
+
+    private static final String SHIPMENT = "SHP-1";
+    private static final long START = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    private final List<TemperatureTrace> stored = new ArrayList<>();
+    private final InspectionRecordRepository inspectionRepository = mock(InspectionRecordRepository.class);
+    private final PublishEventPort publishEventPort = mock(PublishEventPort.class);
+    private final InspectionRecord inspection = InspectionRecord.builder()
+        .id("inspection-1")
+        .type(InspectionType.RECEIVING)
+        .result(InspectionResult.PASSED)
+        .shipmentId(SHIPMENT)
+        .itemId("SKU-1")
+        .build();
+    private ColdChainApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        TemperatureTraceRepository traces = new TemperatureTraceRepository() {
+            @Override
+            public TemperatureTrace save(TemperatureTrace trace) {
+                stored.add(trace);
+                return trace;
+            }
+
+            @Override
+            public Optional<TemperatureTrace> findById(String id) {
+                return stored.stream().filter(trace -> trace.getId().equals(id)).findFirst();
+            }
+
+            @Override
+            public List<TemperatureTrace> findByShipmentId(String shipmentId) {
+                return stored.stream().filter(trace -> trace.getShipmentId().equals(shipmentId)).toList();
+            }
+        };
+        when(inspectionRepository.findByShipmentId(SHIPMENT)).thenReturn(List.of(inspection));
+        when(inspectionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new ColdChainApplicationService(traces, inspectionRepository, publishEventPort,
+            mock(QualityMetricsPort.class), Optional.empty(), Optional.empty(),
+            MeanKineticTemperature.DEFAULT_ACTIVATION_ENERGY, 2.0, 8.0, Duration.ofMinutes(5), Duration.ofMinutes(30),
+            1_000_000);
+    }
+
+    @Test
+    void reUploadingTheSameDumpRaisesNoSecondDefect() {
+        TemperatureTrace first = service.ingestTrace(command("LOGGER-1"), excursion(0));
+        TemperatureTrace again = service.ingestTrace(command("LOGGER-1"), excursion(0));
+
+        assertThat(again.getId()).isEqualTo(first.getId());
+        assertThat(stored).hasSize(1);
+        assertThat(inspection.getDefects()).singleElement()
+            .satisfies(defect -> assertThat(defect.getType()).isEqualTo(DefectType.TEMPERATURE_VIOLATION));
+        verify(inspectionRepository, times(1)).save(inspection);
+        verify(publishEventPort, times(1)).publishAll(anyList());
+    }
+
+    @Test
+    void anotherLoggerOrSpanIsANewTrace() {
+        service.ingestTrace(command("LOGGER-1"), excursion(0));
+        service.ingestTrace(command("LOGGER-2"), excursion(0));
+        service.ingestTrace(command("LOGGER-1"), excursion(120));
+
+        assertThat(stored).hasSize(3);
+        assertThat(inspection.getDefects()).hasSize(3);
+    }
+
+    private static IngestTemperatureTraceCommand command(String loggerId) {
+        return new IngestTemperatureTraceCommand(SHIPMENT, loggerId, null, null, null);
+    }
+
+    // Two hours of minute readings, 40 minutes of them at 12°C: a critical excursion
+    private static TemperatureReadings excursion(int offsetMinutes) {
+        return sink -> {
+            for (int minute = offsetMinutes; minute < offsetMinutes + 120; minute++) {
+                boolean warm = minute >= offsetMinutes + 30 && minute < offsetMinutes + 70;
+                sink.accept(START + minute * 60_000L, warm ? 12.0 : 5.0);
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.port.out.SequenceBlockPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InspectionNumberGeneratorTest {
+
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicInteger leases = new AtomicInteger();
+    private final SequenceBlockPort blocks = (sequenceName, size) -> {
+        leases.incrementAndGet();
+        return counter.getAndAdd(size);
+    };
+    private final InspectionNumberGenerator generator = new InspectionNumberGenerator(blocks, "DC01", 10);
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void numbersAreUniqueAndIncreaseOnOneNode() {
+        Set<String> seen = new HashSet<>();
+        String previous = "";
+        for (int i = 0; i < 95; i++) {
+            String number = generator.nextInspectionNumber();
+            assertThat(number).startsWith("INS-DC01-").hasSize("INS-DC01-".length() + 12);
+            assertThat(number).isGreaterThan(previous);
+            assertThat(seen.add(number)).isTrue();
+            previous = number;
+        }
+        assertThat(previous).isEqualTo("INS-DC01-000000000094");
+    }
+
+    @Test
+    void prefetchesOneBlockAheadWithoutWastingLeases() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            generator.nextInspectionNumber();
+        }
+
+        // Ten blocks consumed, plus the one prefetched halfway through the last block
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (leases.get() < 11 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertThat(leases.get()).isEqualTo(11);
+        assertThat(generator.nextInspectionNumber()).isEqualTo("INS-DC01-000000000100");
+    }
+
+    @Test
+    void leasesSynchronouslyOnceShutDown() {
+        generator.shutdown();
+
+        for (int i = 0; i < 30; i++) {
+            generator.nextInspectionNumber();
+        }
+
+        assertThat(generator.nextInspectionNumber()).isEqualTo("INS-DC01-000000000030");
+    }
+}
@@ -0,0 +1,135 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.command.PerformInspectionCommand;
+import com.paklog.quality.application.command.WriteDurability;
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.port.out.*;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.barcode.BarcodeVerifier;
+import com.paklog.quality.domain.barcode.Gs1Scan;
+import com.paklog.quality.domain.event.DefectDetectedEvent;
+import com.paklog.quality.domain.event.DomainEvent;
+import com.paklog.quality.domain.repository.ComplianceRuleRepository;
+import com.paklog.quality.domain.repository.InspectionRecordRepository;
+import com.paklog.quality.domain.service.RuleEvaluationService;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import com.paklog.quality.domain.valueobject.SamplingStrategy;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QualityApplicationServiceTest {
+
+    // GTIN with AI(17) expiry 2020-01-01: a CRITICAL EXPIRED defect
+    private static final String EXPIRED_BARCODE = "]C1010950600013435217200101";
+    private static final PerformInspectionCommand EXPIRED_SCAN = new PerformInspectionCommand(InspectionType.RECEIVING,
+        "SKU-1", "USR-1", SamplingStrategy.FULL_INSPECTION, 1, null, null, null, EXPIRED_BARCODE);
+
+    private final InspectionRecordRepository inspectionRepository = mock(InspectionRecordRepository.class);
+    private final PublishEventPort publishEventPort = mock(PublishEventPort.class);
+    private final BarcodeVerificationUseCase barcodeVerification = mock(BarcodeVerificationUseCase.class);
+    private final InspectionNumberGenerator numbers = mock(InspectionNumberGenerator.class);
+    private final InspectionSlaTimerPort slaTimers = mock(InspectionSlaTimerPort.class);
+
+    @Test
+    void defectsFoundOnSubmissionArePublishedAfterTheSave() {
+        when(inspectionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        givenExpiredScan();
+
+        service(Optional.empty()).submitInspection(EXPIRED_SCAN, WriteDurability.SYNC);
+
+        List<DomainEvent> published = publishedEvents();
+        assertThat(published).singleElement().isInstanceOf(DefectDetectedEvent.class);
+        assertThat(published.get(0).getSequence()).isEqualTo(1);
+        var order = inOrder(inspectionRepository, publishEventPort);
+        order.verify(inspectionRepository).save(any());
+        order.verify(publishEventPort).publishAll(anyList());
+    }
+
+    @Test
+    void bufferedSubmissionPublishesAndStartsItsSlaTimerOnlyOnceCommitted() throws Exception {
+        InspectionWriteBufferPort buffer = mock(InspectionWriteBufferPort.class);
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        when(buffer.offer(any(InspectionRecord.class))).thenReturn(committed);
+        givenExpiredScan();
+        QualityApplicationService service = service(Optional.of(buffer));
+
+        String id = service.submitInspection(EXPIRED_SCAN, WriteDurability.ASYNC).inspectionId();
+        verify(publishEventPort, never()).publishAll(anyList());
+        verify(slaTimers, never()).track(any(), any(), any());
+
+        // Completed here as if by the writer thread; the follow-up runs on the service's own thread
+        committed.complete(null);
+        verify(slaTimers, timeout(5000)).track(eq(id), eq(InspectionType.RECEIVING), any());
+        assertThat(publishedEvents()).singleElement().isInstanceOf(DefectDetectedEvent.class);
+        service.shutdown();
+    }
+
+    @Test
+    void slowPublishingDoesNotHoldUpTheWriterThread() throws Exception {
+        InspectionWriteBufferPort buffer = mock(InspectionWriteBufferPort.class);
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        when(buffer.offer(any(InspectionRecord.class))).thenReturn(committed);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(publishEventPort).publishAll(anyList());
+        givenExpiredScan();
+        QualityApplicationService service = service(Optional.of(buffer));
+        service.submitInspection(EXPIRED_SCAN, WriteDurability.ASYNC);
+
+        long started = System.nanoTime();
+        committed.complete(null);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+        verify(publishEventPort, timeout(5000)).publishAll(anyList());
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void failedGroupCommitPublishesNothingAndStartsNoTimer() throws Exception {
+        InspectionWriteBufferPort buffer = mock(InspectionWriteBufferPort.class);
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        when(buffer.offer(any(InspectionRecord.class))).thenReturn(committed);
+        givenExpiredScan();
+        QualityApplicationService service = service(Optional.of(buffer));
+
+        service.submitInspection(EXPIRED_SCAN, WriteDurability.ASYNC);
+        committed.completeExceptionally(new IllegalStateException("insert failed"));
+        // Waits for the follow-up to run
+        service.shutdown();
+
+        verify(publishEventPort, never()).publishAll(anyList());
+        verify(slaTimers, never()).track(any(), any(), any());
+    }
+
+    private void givenExpiredScan() {
+        Gs1Scan scan = new Gs1Scan();
+        BarcodeVerifier.verify(EXPIRED_BARCODE, null, LocalDate.of(2026, 3, 1), scan);
+        when(barcodeVerification.verify(EXPIRED_BARCODE)).thenReturn(scan);
+        when(numbers.nextInspectionNumber()).thenReturn("QI-1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DomainEvent> publishedEvents() {
+        ArgumentCaptor<List<DomainEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(publishEventPort).publishAll(events.capture());
+        return events.getValue();
+    }
+
+    private QualityApplicationService service(Optional<InspectionWriteBufferPort> writeBuffer) {
+        return new QualityApplicationService(inspectionRepository, mock(InspectionSummaryQueryPort.class),
+            mock(ComplianceRuleRepository.class), mock(RuleEvaluationService.class), publishEventPort,
+            mock(QualityMetricsPort.class), numbers, writeBuffer, Optional.empty(), Optional.of(slaTimers), Optional.empty(),
+            barcodeVerification, mock(CapaUseCase.class), WriteDurability.ASYNC, Duration.ofSeconds(5), 2.0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.paklog.quality.application.service;
+
+import com.paklog.quality.application.port.in.BarcodeVerificationUseCase;
+import com.paklog.quality.application.port.in.CapaUseCase;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.application.port.out.QualityMetricsPort;
+import com.paklog.quality.domain.aggregate.Defect;
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import com.paklog.quality.domain.event.DefectDetectedEvent;
+import com.paklog.quality.domain.event.DomainEvent;
+import com.paklog.quality.domain.repository.ReactiveComplianceRuleRepository;
+import com.paklog.quality.domain.repository.ReactiveInspectionRecordRepository;
+import com.paklog.quality.domain.service.RuleEvaluationService;
+import com.paklog.quality.domain.valueobject.DefectType;
+import com.paklog.quality.domain.valueobject.InspectionType;
+import com.paklog.quality.domain.valueobject.SeverityLevel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveQualityApplicationServiceTest {
+
+    private final ReactiveInspectionRecordRepository inspectionRepository = mock(ReactiveInspectionRecordRepository.class);
+    private final PublishEventPort publishEventPort = mock(PublishEventPort.class);
+
+    @Test
+    void eventsArePublishedAfterTheSaveOffTheCallingThread() {
+        InspectionRecord inspection = InspectionRecord.builder().id("inspection-1").type(InspectionType.RECEIVING).build();
+        inspection.perform();
+        when(inspectionRepository.findById("inspection-1")).thenReturn(Mono.just(inspection));
+        when(inspectionRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        AtomicReference<String> publishingThread = new AtomicReference<>();
+        AtomicReference<List<DomainEvent>> published = new AtomicReference<>();
+        doAnswer(invocation -> {
+            publishingThread.set(Thread.currentThread().getName());
+            published.set(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(publishEventPort).publishAll(any());
+
+        service().addDefect("inspection-1", Defect.builder()
+            .defectId("defect-1")
+            .type(DefectType.DAMAGED)
+            .severity(SeverityLevel.CRITICAL)
+            .build()).block();
+
+        assertThat(publishingThread.get()).startsWith("boundedElastic-");
+        assertThat(published.get()).singleElement().isInstanceOf(DefectDetectedEvent.class);
+        assertThat(inspection.domainEvents()).isEmpty();
+        var order = inOrder(inspectionRepository, publishEventPort);
+        order.verify(inspectionRepository).save(inspection);
+        order.verify(publishEventPort).publishAll(any());
+    }
+
+    private ReactiveQualityApplicationService service() {
+        return new ReactiveQualityApplicationService(inspectionRepository, mock(ReactiveComplianceRuleRepository.class),
+            mock(RuleEvaluationService.class), publishEventPort, mock(QualityMetricsPort.class),
+            mock(InspectionNumberGenerator.class), Optional.empty(), Optional.empty(), Optional.empty(),
+            mock(BarcodeVerificationUseCase.class), mock(CapaUseCase.class), 2.0);
+    }
+}
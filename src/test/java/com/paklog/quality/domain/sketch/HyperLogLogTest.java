@@ -0,0 +1,68 @@
+package com.paklog.quality.domain.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HyperLogLogTest {
+
+    // Three standard errors of 1.04 / sqrt(2^14)
+    private static final double MAX_RELATIVE_ERROR = 3 * 1.04 / Math.sqrt(1 << 14);
+
+    @Test
+    void estimatesCardinalityWithinThreeStandardErrors() {
+        HyperLogLog sketch = new HyperLogLog();
+        int added = 0;
+        for (int cardinality : new int[] {100, 1_000, 10_000, 100_000, 1_000_000}) {
+            for (; added < cardinality; added++) {
+                sketch.add("INS-" + added);
+            }
+            // Duplicates do not move the estimate
+            sketch.add("INS-0");
+
+            assertThat(relativeError(sketch.cardinality(), cardinality))
+                .as("relative error at %d", cardinality)
+                .isLessThan(MAX_RELATIVE_ERROR);
+        }
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            first.add("INS-" + i);
+            second.add("INS-" + (i + 40_000));
+        }
+
+        first.merge(second);
+
+        assertThat(relativeError(first.cardinality(), 100_000)).isLessThan(MAX_RELATIVE_ERROR);
+    }
+
+    @Test
+    void serializesFewValuesSparselyAndManyInSixBitsARegister() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertThat(sketch.toBytes()).hasSize(3);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.add("INS-" + i);
+        }
+        byte[] sparse = sketch.toBytes();
+        assertThat(sparse.length).isLessThanOrEqualTo(3 + 100 * 4);
+        assertThat(HyperLogLog.fromBytes(sparse).cardinality()).isEqualTo(sketch.cardinality());
+
+        for (int i = 100; i < 100_000; i++) {
+            sketch.add("INS-" + i);
+        }
+        byte[] dense = sketch.toBytes();
+        assertThat(dense).hasSize(2 + (1 << 14) / 4 * 3);
+        HyperLogLog restored = HyperLogLog.fromBytes(dense);
+        assertThat(restored.precision()).isEqualTo(14);
+        assertThat(restored.cardinality()).isEqualTo(sketch.cardinality());
+    }
+
+    private static double relativeError(long estimate, long actual) {
+        return Math.abs(estimate - actual) / (double) actual;
+    }
+}
@@ -0,0 +1,105 @@
+package com.paklog.quality.domain.sketch;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TDigestTest {
+
+    private static final int VALUES = 200_000;
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    // Allowed |rank(estimate) - q| at each of QUANTILES
+    private static final double[] MAX_RANK_ERROR = {0.01, 0.005, 0.002};
+
+    private final double[] values = skewedValues(VALUES, 42);
+    private final double[] sorted = sortedCopy(values);
+
+    @Test
+    void estimatesQuantilesWithinTheRankErrorBound() {
+        TDigest digest = new TDigest();
+        for (double value : values) {
+            digest.add(value);
+        }
+
+        assertRankError(digest);
+        assertThat(digest.count()).isEqualTo(VALUES);
+        assertThat(digest.min()).isEqualTo(sorted[0]);
+        assertThat(digest.max()).isEqualTo(sorted[VALUES - 1]);
+    }
+
+    @Test
+    void mergedDigestsKeepTheRankErrorBound() {
+        TDigest merged = new TDigest();
+        int parts = 16;
+        for (int part = 0; part < parts; part++) {
+            TDigest digest = new TDigest();
+            for (int i = part; i < VALUES; i += parts) {
+                digest.add(values[i]);
+            }
+            merged.merge(digest);
+        }
+
+        assertRankError(merged);
+        assertThat(merged.count()).isEqualTo(VALUES);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        TDigest digest = new TDigest();
+        for (double value : values) {
+            digest.add(value);
+        }
+
+        byte[] bytes = digest.toBytes();
+        TDigest restored = TDigest.fromBytes(bytes);
+
+        assertThat(bytes.length).isLessThan(1024);
+        assertRankError(restored);
+        assertThat(restored.count()).isEqualTo(digest.count());
+        assertThat(restored.min()).isEqualTo(digest.min());
+        assertThat(restored.max()).isEqualTo(digest.max());
+        assertThat(restored.compression()).isEqualTo(digest.compression());
+    }
+
+    private void assertRankError(TDigest digest) {
+        for (int i = 0; i < QUANTILES.length; i++) {
+            double q = QUANTILES[i];
+            double estimate = digest.quantile(q);
+            assertThat(rank(estimate) - q)
+                .as("rank error at p%s", Math.round(q * 100))
+                .isBetween(-MAX_RANK_ERROR[i], MAX_RANK_ERROR[i]);
+        }
+    }
+
+    /**
+     * Fraction of the values at or below x
+     */
+    private double rank(double x) {
+        int index = Arrays.binarySearch(sorted, x);
+        if (index < 0) {
+            return (double) (-index - 1) / sorted.length;
+        }
+        while (index + 1 < sorted.length && sorted[index + 1] == x) {
+            index++;
+        }
+        return (double) (index + 1) / sorted.length;
+    }
+
+    // Log-normal, like inspection durations: a long right tail where p99 is hardest to estimate
+    private static double[] skewedValues(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.exp(4 + random.nextGaussian());
+        }
+        return values;
+    }
+
+    private static double[] sortedCopy(double[] values) {
+        double[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
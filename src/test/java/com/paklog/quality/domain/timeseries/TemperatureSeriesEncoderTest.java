@@ -0,0 +1,42 @@
+package com.paklog.quality.domain.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemperatureSeriesEncoderTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void readsValuesBackRoundedToAHundredthOfADegree() {
+        TemperatureSeriesEncoder encoder = new TemperatureSeriesEncoder();
+        encoder.add(START, 4.123);
+        encoder.add(START + 60_000, -0.0);
+        encoder.add(START + 120_000, -18.456);
+        encoder.add(START + 180_000, 250.0);
+
+        TemperatureSeriesDecoder decoder = new TemperatureSeriesDecoder(encoder.toByteArray());
+        assertThat(decoder.count()).isEqualTo(4);
+        double[] expected = {4.12, 0.0, -18.46, 250.0};
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(decoder.next()).isTrue();
+            assertThat(decoder.timestamp()).isEqualTo(START + i * 60_000L);
+            assertThat(decoder.value()).isEqualTo(expected[i]);
+        }
+        assertThat(decoder.next()).isFalse();
+    }
+
+    @Test
+    void rejectsValuesItCannotEncode() {
+        TemperatureSeriesEncoder encoder = new TemperatureSeriesEncoder();
+        encoder.add(START, 4.0);
+
+        for (double celsius : new double[] {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e300}) {
+            assertThatThrownBy(() -> encoder.add(START + 60_000, celsius))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(encoder.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DefectAnalyticsServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    // What a load over the lookback finds in MongoDB
+    private volatile List<Document> withinLookback = List.of();
+    private DefectAnalyticsService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        FindIterable<Document> found = mock(FindIterable.class);
+        when(found.projection(any())).thenReturn(found);
+        when(found.sort(any())).thenReturn(found);
+        when(found.batchSize(anyInt())).thenReturn(found);
+        when(found.iterator()).thenAnswer(invocation -> cursor(withinLookback.iterator()));
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(mongoTemplate.getCollection(DefectAnalyticsService.COLLECTION)).thenReturn(collection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void rebuildsOnceFullAndRetiresDefectsOutsideTheLookback() {
+        Document old = inspection("old", 2);
+        Document recent = inspection("recent", 1);
+        withinLookback = List.of(old, recent);
+        service = new DefectAnalyticsService(mongoTemplate, new SimpleMeterRegistry(), 4, Duration.ofDays(30), 1, 100,
+            Duration.ZERO);
+        await(() -> service.status().loaded());
+        assertThat(service.status().defects()).isEqualTo(3);
+        Instant firstLoad = service.status().loadedAt();
+
+        // "old" has left the lookback; the next save fills the store and triggers a rebuild
+        Document latest = inspection("latest", 2);
+        withinLookback = List.of(recent, latest);
+        service.ingest(latest);
+
+        await(() -> !service.status().loadedAt().equals(firstLoad));
+        DefectAnalyticsService.DefectAnalyticsStatus status = service.status();
+        assertThat(status.defects()).isEqualTo(3);
+        assertThat(status.inspections()).isEqualTo(2);
+        assertThat(status.full()).isFalse();
+
+        // Saves after the rebuild go to the new store
+        Document next = inspection("next", 1);
+        service.ingest(next);
+        await(() -> service.status().defects() == 4);
+    }
+
+    @Test
+    void doesNotRebuildAgainWhenTheLookbackAloneFillsTheStore() throws InterruptedException {
+        withinLookback = List.of(inspection("a", 2), inspection("b", 2));
+        service = new DefectAnalyticsService(mongoTemplate, new SimpleMeterRegistry(), 3, Duration.ofDays(30), 1, 100,
+            Duration.ZERO);
+        await(() -> service.status().loaded());
+        assertThat(service.status().full()).isTrue();
+        Instant loadedAt = service.status().loadedAt();
+
+        service.ingest(inspection("c", 1));
+        Thread.sleep(100);
+
+        assertThat(service.status().loadedAt()).isEqualTo(loadedAt);
+        assertThat(service.status().defects()).isEqualTo(3);
+    }
+
+    private static Document inspection(String id, int defects) {
+        List<Document> entries = new ArrayList<>();
+        for (int i = 0; i < defects; i++) {
+            entries.add(new Document("type", "DAMAGED").append("location", "DOCK-1").append("reportedAt", new Date()));
+        }
+        return new Document("_id", id)
+            .append("itemId", "item-" + id)
+            .append("inspectorId", "inspector-1")
+            .append("inspectedAt", new Date())
+            .append("defects", entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Iterator<Document> documents) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> documents.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> documents.next());
+        return cursor;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
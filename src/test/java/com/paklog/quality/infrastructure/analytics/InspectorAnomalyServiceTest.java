@@ -0,0 +1,139 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.paklog.quality.application.port.out.PublishEventPort;
+import com.paklog.quality.domain.event.InspectorAnomalyDetectedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InspectorAnomalyServiceTest {
+
+    private static final String SUBJECT = "subject";
+    // Peer defect rates 1 to 5 around the subject's 3: median 3 and MAD 1, so z = (rate - 3) * 0.6745
+    private static final int[] PEER_RATES = {1, 2, 2, 3, 3, 3, 4, 4, 5};
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PublishEventPort publishEventPort = mock(PublishEventPort.class);
+    private final Queue<Document> completions = new ConcurrentLinkedQueue<>();
+    private final Semaphore lookups = new Semaphore(0);
+    private InspectorAnomalyService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        List<Document> history = new ArrayList<>();
+        Date completedAt = new Date(System.currentTimeMillis() - 60_000);
+        for (int inspection = 0; inspection < 20; inspection++) {
+            for (int peer = 0; peer < PEER_RATES.length; peer++) {
+                history.add(completion("peer-" + peer, completedAt, 100, PEER_RATES[peer]));
+            }
+            history.add(completion(SUBJECT, completedAt, 100, 3));
+        }
+        Iterator<Document> loaded = history.iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> loaded.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> loaded.next());
+        FindIterable<Document> found = mock(FindIterable.class);
+        when(found.projection(any())).thenReturn(found);
+        when(found.sort(any())).thenReturn(found);
+        when(found.batchSize(anyInt())).thenReturn(found);
+        when(found.iterator()).thenReturn(cursor);
+        when(found.first()).thenAnswer(invocation -> {
+            Document document = completions.poll();
+            lookups.release();
+            return document;
+        });
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(mongoTemplate.getCollection(InspectorAnomalyService.COLLECTION)).thenReturn(collection);
+
+        service = new InspectorAnomalyService(mongoTemplate, publishEventPort, new SimpleMeterRegistry(),
+            16, Duration.ofDays(14), Duration.ofDays(90), 10, 10, 5, 3.5, 3.0, Duration.ofMinutes(1), 100);
+        awaitIngestor(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void flagsAtTheZThresholdAndClearsOnlyBelowTheClearThreshold() throws Exception {
+        assertThat(flagged()).isNull();
+
+        // 234 defects in 3000 items: 7.8 per 100, z 3.2, between the thresholds
+        complete(1000, 174);
+        assertThat(flagged()).isNull();
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(InspectorAnomaly.class));
+
+        // 360 in 4000: 9.0, z 4.0
+        complete(1000, 126);
+        assertThat(flagged()).isEqualTo(InspectorMetric.Direction.HIGH);
+        ArgumentCaptor<InspectorAnomalyDetectedEvent> event = ArgumentCaptor.forClass(InspectorAnomalyDetectedEvent.class);
+        verify(publishEventPort).publish(event.capture());
+        assertThat(event.getValue().getInspectorId()).isEqualTo(SUBJECT);
+        assertThat(event.getValue().getMetric()).isEqualTo("DEFECT_RATE");
+        assertThat(event.getValue().getDirection()).isEqualTo("HIGH");
+
+        // 390 in 5000: back to 7.8, still flagged
+        complete(1000, 30);
+        assertThat(flagged()).isEqualTo(InspectorMetric.Direction.HIGH);
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(InspectorAnomaly.class));
+
+        // 390 in 6000: 6.5, z 2.4
+        complete(1000, 0);
+        assertThat(flagged()).isNull();
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(InspectorAnomaly.class));
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(InspectorAnomaly.class));
+        verify(publishEventPort, times(1)).publish(any());
+    }
+
+    private void complete(int items, int defects) throws InterruptedException {
+        completions.add(completion(SUBJECT, new Date(), items, defects));
+        service.refresh("completed");
+        awaitIngestor(2);
+    }
+
+    /**
+     * Queue a lookup that finds nothing and wait for it; the ingestor runs one task at a time,
+     * so every task queued before it has then finished
+     */
+    private void awaitIngestor(int lookupsQueued) throws InterruptedException {
+        service.refresh("barrier");
+        assertThat(lookups.tryAcquire(lookupsQueued, 5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private InspectorMetric.Direction flagged() {
+        return service.profile(SUBJECT).orElseThrow().scores().stream()
+            .filter(score -> score.metric() == InspectorMetric.DEFECT_RATE)
+            .findFirst().orElseThrow()
+            .flagged();
+    }
+
+    private static Document completion(String inspectorId, Date completedAt, int items, int defects) {
+        return new Document("inspectorId", inspectorId)
+            .append("completedAt", completedAt)
+            .append("itemsInspected", items)
+            .append("defectsFound", defects);
+    }
+}
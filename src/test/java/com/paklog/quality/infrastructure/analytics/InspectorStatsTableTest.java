@@ -0,0 +1,106 @@
+package com.paklog.quality.infrastructure.analytics;
+
+import com.paklog.quality.domain.valueobject.SeverityLevel;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class InspectorStatsTableTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final int[] NO_DEFECTS = new int[SeverityLevel.values().length];
+
+    @Test
+    void anInspectionOneHalfLifeOldCountsHalf() {
+        InspectorStatsTable table = new InspectorStatsTable(16, Duration.ofDays(1), 1, 1);
+        int code = table.record("alice", T0, 100, 10, -1, NO_DEFECTS);
+        table.record("alice", T0 + DAY, 100, 0, -1, NO_DEFECTS);
+
+        assertThat(table.inspections(code, T0 + DAY)).isCloseTo(1.5, within(1e-9));
+        assertThat(table.inspections(code, T0 + 2 * DAY)).isCloseTo(0.75, within(1e-9));
+        // 10 * 0.5 defects over 100 * 0.5 + 100 items
+        assertThat(table.value(code, InspectorMetric.DEFECT_RATE, T0 + DAY)).isCloseTo(10 / 3.0, within(1e-9));
+    }
+
+    @Test
+    void anInspectionRecordedOutOfOrderIsWeightedByItsOwnAge() {
+        InspectorStatsTable table = new InspectorStatsTable(16, Duration.ofDays(1), 1, 1);
+        int code = table.record("alice", T0 + DAY, 100, 0, -1, NO_DEFECTS);
+        table.record("alice", T0, 100, 10, -1, NO_DEFECTS);
+
+        assertThat(table.updatedAt(code)).isEqualTo(T0 + DAY);
+        assertThat(table.inspections(code, T0 + DAY)).isCloseTo(1.5, within(1e-9));
+        assertThat(table.value(code, InspectorMetric.DEFECT_RATE, T0 + DAY)).isCloseTo(10 / 3.0, within(1e-9));
+    }
+
+    @Test
+    void metricsAreUndefinedWithoutEnoughRecentInspectionsOrDefects() {
+        InspectorStatsTable table = new InspectorStatsTable(16, Duration.ofDays(1), 2, 3);
+        int[] twoCritical = new int[SeverityLevel.values().length];
+        twoCritical[SeverityLevel.CRITICAL.ordinal()] = 2;
+        int code = table.record("alice", T0, 50, 2, 30 * 60_000L, twoCritical);
+
+        assertThat(table.value(code, InspectorMetric.DEFECT_RATE, T0)).isNaN();
+
+        table.record("alice", T0, 50, 0, 10 * 60_000L, NO_DEFECTS);
+        assertThat(table.value(code, InspectorMetric.DEFECT_RATE, T0)).isCloseTo(2.0, within(1e-9));
+        assertThat(table.value(code, InspectorMetric.DURATION, T0)).isCloseTo(20.0, within(1e-9));
+        assertThat(table.value(code, InspectorMetric.SEVERE_SHARE, T0)).isNaN();
+        // Two inspections decay below the minimum of two after any time at all
+        assertThat(table.value(code, InspectorMetric.DEFECT_RATE, T0 + DAY)).isNaN();
+    }
+
+    @Test
+    void peerScaleIsTheMedianAbsoluteDeviationOverItsNormalConsistencyConstant() {
+        InspectorStatsTable table = tableWithDefectRates(1, 2, 2, 3, 3, 3, 3, 4, 4, 5);
+
+        PeerDistribution peers = table.peers(InspectorMetric.DEFECT_RATE, T0, 5);
+
+        assertThat(peers.peers()).isEqualTo(10);
+        assertThat(peers.median()).isCloseTo(3.0, within(1e-9));
+        assertThat(peers.scale()).isCloseTo(1 / 0.6745, within(1e-9));
+        assertThat(peers.zScore(3 + 3.5 / 0.6745)).isCloseTo(3.5, within(1e-9));
+    }
+
+    @Test
+    void peerScaleFallsBackToTheMeanAbsoluteDeviationWhenMostPeersShareTheMedian() {
+        InspectorStatsTable table = tableWithDefectRates(2, 2, 2, 2, 2, 2, 9);
+
+        PeerDistribution peers = table.peers(InspectorMetric.DEFECT_RATE, T0, 5);
+
+        assertThat(peers.median()).isCloseTo(2.0, within(1e-9));
+        // Absolute deviations sum to 9 - 2 over seven peers
+        assertThat(peers.scale()).isCloseTo(1.253314 * (9 - 2) / 7, within(1e-9));
+        assertThat(peers.zScore(9)).isGreaterThan(3.5);
+    }
+
+    @Test
+    void peersThatDoNotVaryScoreZero() {
+        InspectorStatsTable table = tableWithDefectRates(2, 2, 2, 2, 2);
+
+        PeerDistribution peers = table.peers(InspectorMetric.DEFECT_RATE, T0, 5);
+
+        assertThat(peers.scale()).isZero();
+        assertThat(peers.zScore(50)).isZero();
+    }
+
+    @Test
+    void noDistributionWithFewerThanMinPeers() {
+        InspectorStatsTable table = tableWithDefectRates(1, 2, 3, 4);
+
+        assertThat(table.peers(InspectorMetric.DEFECT_RATE, T0, 5)).isNull();
+        assertThat(table.peers(InspectorMetric.DEFECT_RATE, T0, 4)).isNotNull();
+    }
+
+    // One inspection of 100 items per inspector, so each rate is its defect count
+    private static InspectorStatsTable tableWithDefectRates(int... rates) {
+        InspectorStatsTable table = new InspectorStatsTable(16, Duration.ofDays(14), 1, 1);
+        for (int i = 0; i < rates.length; i++) {
+            table.record("inspector-" + i, T0, 100, rates[i], -1, NO_DEFECTS);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,269 @@
+package com.paklog.quality.infrastructure.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSegmentWriterTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private final List<AuditSegmentSeal> seals = new ArrayList<>();
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void tornTailBeyondTheWatermarkIsClearedAndAppendsContinue() throws IOException {
+        int end;
+        try (AuditSegmentWriter writer = writer()) {
+            appendCommitted(writer, 3);
+            end = writer.currentPosition();
+        }
+        // Half an entry that reached the disk before the crash
+        write(segment(0), end, ByteBuffer.allocate(12).putInt(200).putLong(4).array());
+
+        try (AuditSegmentWriter writer = writer()) {
+            assertThat(writer.currentSegment()).isZero();
+            assertThat(writer.currentPosition()).isEqualTo(end);
+            assertThat(read(segment(0), end, 12)).containsOnly(0);
+            assertThat(append(writer)).isEqualTo(4);
+            writer.commit();
+        }
+
+        AuditSegmentVerifier.Result result = verify(0);
+        assertThat(result.valid()).isTrue();
+        assertThat(result.entries()).isEqualTo(4);
+        assertThat(result.lastSequence()).isEqualTo(4);
+    }
+
+    @Test
+    void tamperedCommittedEntryIsLeftInPlaceAndTheTrailMovesOn() throws IOException {
+        try (AuditSegmentWriter writer = writer()) {
+            appendCommitted(writer, 5);
+        }
+        int[] offsets = entryOffsets(segment(0));
+        int tampered = offsets[1] + 4 + 20;
+        byte original = read(segment(0), tampered, 1)[0];
+        write(segment(0), tampered, new byte[] {(byte) (original ^ 1)});
+        byte[] before = Files.readAllBytes(segment(0));
+
+        try (AuditSegmentWriter writer = writer()) {
+            assertThat(writer.currentSegment()).isEqualTo(1);
+            assertThat(append(writer)).isEqualTo(6);
+            writer.commit();
+        }
+
+        assertThat(Files.readAllBytes(segment(0))).isEqualTo(before);
+        assertThat(seals).isEmpty();
+        AuditSegmentVerifier.Result corrupt = verify(0);
+        assertThat(corrupt.valid()).isFalse();
+        assertThat(corrupt.firstInvalidSequence()).isEqualTo(2);
+        assertThat(corrupt.problem()).contains("Chain hash mismatch");
+        AuditSegmentVerifier.Result next = verify(1);
+        assertThat(next.valid()).isTrue();
+        assertThat(next.firstSequence()).isEqualTo(6);
+        // The new segment chains from the committed hash of sequence 5, not from sequence 1
+        assertThat(read(segment(1), 32, AuditSegment.HASH_SIZE))
+            .isEqualTo(read(segment(0), offsets[4] + 4 + entryLength(segment(0), offsets[4]), AuditSegment.HASH_SIZE));
+    }
+
+    @Test
+    void zeroedCommittedEntriesAreReportedRatherThanTreatedAsATornTail() throws IOException {
+        int end;
+        try (AuditSegmentWriter writer = writer()) {
+            appendCommitted(writer, 5);
+            end = writer.currentPosition();
+        }
+        int from = entryOffsets(segment(0))[2];
+        write(segment(0), from, new byte[end - from]);
+
+        AuditSegmentVerifier.Result result = verify(0);
+        assertThat(result.valid()).isFalse();
+        assertThat(result.firstInvalidSequence()).isEqualTo(3);
+        assertThat(result.problem()).contains("before the committed offset");
+
+        try (AuditSegmentWriter writer = writer()) {
+            assertThat(writer.currentSegment()).isEqualTo(1);
+            assertThat(writer.lastSequence()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void fullSegmentIsSealedWithTheMerkleRootOfItsEntries() throws IOException {
+        try (AuditSegmentWriter writer = writer()) {
+            while (writer.currentSegment() == 0) {
+                append(writer);
+            }
+            writer.commit();
+        }
+
+        assertThat(seals).hasSize(1);
+        AuditSegmentSeal seal = seals.get(0);
+        AuditSegmentVerifier.Result result = verify(0);
+        assertThat(result.valid()).isTrue();
+        assertThat(result.sealed()).isTrue();
+        assertThat(result.entries()).isEqualTo(seal.entries());
+        assertThat(result.lastSequence()).isEqualTo(seal.lastSequence());
+        assertThat(result.merkleRoot()).isEqualTo(seal.merkleRoot()).isEqualTo(independentMerkleRoot(segment(0)));
+        assertThat(AuditSegmentVerifier.readSeal(segment(0), "node-1"))
+            .usingRecursiveComparison().ignoringFields("sealedAt").isEqualTo(seal);
+
+        byte[] mirrored = HexFormat.of().parseHex(seal.merkleRoot());
+        assertThat(AuditSegmentVerifier.verify(segment(0), Integer.MAX_VALUE, mirrored, 2).mirroredRootMatches()).isTrue();
+        mirrored[0] ^= 1;
+        AuditSegmentVerifier.Result mismatch = AuditSegmentVerifier.verify(segment(0), Integer.MAX_VALUE, mirrored, 2);
+        assertThat(mismatch.valid()).isFalse();
+        assertThat(mismatch.mirroredRootMatches()).isFalse();
+    }
+
+    @Test
+    void rewrittenSealIsDetected() throws IOException {
+        try (AuditSegmentWriter writer = writer()) {
+            while (writer.currentSegment() == 0) {
+                append(writer);
+            }
+        }
+        int seal = sealOffset(segment(0));
+        byte[] root = read(segment(0), seal + 20 + AuditSegment.HASH_SIZE, 1);
+        write(segment(0), seal + 20 + AuditSegment.HASH_SIZE, new byte[] {(byte) (root[0] ^ 1)});
+
+        AuditSegmentVerifier.Result result = verify(0);
+        assertThat(result.valid()).isFalse();
+        assertThat(result.problem()).contains("Seal Merkle root");
+    }
+
+    @Test
+    void chainAndSequenceRunAcrossSegmentsAndRestarts() throws IOException {
+        try (AuditSegmentWriter writer = writer()) {
+            while (writer.currentSegment() == 0) {
+                append(writer);
+            }
+            writer.commit();
+        }
+        try (AuditSegmentWriter writer = writer()) {
+            assertThat(writer.currentSegment()).isEqualTo(1);
+            while (writer.currentSegment() < 2) {
+                append(writer);
+            }
+            writer.commit();
+        }
+
+        assertThat(seals).hasSize(2);
+        for (int segment = 0; segment <= 2; segment++) {
+            assertThat(verify(segment).valid()).as("segment %d", segment).isTrue();
+        }
+        for (int segment = 1; segment <= 2; segment++) {
+            AuditSegmentSeal previous = seals.get(segment - 1);
+            assertThat(verify(segment).firstSequence()).isEqualTo(previous.lastSequence() + 1);
+            assertThat(HexFormat.of().formatHex(read(segment(segment), 32, AuditSegment.HASH_SIZE)))
+                .isEqualTo(previous.lastChainHash());
+        }
+        assertThat(seals.get(1).previousHash()).isEqualTo(seals.get(0).lastChainHash());
+    }
+
+    private AuditSegmentWriter writer() throws IOException {
+        return new AuditSegmentWriter(directory, SEGMENT_SIZE, "node-1", seals::add);
+    }
+
+    private static long append(AuditSegmentWriter writer) throws IOException {
+        byte[] payload = "{\"status\":\"PASSED\"}".getBytes(StandardCharsets.UTF_8);
+        return writer.append(AuditEntryKind.SAVED, "inspection_records", UUID.randomUUID().toString(), payload, 1_700_000_000_000L);
+    }
+
+    private static void appendCommitted(AuditSegmentWriter writer, int entries) throws IOException {
+        for (int i = 0; i < entries; i++) {
+            append(writer);
+        }
+        writer.commit();
+    }
+
+    private Path segment(long index) {
+        return directory.resolve(String.format("audit-%016d.seg", index));
+    }
+
+    private AuditSegmentVerifier.Result verify(long index) throws IOException {
+        return AuditSegmentVerifier.verify(segment(index), Integer.MAX_VALUE, null, 2);
+    }
+
+    private static int[] entryOffsets(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<Integer> offsets = new ArrayList<>();
+        int position = AuditSegment.HEADER_SIZE;
+        while (buffer.getInt(position) > 0) {
+            offsets.add(position);
+            position += AuditSegment.ENTRY_OVERHEAD + buffer.getInt(position);
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int sealOffset(Path path) throws IOException {
+        int[] offsets = entryOffsets(path);
+        int last = offsets[offsets.length - 1];
+        return last + AuditSegment.ENTRY_OVERHEAD + entryLength(path, last);
+    }
+
+    private static int entryLength(Path path, int offset) throws IOException {
+        return ByteBuffer.wrap(read(path, offset, 4)).getInt();
+    }
+
+    // RFC 6962 over the entry bodies, computed recursively from the definition
+    private static String independentMerkleRoot(Path path) throws IOException {
+        byte[] file = Files.readAllBytes(path);
+        List<byte[]> leaves = new ArrayList<>();
+        for (int offset : entryOffsets(path)) {
+            int length = ByteBuffer.wrap(file, offset, 4).getInt();
+            MessageDigest digest = MerkleAccumulator.sha256();
+            digest.update((byte) 0);
+            digest.update(file, offset + 4, length);
+            leaves.add(digest.digest());
+        }
+        return HexFormat.of().formatHex(merkleRoot(leaves));
+    }
+
+    private static byte[] merkleRoot(List<byte[]> leaves) {
+        if (leaves.size() == 1) {
+            return leaves.get(0);
+        }
+        int split = Integer.highestOneBit(leaves.size() - 1);
+        MessageDigest digest = MerkleAccumulator.sha256();
+        digest.update((byte) 1);
+        digest.update(merkleRoot(leaves.subList(0, split)));
+        digest.update(merkleRoot(leaves.subList(split, leaves.size())));
+        return digest.digest();
+    }
+
+    private static byte[] read(Path path, int offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            channel.read(buffer, offset);
+            return buffer.array();
+        }
+    }
+
+    private static void write(Path path, int offset, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+}
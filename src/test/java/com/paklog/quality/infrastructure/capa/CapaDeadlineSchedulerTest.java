@@ -0,0 +1,47 @@
+package com.paklog.quality.infrastructure.capa;
+
+import com.paklog.quality.application.port.in.CapaUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+
+class CapaDeadlineSchedulerTest {
+
+    private final CapaUseCase capaUseCase = mock(CapaUseCase.class);
+    private final CapaDeadlineScheduler scheduler = new CapaDeadlineScheduler(capaUseCase, new SimpleMeterRegistry(),
+        Duration.ofMillis(10), 4, Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void failedEscalationIsRetriedWithTheStoredDeadline() {
+        Instant dueAt = Instant.ofEpochMilli(System.currentTimeMillis() - 1000);
+        when(capaUseCase.escalate("inspection-1", dueAt))
+            .thenThrow(new IllegalStateException("inspection not saved yet"))
+            .thenReturn(true);
+
+        scheduler.track("inspection-1", dueAt);
+        scheduler.start();
+
+        verify(capaUseCase, timeout(2000).times(2)).escalate("inspection-1", dueAt);
+        verify(capaUseCase, never()).escalate(eq("inspection-1"), argThat(instant -> !instant.equals(dueAt)));
+    }
+
+    @Test
+    void untrackedDeadlineIsNotEscalated() throws InterruptedException {
+        Instant dueAt = Instant.ofEpochMilli(System.currentTimeMillis() + 30);
+        scheduler.track("inspection-2", dueAt);
+        scheduler.untrack("inspection-2");
+        scheduler.start();
+
+        Thread.sleep(200);
+        verify(capaUseCase, never()).escalate(anyString(), any());
+    }
+}
@@ -0,0 +1,62 @@
+package com.paklog.quality.infrastructure.capa;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private final List<String> fired = new ArrayList<>();
+    private final List<Long> deadlines = new ArrayList<>();
+
+    @Test
+    void firesOnTheFirstTickAtOrAfterTheDeadlineInDeadlineOrder() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 4, START);
+        wheel.schedule("later", START + 5 * 60_000);
+        wheel.schedule("sooner", START + 2500);
+
+        assertThat(wheel.advance(START + 2000, this::record)).isZero();
+        assertThat(wheel.advance(START + 3000, this::record)).isEqualTo(1);
+        assertThat(wheel.advance(START + 5 * 60_000, this::record)).isEqualTo(1);
+
+        assertThat(fired).containsExactly("sooner", "later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingMovesAndCancellingRemovesAKey() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 4, START);
+        assertThat(wheel.schedule("moved", START + 1000)).isTrue();
+        assertThat(wheel.schedule("moved", START + 90_000)).isFalse();
+        wheel.schedule("cancelled", START + 1000);
+        assertThat(wheel.cancel("cancelled")).isTrue();
+
+        wheel.advance(START + 60_000, this::record);
+        assertThat(fired).isEmpty();
+        wheel.advance(START + 90_000, this::record);
+        assertThat(fired).containsExactly("moved");
+    }
+
+    @Test
+    void retryFiresAtItsOwnTimeButReportsTheOriginalDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 4, START);
+        long deadline = START + 1000;
+        wheel.schedule("capa", deadline);
+        wheel.advance(START + 1000, (key, deadlineMillis) -> wheel.schedule(key, deadlineMillis, START + 61_000));
+
+        assertThat(wheel.deadlineOf("capa")).isEqualTo(deadline);
+        assertThat(wheel.advance(START + 60_000, this::record)).isZero();
+        wheel.advance(START + 61_000, this::record);
+        assertThat(fired).containsExactly("capa");
+        assertThat(deadlines).containsExactly(deadline);
+    }
+
+    private void record(String key, long deadlineMillis) {
+        fired.add(key);
+        deadlines.add(deadlineMillis);
+    }
+}
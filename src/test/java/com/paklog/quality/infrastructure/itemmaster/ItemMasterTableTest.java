@@ -0,0 +1,105 @@
+package com.paklog.quality.infrastructure.itemmaster;
+
+import com.paklog.quality.domain.valueobject.ItemReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemMasterTableTest {
+
+    @Test
+    void barcodesRoundTripWhateverTheirForm() {
+        ItemMasterTable table = new ItemMasterTable(16);
+        String[] barcodes = {
+            "00012345",              // leading zeros
+            "09506000134352",        // GTIN-14
+            "9999999999999999",      // longest packed form
+            "12345678901234567",     // 17 digits
+            "123456789012345678",    // SSCC
+            "999999999999999999",
+            "ABC-123",
+            "Ünïcode-ÉAN"
+        };
+        for (int i = 0; i < barcodes.length; i++) {
+            table.put(new ItemReference("SKU-" + i, 1.5, 2.5, barcodes[i]));
+        }
+
+        for (int i = 0; i < barcodes.length; i++) {
+            assertThat(table.get("SKU-" + i)).isEqualTo(new ItemReference("SKU-" + i, 1.5, 2.5, barcodes[i]));
+        }
+    }
+
+    @Test
+    void putReplacesAndUnknownFieldsStayUnknown() {
+        ItemMasterTable table = new ItemMasterTable(16);
+        table.put(new ItemReference("SKU-1", 1.5, 2.5, "123456789012345678"));
+        table.put(new ItemReference("SKU-1", Double.NaN, null, null));
+
+        ItemReference reference = table.get("SKU-1");
+        assertThat(reference.expectedWeightKg()).isNaN();
+        assertThat(reference.weightTolerancePercent()).isNull();
+        assertThat(reference.barcode()).isNull();
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.get("SKU-2")).isNull();
+    }
+
+    @Test
+    void removedItemsLeaveTombstonesThatLookupsProbePastAndInsertsReuse() {
+        ItemMasterTable table = new ItemMasterTable(8);
+        int items = 0;
+        while (!table.isFull()) {
+            table.put(reference(items++));
+        }
+
+        for (int i = 0; i < items; i += 2) {
+            assertThat(table.remove("SKU-" + i)).isTrue();
+        }
+        assertThat(table.remove("SKU-0")).isFalse();
+        assertThat(table.size()).isEqualTo(items / 2);
+        for (int i = 0; i < items; i++) {
+            assertThat(table.get("SKU-" + i)).isEqualTo(i % 2 == 0 ? null : reference(i));
+        }
+
+        // Reinserting fills tombstones rather than empty slots, so the table is still full
+        for (int i = 0; i < items; i += 2) {
+            table.put(reference(i));
+        }
+        assertThat(table.isFull()).isTrue();
+        for (int i = 0; i < items; i++) {
+            assertThat(table.get("SKU-" + i)).isEqualTo(reference(i));
+        }
+    }
+
+    @Test
+    void copyKeepsEveryLiveEntryAndDropsTombstones() {
+        ItemMasterTable table = new ItemMasterTable(8);
+        int items = 0;
+        while (!table.isFull()) {
+            table.put(reference(items++));
+        }
+        table.remove("SKU-1");
+
+        ItemMasterTable copy = table.copy(items * 2);
+
+        assertThat(copy.capacity()).isGreaterThan(table.capacity());
+        assertThat(copy.size()).isEqualTo(items - 1);
+        assertThat(copy.get("SKU-1")).isNull();
+        for (int i = 0; i < items; i++) {
+            if (i != 1) {
+                assertThat(copy.get("SKU-" + i)).isEqualTo(reference(i));
+            }
+        }
+        copy.put(reference(items));
+        assertThat(copy.get("SKU-" + items)).isEqualTo(reference(items));
+    }
+
+    // Alternates packed, SSCC and text barcodes
+    private static ItemReference reference(int i) {
+        String barcode = switch (i % 3) {
+            case 0 -> String.format("%014d", i);
+            case 1 -> String.format("%018d", 340000000000000000L + i);
+            default -> "TXT-" + i;
+        };
+        return new ItemReference("SKU-" + i, 0.25 * (i + 1), i % 4 == 0 ? null : 1.0 + i, barcode);
+    }
+}
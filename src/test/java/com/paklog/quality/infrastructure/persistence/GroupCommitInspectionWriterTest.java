@@ -0,0 +1,77 @@
+package com.paklog.quality.infrastructure.persistence;
+
+import com.paklog.quality.domain.aggregate.InspectionRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GroupCommitInspectionWriterTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GroupCommitInspectionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new GroupCommitInspectionWriter(mongoTemplate, meterRegistry, 100, 100, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void recordsStoredBeforeAFailedBatchInsertAreReportedAsPersisted() throws Exception {
+        InspectionRecord stored = record("stored");
+        InspectionRecord rejected = record("rejected");
+        InspectionRecord notAttempted = record("not-attempted");
+        doThrow(new DuplicateKeyException("E11000 inspectionNumber")).when(mongoTemplate).insert(anyCollection(), eq(InspectionRecord.class));
+        doThrow(new DuplicateKeyException("E11000 _id")).when(mongoTemplate).insert(stored);
+        doThrow(new DuplicateKeyException("E11000 inspectionNumber")).when(mongoTemplate).insert(rejected);
+        when(mongoTemplate.exists(any(Query.class), eq(InspectionRecord.class)))
+            .thenAnswer(invocation -> invocation.<Query>getArgument(0).getQueryObject().get("_id").equals("stored"));
+
+        CompletableFuture<Void> storedCommit = writer.offer(stored);
+        CompletableFuture<Void> rejectedCommit = writer.offer(rejected);
+        CompletableFuture<Void> notAttemptedCommit = writer.offer(notAttempted);
+        writer.start();
+
+        storedCommit.get(5, TimeUnit.SECONDS);
+        notAttemptedCommit.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> rejectedCommit.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(DuplicateKeyException.class);
+        verify(mongoTemplate).insert(notAttempted);
+        assertThat(meterRegistry.counter("quality.inspection.write-buffer.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void batchIsCommittedInOneInsert() throws Exception {
+        CompletableFuture<Void> first = writer.offer(record("a"));
+        CompletableFuture<Void> second = writer.offer(record("b"));
+        writer.start();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        verify(mongoTemplate).insert(argThat((Collection<InspectionRecord> batch) -> batch.size() == 2), eq(InspectionRecord.class));
+    }
+
+    private static InspectionRecord record(String id) {
+        return InspectionRecord.builder().id(id).inspectionNumber("QI-" + id).build();
+    }
+}
@@ -0,0 +1,270 @@
+package com.paklog.quality.infrastructure.report;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the written files back with a minimal Parquet reader that follows the format spec:
+ * footer, schema, row groups, page headers, gzip, RLE/bit-packed definition levels and PLAIN values
+ */
+class ParquetReportWriterTest {
+
+    private static final List<ReportColumn> COLUMNS = List.of(
+        ReportColumn.string("name"),
+        ReportColumn.number("count"),
+        ReportColumn.timestamp("at"),
+        ReportColumn.date("day"));
+
+    private static final String[] NAMES = {"plain", "Prüfung", "检查 ✓", "emoji 😀", "", "a\"b,c"};
+
+    @Test
+    void roundTripsRowsAcrossRowGroupsWithGzipPages() throws IOException {
+        List<Object[]> rows = rows(20);
+
+        ParquetFile file = read(write(rows, 6, Long.MAX_VALUE, 6));
+
+        assertThat(file.rows()).usingRecursiveComparison().isEqualTo(rows);
+        assertThat(file.rowGroupRows()).containsExactly(6L, 6L, 6L, 2L);
+        assertThat(file.codecs()).containsOnly(2L);
+    }
+
+    @Test
+    void roundTripsUncompressedPagesWithAllNullAndNoNullColumns() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        // First group: count never null, name always null; second group: the reverse
+        for (int i = 0; i < 4; i++) {
+            rows.add(new Object[]{null, (long) i - 2, 1_700_000_000_000L + i, 19_000L + i});
+        }
+        for (int i = 0; i < 4; i++) {
+            rows.add(new Object[]{NAMES[i], null, null, null});
+        }
+
+        ParquetFile file = read(write(rows, 4, Long.MAX_VALUE, 0));
+
+        assertThat(file.rows()).usingRecursiveComparison().isEqualTo(rows);
+        assertThat(file.codecs()).containsOnly(0L);
+        Map<Integer, Object> countStatistics = file.statistics().get(0).get(1);
+        assertThat(countStatistics.get(3)).isEqualTo(0L);
+        assertThat(littleEndian((byte[]) countStatistics.get(6))).isEqualTo(-2L);
+        assertThat(littleEndian((byte[]) countStatistics.get(5))).isEqualTo(1L);
+        Map<Integer, Object> dayStatistics = file.statistics().get(0).get(3);
+        assertThat((byte[]) dayStatistics.get(6)).hasSize(4);
+        assertThat(littleEndian((byte[]) dayStatistics.get(6))).isEqualTo(19_000L);
+        // All-null chunks carry a null count but no min or max
+        Map<Integer, Object> emptyStatistics = file.statistics().get(1).get(1);
+        assertThat(emptyStatistics).containsOnlyKeys(3);
+        assertThat(emptyStatistics.get(3)).isEqualTo(4L);
+    }
+
+    @Test
+    void flushesRowGroupsByBytes() throws IOException {
+        List<Object[]> rows = rows(10);
+
+        // Every row is well over 16 bytes, so each one closes a group
+        ParquetFile file = read(write(rows, 1000, 16, 1));
+
+        assertThat(file.rows()).usingRecursiveComparison().isEqualTo(rows);
+        assertThat(file.rowGroupRows()).hasSize(10).containsOnly(1L);
+    }
+
+    // Names cycle through non-ASCII text; every column is null on its own stride
+    private static List<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{
+                i % 5 == 4 ? null : NAMES[i % NAMES.length] + i,
+                i % 3 == 2 ? null : (long) i * 1_000_003 - 5_000,
+                i % 4 == 3 ? null : 1_700_000_000_123L + i * 60_000L,
+                i % 7 == 6 ? null : 20_000L - i});
+        }
+        return rows;
+    }
+
+    private static byte[] write(List<Object[]> rows, int rowGroupRows, long rowGroupBytes, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParquetReportWriter writer = new ParquetReportWriter(out, COLUMNS, rowGroupRows, rowGroupBytes, level);
+        ReportRow row = new ReportRow(COLUMNS.size());
+        for (Object[] values : rows) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    row.clear(i);
+                } else if (values[i] instanceof String text) {
+                    row.setText(i, text);
+                } else {
+                    row.setNumber(i, (Long) values[i]);
+                }
+            }
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private record ParquetFile(List<Object[]> rows, List<Long> rowGroupRows, Set<Long> codecs,
+                               List<List<Map<Integer, Object>>> statistics) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ParquetFile read(byte[] file) throws IOException {
+        assertThat(new String(file, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("PAR1");
+        assertThat(new String(file, file.length - 4, 4, StandardCharsets.US_ASCII)).isEqualTo("PAR1");
+        int footerLength = ByteBuffer.wrap(file, file.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        int footerStart = file.length - 8 - footerLength;
+        ThriftCompactReader footer = new ThriftCompactReader(file, footerStart);
+        Map<Integer, Object> metadata = footer.readStruct();
+        assertThat(footer.position()).isEqualTo(file.length - 8);
+
+        // Schema: the root with one child per column, every column OPTIONAL with its physical and converted type
+        List<Object> schema = (List<Object>) metadata.get(2);
+        assertThat(schema).hasSize(COLUMNS.size() + 1);
+        assertThat(((Map<Integer, Object>) schema.get(0)).get(5)).isEqualTo((long) COLUMNS.size());
+        long[] physical = {6, 2, 2, 1};
+        Long[] converted = {0L, null, 9L, 6L};
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Map<Integer, Object> element = (Map<Integer, Object>) schema.get(i + 1);
+            assertThat(new String((byte[]) element.get(4), StandardCharsets.UTF_8)).isEqualTo(COLUMNS.get(i).name());
+            assertThat(element.get(1)).isEqualTo(physical[i]);
+            assertThat(element.get(3)).isEqualTo(1L);
+            assertThat(element.get(6)).isEqualTo(converted[i]);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> groupRows = new ArrayList<>();
+        Set<Long> codecs = new HashSet<>();
+        List<List<Map<Integer, Object>>> statistics = new ArrayList<>();
+        long expectedOffset = 4;
+        for (Object group : (List<Object>) metadata.get(4)) {
+            Map<Integer, Object> rowGroup = (Map<Integer, Object>) group;
+            int groupSize = Math.toIntExact((Long) rowGroup.get(3));
+            groupRows.add((long) groupSize);
+            Object[][] groupValues = new Object[groupSize][COLUMNS.size()];
+            List<Map<Integer, Object>> groupStatistics = new ArrayList<>();
+            long uncompressedTotal = 0;
+            List<Object> chunks = (List<Object>) rowGroup.get(1);
+            assertThat(chunks).hasSize(COLUMNS.size());
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                Map<Integer, Object> chunk = (Map<Integer, Object>) chunks.get(column);
+                Map<Integer, Object> meta = (Map<Integer, Object>) chunk.get(3);
+                long offset = (Long) meta.get(9);
+                // Chunks follow each other with no gaps
+                assertThat(offset).isEqualTo(expectedOffset).isEqualTo(chunk.get(2));
+                assertThat(meta.get(1)).isEqualTo(physical[column]);
+                assertThat(new String((byte[]) ((List<Object>) meta.get(3)).get(0), StandardCharsets.UTF_8))
+                    .isEqualTo(COLUMNS.get(column).name());
+                assertThat(meta.get(5)).isEqualTo((long) groupSize);
+                expectedOffset += (Long) meta.get(7);
+                uncompressedTotal += (Long) meta.get(6);
+                long codec = (Long) meta.get(4);
+                codecs.add(codec);
+                groupStatistics.add((Map<Integer, Object>) meta.get(12));
+
+                ThriftCompactReader pageReader = new ThriftCompactReader(file, Math.toIntExact(offset));
+                Map<Integer, Object> pageHeader = pageReader.readStruct();
+                int headerSize = pageReader.position() - Math.toIntExact(offset);
+                int uncompressedSize = Math.toIntExact((Long) pageHeader.get(2));
+                int compressedSize = Math.toIntExact((Long) pageHeader.get(3));
+                assertThat(pageHeader.get(1)).isEqualTo(0L);
+                assertThat(meta.get(7)).isEqualTo((long) headerSize + compressedSize);
+                assertThat(meta.get(6)).isEqualTo((long) headerSize + uncompressedSize);
+                Map<Integer, Object> dataPage = (Map<Integer, Object>) pageHeader.get(5);
+                assertThat(dataPage).containsEntry(1, (long) groupSize).containsEntry(2, 0L).containsEntry(3, 3L);
+
+                byte[] body = Arrays.copyOfRange(file, pageReader.position(), pageReader.position() + compressedSize);
+                byte[] page = codec == 2 ? gunzip(body) : body;
+                assertThat(page).hasSize(uncompressedSize);
+                Object[] values = decodePage(page, groupSize, physical[column]);
+                for (int row = 0; row < groupSize; row++) {
+                    groupValues[row][column] = values[row];
+                }
+                long nulls = Arrays.stream(values).filter(Objects::isNull).count();
+                assertThat(groupStatistics.get(column).get(3)).isEqualTo(nulls);
+            }
+            assertThat(rowGroup.get(2)).isEqualTo(uncompressedTotal);
+            rows.addAll(Arrays.asList(groupValues));
+            statistics.add(groupStatistics);
+        }
+        assertThat(expectedOffset).isEqualTo(footerStart);
+        assertThat(metadata.get(3)).isEqualTo((long) rows.size());
+        return new ParquetFile(rows, groupRows, codecs, statistics);
+    }
+
+    // Definition levels at bit width 1, then PLAIN values of the defined rows
+    private static Object[] decodePage(byte[] page, int rows, long physicalType) {
+        ByteBuffer buffer = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
+        int levelsLength = buffer.getInt();
+        int levelsEnd = buffer.position() + levelsLength;
+        boolean[] defined = new boolean[rows];
+        int row = 0;
+        while (buffer.position() < levelsEnd) {
+            long header = varint(buffer);
+            if ((header & 1) == 0) {
+                int run = (int) (header >>> 1);
+                boolean value = buffer.get() != 0;
+                for (int i = 0; i < run && row < rows; i++) {
+                    defined[row++] = value;
+                }
+            } else {
+                int values = (int) (header >>> 1) * 8;
+                for (int i = 0; i < values; i += 8) {
+                    int bits = buffer.get() & 0xFF;
+                    for (int bit = 0; bit < 8 && row < rows; bit++) {
+                        defined[row++] = (bits >>> bit & 1) != 0;
+                    }
+                }
+            }
+        }
+        assertThat(buffer.position()).isEqualTo(levelsEnd);
+        assertThat(row).isEqualTo(rows);
+
+        Object[] values = new Object[rows];
+        for (int i = 0; i < rows; i++) {
+            if (!defined[i]) {
+                continue;
+            }
+            values[i] = switch ((int) physicalType) {
+                case 1 -> (long) buffer.getInt();
+                case 2 -> buffer.getLong();
+                case 6 -> {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    yield new String(bytes, StandardCharsets.UTF_8);
+                }
+                default -> throw new IllegalStateException("Unexpected type " + physicalType);
+            };
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+        return values;
+    }
+
+    private static long varint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static long littleEndian(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        return bytes.length == 4 ? buffer.getInt() : buffer.getLong();
+    }
+}
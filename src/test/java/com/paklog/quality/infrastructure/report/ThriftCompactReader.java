@@ -0,0 +1,104 @@
+package com.paklog.quality.infrastructure.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Test-side decoder of the Thrift compact protocol, written from the protocol spec rather than
+ * from {@link ThriftCompactWriter}. Structs decode to field id -> value maps; integers are
+ * Longs, binaries byte arrays and lists Lists.
+ */
+final class ThriftCompactReader {
+
+    private final byte[] bytes;
+    private int position;
+
+    ThriftCompactReader(byte[] bytes, int offset) {
+        this.bytes = bytes;
+        this.position = offset;
+    }
+
+    int position() {
+        return position;
+    }
+
+    Map<Integer, Object> readStruct() {
+        Map<Integer, Object> fields = new TreeMap<>();
+        int lastId = 0;
+        while (true) {
+            int header = next();
+            if (header == 0) {
+                return fields;
+            }
+            int type = header & 0x0F;
+            int delta = header >>> 4;
+            int id = delta != 0 ? lastId + delta : (int) unzigzag(varint());
+            if (fields.put(id, fieldValue(type)) != null) {
+                throw new IllegalStateException("Field " + id + " repeated");
+            }
+            lastId = id;
+        }
+    }
+
+    private Object fieldValue(int type) {
+        return switch (type) {
+            case 1 -> Boolean.TRUE;
+            case 2 -> Boolean.FALSE;
+            default -> value(type);
+        };
+    }
+
+    private Object value(int type) {
+        return switch (type) {
+            case 3 -> (long) (byte) next();
+            case 4, 5, 6 -> unzigzag(varint());
+            case 8 -> binary();
+            case 9, 10 -> list();
+            case 12 -> readStruct();
+            default -> throw new IllegalStateException("Unsupported compact type " + type + " at " + (position - 1));
+        };
+    }
+
+    private List<Object> list() {
+        int header = next();
+        int size = header >>> 4;
+        if (size == 15) {
+            size = (int) varint();
+        }
+        int elementType = header & 0x0F;
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(value(elementType));
+        }
+        return elements;
+    }
+
+    private byte[] binary() {
+        int length = (int) varint();
+        byte[] value = new byte[length];
+        System.arraycopy(bytes, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    private long varint() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = next();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private int next() {
+        return bytes[position++] & 0xFF;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
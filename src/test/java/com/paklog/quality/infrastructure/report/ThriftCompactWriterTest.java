@@ -0,0 +1,109 @@
+package com.paklog.quality.infrastructure.report;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThriftCompactWriterTest {
+
+    @Test
+    void fieldsRoundTripIncludingLongIdGapsAndExtremes() throws IOException {
+        ThriftCompactWriter thrift = new ThriftCompactWriter();
+        thrift.i32(1, -1);
+        thrift.i32(2, Integer.MIN_VALUE);
+        thrift.i64(3, Long.MAX_VALUE);
+        thrift.bool(4, true);
+        thrift.bool(5, false);
+        thrift.string(6, "Prüfung 检查 😀");
+        // A gap above 15 needs the long field header
+        thrift.i64(40, Long.MIN_VALUE);
+        thrift.binary(41, new byte[0]);
+        thrift.endStruct();
+
+        Map<Integer, Object> struct = read(thrift);
+
+        assertThat(struct).containsOnlyKeys(1, 2, 3, 4, 5, 6, 40, 41);
+        assertThat(struct.get(1)).isEqualTo(-1L);
+        assertThat(struct.get(2)).isEqualTo((long) Integer.MIN_VALUE);
+        assertThat(struct.get(3)).isEqualTo(Long.MAX_VALUE);
+        assertThat(struct.get(4)).isEqualTo(true);
+        assertThat(struct.get(5)).isEqualTo(false);
+        assertThat(new String((byte[]) struct.get(6), StandardCharsets.UTF_8)).isEqualTo("Prüfung 检查 😀");
+        assertThat(struct.get(40)).isEqualTo(Long.MIN_VALUE);
+        assertThat((byte[]) struct.get(41)).isEmpty();
+    }
+
+    @Test
+    void nestedStructsAndListsOfEverySize() throws IOException {
+        ThriftCompactWriter thrift = new ThriftCompactWriter();
+        thrift.i32(1, 7);
+        thrift.beginStruct(2);
+        thrift.i32(1, 8);
+        thrift.beginStruct(20);
+        thrift.i64(3, 9);
+        thrift.endStruct();
+        thrift.i32(21, 10);
+        thrift.endStruct();
+        thrift.beginList(3, ThriftCompactWriter.I32, 14);
+        for (int i = 0; i < 14; i++) {
+            thrift.i32Element(i - 7);
+        }
+        // 15 elements and more need the long list header
+        thrift.beginList(4, ThriftCompactWriter.BINARY, 300);
+        for (int i = 0; i < 300; i++) {
+            thrift.stringElement("s" + i);
+        }
+        thrift.beginList(5, ThriftCompactWriter.STRUCT, 2);
+        for (int i = 0; i < 2; i++) {
+            thrift.beginStruct();
+            thrift.i32(1, i);
+            thrift.endStruct();
+        }
+        thrift.i32(6, 11);
+        thrift.endStruct();
+
+        Map<Integer, Object> struct = read(thrift);
+
+        assertThat(struct.get(1)).isEqualTo(7L);
+        assertThat(struct.get(2)).isEqualTo(Map.of(1, 8L, 20, Map.of(3, 9L), 21, 10L));
+        List<Long> small = new ArrayList<>();
+        for (long i = -7; i < 7; i++) {
+            small.add(i);
+        }
+        assertThat(struct.get(3)).isEqualTo(small);
+        List<?> strings = (List<?>) struct.get(4);
+        assertThat(strings).hasSize(300);
+        assertThat(new String((byte[]) strings.get(299), StandardCharsets.UTF_8)).isEqualTo("s299");
+        assertThat(struct.get(5)).isEqualTo(List.of(Map.of(1, 0L), Map.of(1, 1L)));
+        assertThat(struct.get(6)).isEqualTo(11L);
+    }
+
+    @Test
+    void resetStartsAFreshMessage() throws IOException {
+        ThriftCompactWriter thrift = new ThriftCompactWriter();
+        thrift.beginStruct(3);
+        thrift.i32(9, 1);
+        thrift.reset();
+        thrift.i32(1, 2);
+        thrift.endStruct();
+
+        assertThat(read(thrift)).isEqualTo(Map.of(1, 2L));
+    }
+
+    private static Map<Integer, Object> read(ThriftCompactWriter thrift) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        thrift.writeTo(out);
+        byte[] bytes = out.toByteArray();
+        assertThat(bytes).hasSize(thrift.size());
+        ThriftCompactReader reader = new ThriftCompactReader(bytes, 0);
+        Map<Integer, Object> struct = reader.readStruct();
+        assertThat(reader.position()).isEqualTo(bytes.length);
+        return struct;
+    }
+}
@@ -0,0 +1,185 @@
+package com.paklog.quality.infrastructure.report;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Reads the workbook back with ZipInputStream and a namespace-aware XML parser
+ */
+class XlsxReportWriterTest {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final List<ReportColumn> COLUMNS = List.of(
+        ReportColumn.string("name"),
+        ReportColumn.number("count"),
+        ReportColumn.timestamp("at"),
+        ReportColumn.date("day"));
+
+    @Test
+    void cellsRoundTripThroughTheWorksheetXml() throws Exception {
+        long at = Instant.parse("2026-03-14T15:09:26.535Z").toEpochMilli();
+        byte[] workbook = write(
+            new Object[]{"Prüfung 检查 😀", 42L, at, 20_526L},
+            new Object[]{"<a & b> \"quoted\"", -7L, 0L, 0L},
+            new Object[]{" padded ", Long.MIN_VALUE, null, null},
+            new Object[]{"bell\u0007 tab\t", null, -86_400_000L, -1L},
+            new Object[]{null, Long.MAX_VALUE, at, null});
+
+        Map<String, byte[]> parts = unzip(workbook);
+        assertThat(parts).containsOnlyKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+            "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml");
+        parts.values().forEach(XlsxReportWriterTest::parse);
+
+        List<Element> rows = rows(parse(parts.get("xl/worksheets/sheet1.xml")));
+        assertThat(rows).hasSize(6);
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(rows.get(i).getAttribute("r")).isEqualTo(String.valueOf(i + 1));
+        }
+
+        List<Element> header = cells(rows.get(0));
+        assertThat(header).extracting(XlsxReportWriterTest::text).containsExactly("name", "count", "at", "day");
+        assertThat(header).allSatisfy(cell -> assertThat(cell.getAttribute("s")).isEqualTo("2"));
+
+        List<Element> first = cells(rows.get(1));
+        assertThat(first.get(0).getAttribute("t")).isEqualTo("inlineStr");
+        assertThat(text(first.get(0))).isEqualTo("Prüfung 检查 😀");
+        assertThat(value(first.get(1))).isEqualTo("42");
+        assertThat(first.get(2).getAttribute("s")).isEqualTo("1");
+        assertThat(serialToMillis(value(first.get(2)))).isCloseTo(at, within(1L));
+        assertThat(first.get(3).getAttribute("s")).isEqualTo("3");
+        assertThat(value(first.get(3))).isEqualTo(String.valueOf(25_569 + 20_526));
+
+        List<Element> second = cells(rows.get(2));
+        assertThat(text(second.get(0))).isEqualTo("<a & b> \"quoted\"");
+        assertThat(value(second.get(1))).isEqualTo("-7");
+        assertThat(value(second.get(2))).isEqualTo("25569");
+        assertThat(value(second.get(3))).isEqualTo("25569");
+
+        List<Element> third = cells(rows.get(3));
+        Element padded = (Element) third.get(0).getElementsByTagNameNS(MAIN_NS, "t").item(0);
+        assertThat(padded.getAttributeNS("http://www.w3.org/XML/1998/namespace", "space")).isEqualTo("preserve");
+        assertThat(text(third.get(0))).isEqualTo(" padded ");
+        assertThat(value(third.get(1))).isEqualTo(String.valueOf(Long.MIN_VALUE));
+        assertThat(third.get(2).hasChildNodes()).isFalse();
+        assertThat(third.get(3).hasChildNodes()).isFalse();
+
+        // Control characters XML cannot carry are dropped; tabs stay
+        List<Element> fourth = cells(rows.get(4));
+        assertThat(text(fourth.get(0))).isEqualTo("bell tab\t");
+        assertThat(fourth.get(1).hasChildNodes()).isFalse();
+        assertThat(value(fourth.get(2))).isEqualTo("25568");
+        assertThat(value(fourth.get(3))).isEqualTo("25568");
+
+        List<Element> fifth = cells(rows.get(5));
+        assertThat(fifth).hasSize(4);
+        assertThat(fifth.get(0).hasChildNodes()).isFalse();
+        assertThat(value(fifth.get(1))).isEqualTo(String.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void packagePartsReferenceTheSheetAndStyles() throws Exception {
+        Map<String, byte[]> parts = unzip(write(new Object[]{"x", 1L, 0L, 0L}));
+
+        Element workbook = parse(parts.get("xl/workbook.xml"));
+        NodeList sheets = workbook.getElementsByTagNameNS(MAIN_NS, "sheet");
+        assertThat(sheets.getLength()).isEqualTo(1);
+        assertThat(((Element) sheets.item(0)).getAttribute("name")).isEqualTo("Inspections");
+
+        String relationships = new String(parts.get("xl/_rels/workbook.xml.rels"), StandardCharsets.UTF_8);
+        assertThat(relationships).contains("Target=\"worksheets/sheet1.xml\"", "Target=\"styles.xml\"");
+        String contentTypes = new String(parts.get("[Content_Types].xml"), StandardCharsets.UTF_8);
+        assertThat(contentTypes).contains("/xl/worksheets/sheet1.xml", "/xl/styles.xml", "/xl/workbook.xml");
+
+        // Cells use styles 1 to 3, so cellXfs needs at least four entries
+        Element cellXfs = (Element) parse(parts.get("xl/styles.xml")).getElementsByTagNameNS(MAIN_NS, "cellXfs").item(0);
+        assertThat(cellXfs.getElementsByTagNameNS(MAIN_NS, "xf").getLength())
+            .isEqualTo(Integer.parseInt(cellXfs.getAttribute("count")))
+            .isEqualTo(4);
+
+        Element pane = (Element) parse(parts.get("xl/worksheets/sheet1.xml")).getElementsByTagNameNS(MAIN_NS, "pane").item(0);
+        assertThat(pane.getAttribute("state")).isEqualTo("frozen");
+        assertThat(pane.getAttribute("topLeftCell")).isEqualTo("A2");
+    }
+
+    private static byte[] write(Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxReportWriter writer = new XlsxReportWriter(out, COLUMNS, "Inspections", 6);
+        ReportRow row = new ReportRow(COLUMNS.size());
+        for (Object[] values : rows) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    row.clear(i);
+                } else if (values[i] instanceof String text) {
+                    row.setText(i, text);
+                } else {
+                    row.setNumber(i, (Long) values[i]);
+                }
+            }
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static Map<String, byte[]> unzip(byte[] workbook) throws Exception {
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(workbook))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertThat(parts.put(entry.getName(), zip.readAllBytes())).isNull();
+            }
+        }
+        return parts;
+    }
+
+    private static Element parse(byte[] xml) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml)).getDocumentElement();
+        } catch (Exception e) {
+            throw new AssertionError("Part is not well-formed XML", e);
+        }
+    }
+
+    private static List<Element> rows(Element worksheet) {
+        return children(worksheet.getElementsByTagNameNS(MAIN_NS, "row"));
+    }
+
+    private static List<Element> cells(Element row) {
+        return children(row.getElementsByTagNameNS(MAIN_NS, "c"));
+    }
+
+    private static List<Element> children(NodeList nodes) {
+        List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            elements.add((Element) nodes.item(i));
+        }
+        return elements;
+    }
+
+    private static String text(Element cell) {
+        return cell.getElementsByTagNameNS(MAIN_NS, "t").item(0).getTextContent();
+    }
+
+    private static String value(Element cell) {
+        return cell.getElementsByTagNameNS(MAIN_NS, "v").item(0).getTextContent();
+    }
+
+    // Days since 1899-12-30 back to epoch milliseconds
+    private static long serialToMillis(String serial) {
+        return Math.round((Double.parseDouble(serial) - 25_569) * 86_400_000d);
+    }
+}